@@ -8,6 +8,7 @@ import java.util.Set;
 import com.keytiles.swagger.codegen.KeytilesJavaCodegen.OriginalPropertyNames;
 import com.keytiles.swagger.codegen.helper.CodegenUtil;
 import com.keytiles.swagger.codegen.helper.config.SchemaParamCollection;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventLog;
 
 import io.swagger.codegen.v3.CodegenConfig;
 import io.swagger.codegen.v3.CodegenConstants;
@@ -56,9 +57,24 @@ public interface IKeytilesCodegen extends CodegenConfig {
 	public final static String OPT_KEEP_PROPERTY_NAMES = "keepPropertyNames";
 	public final static String OPT_ALLOW_RENAME_CONFLICTING_FIELDS = "allowRenameConflictingFields";
 	public final static String OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE = "usePrimitiveTypesIfPossible";
+	public final static String OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE = "usePrimitiveArraysIfPossible";
+	public final static String OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE = "usePrimitiveMapsIfPossible";
+	public final static String OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES = "usePresenceBitsForPrimitives";
+	public final static String OPT_LAZY_CONTAINER_ALLOCATION = "lazyContainerAllocation";
+	public final static String OPT_NUMBER_REPRESENTATION = "numberRepresentation";
 	public final static String OPT_ADD_EXPLANATIONS_TO_MODEL = "addExplanationsToModel";
 	public final static String OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING = "addSchemaModelsToImportMappings";
 	public final static String OPT_EXCLUDE_IMPORT_MAPPINGS_FROM_GENERATION = "excludeImportMappingsFromGeneration";
+	public final static String OPT_GENERATION_EVENT_LOG_FILE = "generationEventLogFile";
+	public final static String OPT_SKIP_GENERATION_IF_UP_TO_DATE = "skipGenerationIfUpToDate";
+	public final static String OPT_DETERMINISTIC_OUTPUT = "deterministicOutput";
+	public final static String OPT_GENERATE_JACKSON_CODECS = "generateJacksonCodecs";
+	public final static String OPT_GENERATE_SERIALIZATION_PROXIES = "generateSerializationProxies";
+	public final static String OPT_GENERATE_BINARY_CODECS = "generateBinaryCodecs";
+	public final static String OPT_GENERATE_BINARY_VIEWS = "generateBinaryViews";
+	public final static String OPT_GENERATE_STREAMING_READERS = "generateStreamingReaders";
+	public final static String OPT_GENERATE_VALIDATORS = "generateValidators";
+	public final static String OPT_GENERATE_METAMODELS = "generateMetamodels";
 
 	public final static String OPT_MAVEN_EXECUTION_ID = "mavenExecutionId";
 	public final static String OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING_FROM_MAVENEXECUTIONS = "addSchemaModelsToImportMappingsFromMavenExecutions";
@@ -73,9 +89,149 @@ public interface IKeytilesCodegen extends CodegenConfig {
 	public final static String X_OBJECT_USE_PRIMITIVE_TYPES_IF_POSSIBLE = VENDOR_PREFIX
 			+ "use-primitive-datatypes-if-possible";
 	public final static String X_PROPERTY_USE_PRIMITIVE_TYPE = VENDOR_PREFIX + "use-primitive-datatype";
+	public final static String X_PROPERTY_USE_PRIMITIVE_ARRAY = VENDOR_PREFIX + "use-primitive-array";
+	public final static String X_PROPERTY_USE_PRIMITIVE_MAP = VENDOR_PREFIX + "use-primitive-map";
+	public final static String X_PROPERTY_USE_PRESENCE_BIT = VENDOR_PREFIX + "use-presence-bit";
+	public final static String X_PROPERTY_LAZY = VENDOR_PREFIX + "lazy";
+	public final static String X_OBJECT_INTERN = VENDOR_PREFIX + "intern";
+	public final static String X_PROPERTY_INTERN = VENDOR_PREFIX + "intern";
+	public final static String X_PROPERTY_EXPECTED_SIZE = VENDOR_PREFIX + "expected-size";
+	public final static String X_PROPERTY_NUMBER_REPRESENTATION = VENDOR_PREFIX + "number-representation";
+	public final static String X_PROPERTY_NUMBER_SCALE = VENDOR_PREFIX + "number-scale";
 
 	public final static String X_COMPUTED_PROPERTY_SERIALIZE_ONLY_IF_NON_DEFAULT_FLAG = COMPUTED_VENDOR_PREFIX
 			+ "serialize-only-if-non-default";
+	/**
+	 * Boolean flag added to enum models and inline enum properties whose values are int - for them the
+	 * templates generate a switch based fromValue(int) which does not need boxing
+	 */
+	public final static String X_COMPUTED_INT_VALUED_ENUM_FLAG = COMPUTED_VENDOR_PREFIX + "int-valued-enum";
+	/**
+	 * String added to properties which got a primitive datatype (e.g. "long") because of
+	 * {@link #OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE} or the related x- tags
+	 */
+	public final static String X_COMPUTED_PROPERTY_PRIMITIVE_TYPE = COMPUTED_VENDOR_PREFIX + "primitive-type";
+	/**
+	 * Boolean flag added to array properties which became a Java primitive array (e.g. long[]) because of
+	 * {@link #OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE} or {@link #X_PROPERTY_USE_PRIMITIVE_ARRAY}
+	 */
+	public final static String X_COMPUTED_PROPERTY_PRIMITIVE_ARRAY_FLAG = COMPUTED_VENDOR_PREFIX + "primitive-array";
+	/**
+	 * String added to map properties which became a primitive specialized map (e.g. StringToLongMap) because of
+	 * {@link #OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE} or {@link #X_PROPERTY_USE_PRIMITIVE_MAP} - the primitive
+	 * type of the values (e.g. "long")
+	 */
+	public final static String X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE = COMPUTED_VENDOR_PREFIX
+			+ "primitive-map-value-type";
+	/**
+	 * String added to primitive properties which represent NULL with a cleared bit in the presence bit mask of
+	 * the model because of {@link #OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES} or {@link #X_PROPERTY_USE_PRESENCE_BIT}
+	 * - the wrapper type of the primitive (e.g. "Long") which is used towards Jackson
+	 */
+	public final static String X_COMPUTED_PROPERTY_PRESENCE_WRAPPER_TYPE = COMPUTED_VENDOR_PREFIX
+			+ "presence-wrapper-type";
+	/**
+	 * String added to the properties having {@link #X_COMPUTED_PROPERTY_PRESENCE_WRAPPER_TYPE} - the Java
+	 * literal of the bit of the property in the presence bit mask (e.g. "0x4L")
+	 */
+	public final static String X_COMPUTED_PROPERTY_PRESENCE_MASK = COMPUTED_VENDOR_PREFIX + "presence-mask";
+	/**
+	 * String added to non-nullable List / Map properties which start with a shared immutable empty container
+	 * because of {@link #OPT_LAZY_CONTAINER_ALLOCATION} - the shared instance (e.g. "Collections.EMPTY_LIST")
+	 * the helper methods are replacing with a real container on first use
+	 */
+	public final static String X_COMPUTED_PROPERTY_LAZY_EMPTY_CONTAINER = COMPUTED_VENDOR_PREFIX
+			+ "lazy-empty-container";
+	/**
+	 * Boolean flag added to array / map properties which are decoded from the retained raw JSON only on
+	 * first access because of {@link #X_PROPERTY_LAZY}
+	 */
+	public final static String X_COMPUTED_PROPERTY_LAZY_FLAG = COMPUTED_VENDOR_PREFIX + "lazy";
+	/**
+	 * String added to String properties whose values are canonicalized through a per-property interning table
+	 * because of {@link #X_PROPERTY_INTERN} or {@link #X_OBJECT_INTERN} - the name of the static field of the
+	 * model holding the table (e.g. "COUNTRY_CODE_INTERNER")
+	 */
+	public final static String X_COMPUTED_PROPERTY_INTERNER = COMPUTED_VENDOR_PREFIX + "interner";
+	/**
+	 * String added to List / Map properties whose containers are created presized because of
+	 * {@link #X_PROPERTY_EXPECTED_SIZE} or the minItems / maxItems of the schema - the initial capacity
+	 * passed to the constructor of the container (e.g. "16")
+	 */
+	public final static String X_COMPUTED_PROPERTY_CONTAINER_CAPACITY = COMPUTED_VENDOR_PREFIX
+			+ "container-capacity";
+	/**
+	 * String added to number properties which hold their value as a long multiplied by 10^scale because of
+	 * {@link #X_PROPERTY_NUMBER_REPRESENTATION} - the scale (e.g. "2") taken from {@link #X_PROPERTY_NUMBER_SCALE}
+	 */
+	public final static String X_COMPUTED_PROPERTY_SCALED_LONG_SCALE = COMPUTED_VENDOR_PREFIX + "scaled-long-scale";
+	/**
+	 * String added to the properties - the (allocation free) expression calculating the hash of the field
+	 * value, mixed into hashCode()
+	 */
+	public final static String X_COMPUTED_PROPERTY_HASH_EXPRESSION = COMPUTED_VENDOR_PREFIX + "hash-expression";
+	/**
+	 * String added to the properties - the (allocation free) expression comparing the field value with the
+	 * same field of the other object in equals()
+	 */
+	public final static String X_COMPUTED_PROPERTY_EQUALS_EXPRESSION = COMPUTED_VENDOR_PREFIX + "equals-expression";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the Jackson Module registering the
+	 * generated serializers / deserializers of the package - see {@link #OPT_GENERATE_JACKSON_CODECS}
+	 */
+	public final static String X_COMPUTED_JACKSON_CODECS_MODULE_FLAG = COMPUTED_VENDOR_PREFIX
+			+ "jackson-codecs-module";
+	/**
+	 * Boolean flag added to the (fabricated) models which render the primitive specialized map classes (e.g.
+	 * StringToLongMap) of the package - see {@link #OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE}
+	 */
+	public final static String X_COMPUTED_PRIMITIVE_MAP_CLASS_FLAG = COMPUTED_VENDOR_PREFIX + "primitive-map-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the shared primitives and the type id
+	 * registry of the generated binary codecs of the package - see {@link #OPT_GENERATE_BINARY_CODECS}
+	 */
+	public final static String X_COMPUTED_BINARY_CODECS_CLASS_FLAG = COMPUTED_VENDOR_PREFIX + "binary-codecs-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the generic streaming JSON array reader of
+	 * the package - see {@link #OPT_GENERATE_STREAMING_READERS}
+	 */
+	public final static String X_COMPUTED_JSON_ARRAY_READER_CLASS_FLAG = COMPUTED_VENDOR_PREFIX
+			+ "json-array-reader-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the bounded String interning table class of
+	 * the package - see {@link #X_PROPERTY_INTERN}
+	 */
+	public final static String X_COMPUTED_STRING_INTERNER_CLASS_FLAG = COMPUTED_VENDOR_PREFIX
+			+ "string-interner-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the exception (and the violation class)
+	 * of the generated validators of the package - see {@link #OPT_GENERATE_VALIDATORS}
+	 */
+	public final static String X_COMPUTED_MODEL_VALIDATION_EXCEPTION_CLASS_FLAG = COMPUTED_VENDOR_PREFIX
+			+ "model-validation-exception-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the hand-written RFC 3339 date-time parser /
+	 * formatter the generated Jackson codecs of the package are using - see {@link #OPT_GENERATE_JACKSON_CODECS}
+	 */
+	public final static String X_COMPUTED_RFC3339_DATE_TIMES_CLASS_FLAG = COMPUTED_VENDOR_PREFIX
+			+ "rfc3339-date-times-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the exact text conversion of the scaled long
+	 * number properties of the package - see {@link #X_PROPERTY_NUMBER_REPRESENTATION}
+	 */
+	public final static String X_COMPUTED_SCALED_LONGS_CLASS_FLAG = COMPUTED_VENDOR_PREFIX + "scaled-longs-class";
+	/**
+	 * Boolean flag added to the (fabricated) model which renders the property descriptor classes and the
+	 * registry of the generated metamodels of the package - see {@link #OPT_GENERATE_METAMODELS}
+	 */
+	public final static String X_COMPUTED_METAMODELS_CLASS_FLAG = COMPUTED_VENDOR_PREFIX + "metamodels-class";
+	/**
+	 * String added to the API operations returning a JSON array - the Java type of the array items the
+	 * generated streaming variant of the operation yields one by one - see
+	 * {@link #OPT_GENERATE_STREAMING_READERS}
+	 */
+	public final static String X_COMPUTED_OPERATION_STREAMING_ITEM_TYPE = COMPUTED_VENDOR_PREFIX
+			+ "streaming-item-type";
 
 	/**
 	 * Boolean property added to a model if that model is defined in the schema (see
@@ -194,7 +350,8 @@ public interface IKeytilesCodegen extends CodegenConfig {
 	 * Property level. This is used in a validation step which ensures that user can not use any other
 	 * (maybe became unsupported) of these things accidentally as a left-over from previous versions
 	 *
-	 * @return all "x-" attribute names supported on Object level
+	 * @return all "x-" attribute names supported on Property level - it is invoked for every property so it
+	 *         might be a shared, unmodifiable set
 	 */
 	public Set<String> getAllSupportedPropertyLevelVendorFieldNames();
 
@@ -212,4 +369,11 @@ public interface IKeytilesCodegen extends CodegenConfig {
 	 */
 	public Map<String, CodegenModel> getAllModels();
 
+	/**
+	 * Decisions made during the generation should be recorded here instead of logging them one by one
+	 *
+	 * @return the event log of this generation - never NULL
+	 */
+	public GenerationEventLog getGenerationEventLog();
+
 }
@@ -3,22 +3,31 @@ package com.keytiles.swagger.codegen;
 import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBooleanValue;
 
 import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.keytiles.swagger.codegen.error.SchemaValidationException;
@@ -26,17 +35,30 @@ import com.keytiles.swagger.codegen.helper.CodegenBugfixAndEnhanceHelper;
 import com.keytiles.swagger.codegen.helper.CodegenUtil;
 import com.keytiles.swagger.codegen.helper.config.ConfigOptionHelper;
 import com.keytiles.swagger.codegen.helper.config.SchemaParamCollection;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventCategory;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventLog;
 import com.keytiles.swagger.codegen.helper.debug.ModelInlineMessages;
 import com.keytiles.swagger.codegen.helper.debug.ModelMessageType;
 import com.keytiles.swagger.codegen.helper.debug.PropertyInlineMessages;
 import com.keytiles.swagger.codegen.helper.maven.MavenExecutionInfo;
+import com.keytiles.swagger.codegen.helper.maven.MavenModuleScope;
+import com.keytiles.swagger.codegen.helper.maven.UpToDateCheck;
+import com.keytiles.swagger.codegen.model.BinaryCodecInfo;
+import com.keytiles.swagger.codegen.model.JacksonCodecInfo;
+import com.keytiles.swagger.codegen.model.MetamodelInfo;
+import com.keytiles.swagger.codegen.model.SerializationProxyInfo;
 import com.keytiles.swagger.codegen.model.ModelExtraInfo;
 import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.model.NumberRepresentation;
+import com.keytiles.swagger.codegen.model.ValidatorInfo;
 
 import io.swagger.codegen.v3.CliOption;
+import io.swagger.codegen.v3.CodegenConstants;
 import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenOperation;
 import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.SupportingFile;
 import io.swagger.codegen.v3.generators.java.AbstractJavaCodegen;
 import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -86,6 +108,205 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 	public final static String TPLVAR_CTOR_OWN_FIELD_ARGS = "constructorOwnFieldArgs";
 	public final static String TPLVAR_CTOR_VALIDATE_NONNULL_VALUE_ARGS = "constructorValidateNonNullArgs";
 	public final static String TPLVAR_CTOR_COMBINED_ARGS = "constructorCombinedArgs";
+	public final static String TPLVAR_CACHED_HASH_CODE = "cachedHashCode";
+	public final static String TPLVAR_PRESENCE_BITS = "presenceBits";
+	public final static String TPLVAR_LAZY_PROPERTIES = "lazyProperties";
+	public final static String TPLVAR_INTERNED_PROPERTIES = "internedProperties";
+	public final static String TPLVAR_SCALED_LONG_PROPERTIES = "scaledLongProperties";
+	public final static String TPLVAR_JACKSON_CODECS = "jacksonCodecs";
+	public final static String TPLVAR_JACKSON_CODEC_PROPERTIES = "jacksonCodecProperties";
+	public final static String TPLVAR_JACKSON_CODEC_CTOR_ARGS = "jacksonCodecCtorArgs";
+	public final static String TPLVAR_JACKSON_CODEC_MODELS = "jacksonCodecModels";
+	public final static String TPLVAR_JACKSON_CODECS_POLYMORPHIC = "jacksonCodecsPolymorphic";
+	public final static String TPLVAR_JACKSON_CODEC_POLYMORPHIC_MODELS = "jacksonCodecPolymorphicModels";
+	public final static String TPLVAR_SERIALIZATION_PROXY = "serializationProxy";
+	public final static String TPLVAR_SERIALIZATION_PROXY_PROPERTIES = "serializationProxyProperties";
+	public final static String TPLVAR_SERIALIZATION_PROXY_CTOR_ARGS = "serializationProxyCtorArgs";
+	public final static String TPLVAR_SERIALIZATION_PROXY_SCHEMA_HASH = "serializationProxySchemaHash";
+	public final static String TPLVAR_BINARY_CODEC = "binaryCodec";
+	public final static String TPLVAR_BINARY_CODEC_PROPERTIES = "binaryCodecProperties";
+	public final static String TPLVAR_BINARY_CODEC_CTOR_ARGS = "binaryCodecCtorArgs";
+	public final static String TPLVAR_BINARY_CODEC_PRESENCE_WORDS = "binaryCodecPresenceWords";
+	public final static String TPLVAR_BINARY_CODEC_ENUM_TABLES = "binaryCodecEnumTables";
+	public final static String TPLVAR_BINARY_CODEC_MODELS = "binaryCodecModels";
+	public final static String TPLVAR_BINARY_CODEC_VALUE_WRITE = "binaryCodecValueWrite";
+	public final static String TPLVAR_BINARY_CODEC_VALUE_READ = "binaryCodecValueRead";
+	public final static String TPLVAR_BINARY_CODEC_VIEW = "binaryCodecView";
+	public final static String TPLVAR_BINARY_CODEC_VIEW_PROPERTY_COUNT = "binaryCodecViewPropertyCount";
+	public final static String TPLVAR_STREAMING_READER = "streamingReader";
+	public final static String TPLVAR_STREAMING_READER_REUSABLE = "streamingReaderReusable";
+	public final static String TPLVAR_VALIDATOR = "validator";
+	public final static String TPLVAR_VALIDATOR_PROPERTIES = "validatorProperties";
+	public final static String TPLVAR_VALIDATOR_CONSTANTS = "validatorConstants";
+	public final static String TPLVAR_VALIDATOR_CALLS_SUPER = "validatorCallsSuper";
+	public final static String TPLVAR_METAMODEL = "metamodel";
+	public final static String TPLVAR_METAMODEL_PROPERTIES = "metamodelProperties";
+	public final static String TPLVAR_METAMODEL_INSTANTIABLE = "metamodelInstantiable";
+	public final static String TPLVAR_METAMODEL_MODELS = "metamodelModels";
+	public final static String TPLVAR_RFC3339_DATE_PACKAGE = "rfc3339DatePackage";
+	public final static String TPLVAR_RFC3339_JAVA_TIME_DESERIALIZER = "rfc3339JavaTimeDeserializer";
+
+	/**
+	 * The name of the class holding the shared primitives and the type id registry of the binary codecs -
+	 * generated into the model package if {@link IKeytilesCodegen#OPT_GENERATE_BINARY_CODECS} is on
+	 */
+	public final static String BINARY_CODECS_CLASS_NAME = "BinaryCodecs";
+	/**
+	 * name of the nested class generated into the models if {@link IKeytilesCodegen#OPT_GENERATE_BINARY_VIEWS} is
+	 * on
+	 */
+	public final static String BINARY_VIEW_CLASS_NAME = "BinaryView";
+
+	/**
+	 * The name of the generic streaming JSON array reader class - generated into the model package if
+	 * {@link IKeytilesCodegen#OPT_GENERATE_STREAMING_READERS} is on
+	 */
+	public final static String JSON_ARRAY_READER_CLASS_NAME = "JsonArrayReader";
+
+	/**
+	 * The name of the bounded String interning table class - generated into the model package if any of the
+	 * properties is interned (see {@link IKeytilesCodegen#X_PROPERTY_INTERN})
+	 */
+	public final static String STRING_INTERNER_CLASS_NAME = "StringInterner";
+	/**
+	 * The name of the class converting the 'scaled-long' number properties (see
+	 * {@link IKeytilesCodegen#X_PROPERTY_NUMBER_REPRESENTATION}) from / to text - generated into the model package
+	 * if any of the properties is using it
+	 */
+	public final static String SCALED_LONGS_CLASS_NAME = "ScaledLongs";
+	/**
+	 * The name of the exception (holding the violations) of the generated validators - generated into the model
+	 * package if {@link IKeytilesCodegen#OPT_GENERATE_VALIDATORS} is on
+	 */
+	public final static String MODEL_VALIDATION_EXCEPTION_CLASS_NAME = "ModelValidationException";
+	/**
+	 * The name of the class holding the descriptor types and the registry of the generated metamodels - generated
+	 * into the model package if {@link IKeytilesCodegen#OPT_GENERATE_METAMODELS} is on
+	 */
+	public final static String METAMODELS_CLASS_NAME = "Metamodels";
+	/**
+	 * The name of the hand-written RFC 3339 date-time parser / formatter class - generated into the model package
+	 * if the Jackson codecs (see {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS}) have date-time values and
+	 * into the invoker package for the ApiClient
+	 */
+	public final static String RFC3339_DATE_TIMES_CLASS_NAME = "Rfc3339DateTimes";
+	/**
+	 * The maxItems of an array is used as initial capacity only up to this - a bigger one is just an upper limit
+	 * and presizing with it would waste memory (see {@link IKeytilesCodegen#X_PROPERTY_EXPECTED_SIZE})
+	 */
+	public final static int MAX_ITEMS_CAPACITY_HINT_LIMIT = 64;
+
+	/**
+	 * The name of the Jackson Module generated into the model package if
+	 * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS} is on
+	 */
+	public final static String JACKSON_CODECS_MODULE_NAME = "JacksonCodecsModule";
+
+	public final static String TPLVAR_PRIMITIVE_MAP_VALUE_TYPE = "primitiveMapValueType";
+	public final static String TPLVAR_PRIMITIVE_MAP_TYPE_NAME = "primitiveMapTypeName";
+	public final static String TPLVAR_PRIMITIVE_MAP_WRAPPER_TYPE = "primitiveMapWrapperType";
+
+	protected final static String[] jacksonCodecImports = { "java.io.IOException",
+			"com.fasterxml.jackson.core.JsonGenerator", "com.fasterxml.jackson.core.JsonParser",
+			"java.util.ArrayList", "java.util.LinkedHashMap", "com.fasterxml.jackson.core.JsonToken",
+			"com.fasterxml.jackson.core.io.SerializedString",
+			"com.fasterxml.jackson.core.type.TypeReference", "com.fasterxml.jackson.core.type.WritableTypeId",
+			"com.fasterxml.jackson.databind.DeserializationContext", "com.fasterxml.jackson.databind.JsonDeserializer",
+			"com.fasterxml.jackson.databind.JsonMappingException", "com.fasterxml.jackson.databind.JsonSerializer",
+			"com.fasterxml.jackson.databind.SerializerProvider",
+			"com.fasterxml.jackson.databind.deser.ResolvableDeserializer",
+			"com.fasterxml.jackson.databind.deser.std.StdDeserializer",
+			"com.fasterxml.jackson.databind.jsontype.TypeSerializer",
+			"com.fasterxml.jackson.databind.ser.ResolvableSerializer",
+			"com.fasterxml.jackson.databind.ser.std.StdSerializer" };
+
+	protected final static String[] serializationProxyImports = { "java.io.Externalizable", "java.io.IOException",
+			"java.io.InvalidClassException", "java.io.ObjectInput", "java.io.ObjectOutput" };
+
+	protected final static String[] binaryCodecsClassImports = { "java.nio.BufferOverflowException",
+			"java.nio.ByteBuffer", "java.nio.charset.StandardCharsets", "java.util.HashMap", "java.util.Map" };
+
+	protected final static String[] lazyPropertyImports = { "java.io.IOException", "java.io.UncheckedIOException",
+			"com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.core.type.TypeReference",
+			"com.fasterxml.jackson.databind.util.TokenBuffer" };
+
+	protected final static String[] streamingReaderImports = { "java.io.IOException",
+			"com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.databind.ObjectMapper" };
+
+	protected final static String[] modelValidationExceptionClassImports = { "java.util.Collections",
+			"java.util.List" };
+
+	protected final static String[] metamodelsClassImports = { "java.util.Arrays", "java.util.Collection",
+			"java.util.Collections", "java.util.LinkedHashMap", "java.util.List", "java.util.Map",
+			"java.util.function.BiConsumer", "java.util.function.Function", "java.util.function.Supplier" };
+
+	// relative to the package of the date library - see getRfc3339DatePackage()
+	protected final static String[] rfc3339DateClassNames = { "Instant", "LocalDate", "OffsetDateTime", "ZoneOffset",
+			"format.DateTimeFormatter", "format.DateTimeParseException" };
+
+	protected final static String[] stringInternerClassImports = { "java.util.Collections", "java.util.Map",
+			"java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.atomic.LongAdder" };
+
+	protected final static String[] scaledLongsClassJacksonImports = { "java.io.IOException",
+			"java.lang.annotation.ElementType", "java.lang.annotation.Retention", "java.lang.annotation.RetentionPolicy",
+			"java.lang.annotation.Target", "com.fasterxml.jackson.core.JsonGenerator",
+			"com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.core.JsonToken",
+			"com.fasterxml.jackson.databind.BeanProperty", "com.fasterxml.jackson.databind.DeserializationContext",
+			"com.fasterxml.jackson.databind.JsonDeserializer", "com.fasterxml.jackson.databind.JsonMappingException",
+			"com.fasterxml.jackson.databind.JsonSerializer", "com.fasterxml.jackson.databind.SerializerProvider",
+			"com.fasterxml.jackson.databind.deser.ContextualDeserializer",
+			"com.fasterxml.jackson.databind.deser.std.StdDeserializer",
+			"com.fasterxml.jackson.databind.ser.ContextualSerializer",
+			"com.fasterxml.jackson.databind.ser.std.StdSerializer" };
+
+	protected final static String[] scaledLongPropertyJacksonImports = {
+			"com.fasterxml.jackson.databind.annotation.JsonDeserialize",
+			"com.fasterxml.jackson.databind.annotation.JsonSerialize" };
+
+	// the default value the Java generator gives to a 'type: number' property - the group is the number
+	protected final static Pattern bigDecimalDefaultValuePattern = Pattern
+			.compile("^new BigDecimal\\(\"?([^\"]*)\"?\\)$");
+
+	protected final static String[] jsonArrayReaderClassImports = { "java.io.Closeable", "java.io.IOException",
+			"java.io.UncheckedIOException", "java.util.Iterator", "java.util.NoSuchElementException",
+			"java.util.Spliterator", "java.util.Spliterators", "java.util.function.Consumer",
+			"java.util.stream.Stream", "java.util.stream.StreamSupport", "com.fasterxml.jackson.core.JsonParseException",
+			"com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.core.JsonToken",
+			"com.fasterxml.jackson.databind.ObjectReader" };
+
+	// note: this is asked for every property - so it is built only once
+	protected final static Set<String> supportedPropertyLevelVendorFieldNames = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList( //
+					X_PROPERTY_KEEP_PROPERTY_NAME_FLAG, //
+					X_PROPERTY_USE_PRIMITIVE_TYPE, //
+					X_PROPERTY_USE_PRIMITIVE_ARRAY, //
+					X_PROPERTY_USE_PRIMITIVE_MAP, //
+					X_PROPERTY_USE_PRESENCE_BIT, //
+					X_PROPERTY_LAZY, //
+					X_PROPERTY_INTERN, //
+					X_PROPERTY_EXPECTED_SIZE, //
+					X_PROPERTY_NUMBER_REPRESENTATION, //
+					X_PROPERTY_NUMBER_SCALE //
+			)));
+
+	protected final static String[] jacksonCodecsModuleImports = { "java.util.HashMap", "java.util.Map",
+			"com.fasterxml.jackson.core.Version", "com.fasterxml.jackson.databind.BeanDescription",
+			"com.fasterxml.jackson.databind.JavaType", "com.fasterxml.jackson.databind.JsonSerializer",
+			"com.fasterxml.jackson.databind.Module", "com.fasterxml.jackson.databind.SerializationConfig",
+			"com.fasterxml.jackson.databind.module.SimpleDeserializers",
+			"com.fasterxml.jackson.databind.ser.Serializers" };
+
+	protected final static String[] primitiveMapJacksonImports = { "java.io.IOException",
+			"com.fasterxml.jackson.core.JsonGenerator", "com.fasterxml.jackson.core.JsonParser",
+			"com.fasterxml.jackson.core.JsonToken", "com.fasterxml.jackson.databind.DeserializationContext",
+			"com.fasterxml.jackson.databind.SerializerProvider",
+			"com.fasterxml.jackson.databind.annotation.JsonDeserialize",
+			"com.fasterxml.jackson.databind.annotation.JsonSerialize",
+			"com.fasterxml.jackson.databind.deser.std.StdDeserializer",
+			"com.fasterxml.jackson.databind.ser.std.StdSerializer" };
+
+	// the return type of the API operations returning a JSON array - the group is the item type
+	protected final static Pattern listReturnTypePattern = Pattern.compile("^(?:java\\.util\\.)?List<(.+)>$");
 
 	protected final static Map<String, String> wrapperToPrimitiveTypeMapping;
 
@@ -100,15 +321,54 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		wrapperToPrimitiveTypeMapping.put("Boolean", "boolean");
 	}
 
+	/**
+	 * The value types we have primitive specialized map classes for - mapped to the name part we use in the
+	 * generated class name (e.g. "long" -> StringToLongMap)
+	 */
+	protected final static Map<String, String> primitiveMapValueTypeNames;
+
+	static {
+		primitiveMapValueTypeNames = new LinkedHashMap<>();
+		primitiveMapValueTypeNames.put("int", "Int");
+		primitiveMapValueTypeNames.put("long", "Long");
+		primitiveMapValueTypeNames.put("double", "Double");
+	}
+
 	protected ModelStyle modelStyle = ModelStyle.simpleConsistent;
 	protected boolean keepPropertyNames = false;
 	protected boolean allowRenameConflictingFields = false;
 	protected boolean usePrimitiveTypesIfPossible = false;
+	protected boolean usePrimitiveArraysIfPossible = false;
+	protected boolean usePrimitiveMapsIfPossible = false;
+	protected boolean usePresenceBitsForPrimitives = false;
+	protected boolean lazyContainerAllocation = false;
+	protected NumberRepresentation numberRepresentation = NumberRepresentation.BIG_DECIMAL;
 	protected boolean nullableTagDefaultValue = false;
 	protected boolean addExplanationsToModel = false;
 	protected boolean excludeImportMappingsFromGeneration = true;
 	protected SchemaParamCollection addSchemaModelsToImportMappings = null;
 
+	protected String generationEventLogFile = null;
+	// decisions we make are recorded here instead of logging them one by one
+	protected GenerationEventLog generationEventLog = new GenerationEventLog(false);
+
+	protected boolean skipGenerationIfUpToDate = false;
+	// if skipGenerationIfUpToDate is on this is the result of the check
+	protected UpToDateCheck upToDateCheck = null;
+
+	protected boolean deterministicOutput = false;
+
+	protected boolean generateJacksonCodecs = false;
+	protected boolean generateSerializationProxies = false;
+	protected boolean generateBinaryCodecs = false;
+	protected boolean generateBinaryViews = false;
+	protected boolean generateStreamingReaders = false;
+	protected boolean generateValidators = false;
+	protected boolean generateMetamodels = false;
+	// the package of the date-time classes the hand-written RFC 3339 parser can handle - see
+	// getRfc3339DatePackage()
+	protected String rfc3339DatePackage = null;
+
 	protected String mavenExecutionId = null;
 	protected List<String> addSchemaModelsToImportMappingsFromMavenExecutions = null;
 
@@ -158,6 +418,40 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		usePrimitiveTypesOption.setDefault("false");
 		cliOptions.add(usePrimitiveTypesOption);
 
+		CliOption usePrimitiveArraysOption = CliOption.newBoolean(OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE,
+				"If true then array properties of numbers / booleans will use Java primitive arrays (e.g. long[]) instead of List of wrapper types - whenever it is possible - default is: FALSE");
+		usePrimitiveArraysOption.setDefault("false");
+		cliOptions.add(usePrimitiveArraysOption);
+
+		CliOption usePrimitiveMapsOption = CliOption.newBoolean(OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE,
+				"If true then map properties with int / long / double values will use a generated primitive specialized map class (e.g. StringToLongMap) instead of Map of wrapper types - whenever it is possible - default is: FALSE");
+		usePrimitiveMapsOption.setDefault("false");
+		cliOptions.add(usePrimitiveMapsOption);
+
+		CliOption usePresenceBitsOption = CliOption.newBoolean(OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES,
+				"If true then optional properties which became primitive types (see option '"
+						+ OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE
+						+ "') keep track of NULL with a bit in a presence bit mask of the model - whenever it is possible - default is: FALSE");
+		usePresenceBitsOption.setDefault("false");
+		cliOptions.add(usePresenceBitsOption);
+
+		CliOption lazyContainerAllocationOption = CliOption.newBoolean(OPT_LAZY_CONTAINER_ALLOCATION,
+				"If true then non-nullable array and map properties start with a shared immutable empty List / Map and get a real container only when the first item is added with the add...Item() / put...Item() methods - default is: FALSE");
+		lazyContainerAllocationOption.setDefault("false");
+		cliOptions.add(lazyContainerAllocationOption);
+
+		CliOption numberRepresentationOption = CliOption.newString(OPT_NUMBER_REPRESENTATION,
+				"How 'type: number' properties without format are represented in the models - can be overridden on property level with '"
+						+ X_PROPERTY_NUMBER_REPRESENTATION + "' - default is: " + NumberRepresentation.BIG_DECIMAL);
+		numberRepresentationOption.addEnum(NumberRepresentation.BIG_DECIMAL.getValue(),
+				"This is what the underlying Java generator does");
+		numberRepresentationOption.addEnum(NumberRepresentation.DOUBLE.getValue(),
+				"Double - or double with option '" + OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE + "'");
+		numberRepresentationOption.addEnum(NumberRepresentation.FLOAT.getValue(),
+				"Float - or float with option '" + OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE + "'");
+		numberRepresentationOption.setDefault(NumberRepresentation.BIG_DECIMAL.getValue());
+		cliOptions.add(numberRepresentationOption);
+
 		/*
 		 * mmm not a good idea... let's remove
 		 *
@@ -183,6 +477,57 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		addSchemaModelsToImportMappingsOption.setDefault(null);
 		cliOptions.add(addSchemaModelsToImportMappingsOption);
 
+		CliOption generationEventLogFileOption = CliOption.newString(OPT_GENERATION_EVENT_LOG_FILE,
+				"If set then all decisions the generator made (per model, per property) are written into this file. Otherwise just a summary is logged - default is: null");
+		generationEventLogFileOption.setDefault(null);
+		cliOptions.add(generationEventLogFileOption);
+
+		CliOption skipGenerationIfUpToDateOption = CliOption.newBoolean(OPT_SKIP_GENERATION_IF_UP_TO_DATE,
+				"If true then model generation is skipped if none of the inputs (schemas, options, templates, codegen version) changed since the previous run and the generated files are intact - default is: FALSE");
+		skipGenerationIfUpToDateOption.setDefault("false");
+		cliOptions.add(skipGenerationIfUpToDateOption);
+
+		CliOption deterministicOutputOption = CliOption.newBoolean(OPT_DETERMINISTIC_OUTPUT,
+				"If true then generated files are byte-identical for identical inputs: no generation timestamp, sorted imports - default is: FALSE");
+		deterministicOutputOption.setDefault("false");
+		cliOptions.add(deterministicOutputOption);
+
+		CliOption generateJacksonCodecsOption = CliOption.newBoolean(OPT_GENERATE_JACKSON_CODECS,
+				"If true then a Jackson serializer and deserializer is generated into each model (no reflection) plus a Jackson Module into the model package which registers them all. Only for modelStyle simpleConsistent - default is: FALSE");
+		generateJacksonCodecsOption.setDefault("false");
+		cliOptions.add(generateJacksonCodecsOption);
+
+		CliOption generateSerializationProxiesOption = CliOption.newBoolean(OPT_GENERATE_SERIALIZATION_PROXIES,
+				"If true then Java serialization of the models goes through a generated Externalizable serialization proxy which writes the fields directly (no reflection, primitives without boxing) with a schema hash version tag. Only for modelStyle simpleConsistent with serializableModel=true - default is: FALSE");
+		generateSerializationProxiesOption.setDefault("false");
+		cliOptions.add(generateSerializationProxiesOption);
+
+		CliOption generateBinaryCodecsOption = CliOption.newBoolean(OPT_GENERATE_BINARY_CODECS,
+				"If true then a compact, schema driven binary codec (encode(ByteBuffer) / decode(ByteBuffer) methods) is generated into each model and enum plus a class into the model package with the type id registry. Only for modelStyle simpleConsistent - default is: FALSE");
+		generateBinaryCodecsOption.setDefault("false");
+		cliOptions.add(generateBinaryCodecsOption);
+
+		CliOption generateBinaryViewsOption = CliOption.newBoolean(OPT_GENERATE_BINARY_VIEWS,
+				"If true then the models with a binary codec get a nested read-only flyweight BinaryView class too: it wraps a ByteBuffer holding an encoded object and its getters decode only the requested property, right from the buffer. Requires option '"
+						+ OPT_GENERATE_BINARY_CODECS + "' - default is: FALSE");
+		generateBinaryViewsOption.setDefault("false");
+		cliOptions.add(generateBinaryViewsOption);
+
+		CliOption generateStreamingReadersOption = CliOption.newBoolean(OPT_GENERATE_STREAMING_READERS,
+				"If true then each model gets a streaming JSON array reader (an Iterator reading the elements one by one from a Jackson JsonParser, optionally into one reused instance) and the API operations returning an array get a streaming variant too (resttemplate library only). Only for modelStyle simpleConsistent with a Jackson based library - default is: FALSE");
+		generateStreamingReadersOption.setDefault("false");
+		cliOptions.add(generateStreamingReadersOption);
+
+		CliOption generateValidatorsOption = CliOption.newBoolean(OPT_GENERATE_VALIDATORS,
+				"If true then each model gets a validate() method checking the constraints of the schema (non-nullable, minimum / maximum, minLength / maxLength, pattern, minItems / maxItems) and the nested models with plain Java code - no reflective validator engine is needed. Only for modelStyle simpleConsistent - default is: FALSE");
+		generateValidatorsOption.setDefault("false");
+		cliOptions.add(generateValidatorsOption);
+
+		CliOption generateMetamodelsOption = CliOption.newBoolean(OPT_GENERATE_METAMODELS,
+				"If true then each model gets a static metamodel: descriptors of its properties (name, JSON name, type, nullability, visibility) reading / writing the values with lambdas, plus a registry of all metamodels of the package - so tools can access the properties without reflection. Only for modelStyle simpleConsistent - default is: FALSE");
+		generateMetamodelsOption.setDefault("false");
+		cliOptions.add(generateMetamodelsOption);
+
 		CliOption mavenExecutionIdOption = CliOption.newString(OPT_MAVEN_EXECUTION_ID,
 				"Usable only from Maven. This is a unique execution ID - default is: null");
 		mavenExecutionIdOption.setDefault(null);
@@ -227,6 +572,32 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 			usePrimitiveTypesIfPossible = Boolean
 					.valueOf(additionalProperties.get(OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE).toString());
 		}
+		if (additionalProperties.containsKey(OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE)) {
+			usePrimitiveArraysIfPossible = Boolean
+					.valueOf(additionalProperties.get(OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE).toString());
+		}
+		if (additionalProperties.containsKey(OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE)) {
+			usePrimitiveMapsIfPossible = Boolean
+					.valueOf(additionalProperties.get(OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE).toString());
+		}
+		if (additionalProperties.containsKey(OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES)) {
+			usePresenceBitsForPrimitives = Boolean
+					.valueOf(additionalProperties.get(OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES).toString());
+		}
+		if (additionalProperties.containsKey(OPT_LAZY_CONTAINER_ALLOCATION)) {
+			lazyContainerAllocation = Boolean
+					.valueOf(additionalProperties.get(OPT_LAZY_CONTAINER_ALLOCATION).toString());
+		}
+		if (additionalProperties.containsKey(OPT_NUMBER_REPRESENTATION)) {
+			String value = additionalProperties.get(OPT_NUMBER_REPRESENTATION).toString();
+			numberRepresentation = NumberRepresentation.fromValue(value);
+			// note: the scale of a scaled long is a property level thing
+			if (numberRepresentation == null || numberRepresentation == NumberRepresentation.SCALED_LONG) {
+				throw new IllegalArgumentException("option '" + OPT_NUMBER_REPRESENTATION + "' must be one of '"
+						+ NumberRepresentation.BIG_DECIMAL + "', '" + NumberRepresentation.DOUBLE + "', '"
+						+ NumberRepresentation.FLOAT + "' but it is '" + value + "'");
+			}
+		}
 		if (additionalProperties.containsKey(OPT_ADD_EXPLANATIONS_TO_MODEL)) {
 			addExplanationsToModel = Boolean
 					.valueOf(additionalProperties.get(OPT_ADD_EXPLANATIONS_TO_MODEL).toString());
@@ -242,6 +613,47 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 					(String) additionalProperties.get(OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING));
 		}
 
+		if (additionalProperties.containsKey(OPT_GENERATION_EVENT_LOG_FILE)) {
+			generationEventLogFile = (String) additionalProperties.get(OPT_GENERATION_EVENT_LOG_FILE);
+			// keeping all details is only worth it if we write them out
+			if (!generationEventLog.isKeepAllDetails()) {
+				generationEventLog = new GenerationEventLog(true);
+			}
+		}
+
+		if (additionalProperties.containsKey(OPT_SKIP_GENERATION_IF_UP_TO_DATE)) {
+			skipGenerationIfUpToDate = Boolean
+					.valueOf(additionalProperties.get(OPT_SKIP_GENERATION_IF_UP_TO_DATE).toString());
+		}
+
+		if (additionalProperties.containsKey(OPT_DETERMINISTIC_OUTPUT)) {
+			deterministicOutput = Boolean.valueOf(additionalProperties.get(OPT_DETERMINISTIC_OUTPUT).toString());
+		}
+
+		if (additionalProperties.containsKey(OPT_GENERATE_JACKSON_CODECS)) {
+			generateJacksonCodecs = Boolean.valueOf(additionalProperties.get(OPT_GENERATE_JACKSON_CODECS).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_SERIALIZATION_PROXIES)) {
+			generateSerializationProxies = Boolean
+					.valueOf(additionalProperties.get(OPT_GENERATE_SERIALIZATION_PROXIES).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_BINARY_CODECS)) {
+			generateBinaryCodecs = Boolean.valueOf(additionalProperties.get(OPT_GENERATE_BINARY_CODECS).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_BINARY_VIEWS)) {
+			generateBinaryViews = Boolean.valueOf(additionalProperties.get(OPT_GENERATE_BINARY_VIEWS).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_STREAMING_READERS)) {
+			generateStreamingReaders = Boolean
+					.valueOf(additionalProperties.get(OPT_GENERATE_STREAMING_READERS).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_VALIDATORS)) {
+			generateValidators = Boolean.valueOf(additionalProperties.get(OPT_GENERATE_VALIDATORS).toString());
+		}
+		if (additionalProperties.containsKey(OPT_GENERATE_METAMODELS)) {
+			generateMetamodels = Boolean.valueOf(additionalProperties.get(OPT_GENERATE_METAMODELS).toString());
+		}
+
 		if (additionalProperties.containsKey(OPT_MAVEN_EXECUTION_ID)) {
 			mavenExecutionId = (String) additionalProperties.get(OPT_MAVEN_EXECUTION_ID);
 		}
@@ -276,12 +688,95 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 	public void processOpts() {
 		super.processOpts();
 
+		// a reused (mvn -T) builder thread must not carry the executions of its previous module over
+		MavenModuleScope.enter(outputFolder());
+
 		// we use Jackson - so for now add some new imports from this lib
 		importMapping.put("JsonCreator", "com.fasterxml.jackson.annotation.JsonCreator");
 		importMapping.put("JsonInclude", "com.fasterxml.jackson.annotation.JsonInclude");
 		importMapping.put("JsonInclude.Include", "com.fasterxml.jackson.annotation.JsonInclude.Include");
+		// used by the lazy container allocation
+		importMapping.put("Collections", "java.util.Collections");
+		importMapping.put("JsonIgnore", "com.fasterxml.jackson.annotation.JsonIgnore");
 
 		processAdditionalOptions();
+
+		if (deterministicOutput) {
+			// the generatedDate would make every file different on every run
+			additionalProperties.put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, Boolean.TRUE);
+		}
+
+		if (generateJacksonCodecs && (modelStyle != ModelStyle.simpleConsistent
+				|| !additionalProperties.containsKey("jackson"))) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}' and a Jackson based library",
+					OPT_GENERATE_JACKSON_CODECS, ModelStyle.simpleConsistent);
+			generateJacksonCodecs = false;
+		}
+		if (generateSerializationProxies
+				&& (modelStyle != ModelStyle.simpleConsistent || !Boolean.TRUE.equals(serializableModel))) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}' and serializableModel=true",
+					OPT_GENERATE_SERIALIZATION_PROXIES, ModelStyle.simpleConsistent);
+			generateSerializationProxies = false;
+		}
+		if (generateBinaryCodecs && modelStyle != ModelStyle.simpleConsistent) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}'", OPT_GENERATE_BINARY_CODECS,
+					ModelStyle.simpleConsistent);
+			generateBinaryCodecs = false;
+		}
+		if (generateBinaryViews && !generateBinaryCodecs) {
+			LOGGER.warn("option '{}' is ignored - it is supported only together with option '{}'",
+					OPT_GENERATE_BINARY_VIEWS, OPT_GENERATE_BINARY_CODECS);
+			generateBinaryViews = false;
+		}
+		if (generateStreamingReaders && (modelStyle != ModelStyle.simpleConsistent
+				|| !additionalProperties.containsKey("jackson"))) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}' and a Jackson based library",
+					OPT_GENERATE_STREAMING_READERS, ModelStyle.simpleConsistent);
+			generateStreamingReaders = false;
+		}
+		// note: the API templates are checking it
+		additionalProperties.put(OPT_GENERATE_STREAMING_READERS, generateStreamingReaders);
+		if (generateValidators && modelStyle != ModelStyle.simpleConsistent) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}'", OPT_GENERATE_VALIDATORS,
+					ModelStyle.simpleConsistent);
+			generateValidators = false;
+		}
+		if (generateMetamodels && modelStyle != ModelStyle.simpleConsistent) {
+			LOGGER.warn("option '{}' is ignored - it is supported only with modelStyle '{}'", OPT_GENERATE_METAMODELS,
+					ModelStyle.simpleConsistent);
+			generateMetamodels = false;
+		}
+
+		rfc3339DatePackage = getRfc3339DatePackage();
+		if (rfc3339DatePackage != null && additionalProperties.containsKey("jackson")
+				&& modelStyle == ModelStyle.simpleConsistent) {
+			// the hand-written RFC 3339 parser of the ApiClient - see CustomInstantDeserializer and
+			// Rfc3339JavaTimeDeserializer
+			String invokerFolder = (sourceFolder + '/' + invokerPackage).replace(".", "/");
+			additionalProperties.put(TPLVAR_RFC3339_DATE_PACKAGE, rfc3339DatePackage);
+			supportingFiles.add(new SupportingFile(RFC3339_DATE_TIMES_CLASS_NAME + ".mustache", invokerFolder,
+					RFC3339_DATE_TIMES_CLASS_NAME + ".java"));
+			if ("java.time".equals(rfc3339DatePackage) && "resttemplate".equals(getLibrary())) {
+				additionalProperties.put(TPLVAR_RFC3339_JAVA_TIME_DESERIALIZER, true);
+				supportingFiles.add(new SupportingFile("Rfc3339JavaTimeDeserializer.mustache", invokerFolder,
+						"Rfc3339JavaTimeDeserializer.java"));
+			}
+		}
+	}
+
+	/**
+	 * @return the package of the date-time classes ("java.time" or "org.threeten.bp") if the
+	 *         {@link #RFC3339_DATE_TIMES_CLASS_NAME} can handle them - NULL otherwise (e.g. legacy or joda dates or
+	 *         OffsetDateTime is mapped to something else)
+	 */
+	protected String getRfc3339DatePackage() {
+		String offsetDateTimeClass = importMapping.get("OffsetDateTime");
+		if (!("java8".equals(dateLibrary) || "threetenbp".equals(dateLibrary)) || offsetDateTimeClass == null
+				|| !offsetDateTimeClass.endsWith(".OffsetDateTime")) {
+			return null;
+		}
+		String datePackage = offsetDateTimeClass.substring(0, offsetDateTimeClass.lastIndexOf('.'));
+		return "java.time".equals(datePackage) || "org.threeten.bp".equals(datePackage) ? datePackage : null;
 	}
 
 	@Override
@@ -290,6 +785,54 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 
 		// let's hook in the magic!
 		ConfigOptionHelper.preprocessOpenAPIHook(this, openAPI);
+
+		if (skipGenerationIfUpToDate) {
+			support_skipGenerationIfUpToDate(openAPI);
+		}
+	}
+
+	@Override
+	public void processOpenAPI(OpenAPI openAPI) {
+		super.processOpenAPI(openAPI);
+
+		// the generator invokes this once all files are written - if writing failed we never get here so the
+		// next run will not be skipped
+		if (upToDateCheck != null && !upToDateCheck.isUpToDate()) {
+			upToDateCheck.saveState();
+		}
+	}
+
+	/**
+	 * Checks if the inputs changed since the previous run - see {@link UpToDateCheck}. If not then all
+	 * schemas are removed from the OpenAPI so there will be nothing to generate. And the models of the
+	 * previous run are registered into the {@link MavenExecutionInfo} (if we have one) as if they were
+	 * generated now
+	 */
+	protected void support_skipGenerationIfUpToDate(OpenAPI openAPI) {
+		if (openAPI.getPaths() != null && !openAPI.getPaths().isEmpty()) {
+			// the check just covers model files
+			LOGGER.info("option '{}' is ignored - the schema has paths and only model generation can be skipped",
+					OPT_SKIP_GENERATION_IF_UP_TO_DATE);
+			return;
+		}
+
+		upToDateCheck = UpToDateCheck.check(this);
+		if (!upToDateCheck.isUpToDate()) {
+			return;
+		}
+
+		Map<String, String> previousModels = upToDateCheck.getPreviousModels();
+		LOGGER.info("inputs did not change since the previous run - generation of {} models is skipped",
+				previousModels.size());
+
+		if (mavenExecutionId != null) {
+			MavenExecutionInfo executionInfo = MavenExecutionInfo.getExecutionInfo(mavenExecutionId);
+			previousModels.forEach(executionInfo::registerPreviouslyGeneratedModel);
+		}
+
+		if (openAPI.getComponents() != null) {
+			openAPI.getComponents().setSchemas(new LinkedHashMap<>());
+		}
 	}
 
 	@Override
@@ -322,6 +865,11 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		model.imports.remove("Schema");
 		model.imports.remove("ApiModelProperty");
 		model.imports.remove("ApiModel");
+		// the properties might have moved away from BigDecimal - see support_numberRepresentation()
+		if (model.imports.contains("BigDecimal") && model.vars.stream()
+				.noneMatch(property -> property.datatype != null && property.datatype.contains("BigDecimal"))) {
+			model.imports.remove("BigDecimal");
+		}
 
 		model.vendorExtensions.put(X_MODEL_STATE, ModelState.created);
 
@@ -363,23 +911,279 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 			PropertyInlineMessages.getOrCreateMessages(property, ModelMessageType.EXPLANATION);
 		}
 
-		if ("StatApiEndpointProblemClass".equals(model.name)) {
-			LOGGER.info("buu");
-		}
-
-		// if ("arrayFieldWithDefault".equals(property.baseName)
-		// || "objectArrayFieldWithDefault".equals(property.baseName)) {
-		// LOGGER.info("buu");
-		// }
-
 		support_outputOnlyIfNonDefault(model, property);
 		support_keepPropertyNames(model, property);
 
+		support_numberRepresentation(model, property);
 		support_usePrimitiveTypesIfPossible(model, property);
+		support_usePresenceBitsForPrimitives(model, property);
+		support_usePrimitiveArraysIfPossible(model, property);
 
 		support_arrayDefaultValue(model, property);
 		support_mapDefaultValue(model, property);
+		support_usePrimitiveMapsIfPossible(model, property);
+		support_lazyContainerAllocation(model, property);
+		support_containerCapacityHint(model, property);
+		support_lazyProperty(model, property);
+		support_internStrings(model, property);
+
+	}
+
+	/**
+	 * List / Map properties are created presized if we know how many items they will hold - instead of going
+	 * through repeated resize-and-copy while they are filled. The expected number of items is taken from
+	 * {@link #X_PROPERTY_EXPECTED_SIZE} if it is there - otherwise from the maxItems of the schema if it is
+	 * small enough (see {@link #MAX_ITEMS_CAPACITY_HINT_LIMIT}) or from the minItems
+	 * <p>
+	 * The capacity is used by the empty default value of the field, the add...Item() / put...Item() helper
+	 * methods and the generated Jackson deserializer (see {@link #OPT_GENERATE_JACKSON_CODECS})
+	 */
+	protected void support_containerCapacityHint(CodegenModel model, CodegenProperty property) {
+		Object expectedSizeWish = property.getVendorExtensions().get(X_PROPERTY_EXPECTED_SIZE);
+		if (expectedSizeWish != null) {
+			if (!(expectedSizeWish instanceof Integer) || ((Integer) expectedSizeWish) <= 0) {
+				throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName
+						+ "' the value of '" + X_PROPERTY_EXPECTED_SIZE + "' must be a positive integer but it is '"
+						+ expectedSizeWish + "'");
+			}
+			if (property.maxItems != null && ((Integer) expectedSizeWish) > property.maxItems) {
+				throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName
+						+ "' the value of '" + X_PROPERTY_EXPECTED_SIZE + "' (" + expectedSizeWish
+						+ ") is bigger than the maxItems (" + property.maxItems + ")");
+			}
+		}
+		if (modelStyle != ModelStyle.simpleConsistent) {
+			if (expectedSizeWish != null) {
+				// note: this is a representation detail - the same schema might be generated with other styles too
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"containers are not presized - it is supported only with modelStyle '"
+								+ ModelStyle.simpleConsistent + "'");
+			}
+			return;
+		}
+
+		boolean isList = property.getIsListContainer() && property.datatypeWithEnum.startsWith("List<");
+		boolean isMap = property.getIsMapContainer() && property.datatypeWithEnum.startsWith("Map<");
+		if (!isList && !isMap) {
+			if (expectedSizeWish != null) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName + "' it was told to presize the container with '"
+						+ X_PROPERTY_EXPECTED_SIZE + "' but it is not possible because: it is not a List or Map - but '"
+						+ property.datatypeWithEnum + "'");
+			}
+			return;
+		}
+
+		int expectedSize;
+		String source;
+		if (expectedSizeWish != null) {
+			expectedSize = (Integer) expectedSizeWish;
+			source = "'" + X_PROPERTY_EXPECTED_SIZE + ": " + expectedSize + "'";
+		} else if (property.maxItems != null && property.maxItems > 0
+				&& property.maxItems <= MAX_ITEMS_CAPACITY_HINT_LIMIT) {
+			expectedSize = property.maxItems;
+			source = "'maxItems: " + expectedSize + "'";
+		} else if (property.minItems != null && property.minItems > 0) {
+			expectedSize = property.minItems;
+			source = "'minItems: " + expectedSize + "'";
+		} else {
+			// we know nothing
+			return;
+		}
+		// note: a HashMap is resized when it gets 3/4 full - this is what Guava Maps.newHashMapWithExpectedSize() does
+		int capacity = isList ? expectedSize : (int) (expectedSize / 0.75f) + 1;
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_CONTAINER_CAPACITY, Integer.toString(capacity));
+
+		// the usual empty container default - and not the lazy shared one or a user assigned default
+		if (property.defaultValue != null && property.defaultValue.endsWith(">()")
+				&& (property.defaultValue.startsWith("new ArrayList<") || property.defaultValue.startsWith("new HashMap<"))) {
+			property.defaultValue = property.defaultValue.substring(0, property.defaultValue.length() - 1) + capacity
+					+ ")";
+		}
+
+		PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+				"containers are created with initial capacity " + capacity + " because of " + source);
+	}
 
+	/**
+	 * Low cardinality String properties (country codes, device types, tenant ids...) marked with
+	 * {@link #X_PROPERTY_INTERN} - or all String properties of an object marked with {@link #X_OBJECT_INTERN} -
+	 * are canonicalized: the setter / constructor replaces the value with the instance held in a bounded,
+	 * concurrent interning table of the property. So millions of deserialized objects share a few String
+	 * instances instead of holding their own copies
+	 * <p>
+	 * The tables are declared by {@link #support_internedProperties(CodegenModel, Map.Entry)}
+	 */
+	protected void support_internStrings(CodegenModel model, CodegenProperty property) {
+		Object propertyLevelWish = property.getVendorExtensions().get(X_PROPERTY_INTERN);
+		boolean internOnPropertyLevel = Boolean.TRUE.equals(propertyLevelWish);
+		// note: the property level can switch it off
+		boolean internOnObjectLevel = getBooleanValue(model, X_OBJECT_INTERN) && !Boolean.FALSE.equals(propertyLevelWish);
+		if (!internOnPropertyLevel && !internOnObjectLevel) {
+			return;
+		}
+		if (modelStyle != ModelStyle.simpleConsistent) {
+			// note: this is a representation detail - the same schema might be generated with other styles too
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"interning is not used - it is supported only with modelStyle '" + ModelStyle.simpleConsistent
+							+ "'");
+			return;
+		}
+
+		String canNotInternReason = isPropertyEligibleForInterning(property);
+		if (canNotInternReason != null) {
+			if (internOnPropertyLevel) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName
+						+ "' it was told to intern the values but it is not possible because: " + canNotInternReason);
+			}
+			return;
+		}
+
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_INTERNER,
+				CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, property.name) + "_INTERNER");
+		if (internOnPropertyLevel) {
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"values are interned because it is enforced on property level by '" + X_PROPERTY_INTERN
+							+ ": true' flag");
+		} else {
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"values are interned because '" + X_OBJECT_INTERN + ": true' is set on parent object");
+		}
+	}
+
+	/**
+	 * @return NULL if the values of the property can be interned - the reason why not otherwise
+	 */
+	protected String isPropertyEligibleForInterning(CodegenProperty property) {
+		if (property.getIsContainer() || property.getIsEnum() || !"String".equals(property.datatypeWithEnum)) {
+			return "it is not a String - but '" + property.datatypeWithEnum + "'";
+		}
+		return null;
+	}
+
+	/**
+	 * Array / map properties marked with {@link #X_PROPERTY_LAZY} are not decoded while the model is
+	 * read from JSON - the raw tokens of the value are retained instead and decoded on the first call of the
+	 * getter. If the value is not touched then it is written back as it is. Good for big nested parts of a
+	 * message which are rarely looked at
+	 * <p>
+	 * The rendering is finished by {@link #support_lazyProperties(CodegenModel, Map.Entry)}
+	 */
+	protected void support_lazyProperty(CodegenModel model, CodegenProperty property) {
+		if (!Boolean.TRUE.equals(property.getVendorExtensions().get(X_PROPERTY_LAZY))) {
+			return;
+		}
+		if (modelStyle != ModelStyle.simpleConsistent) {
+			// note: this is a representation detail - the same schema might be generated with other styles too
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"lazy decoding is not used - it is supported only with modelStyle '" + ModelStyle.simpleConsistent
+							+ "'");
+			return;
+		}
+
+		String canNotBeLazyReason = isPropertyEligibleForLazyDecoding(model, property);
+		if (canNotBeLazyReason != null) {
+			throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '" + model.name
+					+ "', field '" + property.baseName + "' it was told to decode it lazily but it is not possible because: "
+					+ canNotBeLazyReason);
+		}
+
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_LAZY_FLAG, true);
+		PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+				"decoded only on first access because it is enforced on property level by '" + X_PROPERTY_LAZY
+						+ ": true' flag - until then the raw JSON is kept");
+	}
+
+	/**
+	 * @return NULL if the property can be decoded lazily - the reason why not otherwise
+	 */
+	protected String isPropertyEligibleForLazyDecoding(CodegenModel model, CodegenProperty property) {
+		if (!additionalProperties.containsKey("jackson")) {
+			return "it is supported only with the Jackson serialization library";
+		}
+		// note: OpenAPI 3.0 ignores the siblings of a $ref - so a plain object reference can not carry the tag,
+		// and wrapping it into an allOf gives us Object
+		if (!property.getIsListContainer() && !property.getIsMapContainer()) {
+			return "it is not an array or map (object with additionalProperties)";
+		}
+		if (getBooleanValue(property, X_COMPUTED_PROPERTY_PRIMITIVE_ARRAY_FLAG)
+				|| property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE) != null) {
+			return "it became a primitive array / map";
+		}
+		if (property.getIsReadOnly()) {
+			return "it is readOnly - so it is a constructor argument";
+		}
+		if (!property.nullable) {
+			return "it is not nullable - so the setter is null-checking the value";
+		}
+		if (CodegenUtil.isPropertyMandatory(model, property)) {
+			return "it is mandatory - so it is a constructor argument";
+		}
+		if (getBooleanValue(property, X_COMPUTED_PROPERTY_SERIALIZE_ONLY_IF_NON_DEFAULT_FLAG)) {
+			return "it is listed in '" + X_OBJECT_SERIALIZE_ONLY_IF_NON_DEFAULT_PROPERTIES
+					+ "' - the raw JSON can not be compared to the default";
+		}
+		return null;
+	}
+
+	/**
+	 * Non-nullable List / Map properties without default value would get a new (empty) ArrayList /
+	 * HashMap in every instance. With {@link #OPT_LAZY_CONTAINER_ALLOCATION} they start with the shared
+	 * immutable empty instance of {@link java.util.Collections} instead - and the add...Item() / put...Item()
+	 * helper methods and the getter replace it with a real container on first use, so the getter still returns
+	 * a modifiable container. The field is never NULL and the JSON output does not change
+	 */
+	protected void support_lazyContainerAllocation(CodegenModel model, CodegenProperty property) {
+		if (!lazyContainerAllocation) {
+			return;
+		}
+		if (modelStyle != ModelStyle.simpleConsistent) {
+			// note: this is a representation detail - the same schema might be generated with other styles too
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"lazy container allocation is not used - it is supported only with modelStyle '"
+							+ ModelStyle.simpleConsistent + "'");
+			return;
+		}
+
+		if (property.nullable || property.defaultValue == null
+				|| CodegenUtil.hasPropertyUserAssignedDefaultValue(model, property)) {
+			// starts with NULL or has default items - nothing to do
+			return;
+		}
+		String sharedEmptyContainer;
+		String emptyContainerFactory;
+		if (property.getIsListContainer() && property.defaultValue.startsWith("new ArrayList<")
+				&& property.defaultValue.endsWith(">()")) {
+			sharedEmptyContainer = "Collections.EMPTY_LIST";
+			emptyContainerFactory = "Collections.emptyList()";
+		} else if (property.getIsMapContainer() && property.defaultValue.startsWith("new HashMap<")
+				&& property.defaultValue.endsWith(">()")) {
+			sharedEmptyContainer = "Collections.EMPTY_MAP";
+			emptyContainerFactory = "Collections.emptyMap()";
+		} else {
+			// not a List / Map - or something else than the usual empty container
+			return;
+		}
+		if (property.getIsReadOnly()) {
+			// there are no helper methods which would replace the shared instance - and Jackson would try to add
+			// items to it through the getter
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"lazy container allocation is not used - property is readOnly");
+			return;
+		}
+
+		property.defaultValue = emptyContainerFactory;
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_LAZY_EMPTY_CONTAINER, sharedEmptyContainer);
+		model.imports.add("Collections");
+		if (additionalProperties.containsKey("jackson")) {
+			// the getter is replacing the shared instance - Jackson reads the field directly instead
+			model.imports.add("JsonIgnore");
+		}
+
+		PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+				"starts with shared empty container (option '" + OPT_LAZY_CONTAINER_ALLOCATION
+						+ "=true') - a real one is allocated when the first item is added or the getter is called");
 	}
 
 	protected void support_mapDefaultValue(CodegenModel model, CodegenProperty property) {
@@ -418,7 +1222,6 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 	 * we get an array with appropriate content
 	 *
 	 */
-	@SuppressWarnings("unchecked")
 	protected void support_arrayDefaultValue(CodegenModel model, CodegenProperty property) {
 		if (!property.getIsArrayModel() && !property.getIsListContainer()) {
 			// we have nothing to do - not an array
@@ -449,18 +1252,7 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		// OK so this is an array and has default value defined in schema - let's get that!
 
 		ObjectMapper objectMapper = new ObjectMapper();
-		HashMap<String, Object> parseResult = null;
-		Exception parsingException = null;
-		try {
-			parseResult = objectMapper.readValue(property.jsonSchema, HashMap.class);
-		} catch (Exception e) {
-			parsingException = e;
-		}
-		Preconditions.checkState(parseResult != null,
-				"Oops it looks we failed to json parse $ref attribute at property %s.%s! jsonSchema\n%s\nlead to error: %s",
-				model.name, property.baseName, property.jsonSchema, parsingException);
-
-		List<Object> defaultValues = (List<Object>) parseResult.get("default");
+		List<Object> defaultValues = CodegenUtil.getPropertyUserAssignedDefaultArrayValue(model, property);
 
 		// for now we just support primitive types
 		if (defaultValues.size() > 0) {
@@ -509,7 +1301,8 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 				model.imports.add("JsonInclude");
 				model.imports.add("JsonInclude.Include");
 
-				LOGGER.info("model {}, field '{}': due to {} setting necessary annotations will be added", model.name,
+				generationEventLog.record(GenerationEventCategory.SERIALIZE_ONLY_IF_NON_DEFAULT,
+						"model {}, field '{}': due to {} setting necessary annotations will be added", model.name,
 						property.baseName, X_OBJECT_SERIALIZE_ONLY_IF_NON_DEFAULT_PROPERTIES);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
 						"listed in '" + X_OBJECT_SERIALIZE_ONLY_IF_NON_DEFAULT_PROPERTIES
@@ -548,7 +1341,7 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 				property.setGetter("get_" + property.baseName);
 				property.setSetter("set_" + property.baseName);
 
-				LOGGER.info(
+				generationEventLog.record(GenerationEventCategory.PROPERTY_NAME_KEPT,
 						"model {}, field '{}': due to 'keepPropertyName' settings original name is kept and getter '{}' / setter '{}' will be used",
 						model.name, property.baseName, property.getter, property.setter);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
@@ -558,7 +1351,8 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 				PropertyInlineMessages.appendToSetter(property, ModelMessageType.EXPLANATION,
 						"due to 'keepPropertyName' settings original name of field is kept and for setter we go with 'set_<fieldName>' pattern");
 			} else {
-				LOGGER.info("model {}, field '{}': name is changed to '{}' and getter '{}' / setter '{}' will be used",
+				generationEventLog.record(GenerationEventCategory.PROPERTY_NAME_CHANGED,
+						"model {}, field '{}': name is changed to '{}' and getter '{}' / setter '{}' will be used",
 						model.name, property.baseName, property.name, property.getter, property.setter);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
 						"name is changed, in schema the original name is: '" + property.baseName + "'");
@@ -611,6 +1405,123 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		return null;
 	}
 
+	/**
+	 * 'type: number' properties without format are BigDecimal by default. With option
+	 * {@link #OPT_NUMBER_REPRESENTATION} or {@link #X_PROPERTY_NUMBER_REPRESENTATION} on the property they can
+	 * become Double / Float - or a Long holding a fixed-point value multiplied by 10^scale (the scale is given with
+	 * {@link #X_PROPERTY_NUMBER_SCALE}). The exact text conversion of the latter is done by the generated
+	 * {@link #SCALED_LONGS_CLASS_NAME} class
+	 * <p>
+	 * This runs before {@link #support_usePrimitiveTypesIfPossible(CodegenModel, CodegenProperty)} so the new
+	 * types can become primitives just like the ones coming from the schema
+	 */
+	protected void support_numberRepresentation(CodegenModel model, CodegenProperty property) {
+		Object representationWish = property.getVendorExtensions().get(X_PROPERTY_NUMBER_REPRESENTATION);
+		Object scaleWish = property.getVendorExtensions().get(X_PROPERTY_NUMBER_SCALE);
+		NumberRepresentation propertyLevelRepresentation = null;
+		if (representationWish != null) {
+			propertyLevelRepresentation = NumberRepresentation.fromValue(representationWish.toString());
+			if (propertyLevelRepresentation == null) {
+				throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName
+						+ "' the value of '" + X_PROPERTY_NUMBER_REPRESENTATION + "' must be one of "
+						+ Arrays.toString(NumberRepresentation.values()) + " but it is '" + representationWish + "'");
+			}
+		}
+		boolean scaledLong = propertyLevelRepresentation == NumberRepresentation.SCALED_LONG;
+		if (scaleWish != null) {
+			if (!scaledLong) {
+				throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName
+						+ "' '" + X_PROPERTY_NUMBER_SCALE + "' is given but it can be used only together with '"
+						+ X_PROPERTY_NUMBER_REPRESENTATION + ": " + NumberRepresentation.SCALED_LONG + "'");
+			}
+			if (!(scaleWish instanceof Integer) || ((Integer) scaleWish) < 0 || ((Integer) scaleWish) > 18) {
+				throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName
+						+ "' the value of '" + X_PROPERTY_NUMBER_SCALE
+						+ "' must be an integer between 0 and 18 but it is '" + scaleWish + "'");
+			}
+		} else if (scaledLong) {
+			throw new SchemaValidationException("In model '" + model.name + "', field '" + property.baseName + "' '"
+					+ X_PROPERTY_NUMBER_REPRESENTATION + ": " + NumberRepresentation.SCALED_LONG + "' requires '"
+					+ X_PROPERTY_NUMBER_SCALE + "' too - the number of fraction digits the long holds");
+		}
+
+		boolean isBigDecimal = !property.getIsContainer() && !property.getIsEnum()
+				&& "BigDecimal".equals(property.datatypeWithEnum);
+		if (!isBigDecimal) {
+			if (propertyLevelRepresentation != null
+					&& (scaledLong || !propertyLevelRepresentation.getWrapperType().equals(property.datatypeWithEnum))) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName + "' it was told to use '"
+						+ X_PROPERTY_NUMBER_REPRESENTATION + ": " + propertyLevelRepresentation
+						+ "' but it is not possible because: it is not a 'type: number' property without format - but '"
+						+ property.datatypeWithEnum + "'");
+			}
+			return;
+		}
+
+		NumberRepresentation representation = propertyLevelRepresentation != null ? propertyLevelRepresentation
+				: numberRepresentation;
+		if (representation == NumberRepresentation.BIG_DECIMAL) {
+			return;
+		}
+		if (scaledLong && modelStyle != ModelStyle.simpleConsistent) {
+			// note: this is a representation detail - the same schema might be generated with other styles too
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"BigDecimal is kept - '" + NumberRepresentation.SCALED_LONG
+							+ "' is supported only with modelStyle '" + ModelStyle.simpleConsistent + "'");
+			return;
+		}
+
+		// the default value has to follow the type
+		if (property.defaultValue != null && !"null".equals(property.defaultValue)) {
+			Matcher defaultValueMatcher = bigDecimalDefaultValuePattern.matcher(property.defaultValue);
+			if (!defaultValueMatcher.matches()) {
+				throw new IllegalStateException("Oops! In model '" + model.name + "', field '" + property.baseName
+						+ "' the default value '" + property.defaultValue + "' is not recognized as a BigDecimal");
+			}
+			String number = defaultValueMatcher.group(1);
+			if (representation == NumberRepresentation.DOUBLE) {
+				property.defaultValue = number + "d";
+			} else if (representation == NumberRepresentation.FLOAT) {
+				property.defaultValue = number + "f";
+			} else {
+				try {
+					property.defaultValue = new BigDecimal(number).movePointRight((Integer) scaleWish).longValueExact()
+							+ "L";
+				} catch (ArithmeticException e) {
+					throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+							+ model.name + "', field '" + property.baseName + "' the default value " + number
+							+ " can not be represented as '" + NumberRepresentation.SCALED_LONG + "' with '"
+							+ X_PROPERTY_NUMBER_SCALE + ": " + scaleWish + "' without rounding");
+				}
+			}
+		}
+
+		String wrapperType = representation.getWrapperType();
+		property.baseType = wrapperType;
+		property.datatype = wrapperType;
+		property.datatypeWithEnum = wrapperType;
+		property.getVendorExtensions().put(CodegenConstants.IS_NUMBER_EXT_NAME, false);
+		if (representation == NumberRepresentation.DOUBLE) {
+			property.getVendorExtensions().put(CodegenConstants.IS_DOUBLE_EXT_NAME, true);
+		} else if (representation == NumberRepresentation.FLOAT) {
+			property.getVendorExtensions().put(CodegenConstants.IS_FLOAT_EXT_NAME, true);
+		} else {
+			property.getVendorExtensions().put(CodegenConstants.IS_LONG_EXT_NAME, true);
+			property.getVendorExtensions().put(X_COMPUTED_PROPERTY_SCALED_LONG_SCALE, scaleWish.toString());
+		}
+
+		String source = propertyLevelRepresentation != null
+				? "it is enforced on property level by '" + X_PROPERTY_NUMBER_REPRESENTATION + ": " + representation
+						+ "'"
+				: "option '" + OPT_NUMBER_REPRESENTATION + "' is '" + representation + "'";
+		PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+				(scaledLong ? "holds the value multiplied by 10^" + scaleWish + " in a Long"
+						: wrapperType + " is used instead of BigDecimal") + " because " + source);
+		generationEventLog.record(GenerationEventCategory.NUMBER_REPRESENTATION, "model {}: property {} is {}",
+				model.name, property.baseName, scaledLong ? representation + " with scale " + scaleWish : wrapperType);
+	}
+
 	protected void support_usePrimitiveTypesIfPossible(CodegenModel model, CodegenProperty property) {
 
 		// as a first step let's check if property is eligible to use primitive datatype
@@ -678,35 +1589,447 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 			property.datatype = usablePrimitiveType;
 			property.datatypeWithEnum = usablePrimitiveType;
 			property.defaultValue = getPrimitiveTypeDefaultValue(usablePrimitiveType);
+			property.getVendorExtensions().put(X_COMPUTED_PROPERTY_PRIMITIVE_TYPE, usablePrimitiveType);
 		}
 
 	}
 
-	@Override
-	public String getModelFullyQualifiedName(String modelName) {
-		String fqName = ignoreImportMapping ? null : importMapping.get(modelName);
-		if (fqName == null) {
-			fqName = modelPackage + "." + modelName;
+	/**
+	 * Checks the property and tells if there are any reasons not to track its NULL value with a presence bit
+	 *
+	 * @param property
+	 * @return NULL if property is eligible to use a presence bit - the reason "why not?" otherwise
+	 */
+	protected String isPropertyEligibleForUsingPresenceBit(CodegenModel model, CodegenProperty property) {
+		if (property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_TYPE) == null) {
+			return "property did not become a primitive type - see option '" + OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE
+					+ "'";
 		}
-		return fqName;
+		if (property.getIsReadOnly()) {
+			return "property is readOnly - it becomes a constructor argument, there is nothing to track";
+		}
+		if (property.required || CodegenUtil.isPropertyMandatory(model, property)) {
+			return "property is required - it becomes a constructor argument, there is nothing to track";
+		}
+		return null;
 	}
 
 	/**
-	 * We override this method because this guy in the Java generation is actually detecting
-	 * "conflicting" field names and renaming them automatically. We want to be able to capture these
-	 * renames and mark those vars as these auto-renames definitely lead to some side effects. Makes the
-	 * generated models fuzzy and ugly - so maybe we want to fail the build in these cases
-	 *
-	 * note: the renaming mechanism in this method also had problems. As a contribution code fix was
-	 * done and ticket https://github.com/swagger-api/swagger-codegen-generators/issues/1066 was raised
+	 * Optional properties which became a primitive type (see
+	 * {@link #support_usePrimitiveTypesIfPossible(CodegenModel, CodegenProperty)}) can not hold NULL anymore. With
+	 * this feature they get a bit in a presence bit mask of the model - a cleared bit means NULL. The decision
+	 * follows the same logic as {@link #support_usePrimitiveArraysIfPossible(CodegenModel, CodegenProperty)}. The
+	 * bits are assigned by {@link #support_presenceBits(CodegenModel)}
 	 */
-	@Override
-	protected void fixUpParentAndInterfaces(CodegenModel codegenModel, Map<String, CodegenModel> allModels) {
-		// if ("DogResponseClass".equals(codegenModel.name) ||
-		// "ExtendedFieldClass".equals(codegenModel.name)) {
-		// LOGGER.info("buu");
-		// }
+	protected void support_usePresenceBitsForPrimitives(CodegenModel model, CodegenProperty property) {
+		Object usePresenceBitTag = property.getVendorExtensions().get(X_PROPERTY_USE_PRESENCE_BIT);
+		if (Boolean.FALSE.equals(usePresenceBitTag)) {
+			// explicitly refused
+			return;
+		}
+		if (usePresenceBitTag == null && !usePresenceBitsForPrimitives) {
+			return;
+		}
+		if (modelStyle != ModelStyle.simpleConsistent) {
+			// note: this is a representation detail - the same schema might be generated with other styles too
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"presence bit is not used - it is supported only with modelStyle '" + ModelStyle.simpleConsistent
+							+ "'");
+			return;
+		}
+
+		String canNotUsePresenceBitReason = isPropertyEligibleForUsingPresenceBit(model, property);
+		if (Boolean.TRUE.equals(usePresenceBitTag)) {
+			// OK so user said: do it! I need it here!
+			if (canNotUsePresenceBitReason != null) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName
+						+ "' it was told to use presence bit but it is not possible because: "
+						+ canNotUsePresenceBitReason);
+			}
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"NULL is tracked with a presence bit because it is enforced on property level by '"
+							+ X_PROPERTY_USE_PRESENCE_BIT + ": true' flag");
+		} else if (canNotUsePresenceBitReason != null) {
+			if (property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_TYPE) != null) {
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"however we should use presence bit but we can not for this field because: "
+								+ canNotUsePresenceBitReason);
+			}
+			return;
+		} else {
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"NULL is tracked with a presence bit because a) it can b) option '"
+							+ OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES + "=true' is used in generator setup");
+		}
+
+		String primitiveType = (String) property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_TYPE);
+		for (Map.Entry<String, String> wrapperToPrimitive : wrapperToPrimitiveTypeMapping.entrySet()) {
+			if (wrapperToPrimitive.getValue().equals(primitiveType)) {
+				property.getVendorExtensions().put(X_COMPUTED_PROPERTY_PRESENCE_WRAPPER_TYPE,
+						wrapperToPrimitive.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Finishes the lazily decoded properties of the model (see
+	 * {@link #support_lazyProperty(CodegenModel, CodegenProperty)}) - the raw JSON is kept in an extra
+	 * "...Raw" field next to the field of the property
+	 * <p>
+	 * note: field names must be final by now!
+	 *
+	 * @return TRUE if the model has lazily decoded properties
+	 */
+	protected boolean support_lazyProperties(CodegenModel model, Map.Entry<String, Object> modelEntry) {
+		int count = 0;
+		for (CodegenProperty property : model.vars) {
+			if (!getBooleanValue(property, X_COMPUTED_PROPERTY_LAZY_FLAG)) {
+				continue;
+			}
+			String rawFieldName = property.name + "Raw";
+			if (CodegenUtil.getPropertyByName(model.vars, rawFieldName) != null) {
+				throw new SchemaValidationException("Model '" + model.name + "' has a property named '" + rawFieldName
+						+ "' - this name is reserved for the raw JSON of property '" + property.baseName
+						+ "' which is marked with '" + X_PROPERTY_LAZY + ": true'");
+			}
+			count++;
+		}
+		if (count == 0) {
+			return false;
+		}
+		for (String lazyImport : lazyPropertyImports) {
+			CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, lazyImport);
+		}
+		generationEventLog.record(GenerationEventCategory.LAZY_PROPERTY,
+				"model {}: {} properties are decoded lazily - on first access", model.name, count);
+		return true;
+	}
+
+	/**
+	 * Collects the interned String properties of the model (see
+	 * {@link #support_internStrings(CodegenModel, CodegenProperty)}) - every one of them gets its own static
+	 * interning table in the model
+	 *
+	 * @return the interning tables to declare - with keys "constant" (name of the static field) and "name"
+	 *         (the name of the table in the registry of {@link #STRING_INTERNER_CLASS_NAME})
+	 */
+	protected List<Map<String, Object>> support_internedProperties(CodegenModel model, ModelExtraInfo extraInfo) {
+		List<Map<String, Object>> interners = new ArrayList<>();
+		// note: interned properties are always private (final) fields - and the inherited ones are interned by the
+		// parent
+		List<CodegenProperty> ownFields = new ArrayList<>(extraInfo.getPrivateFinalFields());
+		ownFields.addAll(extraInfo.getPrivateFields());
+		for (CodegenProperty property : ownFields) {
+			Object constant = property.getVendorExtensions().get(X_COMPUTED_PROPERTY_INTERNER);
+			if (constant == null) {
+				continue;
+			}
+			Map<String, Object> interner = new HashMap<>();
+			interner.put("constant", constant);
+			interner.put("name", model.classname + "." + property.baseName);
+			interners.add(interner);
+		}
+		if (!interners.isEmpty()) {
+			generationEventLog.record(GenerationEventCategory.INTERNED_STRINGS,
+					"model {}: the values of {} String properties are interned", model.name, interners.size());
+		}
+		return interners;
+	}
+
+	/**
+	 * Collects the scale constants of the 'scaled-long' properties of the model (see
+	 * {@link #support_numberRepresentation(CodegenModel, CodegenProperty)}) and injects the imports the Jackson
+	 * annotations of them need
+	 *
+	 * @return the scale constants to declare - with keys "constant" (name of the static field), "scale" and
+	 *         "name" (the name of the property)
+	 */
+	protected List<Map<String, Object>> support_scaledLongProperties(CodegenModel model,
+			Map.Entry<String, Object> modelEntry) {
+		List<Map<String, Object>> scaledLongs = new ArrayList<>();
+		for (CodegenProperty property : model.vars) {
+			Object scale = property.getVendorExtensions().get(X_COMPUTED_PROPERTY_SCALED_LONG_SCALE);
+			if (scale == null) {
+				continue;
+			}
+			Map<String, Object> scaledLong = new HashMap<>();
+			scaledLong.put("constant", CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, property.name) + "_SCALE");
+			scaledLong.put("scale", scale);
+			scaledLong.put("name", property.baseName);
+			scaledLongs.add(scaledLong);
+		}
+		if (!scaledLongs.isEmpty()) {
+			if (additionalProperties.containsKey("jackson")) {
+				for (String scaledLongImport : scaledLongPropertyJacksonImports) {
+					CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, scaledLongImport);
+				}
+			}
+			generationEventLog.record(GenerationEventCategory.NUMBER_REPRESENTATION,
+					"model {}: {} number properties are held in scaled Longs", model.name, scaledLongs.size());
+		}
+		return scaledLongs;
+	}
+
+	/**
+	 * Assigns the bits in the presence bit mask to the properties of the model which are using one - see
+	 * {@link #support_usePresenceBitsForPrimitives(CodegenModel, CodegenProperty)}
+	 *
+	 * @return TRUE if the model needs the presence bit mask field
+	 */
+	protected boolean support_presenceBits(CodegenModel model) {
+		int bit = 0;
+		for (CodegenProperty property : model.vars) {
+			if (property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRESENCE_WRAPPER_TYPE) == null) {
+				continue;
+			}
+			if (bit == Long.SIZE) {
+				throw new SchemaValidationException("Model '" + model.name + "' has more than " + Long.SIZE
+						+ " properties using presence bit - it does not fit into one long. Please exclude some of them with '"
+						+ X_PROPERTY_USE_PRESENCE_BIT + ": false'");
+			}
+			property.getVendorExtensions().put(X_COMPUTED_PROPERTY_PRESENCE_MASK,
+					"0x" + Long.toHexString(1L << bit) + "L");
+			bit++;
+		}
+		if (bit == 0) {
+			return false;
+		}
+		if (CodegenUtil.getPropertyByName(model.vars, TPLVAR_PRESENCE_BITS) != null) {
+			throw new SchemaValidationException("Model '" + model.name + "' has a property named '"
+					+ TPLVAR_PRESENCE_BITS + "' - this name is reserved for the presence bit mask field if option '"
+					+ OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES + "' or '" + X_PROPERTY_USE_PRESENCE_BIT + "' is used");
+		}
+		ModelInlineMessages.appendToClass(model, ModelMessageType.EXPLANATION, "has " + bit
+				+ " optional primitive fields - their NULL value is tracked in a presence bit mask");
+		return true;
+	}
+
+	/**
+	 * Checks the array property and tells if there are any reasons not to use a primitive array
+	 *
+	 * @param property
+	 * @return NULL if property is eligible to use primitive array - the reason "why not?" otherwise
+	 */
+	protected String isPropertyEligibleForUsingPrimitiveArray(CodegenProperty property) {
+		if (!property.getIsListContainer() || property.items == null) {
+			return "property is not an array";
+		}
+		if (!property.datatype.startsWith("List<")) {
+			return "property is rendered as " + property.datatype + " - not a List";
+		}
+		if (property.items.getIsEnum() || getUsablePrimitiveType(property.items) == null) {
+			return "item data type '" + property.items.datatypeWithEnum + "' has no primitive type alternative";
+		}
+		if (property.items.nullable) {
+			return "items are nullable:true - a primitive array can not hold NULL values";
+		}
+		return null;
+	}
+
+	/**
+	 * Arrays of numbers / booleans can become primitive arrays (e.g. long[]) instead of List of
+	 * wrappers. The decision follows the same logic as
+	 * {@link #support_usePrimitiveTypesIfPossible(CodegenModel, CodegenProperty)}
+	 */
+	protected void support_usePrimitiveArraysIfPossible(CodegenModel model, CodegenProperty property) {
+		if (!property.getIsListContainer()) {
+			return;
+		}
+		Object usePrimitiveArrayTag = property.getVendorExtensions().get(X_PROPERTY_USE_PRIMITIVE_ARRAY);
+		if (Boolean.FALSE.equals(usePrimitiveArrayTag)) {
+			// explicitly refused
+			return;
+		}
+
+		String canNotUsePrimitiveArrayReason = isPropertyEligibleForUsingPrimitiveArray(property);
+		boolean canUsePrimitiveArray = canNotUsePrimitiveArrayReason == null;
+
+		boolean primitiveArrayUsed = false;
+		if (Boolean.TRUE.equals(usePrimitiveArrayTag)) {
+			// OK so user said: do it! I need it here!
+			if (!canUsePrimitiveArray) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName
+						+ "' it was told to use primitive array but it is not possible because: "
+						+ canNotUsePrimitiveArrayReason);
+			}
+			primitiveArrayUsed = true;
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"primitive array is used because it is enforced on property level by '"
+							+ X_PROPERTY_USE_PRIMITIVE_ARRAY + ": true' flag");
+		} else if (usePrimitiveArraysIfPossible) {
+			if (canUsePrimitiveArray) {
+				primitiveArrayUsed = true;
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"primitive array is used because a) it can b) option '" + OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE
+								+ "=true' is used in generator setup");
+			} else {
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"however we should use primitive array but we can not for this field because: "
+								+ canNotUsePrimitiveArrayReason);
+			}
+		}
+		if (!primitiveArrayUsed) {
+			return;
+		}
+
+		String itemType = getUsablePrimitiveType(property.items);
+		String arrayType = itemType + "[]";
+
+		// default value - what support_arrayDefaultValue() would do for a List
+		if (CodegenUtil.hasPropertyUserAssignedDefaultValue(model, property)) {
+			List<String> items = new ArrayList<>();
+			for (Object defaultItem : CodegenUtil.getPropertyUserAssignedDefaultArrayValue(model, property)) {
+				if (!(defaultItem instanceof Number) && !(defaultItem instanceof Boolean)) {
+					throw new SchemaValidationException("The '" + model.name + "." + property.baseName
+							+ "' default value contains '" + defaultItem + "' which is not a valid " + itemType
+							+ " value");
+				}
+				String item = defaultItem.toString();
+				if ("long".equals(itemType)) {
+					item += "L";
+				} else if ("float".equals(itemType)) {
+					item += "f";
+				}
+				items.add(item);
+			}
+			property.defaultValue = "new " + itemType + "[] {" + Joiner.on(", ").join(items) + "}";
+		} else if (property.nullable) {
+			property.defaultValue = "null";
+		} else {
+			property.defaultValue = "new " + itemType + "[0]";
+		}
+
+		property.baseType = arrayType;
+		property.datatype = arrayType;
+		property.datatypeWithEnum = arrayType;
+		property.containerType = null;
+		// from now on this is not a List anymore
+		property.items = null;
+		property.getVendorExtensions().put(CodegenConstants.IS_LIST_CONTAINER_EXT_NAME, false);
+		property.getVendorExtensions().put(CodegenConstants.IS_CONTAINER_EXT_NAME, false);
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_PRIMITIVE_ARRAY_FLAG, true);
+	}
+
+	/**
+	 * @param valueType
+	 *            one of the keys of {@link #primitiveMapValueTypeNames}
+	 * @return the name of the generated primitive specialized map class with the given value type
+	 */
+	public String getPrimitiveMapClassName(String valueType) {
+		return toModelName("StringTo" + primitiveMapValueTypeNames.get(valueType) + "Map");
+	}
+
+	/**
+	 * Checks the map property and tells if there are any reasons not to use a primitive specialized map
+	 *
+	 * @param property
+	 * @return NULL if property is eligible to use primitive map - the reason "why not?" otherwise
+	 */
+	protected String isPropertyEligibleForUsingPrimitiveMap(CodegenProperty property) {
+		if (!property.getIsMapContainer() || property.items == null) {
+			return "property is not a map";
+		}
+		if (!property.datatype.startsWith("Map<String, ")) {
+			return "property is rendered as " + property.datatype + " - not a Map with String keys";
+		}
+		String valueType = getUsablePrimitiveType(property.items);
+		if (property.items.getIsEnum() || valueType == null || !primitiveMapValueTypeNames.containsKey(valueType)) {
+			return "value data type '" + property.items.datatypeWithEnum
+					+ "' has no primitive map alternative - supported value types are: "
+					+ primitiveMapValueTypeNames.keySet();
+		}
+		if (property.items.nullable) {
+			return "values are nullable:true - a primitive map can not hold NULL values";
+		}
+		return null;
+	}
+
+	/**
+	 * Maps with int / long / double values can become a generated, primitive specialized map class (e.g.
+	 * StringToLongMap) instead of Map of wrappers. The decision follows the same logic as
+	 * {@link #support_usePrimitiveArraysIfPossible(CodegenModel, CodegenProperty)}. The map classes are added
+	 * to the generated models by {@link #support_primitiveMapClasses(Map)}
+	 */
+	protected void support_usePrimitiveMapsIfPossible(CodegenModel model, CodegenProperty property) {
+		if (!property.getIsMapContainer()) {
+			return;
+		}
+		Object usePrimitiveMapTag = property.getVendorExtensions().get(X_PROPERTY_USE_PRIMITIVE_MAP);
+		if (Boolean.FALSE.equals(usePrimitiveMapTag)) {
+			// explicitly refused
+			return;
+		}
+
+		String canNotUsePrimitiveMapReason = isPropertyEligibleForUsingPrimitiveMap(property);
+		boolean canUsePrimitiveMap = canNotUsePrimitiveMapReason == null;
+
+		boolean primitiveMapUsed = false;
+		if (Boolean.TRUE.equals(usePrimitiveMapTag)) {
+			// OK so user said: do it! I need it here!
+			if (!canUsePrimitiveMap) {
+				throw new SchemaValidationException("unsatisfiable wish - generation must abort! In model '"
+						+ model.name + "', field '" + property.baseName
+						+ "' it was told to use primitive map but it is not possible because: "
+						+ canNotUsePrimitiveMapReason);
+			}
+			primitiveMapUsed = true;
+			PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+					"primitive map is used because it is enforced on property level by '"
+							+ X_PROPERTY_USE_PRIMITIVE_MAP + ": true' flag");
+		} else if (usePrimitiveMapsIfPossible) {
+			if (canUsePrimitiveMap) {
+				primitiveMapUsed = true;
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"primitive map is used because a) it can b) option '" + OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE
+								+ "=true' is used in generator setup");
+			} else {
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"however we should use primitive map but we can not for this field because: "
+								+ canNotUsePrimitiveMapReason);
+			}
+		}
+		if (!primitiveMapUsed) {
+			return;
+		}
+
+		String valueType = getUsablePrimitiveType(property.items);
+		String mapType = getPrimitiveMapClassName(valueType);
+
+		// note: support_mapDefaultValue() already rejected user assigned default values
+		property.defaultValue = property.nullable ? "null" : "new " + mapType + "()";
+		property.baseType = mapType;
+		property.datatype = mapType;
+		property.datatypeWithEnum = mapType;
+		property.containerType = null;
+		// from now on this is not a Map anymore
+		property.items = null;
+		property.getVendorExtensions().put(CodegenConstants.IS_MAP_CONTAINER_EXT_NAME, false);
+		property.getVendorExtensions().put(CodegenConstants.IS_CONTAINER_EXT_NAME, false);
+		property.getVendorExtensions().put(X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE, valueType);
+	}
+
+	@Override
+	public String getModelFullyQualifiedName(String modelName) {
+		String fqName = ignoreImportMapping ? null : importMapping.get(modelName);
+		if (fqName == null) {
+			fqName = modelPackage + "." + modelName;
+		}
+		return fqName;
+	}
 
+	/**
+	 * We override this method because this guy in the Java generation is actually detecting
+	 * "conflicting" field names and renaming them automatically. We want to be able to capture these
+	 * renames and mark those vars as these auto-renames definitely lead to some side effects. Makes the
+	 * generated models fuzzy and ugly - so maybe we want to fail the build in these cases
+	 *
+	 * note: the renaming mechanism in this method also had problems. As a contribution code fix was
+	 * done and ticket https://github.com/swagger-api/swagger-codegen-generators/issues/1066 was raised
+	 */
+	@Override
+	protected void fixUpParentAndInterfaces(CodegenModel codegenModel, Map<String, CodegenModel> allModels) {
 		// in order being able to revert the renames calling super. will cause we need to store a copy of
 		// the original vars
 		// This way we can detect renames later and revert them
@@ -835,10 +2158,6 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 
 			CodegenUtil.validateModelState(codegenModel, ModelState.baseCodegenFullyEnriched);
 
-			if ("DogResponseClass".equals(codegenModel.name) || "ExtendedFieldClass".equals(codegenModel.name)) {
-				LOGGER.info("buu");
-			}
-
 			// now let's recognize what was renamed and mark them!
 			for (CodegenProperty property : codegenModel.vars) {
 				if (property.getBooleanValue(X_PROPERTY_CONFLICTING_AND_RENAMED)) {
@@ -1038,15 +2357,13 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		// let's iterate over all entries and check / hunt for enum composition models!
 
 		// we will collect up all stuff we replaced during this turn
-		Map<String, CodegenModel> replacedEnums = new HashMap<>();
+		// note: if two schema defined enums are equal to a fabricated one the first one wins - in
+		// deterministic mode "first" should not depend on hashing
+		Map<String, CodegenModel> replacedEnums = deterministicOutput ? new TreeMap<>() : new HashMap<>();
 
 		objs.entrySet().forEach(modelEntry -> {
 			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
 
-			if ("ExtendedErrorCodesAnyOf".equals(theModel.name)) {
-				LOGGER.info("buu");
-			}
-
 			CodegenModel joinedEnumModel = null;
 			try {
 				// this can return null - if not appropriate for merging
@@ -1067,7 +2384,7 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		// next step: let's discover enums who are equal to each other so potentially they can be replaced
 		// with each other
 		replacedEnums.entrySet().forEach(modelEntry -> {
-			Set<String> equalsTo = new HashSet<>();
+			Set<String> equalsTo = deterministicOutput ? new TreeSet<>() : new HashSet<>();
 			replacedEnums.entrySet().forEach(modelEntry2 -> {
 				if (modelEntry.getValue() != modelEntry2.getValue()
 						&& CodegenUtil.areEnumModelsEqual(modelEntry.getValue(), modelEntry2.getValue())) {
@@ -1086,7 +2403,7 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		// and finally lets merge enums!
 		// if there are schema-defined enums which are equal to fabricated enums let's remove the fabricated
 		// enums and repoint usage points to the schema-defined ones
-		Map<String, Object> allProcessedModelsResult = new HashMap<>(objs);
+		Map<String, Object> allProcessedModelsResult = new TreeMap<>(objs);
 		replacedEnums.entrySet().forEach(modelEntry -> {
 			if (modelEntry.getValue().getBooleanValue(IKeytilesCodegen.X_MODEL_SCHEMA_DEFINED_MERGED_ENUM)) {
 				Set<String> equalsToEnums = (Set<String>) modelEntry.getValue().getVendorExtensions()
@@ -1099,8 +2416,8 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 						// if this one is not directly declared then let's replace it with the directly declared (and
 						// equals) one!
 						if (!eualsToEnumModel.getBooleanValue(IKeytilesCodegen.X_MODEL_SCHEMA_DEFINED_MERGED_ENUM)) {
-							LOGGER.info(
-									"=== replace - fabricated (by Codegen) enum '{}' will be removed and replaced with '{}' as they are equal",
+							generationEventLog.record(GenerationEventCategory.ENUM_REPLACED,
+									"fabricated (by Codegen) enum '{}' will be removed and replaced with '{}' as they are equal",
 									eualsToEnumModel.name, modelEntry.getValue().name);
 
 							CodegenUtil.replaceModelReferenceInPostProcessAllModelsInput(objs, equalsToEnumName,
@@ -1117,6 +2434,123 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		return allProcessedModelsResult;
 	}
 
+	/**
+	 * Marks the enum model - or the inline enum properties of the model - if the enum values are int.
+	 * See {@link IKeytilesCodegen#X_COMPUTED_INT_VALUED_ENUM_FLAG}
+	 */
+	protected void support_intValuedEnums(CodegenModel model) {
+		if (model.getIsEnum() && "Integer".equals(model.dataType)
+				&& CodegenUtil.hasOnlyNonNullEnumValues(model.allowableValues)) {
+			model.getVendorExtensions().put(X_COMPUTED_INT_VALUED_ENUM_FLAG, true);
+		}
+		for (CodegenProperty property : model.vars) {
+			// inline enums of arrays/maps are rendered from the (innermost) items
+			for (CodegenProperty item = property; item != null; item = item.items) {
+				if (item.getIsEnum() && "Integer".equals(item.datatype)
+						&& CodegenUtil.hasOnlyNonNullEnumValues(item.allowableValues)) {
+					item.getVendorExtensions().put(X_COMPUTED_INT_VALUED_ENUM_FLAG, true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the properties with the expressions equals() and hashCode() should use - see
+	 * {@link IKeytilesCodegen#X_COMPUTED_PROPERTY_EQUALS_EXPRESSION} and
+	 * {@link IKeytilesCodegen#X_COMPUTED_PROPERTY_HASH_EXPRESSION}. Primitive fields are compared and
+	 * hashed with type specialized methods - so nothing is boxed. Resulting values are the same as
+	 * Objects.equals() / Objects.hash() would give.
+	 * <p>
+	 * note: field names must be final by now!
+	 */
+	protected void support_equalsAndHashCode(CodegenModel model) {
+		for (CodegenProperty property : model.vars) {
+			String thisValue = "this." + property.name;
+			String otherValue = model.classVarName + "." + property.name;
+			String primitiveType = (String) property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_TYPE);
+
+			String equalsExpression = "Objects.equals(" + thisValue + ", " + otherValue + ")";
+			String hashExpression = "Objects.hashCode(" + property.name + ")";
+			if (getBooleanValue(property, X_COMPUTED_PROPERTY_LAZY_FLAG)) {
+				// the value might be still in raw form - the getter decodes it
+				equalsExpression = "Objects.equals(this." + property.getter + "(), " + model.classVarName + "."
+						+ property.getter + "())";
+				hashExpression = "Objects.hashCode(" + property.getter + "())";
+			} else if (property.getIsByteArray() || getBooleanValue(property, X_COMPUTED_PROPERTY_PRIMITIVE_ARRAY_FLAG)) {
+				equalsExpression = "Arrays.equals(" + thisValue + ", " + otherValue + ")";
+				hashExpression = "Arrays.hashCode(" + property.name + ")";
+			} else if (primitiveType != null) {
+				switch (primitiveType) {
+				case "byte":
+					equalsExpression = thisValue + " == " + otherValue;
+					hashExpression = "Byte.hashCode(" + property.name + ")";
+					break;
+				case "short":
+					equalsExpression = thisValue + " == " + otherValue;
+					hashExpression = "Short.hashCode(" + property.name + ")";
+					break;
+				case "int":
+					equalsExpression = thisValue + " == " + otherValue;
+					hashExpression = "Integer.hashCode(" + property.name + ")";
+					break;
+				case "long":
+					equalsExpression = thisValue + " == " + otherValue;
+					hashExpression = "Long.hashCode(" + property.name + ")";
+					break;
+				case "boolean":
+					equalsExpression = thisValue + " == " + otherValue;
+					hashExpression = "Boolean.hashCode(" + property.name + ")";
+					break;
+				// note: compare() is what the boxed equals() does - NaN equals NaN, 0.0 and -0.0 differs
+				case "float":
+					equalsExpression = "Float.compare(" + thisValue + ", " + otherValue + ") == 0";
+					hashExpression = "Float.hashCode(" + property.name + ")";
+					break;
+				case "double":
+					equalsExpression = "Double.compare(" + thisValue + ", " + otherValue + ") == 0";
+					hashExpression = "Double.hashCode(" + property.name + ")";
+					break;
+				default:
+					throw new IllegalStateException("Oops! Primitive type '" + primitiveType + "' of " + model.name
+							+ "." + property.name + " is not handled - please report this case as a bug!");
+				}
+			}
+			String presenceMask = (String) property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRESENCE_MASK);
+			if (presenceMask != null) {
+				// NULL (cleared bit) equals only to NULL - and its hash is 0 just like Objects.hashCode(null)
+				equalsExpression = "(this." + TPLVAR_PRESENCE_BITS + " & " + presenceMask + ") == ("
+						+ model.classVarName + "." + TPLVAR_PRESENCE_BITS + " & " + presenceMask + ") && "
+						+ equalsExpression;
+				hashExpression = "((" + TPLVAR_PRESENCE_BITS + " & " + presenceMask + ") != 0 ? " + hashExpression
+						+ " : 0)";
+			}
+			property.getVendorExtensions().put(X_COMPUTED_PROPERTY_EQUALS_EXPRESSION, equalsExpression);
+			property.getVendorExtensions().put(X_COMPUTED_PROPERTY_HASH_EXPRESSION, hashExpression);
+		}
+	}
+
+	/**
+	 * If the model is immutable (see {@link ModelExtraInfo#isImmutable()}) then hashCode() can be
+	 * calculated only once and cached
+	 *
+	 * @return TRUE if the cached hashCode() should be rendered
+	 */
+	protected boolean support_cachedHashCode(CodegenModel model, ModelExtraInfo extraInfo) {
+		if (model.vars.isEmpty() || !extraInfo.isImmutable()) {
+			return false;
+		}
+		if (CodegenUtil.getPropertyByName(model.vars, TPLVAR_CACHED_HASH_CODE) != null) {
+			// the cache field would clash with the property
+			return false;
+		}
+
+		generationEventLog.record(GenerationEventCategory.HASH_CODE_CACHED,
+				"model {}: immutable - hashCode() is calculated only once", model.name);
+		ModelInlineMessages.appendToClass(model, ModelMessageType.EXPLANATION,
+				"immutable (all fields are readonly and hold immutable values) - hashCode() is calculated only once");
+		return true;
+	}
+
 	/**
 	 * This is the last hook - just before {@link DefaultGenerator} (see generateModels() private
 	 * method!) really starts to iterate over and load/render mustache templates.
@@ -1143,13 +2577,10 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
 			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
 
-			if ("FruitEnum".equals(theModel.name) || "StatApiEndpointProblemClass".equals(theModel.name)
-					|| "DogResponseClass".equals(theModel.name)) {
-				LOGGER.info("buu");
-			}
-
 			canModelBeGenerated(theModel);
 
+			support_intValuedEnums(theModel);
+
 			if (modelStyle == ModelStyle.simpleConsistent) {
 				ModelExtraInfo extraInfo = ModelExtraInfo.getExtraInfo(theModel, this);
 
@@ -1175,6 +2606,11 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 				modelMap.put(TPLVAR_PRIVATE_FINAL_FIELDS, extraInfo.getPrivateFinalFields());
 				modelMap.put(TPLVAR_PRIVATE_FIELDS, extraInfo.getPrivateFields());
 				modelMap.put(TPLVAR_PUBLIC_FIELDS, extraInfo.getPublicFields());
+				modelMap.put(TPLVAR_CACHED_HASH_CODE, support_cachedHashCode(theModel, extraInfo));
+				modelMap.put(TPLVAR_PRESENCE_BITS, support_presenceBits(theModel));
+				modelMap.put(TPLVAR_LAZY_PROPERTIES, support_lazyProperties(theModel, modelEntry));
+				modelMap.put(TPLVAR_INTERNED_PROPERTIES, support_internedProperties(theModel, extraInfo));
+				modelMap.put(TPLVAR_SCALED_LONG_PROPERTIES, support_scaledLongProperties(theModel, modelEntry));
 
 				// do we need imports because of super() things?
 				for (CodegenProperty property : extraInfo.getCtorPassToSuperArguments()) {
@@ -1193,7 +2629,8 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 						String fullyQualifiedTypeImport = importMapping.get(mappedType);
 						CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, fullyQualifiedTypeImport);
 
-						LOGGER.info("model {}: injecting import {} - ", theModel.name, fullyQualifiedTypeImport);
+						generationEventLog.record(GenerationEventCategory.IMPORT_INJECTED,
+								"model {}: injecting import {}", theModel.name, fullyQualifiedTypeImport);
 					}
 
 					// we also need to ensure that all types of all ctor arguments are imported if needed
@@ -1216,16 +2653,47 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 				}
 			}
 
+			support_equalsAndHashCode(theModel);
+
 		});
 
 		// as a last step let's drop all stuff from the result which we should exclude
-		Map<String, Object> allProcessedModelsResult = new HashMap<>(allProcessedModels);
+		Map<String, Object> allProcessedModelsResult = new TreeMap<>(allProcessedModels);
 		if (excludeModelsFromGeneration != null) {
 			excludeModelsFromGeneration.forEach(modelName -> {
 				allProcessedModelsResult.remove(modelName);
 			});
 		}
 
+		if (generateJacksonCodecs) {
+			support_jacksonCodecs(allProcessedModelsResult);
+		}
+		if (generateSerializationProxies) {
+			support_serializationProxies(allProcessedModelsResult);
+		}
+		if (generateBinaryCodecs) {
+			support_binaryCodecs(allProcessedModelsResult);
+		}
+		if (generateBinaryViews) {
+			support_binaryViews(allProcessedModelsResult);
+		}
+		if (generateStreamingReaders) {
+			support_streamingReaders(allProcessedModelsResult);
+		}
+		if (generateValidators) {
+			support_validators(allProcessedModelsResult);
+		}
+		if (generateMetamodels) {
+			support_metamodels(allProcessedModelsResult);
+		}
+
+		// the imports we injected above are just appended - let's bring them into order
+		if (deterministicOutput) {
+			allProcessedModelsResult.entrySet().forEach(modelEntry -> {
+				CodegenUtil.sortImportsInPostProcessAllModelsInput(modelEntry);
+			});
+		}
+
 		// let's register the models into Maven execution - if we have one
 		if (mavenExecutionId != null) {
 			MavenExecutionInfo executionInfo = MavenExecutionInfo.getExecutionInfo(mavenExecutionId);
@@ -1235,56 +2703,884 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 			});
 		}
 
-		return allProcessedModelsResult;
-	}
-
-	@Override
-	public Map<String, Object> postProcessModelsEnum(Map<String, Object> objs) {
-		objs = super.postProcessModelsEnum(objs);
-		return objs;
-	}
+		// the real models - the helper classes below are not models so we do not want to register them anywhere
+		Set<String> modelKeys = new HashSet<>(allProcessedModelsResult.keySet());
 
-	@Override
-	public SchemaParamCollection getAddSchemaModelsToImportMappings() {
-		return addSchemaModelsToImportMappings;
-	}
+		// note: the module is added as the very last step - it is not a model so we do not want to register
+		// it anywhere
+		if (generateJacksonCodecs) {
+			support_jacksonCodecsModule(allProcessedModelsResult);
+			support_rfc3339DateTimesClass(allProcessedModelsResult);
+		}
+		if (generateBinaryCodecs) {
+			support_binaryCodecsClass(allProcessedModelsResult);
+		}
+		if (generateStreamingReaders) {
+			support_jsonArrayReaderClass(allProcessedModelsResult);
+		}
+		// note: the same goes for the primitive map classes - they are helper classes, not models
+		support_primitiveMapClasses(allProcessedModelsResult);
+		support_stringInternerClass(allProcessedModelsResult);
+		support_scaledLongsClass(allProcessedModelsResult);
+		if (generateValidators) {
+			support_modelValidationExceptionClass(allProcessedModelsResult);
+		}
+		if (generateMetamodels) {
+			support_metamodelsClass(allProcessedModelsResult);
+		}
 
-	@Override
-	public boolean excludeImportMappingsFromGeneration() {
-		return excludeImportMappingsFromGeneration;
-	}
+		// let's remember what we generate now - so next time we can skip if nothing changes
+		// note: this is the last step so the helper classes are in the manifest too - if one of them is deleted
+		// we generate again. The state is saved in processOpenAPI() - once the files are written
+		if (upToDateCheck != null && !upToDateCheck.isUpToDate()) {
+			Map<String, String> generatedModels = new LinkedHashMap<>();
+			List<String> generatedHelperClasses = new ArrayList<>();
+			allProcessedModelsResult.entrySet().forEach(modelEntry -> {
+				String name = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry).name;
+				if (modelKeys.contains(modelEntry.getKey())) {
+					generatedModels.put(modelEntry.getKey(), name);
+				} else {
+					generatedHelperClasses.add(name);
+				}
+			});
+			upToDateCheck.rememberGeneratedClasses(generatedModels, generatedHelperClasses);
+		}
 
-	@Override
-	public void setExcludeModelsFromGeneration(Collection<String> modelNamesToSkip) {
-		excludeModelsFromGeneration = new HashSet<>(modelNamesToSkip);
-	}
+		// instead of logging every decision we made one by one - let's give a summary
+		flushGenerationEventLog();
 
-	@Override
-	public String getMavenExecutionId() {
-		return mavenExecutionId;
+		return allProcessedModelsResult;
 	}
 
-	@Override
-	public List<String> getAddSchemaModelsToImportMappingsFromMavenExecutions() {
-		return addSchemaModelsToImportMappingsFromMavenExecutions == null ? null
-				: new ArrayList<>(addSchemaModelsToImportMappingsFromMavenExecutions);
-	}
+	/**
+	 * Adds the template variables of the generated Jackson serializer / deserializer to the models - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_jacksonCodecs(Map<String, Object> allProcessedModels) {
+		boolean suppressNulls = isNotNullJacksonAnnotation();
+
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (JacksonCodecInfo.isPolymorphicDeserializerSupported(theModel)) {
+				// note: the interface is written by the serializers of its subtypes - only reading needs help
+				modelMap.put(TPLVAR_JACKSON_CODECS_POLYMORPHIC, true);
+				generationEventLog.record(GenerationEventCategory.JACKSON_CODECS,
+						"model {}: discriminator dispatching Jackson deserializer generated for {} subtypes",
+						theModel.name, theModel.subTypes.size());
+				return;
+			}
+			if (!JacksonCodecInfo.isCodecSupported(theModel)) {
+				return;
+			}
+			String lazyPropertyName = getLazyPropertyNameInHierarchy(theModel);
+			if (lazyPropertyName != null) {
+				// the generated codecs would decode everything right away - Jackson's bean codecs are using the
+				// raw JSON keeping accessors instead
+				ModelInlineMessages.appendToClass(theModel, ModelMessageType.EXPLANATION,
+						"no Jackson codecs are generated - property '" + lazyPropertyName + "' is marked with '"
+								+ X_PROPERTY_LAZY + ": true'");
+				return;
+			}
+
+			JacksonCodecInfo codecInfo = JacksonCodecInfo.getCodecInfo(theModel, this, suppressNulls,
+					rfc3339DatePackage != null);
+			modelMap.put(TPLVAR_JACKSON_CODECS, true);
+			modelMap.put(TPLVAR_JACKSON_CODEC_PROPERTIES, codecInfo.getProperties());
+			modelMap.put(TPLVAR_JACKSON_CODEC_CTOR_ARGS, codecInfo.getConstructorArgsAsString());
+			for (String codecImport : jacksonCodecImports) {
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, codecImport);
+			}
+			if (codecInfo.getProperties().stream().anyMatch(p -> p.getRfc3339Type() != null)) {
+				// the date-time values are going through the RFC 3339 parser unless Jackson is told otherwise
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry,
+						"com.fasterxml.jackson.databind.DeserializationFeature");
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry,
+						"com.fasterxml.jackson.databind.SerializationFeature");
+			}
+
+			generationEventLog.record(GenerationEventCategory.JACKSON_CODECS,
+					"model {}: Jackson serializer / deserializer generated for {} properties", theModel.name,
+					codecInfo.getProperties().size());
+		});
+	}
+
+	/**
+	 * @return the name of the first lazily decoded property of the model or its superclasses - NULL if there
+	 *         is none
+	 */
+	protected String getLazyPropertyNameInHierarchy(CodegenModel theModel) {
+		for (CodegenModel model = theModel; model != null; model = model.parentModel) {
+			for (CodegenProperty property : model.vars) {
+				if (getBooleanValue(property, X_COMPUTED_PROPERTY_LAZY_FLAG)) {
+					return property.baseName;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the template variables of the generated Java serialization proxy to the models - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_SERIALIZATION_PROXIES}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_serializationProxies(Map<String, Object> allProcessedModels) {
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (!SerializationProxyInfo.isProxySupported(theModel)) {
+				return;
+			}
+
+			SerializationProxyInfo proxyInfo = SerializationProxyInfo.getProxyInfo(theModel, this);
+			modelMap.put(TPLVAR_SERIALIZATION_PROXY, true);
+			modelMap.put(TPLVAR_SERIALIZATION_PROXY_PROPERTIES, proxyInfo.getProperties());
+			modelMap.put(TPLVAR_SERIALIZATION_PROXY_CTOR_ARGS, proxyInfo.getConstructorArgsAsString());
+			modelMap.put(TPLVAR_SERIALIZATION_PROXY_SCHEMA_HASH, proxyInfo.getSchemaHashLiteral());
+			for (String proxyImport : serializationProxyImports) {
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, proxyImport);
+			}
+
+			generationEventLog.record(GenerationEventCategory.SERIALIZATION_PROXY,
+					"model {}: Java serialization proxy generated for {} properties", theModel.name,
+					proxyInfo.getProperties().size());
+		});
+	}
+
+	/**
+	 * Adds the template variables of the generated binary codecs to the models and enums - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_BINARY_CODECS}
+	 * <p>
+	 * A model gets a codec only if we can write all of its properties - and a property referring to a model
+	 * without codec can not be written. So we drop models until nothing changes anymore
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_binaryCodecs(Map<String, Object> allProcessedModels) {
+		// note: the models we render win - enum compositions are replaced by merged enums there
+		Map<String, CodegenModel> knownModels = new HashMap<>();
+		Map<String, Map.Entry<String, Object>> codecModelEntries = new TreeMap<>();
+		Set<String> interfaceModels = new HashSet<>();
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			knownModels.put(theModel.classname, theModel);
+			if (BinaryCodecInfo.isCodecSupported(theModel)) {
+				codecModelEntries.put(theModel.classname, modelEntry);
+			} else if (theModel.isComposedModel) {
+				// the registry writes the implementing class
+				interfaceModels.add(theModel.classname);
+			}
+		});
+		if (allModels != null) {
+			allModels.values().forEach(model -> knownModels.putIfAbsent(model.classname, model));
+		}
+
+		Map<String, BinaryCodecInfo> codecInfos = new HashMap<>();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			codecInfos.clear();
+			Set<String> encodableModels = new HashSet<>(codecModelEntries.keySet());
+			encodableModels.addAll(interfaceModels);
+			for (Map.Entry<String, Object> modelEntry : new ArrayList<>(codecModelEntries.values())) {
+				CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+				if (theModel.getIsEnum()) {
+					continue;
+				}
+				BinaryCodecInfo codecInfo = BinaryCodecInfo.getCodecInfo(theModel, this, knownModels,
+						encodableModels);
+				if (!codecInfo.isSupported()) {
+					ModelInlineMessages.appendToClass(theModel, ModelMessageType.EXPLANATION,
+							"no binary codec is generated - " + codecInfo.getUnsupportedReason());
+					codecModelEntries.remove(theModel.classname);
+					changed = true;
+				}
+				codecInfos.put(theModel.classname, codecInfo);
+			}
+		}
+
+		for (Map.Entry<String, Object> modelEntry : codecModelEntries.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			modelMap.put(TPLVAR_BINARY_CODEC, true);
+			CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, "java.nio.ByteBuffer");
+			if (theModel.getIsEnum()) {
+				generationEventLog.record(GenerationEventCategory.BINARY_CODEC,
+						"enum {}: binary codec generated", theModel.name);
+				continue;
+			}
+
+			BinaryCodecInfo codecInfo = codecInfos.get(theModel.classname);
+			modelMap.put(TPLVAR_BINARY_CODEC_PROPERTIES, codecInfo.getProperties());
+			modelMap.put(TPLVAR_BINARY_CODEC_CTOR_ARGS, codecInfo.getConstructorArgsAsString());
+			modelMap.put(TPLVAR_BINARY_CODEC_PRESENCE_WORDS, codecInfo.getPresenceWords());
+			modelMap.put(TPLVAR_BINARY_CODEC_ENUM_TABLES, codecInfo.getEnumTables());
+			for (String codecImport : codecInfo.getImports()) {
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, codecImport);
+			}
+
+			generationEventLog.record(GenerationEventCategory.BINARY_CODEC,
+					"model {}: binary codec generated for {} properties", theModel.name,
+					codecInfo.getProperties().size());
+		}
+	}
+
+	/**
+	 * Adds the template variables of the read-only flyweight views to the models having a binary codec (see
+	 * {@link #support_binaryCodecs(Map)}) - see {@link IKeytilesCodegen#OPT_GENERATE_BINARY_VIEWS}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_binaryViews(Map<String, Object> allProcessedModels) {
+		// the nested class would hide the model inside the other models
+		if ((allModels != null && allModels.containsKey(BINARY_VIEW_CLASS_NAME))
+				|| allProcessedModels.containsKey(BINARY_VIEW_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + BINARY_VIEW_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated nested view classes if option '"
+					+ OPT_GENERATE_BINARY_VIEWS + "' is on");
+		}
+
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (!Boolean.TRUE.equals(modelMap.get(TPLVAR_BINARY_CODEC)) || theModel.getIsEnum()) {
+				return;
+			}
+			List<BinaryCodecInfo.CodecProperty> codecProperties = (List<BinaryCodecInfo.CodecProperty>) modelMap
+					.get(TPLVAR_BINARY_CODEC_PROPERTIES);
+			modelMap.put(TPLVAR_BINARY_CODEC_VIEW, true);
+			modelMap.put(TPLVAR_BINARY_CODEC_VIEW_PROPERTY_COUNT, codecProperties.size());
+
+			generationEventLog.record(GenerationEventCategory.BINARY_CODEC,
+					"model {}: binary view generated for {} properties", theModel.name, codecProperties.size());
+		});
+	}
+
+	/**
+	 * Adds the class holding the shared primitives and the type id registry of the binary codecs (see
+	 * {@link #support_binaryCodecs(Map)}) as an extra entry to the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_binaryCodecsClass(Map<String, Object> allProcessedModels) {
+		// note: TreeMap - the registry is listed in the order of the class names
+		Map<String, Map<String, Object>> codecModels = new TreeMap<>();
+		Map<Integer, String> typeIds = new HashMap<>();
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			if (Boolean.TRUE.equals(modelMap.get(TPLVAR_BINARY_CODEC))) {
+				CodegenModel theModel = (CodegenModel) ((List<Map<String, Object>>) modelMap.get("models")).get(0)
+						.get("model");
+				int typeId = BinaryCodecInfo.getTypeId(theModel.classname);
+				String otherClassname = typeIds.put(typeId, theModel.classname);
+				if (otherClassname != null) {
+					throw new SchemaValidationException("Models '" + otherClassname + "' and '" + theModel.classname
+							+ "' got the same binary codec type id - please rename one of them");
+				}
+				Map<String, Object> registryEntry = new HashMap<>();
+				registryEntry.put("classname", theModel.classname);
+				registryEntry.put("typeId", typeId);
+				registryEntry.put("enum", theModel.getIsEnum());
+				codecModels.put(theModel.classname, registryEntry);
+				anyModelMap = modelMap;
+			}
+		}
+		if (codecModels.isEmpty()) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(BINARY_CODECS_CLASS_NAME))
+				|| allProcessedModels.containsKey(BINARY_CODECS_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + BINARY_CODECS_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated binary codecs class if option '"
+					+ OPT_GENERATE_BINARY_CODECS + "' is on");
+		}
+
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, BINARY_CODECS_CLASS_NAME,
+				X_COMPUTED_BINARY_CODECS_CLASS_FLAG, Arrays.asList(binaryCodecsClassImports));
+		classMap.put(TPLVAR_BINARY_CODEC_MODELS, new ArrayList<>(codecModels.values()));
+		classMap.put(TPLVAR_BINARY_CODEC_VIEW, generateBinaryViews);
+		allProcessedModels.put(BINARY_CODECS_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.BINARY_CODEC,
+				"binary codecs class {} generated - registering {} models and enums",
+				toModelName(BINARY_CODECS_CLASS_NAME), codecModels.size());
+	}
+
+	/**
+	 * Adds the template variables of the generated validate() methods to the models - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_VALIDATORS}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_validators(Map<String, Object> allProcessedModels) {
+		Set<String> validatedModels = new HashSet<>();
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (ValidatorInfo.isValidatorSupported(theModel)) {
+				validatedModels.add(theModel.classname);
+			}
+		});
+
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (!validatedModels.contains(theModel.classname)) {
+				return;
+			}
+
+			ValidatorInfo validatorInfo = ValidatorInfo.getValidatorInfo(theModel, validatedModels);
+			modelMap.put(TPLVAR_VALIDATOR, true);
+			modelMap.put(TPLVAR_VALIDATOR_PROPERTIES, validatorInfo.getProperties());
+			modelMap.put(TPLVAR_VALIDATOR_CONSTANTS, validatorInfo.getConstants());
+			modelMap.put(TPLVAR_VALIDATOR_CALLS_SUPER, validatorInfo.isCallsSuper());
+			for (String validatorImport : validatorInfo.getImports()) {
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, validatorImport);
+			}
+			if (theModel.parentModel != null && !validatorInfo.isCallsSuper()) {
+				ModelInlineMessages.appendToClass(theModel, ModelMessageType.EXPLANATION,
+						"validate() does not check the inherited properties - superclass '"
+								+ theModel.parentModel.classname + "' does not get a validator in this package");
+			}
+
+			generationEventLog.record(GenerationEventCategory.VALIDATOR,
+					"model {}: validator generated checking {} constraints", theModel.name,
+					validatorInfo.getCheckCount());
+		});
+	}
+
+	/**
+	 * Adds the exception class of the validators (see {@link #support_validators(Map)}) as an extra entry to
+	 * the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_modelValidationExceptionClass(Map<String, Object> allProcessedModels) {
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			if (Boolean.TRUE.equals(modelMap.get(TPLVAR_VALIDATOR))) {
+				anyModelMap = modelMap;
+				break;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(MODEL_VALIDATION_EXCEPTION_CLASS_NAME))
+				|| allProcessedModels.containsKey(MODEL_VALIDATION_EXCEPTION_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + MODEL_VALIDATION_EXCEPTION_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated exception class of the validators if option '"
+					+ OPT_GENERATE_VALIDATORS + "' is on");
+		}
+
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, MODEL_VALIDATION_EXCEPTION_CLASS_NAME,
+				X_COMPUTED_MODEL_VALIDATION_EXCEPTION_CLASS_FLAG, Arrays.asList(modelValidationExceptionClassImports));
+		allProcessedModels.put(MODEL_VALIDATION_EXCEPTION_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.VALIDATOR, "validator exception class {} generated",
+				toModelName(MODEL_VALIDATION_EXCEPTION_CLASS_NAME));
+	}
+
+	/**
+	 * Adds the template variables of the generated static metamodels to the models - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_METAMODELS}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_metamodels(Map<String, Object> allProcessedModels) {
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (!MetamodelInfo.isMetamodelSupported(theModel)) {
+				return;
+			}
+
+			MetamodelInfo metamodelInfo = MetamodelInfo.getMetamodelInfo(theModel, this);
+			modelMap.put(TPLVAR_METAMODEL, true);
+			modelMap.put(TPLVAR_METAMODEL_PROPERTIES, metamodelInfo.getProperties());
+			modelMap.put(TPLVAR_METAMODEL_INSTANTIABLE, metamodelInfo.isInstantiable());
+
+			generationEventLog.record(GenerationEventCategory.METAMODEL, "model {}: metamodel generated with {} properties",
+					theModel.name, metamodelInfo.getProperties().size());
+		});
+	}
+
+	/**
+	 * Adds the class holding the descriptor types and the registry of the metamodels (see
+	 * {@link #support_metamodels(Map)}) as an extra entry to the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_metamodelsClass(Map<String, Object> allProcessedModels) {
+		// note: TreeSet - the registry is listed in the order of the class names
+		Set<String> metamodelModels = new TreeSet<>();
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			if (Boolean.TRUE.equals(modelMap.get(TPLVAR_METAMODEL))) {
+				CodegenModel theModel = (CodegenModel) ((List<Map<String, Object>>) modelMap.get("models")).get(0)
+						.get("model");
+				metamodelModels.add(theModel.classname);
+				anyModelMap = modelMap;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(METAMODELS_CLASS_NAME))
+				|| allProcessedModels.containsKey(METAMODELS_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + METAMODELS_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated metamodels class if option '"
+					+ OPT_GENERATE_METAMODELS + "' is on");
+		}
+
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, METAMODELS_CLASS_NAME,
+				X_COMPUTED_METAMODELS_CLASS_FLAG, Arrays.asList(metamodelsClassImports));
+		classMap.put(TPLVAR_METAMODEL_MODELS, new ArrayList<>(metamodelModels));
+		allProcessedModels.put(METAMODELS_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.METAMODEL, "metamodels class {} generated - registering {} models",
+				toModelName(METAMODELS_CLASS_NAME), metamodelModels.size());
+	}
+
+	/**
+	 * Adds the template variables of the generated streaming JSON array readers to the models - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_STREAMING_READERS}
+	 * <p>
+	 * An instance can be reused for reading the next element into it only if it can be created without
+	 * constructor arguments and all of its superclasses can be reset too. Polymorphic models are excluded -
+	 * Jackson is picking the class there
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_streamingReaders(Map<String, Object> allProcessedModels) {
+		Map<String, CodegenModel> readerModels = new TreeMap<>();
+		allProcessedModels.entrySet().forEach(modelEntry -> {
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			// note: same restrictions as the generated Jackson codecs have - these are rendered as plain classes
+			if (JacksonCodecInfo.isCodecSupported(theModel)) {
+				readerModels.put(theModel.classname, theModel);
+			}
+		});
+
+		Map<String, Boolean> reusableModels = new HashMap<>();
+		for (Map.Entry<String, Object> modelEntry : allProcessedModels.entrySet()) {
+			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
+			if (!readerModels.containsKey(theModel.classname)) {
+				continue;
+			}
+			Map<String, Object> modelMap = (Map<String, Object>) modelEntry.getValue();
+			boolean reusable = isStreamingReaderReusable(theModel, readerModels, reusableModels);
+			modelMap.put(TPLVAR_STREAMING_READER, true);
+			modelMap.put(TPLVAR_STREAMING_READER_REUSABLE, reusable);
+			for (String readerImport : streamingReaderImports) {
+				CodegenUtil.addImportToModelMapOnPostProcessAllModelsHook(modelEntry, readerImport);
+			}
+			if (!reusable) {
+				ModelInlineMessages.appendToClass(theModel, ModelMessageType.EXPLANATION,
+						"the ArrayReader can not reuse instances - the class (or a superclass) has constructor arguments or it is polymorphic");
+			}
+
+			generationEventLog.record(GenerationEventCategory.STREAMING_READER,
+					"model {}: streaming array reader generated - reusing instances: {}", theModel.name, reusable);
+		}
+	}
+
+	private boolean isStreamingReaderReusable(CodegenModel theModel, Map<String, CodegenModel> readerModels,
+			Map<String, Boolean> reusableModels) {
+		Boolean reusable = reusableModels.get(theModel.classname);
+		if (reusable == null) {
+			reusable = theModel.discriminator == null
+					&& ModelExtraInfo.getExtraInfo(theModel, this).getAllConstructorArgs().isEmpty();
+			if (reusable && theModel.parentModel != null) {
+				// the superclass must have resetForReuse() too - so it must be generated now
+				CodegenModel parentModel = readerModels.get(theModel.parentModel.classname);
+				reusable = parentModel != null && isStreamingReaderReusable(parentModel, readerModels, reusableModels);
+			}
+			reusableModels.put(theModel.classname, reusable);
+		}
+		return reusable;
+	}
+
+	/**
+	 * Adds the generic streaming JSON array reader (the base class of the readers generated by
+	 * {@link #support_streamingReaders(Map)}) as an extra entry to the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_jsonArrayReaderClass(Map<String, Object> allProcessedModels) {
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			if (Boolean.TRUE.equals(modelMap.get(TPLVAR_STREAMING_READER))) {
+				anyModelMap = modelMap;
+				break;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(JSON_ARRAY_READER_CLASS_NAME))
+				|| allProcessedModels.containsKey(JSON_ARRAY_READER_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + JSON_ARRAY_READER_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated streaming array reader class if option '"
+					+ OPT_GENERATE_STREAMING_READERS + "' is on");
+		}
+
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, JSON_ARRAY_READER_CLASS_NAME,
+				X_COMPUTED_JSON_ARRAY_READER_CLASS_FLAG, Arrays.asList(jsonArrayReaderClassImports));
+		allProcessedModels.put(JSON_ARRAY_READER_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.STREAMING_READER, "streaming array reader class {} generated",
+				toModelName(JSON_ARRAY_READER_CLASS_NAME));
+	}
+
+	/**
+	 * Adds the Jackson Module which registers all generated serializers / deserializers (see
+	 * {@link #support_jacksonCodecs(Map)}) as an extra entry to the models to render - it is rendered by
+	 * the model template too
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_jacksonCodecsModule(Map<String, Object> allProcessedModels) {
+		List<String> codecModels = new ArrayList<>();
+		List<String> polymorphicModels = new ArrayList<>();
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			CodegenModel theModel = (CodegenModel) ((List<Map<String, Object>>) modelMap.get("models")).get(0)
+					.get("model");
+			if (Boolean.TRUE.equals(modelMap.get(TPLVAR_JACKSON_CODECS))) {
+				codecModels.add(theModel.classname);
+				anyModelMap = modelMap;
+			} else if (Boolean.TRUE.equals(modelMap.get(TPLVAR_JACKSON_CODECS_POLYMORPHIC))) {
+				polymorphicModels.add(theModel.classname);
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if (allModels != null && allModels.containsKey(JACKSON_CODECS_MODULE_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + JACKSON_CODECS_MODULE_NAME
+					+ "' in the schema - this name is reserved for the generated Jackson module if option '"
+					+ OPT_GENERATE_JACKSON_CODECS + "' is on");
+		}
+
+		Map<String, Object> moduleMap = createFabricatedModelMap(anyModelMap, JACKSON_CODECS_MODULE_NAME,
+				X_COMPUTED_JACKSON_CODECS_MODULE_FLAG, Arrays.asList(jacksonCodecsModuleImports));
+		moduleMap.put(TPLVAR_JACKSON_CODEC_MODELS, codecModels);
+		moduleMap.put(TPLVAR_JACKSON_CODEC_POLYMORPHIC_MODELS, polymorphicModels);
+		allProcessedModels.put(JACKSON_CODECS_MODULE_NAME, moduleMap);
+
+		generationEventLog.record(GenerationEventCategory.JACKSON_CODECS,
+				"Jackson module {} generated - registering codecs of {} models", toModelName(JACKSON_CODECS_MODULE_NAME),
+				codecModels.size());
+	}
+
+	/**
+	 * Adds the hand-written RFC 3339 date-time parser / formatter class used by the generated Jackson codecs (see
+	 * {@link #support_jacksonCodecs(Map)}) of the date-time properties as an extra entry to the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_rfc3339DateTimesClass(Map<String, Object> allProcessedModels) {
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			List<JacksonCodecInfo.CodecProperty> codecProperties = (List<JacksonCodecInfo.CodecProperty>) modelMap
+					.get(TPLVAR_JACKSON_CODEC_PROPERTIES);
+			if (codecProperties != null && codecProperties.stream().anyMatch(p -> p.getRfc3339Type() != null)) {
+				anyModelMap = modelMap;
+				break;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(RFC3339_DATE_TIMES_CLASS_NAME))
+				|| allProcessedModels.containsKey(RFC3339_DATE_TIMES_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + RFC3339_DATE_TIMES_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated RFC 3339 date-time parser class if option '"
+					+ OPT_GENERATE_JACKSON_CODECS + "' is on");
+		}
+
+		List<String> imports = new ArrayList<>();
+		imports.add("java.util.TimeZone");
+		for (String dateClass : rfc3339DateClassNames) {
+			imports.add(rfc3339DatePackage + "." + dateClass);
+		}
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, RFC3339_DATE_TIMES_CLASS_NAME,
+				X_COMPUTED_RFC3339_DATE_TIMES_CLASS_FLAG, imports);
+		allProcessedModels.put(RFC3339_DATE_TIMES_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.JACKSON_CODECS,
+				"RFC 3339 date-time parser class {} generated for the Jackson codecs",
+				toModelName(RFC3339_DATE_TIMES_CLASS_NAME));
+	}
+
+	/**
+	 * Creates a model map entry (what {@link #postProcessAllModels(Map)} returns per model) for a class we
+	 * generate on our own - it is not coming from the schema. The templates are recognizing it by the given
+	 * vendor extension flag on the model
+	 *
+	 * @param anyModelMap
+	 *            the entry of any real model - we start from its template variables so we get all the generic
+	 *            ones too
+	 */
+	@SuppressWarnings("unchecked")
+	protected Map<String, Object> createFabricatedModelMap(Map<String, Object> anyModelMap, String name,
+			String flagVendorExtension, Collection<String> imports) {
+		CodegenModel fabricatedModel = new CodegenModel();
+		fabricatedModel.name = name;
+		fabricatedModel.classname = toModelName(name);
+		fabricatedModel.classFilename = fabricatedModel.classname;
+		fabricatedModel.getVendorExtensions().put(flagVendorExtension, true);
+
+		Map<String, Object> modelTemplate = new HashMap<>();
+		modelTemplate.put("model", fabricatedModel);
+		modelTemplate.put("importPath", toModelImport(fabricatedModel.classname));
+
+		List<Map<String, Object>> modelImports = new ArrayList<>();
+		for (String modelImport : imports) {
+			Map<String, Object> importItem = new HashMap<>();
+			importItem.put("import", modelImport);
+			modelImports.add(importItem);
+		}
+
+		Map<String, Object> modelMap = new HashMap<>(anyModelMap);
+		modelMap.keySet().removeIf(key -> key.startsWith("jacksonCodec") || key.startsWith("binaryCodec")
+				|| key.startsWith("streamingReader") || key.startsWith("validator") || key.startsWith("metamodel"));
+		modelMap.put("models", Collections.singletonList(modelTemplate));
+		modelMap.put("imports", modelImports);
+		return modelMap;
+	}
+
+	/**
+	 * Adds the bounded String interning table class used by the interned properties (see
+	 * {@link #support_internStrings(CodegenModel, CodegenProperty)}) as an extra entry to the models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_stringInternerClass(Map<String, Object> allProcessedModels) {
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			List<Map<String, Object>> interners = (List<Map<String, Object>>) modelMap.get(TPLVAR_INTERNED_PROPERTIES);
+			if (interners != null && !interners.isEmpty()) {
+				anyModelMap = modelMap;
+				break;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(STRING_INTERNER_CLASS_NAME))
+				|| allProcessedModels.containsKey(STRING_INTERNER_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + STRING_INTERNER_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated String interning table class if '"
+					+ X_PROPERTY_INTERN + "' is used");
+		}
+
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, STRING_INTERNER_CLASS_NAME,
+				X_COMPUTED_STRING_INTERNER_CLASS_FLAG, Arrays.asList(stringInternerClassImports));
+		classMap.remove(TPLVAR_INTERNED_PROPERTIES);
+		allProcessedModels.put(STRING_INTERNER_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.INTERNED_STRINGS, "String interning table class {} generated",
+				toModelName(STRING_INTERNER_CLASS_NAME));
+	}
+
+	/**
+	 * Adds the class converting the 'scaled-long' number properties (see
+	 * {@link #support_numberRepresentation(CodegenModel, CodegenProperty)}) from / to text as an extra entry to the
+	 * models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_scaledLongsClass(Map<String, Object> allProcessedModels) {
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			List<Map<String, Object>> scaledLongs = (List<Map<String, Object>>) modelMap
+					.get(TPLVAR_SCALED_LONG_PROPERTIES);
+			if (scaledLongs != null && !scaledLongs.isEmpty()) {
+				anyModelMap = modelMap;
+				break;
+			}
+		}
+		if (anyModelMap == null) {
+			return;
+		}
+		if ((allModels != null && allModels.containsKey(SCALED_LONGS_CLASS_NAME))
+				|| allProcessedModels.containsKey(SCALED_LONGS_CLASS_NAME)) {
+			throw new SchemaValidationException("There is a model named '" + SCALED_LONGS_CLASS_NAME
+					+ "' in the schema - this name is reserved for the generated scaled long conversion class if '"
+					+ X_PROPERTY_NUMBER_REPRESENTATION + ": " + NumberRepresentation.SCALED_LONG + "' is used");
+		}
+
+		List<String> imports = additionalProperties.containsKey("jackson")
+				? Arrays.asList(scaledLongsClassJacksonImports)
+				: Collections.emptyList();
+		Map<String, Object> classMap = createFabricatedModelMap(anyModelMap, SCALED_LONGS_CLASS_NAME,
+				X_COMPUTED_SCALED_LONGS_CLASS_FLAG, imports);
+		classMap.remove(TPLVAR_SCALED_LONG_PROPERTIES);
+		allProcessedModels.put(SCALED_LONGS_CLASS_NAME, classMap);
+
+		generationEventLog.record(GenerationEventCategory.NUMBER_REPRESENTATION,
+				"scaled long conversion class {} generated", toModelName(SCALED_LONGS_CLASS_NAME));
+	}
+
+	/**
+	 * Adds the primitive specialized map classes (e.g. StringToLongMap) used by the properties (see
+	 * {@link #support_usePrimitiveMapsIfPossible(CodegenModel, CodegenProperty)}) as extra entries to the
+	 * models to render
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_primitiveMapClasses(Map<String, Object> allProcessedModels) {
+		Set<String> valueTypes = new TreeSet<>();
+		Map<String, Object> anyModelMap = null;
+		for (Object modelMapObj : allProcessedModels.values()) {
+			Map<String, Object> modelMap = (Map<String, Object>) modelMapObj;
+			CodegenModel theModel = (CodegenModel) ((List<Map<String, Object>>) modelMap.get("models")).get(0)
+					.get("model");
+			for (CodegenProperty property : theModel.vars) {
+				Object valueType = property.getVendorExtensions().get(X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE);
+				if (valueType != null) {
+					valueTypes.add((String) valueType);
+					anyModelMap = modelMap;
+				}
+			}
+		}
+
+		for (String valueType : valueTypes) {
+			String mapClassName = getPrimitiveMapClassName(valueType);
+			if ((allModels != null && allModels.containsKey(mapClassName))
+					|| allProcessedModels.containsKey(mapClassName)) {
+				throw new SchemaValidationException("There is a model named '" + mapClassName
+						+ "' in the schema - this name is reserved for the generated primitive map class if option '"
+						+ OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE + "' or '" + X_PROPERTY_USE_PRIMITIVE_MAP
+						+ "' is used");
+			}
+
+			// note: java.util.Arrays is imported by model.mustache anyways
+			List<String> imports = new ArrayList<>();
+			imports.add("java.util.function.Obj" + primitiveMapValueTypeNames.get(valueType) + "Consumer");
+			if (additionalProperties.containsKey("jackson")) {
+				imports.addAll(Arrays.asList(primitiveMapJacksonImports));
+			}
+			// note: the codec of the map is using the primitives of the binary codecs class
+			boolean binaryCodec = generateBinaryCodecs && allProcessedModels.containsKey(BINARY_CODECS_CLASS_NAME);
+			if (binaryCodec) {
+				imports.add("java.nio.ByteBuffer");
+			}
+			Collections.sort(imports);
+
+			Map<String, Object> mapClassMap = createFabricatedModelMap(anyModelMap, mapClassName,
+					X_COMPUTED_PRIMITIVE_MAP_CLASS_FLAG, imports);
+			mapClassMap.put(TPLVAR_PRIMITIVE_MAP_VALUE_TYPE, valueType);
+			mapClassMap.put(TPLVAR_PRIMITIVE_MAP_TYPE_NAME, primitiveMapValueTypeNames.get(valueType));
+			mapClassMap.put(TPLVAR_PRIMITIVE_MAP_WRAPPER_TYPE, "int".equals(valueType) ? "Integer"
+					: primitiveMapValueTypeNames.get(valueType));
+			if (binaryCodec) {
+				mapClassMap.put(TPLVAR_BINARY_CODEC, true);
+				mapClassMap.put(TPLVAR_BINARY_CODEC_VALUE_WRITE,
+						BinaryCodecInfo.getScalarWriteStatement(valueType, "values[i]"));
+				mapClassMap.put(TPLVAR_BINARY_CODEC_VALUE_READ, BinaryCodecInfo.getScalarReadExpression(valueType));
+			}
+			allProcessedModels.put(mapClassName, mapClassMap);
+
+			generationEventLog.record(GenerationEventCategory.PRIMITIVE_MAP_CLASS,
+					"primitive map class {} generated for Map<String, {}> properties", mapClassName, valueType);
+		}
+	}
+
+	/**
+	 * Writes the summary of the {@link #generationEventLog} and if
+	 * {@link IKeytilesCodegen#OPT_GENERATION_EVENT_LOG_FILE} is set then all the details into that file
+	 */
+	protected void flushGenerationEventLog() {
+		generationEventLog.logSummary(LOGGER);
+		if (generationEventLogFile != null) {
+			try {
+				generationEventLog.writeDetailsToFile(new File(generationEventLogFile));
+				LOGGER.info("all generation events are written into file: {}", generationEventLogFile);
+			} catch (IOException e) {
+				LOGGER.warn("failed to write generation events into file {}: {}", generationEventLogFile,
+						e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public Map<String, Object> postProcessOperations(Map<String, Object> objs) {
+		Map<String, Object> result = super.postProcessOperations(objs);
+		if (generateStreamingReaders) {
+			support_streamingOperations(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Marks the API operations returning a JSON array - they get a streaming variant too which is passing the
+	 * items one by one to a callback while the response is read - see
+	 * {@link IKeytilesCodegen#OPT_GENERATE_STREAMING_READERS}
+	 */
+	@SuppressWarnings("unchecked")
+	protected void support_streamingOperations(Map<String, Object> objs) {
+		Map<String, Object> operations = (Map<String, Object>) objs.get("operations");
+		if (operations == null) {
+			return;
+		}
+		List<CodegenOperation> operationList = (List<CodegenOperation>) operations.get("operation");
+		for (CodegenOperation operation : operationList) {
+			if (operation.returnType == null) {
+				continue;
+			}
+			Matcher matcher = listReturnTypePattern.matcher(operation.returnType);
+			if (matcher.matches()) {
+				operation.getVendorExtensions().put(X_COMPUTED_OPERATION_STREAMING_ITEM_TYPE, matcher.group(1));
+				// note: the generation event log is flushed already - operations are processed after the models
+				LOGGER.debug("operation {}: streaming variant generated - items are {}", operation.operationId,
+						matcher.group(1));
+			}
+		}
+	}
+
+	@Override
+	public Map<String, Object> postProcessModelsEnum(Map<String, Object> objs) {
+		objs = super.postProcessModelsEnum(objs);
+		return objs;
+	}
+
+	@Override
+	public SchemaParamCollection getAddSchemaModelsToImportMappings() {
+		return addSchemaModelsToImportMappings;
+	}
+
+	@Override
+	public boolean excludeImportMappingsFromGeneration() {
+		return excludeImportMappingsFromGeneration;
+	}
+
+	@Override
+	public void setExcludeModelsFromGeneration(Collection<String> modelNamesToSkip) {
+		excludeModelsFromGeneration = new HashSet<>(modelNamesToSkip);
+	}
+
+	@Override
+	public String getMavenExecutionId() {
+		return mavenExecutionId;
+	}
+
+	@Override
+	public List<String> getAddSchemaModelsToImportMappingsFromMavenExecutions() {
+		return addSchemaModelsToImportMappingsFromMavenExecutions == null ? null
+				: new ArrayList<>(addSchemaModelsToImportMappingsFromMavenExecutions);
+	}
 
 	@Override
 	public Set<String> getAllSupportedObjectLevelVendorFieldNames() {
 		return new HashSet<>(Arrays.asList( //
 				X_OBJECT_KEEP_PROPERTY_NAMES_FLAG, //
 				X_OBJECT_SERIALIZE_ONLY_IF_NON_DEFAULT_PROPERTIES, //
-				X_OBJECT_USE_PRIMITIVE_TYPES_IF_POSSIBLE //
+				X_OBJECT_USE_PRIMITIVE_TYPES_IF_POSSIBLE, //
+				X_OBJECT_INTERN //
 		));
 	}
 
 	@Override
 	public Set<String> getAllSupportedPropertyLevelVendorFieldNames() {
-		return new HashSet<>(Arrays.asList( //
-				X_PROPERTY_KEEP_PROPERTY_NAME_FLAG, //
-				X_PROPERTY_USE_PRIMITIVE_TYPE //
-		));
+		return supportedPropertyLevelVendorFieldNames;
 	}
 
 	@Override
@@ -1299,4 +3595,9 @@ public class KeytilesJavaCodegen extends JavaClientCodegen implements IKeytilesC
 		return allModels;
 	}
 
+	@Override
+	public GenerationEventLog getGenerationEventLog() {
+		return generationEventLog;
+	}
+
 }
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import com.keytiles.swagger.codegen.IKeytilesCodegen;
 import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventCategory;
 import com.keytiles.swagger.codegen.helper.debug.ModelMessageType;
 import com.keytiles.swagger.codegen.helper.debug.PropertyInlineMessages;
 
@@ -271,7 +272,8 @@ public class CodegenBugfixAndEnhanceHelper {
 		model.vendorExtensions.put(IKeytilesCodegen.X_MODEL_IS_OWN_MODEL, isOwnDefinedModel);
 
 		if (isOwnDefinedModel && CodegenUtil.isModelFabricatedModel(model)) {
-			LOGGER.info("buu ==== contradicting own: {}", model);
+			codegen.getGenerationEventLog().record(GenerationEventCategory.CONTRADICTING_OWN_MODEL,
+					"model {} is found in the schema but looks fabricated by Codegen", model.name);
 		}
 	}
 
@@ -4,6 +4,7 @@ import java.lang.reflect.Field;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -477,9 +478,6 @@ public class CodegenUtil {
 	 */
 	public static boolean isModelFabricatedModel(CodegenModel theModel) {
 		boolean isFabriacted = StringUtils.isBlank(theModel.modelJson);
-		// if (isFabriacted) {
-		// LOGGER.info("buu");
-		// }
 		return isFabriacted;
 	}
 
@@ -501,6 +499,30 @@ public class CodegenUtil {
 		return false;
 	}
 
+	/**
+	 * @return the value of 'default' of an array property as it was given in the schema - or NULL if no
+	 *         default value was assigned
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Object> getPropertyUserAssignedDefaultArrayValue(CodegenModel model,
+			CodegenProperty property) {
+		if (!hasPropertyUserAssignedDefaultValue(model, property)) {
+			return null;
+		}
+		Map<String, Object> parseResult = null;
+		Exception parsingException = null;
+		try {
+			parseResult = new ObjectMapper().readValue(property.jsonSchema, HashMap.class);
+		} catch (Exception e) {
+			parsingException = e;
+		}
+		Preconditions.checkState(parseResult != null,
+				"Oops it looks we failed to json parse $ref attribute at property %s.%s! jsonSchema\n%s\nlead to error: %s",
+				model.name, property.baseName, property.jsonSchema, parsingException);
+
+		return (List<Object>) parseResult.get("default");
+	}
+
 	/**
 	 * Checks if the property has a default value or not
 	 *
@@ -820,6 +842,49 @@ public class CodegenUtil {
 				classNameToBeImported);
 	}
 
+	/**
+	 * @param allowableValues
+	 *            the .allowableValues of an enum model or property
+	 * @return TRUE if there is at least one enum value and none of them is null - so they can be used
+	 *         e.g. as switch labels
+	 */
+	@SuppressWarnings("unchecked")
+	public static boolean hasOnlyNonNullEnumValues(@Nullable Map<String, Object> allowableValues) {
+		if (allowableValues == null) {
+			return false;
+		}
+		List<Map<String, Object>> enumVars = (List<Map<String, Object>>) allowableValues
+				.get(ALLOWEDVALUES_KEY_ENUMVARS);
+		if (enumVars == null || enumVars.isEmpty()) {
+			return false;
+		}
+		for (Map<String, Object> enumVar : enumVars) {
+			Object value = enumVar.get("value");
+			if (value == null || "null".equals(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sorts the imports of the model alphabetically - imports added with
+	 * {@link #addImportToModelMapOnPostProcessAllModelsHook(java.util.Map.Entry, String)} are simply
+	 * appended to the end of the list
+	 *
+	 * @param postProcessModelEntry
+	 *            an {@link Entry} you grabbed from the Map input of the
+	 *            {@link AbstractJavaCodegen#postProcessAllModels(Map)} hook
+	 */
+	@SuppressWarnings("unchecked")
+	public static void sortImportsInPostProcessAllModelsInput(Map.Entry<String, Object> postProcessModelEntry) {
+		Map<String, Object> modelMap = (Map<String, Object>) postProcessModelEntry.getValue();
+		List<Map<String, Object>> imports = (List<Map<String, Object>>) modelMap.get("imports");
+		if (imports != null) {
+			imports.sort(Comparator.comparing(importItem -> String.valueOf(importItem.get("import"))));
+		}
+	}
+
 	/**
 	 * Helpful in {@link AbstractJavaCodegen#postProcessAllModels(Map)} hooks.
 	 *
@@ -942,10 +1007,6 @@ public class CodegenUtil {
 		postProcessInputMap.entrySet().forEach(modelEntry -> {
 			CodegenModel theModel = CodegenUtil.extractModelClassFromPostProcessAllModelsInput(modelEntry);
 
-			// if ("ErrorResponseClass".equals(theModel.name)) {
-			// LOGGER.info("buu");
-			// }
-
 			for (CodegenProperty property : theModel.allVars) {
 				boolean wasActioned = replaceTypeReferencesInProperty(property, modelClassNameToReplace,
 						modelClassNameToReplaceWith);
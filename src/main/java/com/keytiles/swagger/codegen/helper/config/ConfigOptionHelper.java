@@ -11,7 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
 import com.keytiles.swagger.codegen.IKeytilesCodegen;
-import com.keytiles.swagger.codegen.KeytilesJavaCodegen;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventCategory;
 import com.keytiles.swagger.codegen.helper.maven.MavenExecutionInfo;
 
 import io.swagger.v3.oas.models.OpenAPI;
@@ -26,7 +26,7 @@ import io.swagger.v3.oas.models.media.Schema;
  */
 public class ConfigOptionHelper {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(KeytilesJavaCodegen.class);
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConfigOptionHelper.class);
 
 	private ConfigOptionHelper() {
 	}
@@ -82,6 +82,14 @@ public class ConfigOptionHelper {
 		return importMappings;
 	}
 
+	private static void recordImportMappingsAdded(IKeytilesCodegen codegen, Map<String, String> importMappings) {
+		LOGGER.info("import scan complete! {} imports will be added", importMappings.size());
+		importMappings.forEach((modelName, fqClassName) -> {
+			codegen.getGenerationEventLog().record(GenerationEventCategory.IMPORT_MAPPING_ADDED, "{} -> {}",
+					modelName, fqClassName);
+		});
+	}
+
 	/**
 	 * Hook in this method to the preprocessOpenAPI() method and you get the features of
 	 * {@link IKeytilesCodegen#OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING},
@@ -107,7 +115,7 @@ public class ConfigOptionHelper {
 					.getImportMappingsToAdd(codegen.getAddSchemaModelsToImportMappings());
 			codegen.importMapping().putAll(scannedImportMappings);
 
-			LOGGER.info("import scan complete! The following imports will be added: {}", scannedImportMappings);
+			recordImportMappingsAdded(codegen, scannedImportMappings);
 		}
 
 		if (codegen.getAddSchemaModelsToImportMappingsFromMavenExecutions() != null) {
@@ -118,7 +126,7 @@ public class ConfigOptionHelper {
 					codegen.getAddSchemaModelsToImportMappingsFromMavenExecutions());
 			codegen.importMapping().putAll(scannedImportMappings);
 
-			LOGGER.info("import scan complete! The following imports will be added: {}", scannedImportMappings);
+			recordImportMappingsAdded(codegen, scannedImportMappings);
 		}
 
 		// now we can create the Maven execution info object
@@ -139,7 +147,8 @@ public class ConfigOptionHelper {
 			schemas.entrySet().forEach(schemaEntry -> {
 				if (codegen.importMapping().containsKey(schemaEntry.getKey())) {
 					excludeModelsFromGeneration.add(schemaEntry.getKey());
-					LOGGER.info("model {} is excluded from generation - found in importMappings", schemaEntry.getKey());
+					codegen.getGenerationEventLog().record(GenerationEventCategory.MODEL_EXCLUDED,
+							"model {} is excluded from generation - found in importMappings", schemaEntry.getKey());
 				}
 			});
 			// let the codegen know about these exclusions!
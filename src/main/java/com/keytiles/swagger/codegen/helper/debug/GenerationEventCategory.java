@@ -0,0 +1,71 @@
+package com.keytiles.swagger.codegen.helper.debug;
+
+/**
+ * Categories of the events collected by {@link GenerationEventLog}. Every category gets its own
+ * counter in the summary
+ *
+ * @author attilaw
+ *
+ */
+public enum GenerationEventCategory {
+	// a property became 'private final' field
+	FIELD_PRIVATE_FINAL("field became private final"),
+	// a property became 'private' field
+	FIELD_PRIVATE("field became private"),
+	// a property became 'public' field
+	FIELD_PUBLIC("field became public"),
+	// a property was taken into the constructor
+	CONSTRUCTOR_ARGUMENT("field became constructor argument"),
+	// a property overlaps with a property from the superclass
+	PROPERTY_OVERRIDE("property overlaps with superclass property"),
+	// a property got annotations because of x-keytiles-serialize-only-if-non-default-properties
+	SERIALIZE_ONLY_IF_NON_DEFAULT("property serialized only if non-default"),
+	// the original schema name of the property was kept
+	PROPERTY_NAME_KEPT("property name kept"),
+	// the property was renamed to Java style
+	PROPERTY_NAME_CHANGED("property name changed"),
+	// an import was injected into the model on the postProcessAllModels hook
+	IMPORT_INJECTED("import injected"),
+	// an import mapping was added by scanning schemas or Maven executions
+	IMPORT_MAPPING_ADDED("import mapping added"),
+	// a model was excluded from generation
+	MODEL_EXCLUDED("model excluded from generation"),
+	// a fabricated enum was replaced by an equal schema-defined one
+	ENUM_REPLACED("fabricated enum replaced"),
+	// a model is found in the schema but also looks fabricated by Codegen
+	CONTRADICTING_OWN_MODEL("own model looks fabricated"),
+	// Jackson serializer / deserializer (or the module registering them) was generated
+	JACKSON_CODECS("Jackson codecs generated"),
+	// the model is immutable so its hashCode() is calculated only once
+	HASH_CODE_CACHED("model hashCode cached"),
+	// a primitive specialized map class was generated for Map<String, number> properties
+	PRIMITIVE_MAP_CLASS("primitive map class generated"),
+	// an Externalizable serialization proxy was generated into the model
+	SERIALIZATION_PROXY("Java serialization proxy generated"),
+	// a binary codec was generated into the model / enum (or the class with the registry of them)
+	BINARY_CODEC("binary codec generated"),
+	// a streaming JSON array reader was generated into the model (or the generic base class of them)
+	STREAMING_READER("streaming reader generated"),
+	// the model has properties which are decoded from the retained raw JSON only on first access
+	LAZY_PROPERTY("model with lazily decoded properties"),
+	// the model has String properties whose values are canonicalized through an interning table (or the class
+	// of the tables was generated)
+	INTERNED_STRINGS("model with interned String properties"),
+	// a validate() method was generated into the model (or the exception class of the validators)
+	VALIDATOR("validator generated"),
+	// a 'type: number' property is not BigDecimal but Double / Float / scaled Long (or the class converting the
+	// scaled Longs was generated)
+	NUMBER_REPRESENTATION("number property without BigDecimal"),
+	// a static metamodel was generated into the model (or the registry class of the metamodels)
+	METAMODEL("metamodel generated");
+
+	private final String description;
+
+	private GenerationEventCategory(String description) {
+		this.description = description;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+}
@@ -0,0 +1,160 @@
+package com.keytiles.swagger.codegen.helper.debug;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+import com.google.common.base.Preconditions;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+
+/**
+ * Logging every decision the generator makes (per model, per property) on INFO level produces
+ * hundreds of thousands of lines on big schemas and the console I/O becomes a measurable part of the
+ * generation time. So instead these decisions are recorded here as events.
+ * <p>
+ * The log is just counting the events per {@link GenerationEventCategory} and keeps only the first
+ * few of them (see {@link #DEFAULT_SAMPLES_PER_CATEGORY}) as samples. At the end of the generation
+ * one summary is written with {@link #logSummary(Logger)}. If the full detail is requested (see
+ * {@link IKeytilesCodegen#OPT_GENERATION_EVENT_LOG_FILE}) then all events are kept and can be written
+ * into a file with {@link #writeDetailsToFile(File)}
+ * <p>
+ * Messages are using the slf4j style "{}" placeholders and they are only formatted if the event is
+ * really kept
+ *
+ * @author attilaw
+ *
+ */
+public class GenerationEventLog {
+
+	public final static int DEFAULT_SAMPLES_PER_CATEGORY = 3;
+
+	private final boolean keepAllDetails;
+	private final int samplesPerCategory;
+
+	private final Map<GenerationEventCategory, Integer> counters = new EnumMap<>(GenerationEventCategory.class);
+	private final Map<GenerationEventCategory, List<String>> samples = new EnumMap<>(
+			GenerationEventCategory.class);
+	// only used if keepAllDetails is true
+	private final List<String> details = new LinkedList<>();
+
+	/**
+	 * @param keepAllDetails
+	 *            if TRUE then all events are kept (for {@link #writeDetailsToFile(File)}) - otherwise
+	 *            just the samples
+	 * @param samplesPerCategory
+	 *            how many events to keep as sample per category
+	 */
+	public GenerationEventLog(boolean keepAllDetails, int samplesPerCategory) {
+		Preconditions.checkArgument(samplesPerCategory >= 0, "samplesPerCategory can not be negative but it is %s",
+				samplesPerCategory);
+		this.keepAllDetails = keepAllDetails;
+		this.samplesPerCategory = samplesPerCategory;
+	}
+
+	public GenerationEventLog(boolean keepAllDetails) {
+		this(keepAllDetails, DEFAULT_SAMPLES_PER_CATEGORY);
+	}
+
+	/**
+	 * Records an event
+	 *
+	 * @param category
+	 *            what kind of event is this?
+	 * @param messageFormat
+	 *            the message - can contain slf4j style "{}" placeholders
+	 * @param args
+	 *            the arguments for the placeholders
+	 */
+	public void record(GenerationEventCategory category, String messageFormat, Object... args) {
+		int count = counters.getOrDefault(category, 0) + 1;
+		counters.put(category, count);
+
+		boolean isSample = count <= samplesPerCategory;
+		if (!isSample && !keepAllDetails) {
+			// this is the cheap path - we do not even format the message
+			return;
+		}
+
+		String message = MessageFormatter.arrayFormat(messageFormat, args).getMessage();
+		if (isSample) {
+			samples.computeIfAbsent(category, key -> new ArrayList<>(samplesPerCategory)).add(message);
+		}
+		if (keepAllDetails) {
+			details.add(category + ": " + message);
+		}
+	}
+
+	/**
+	 * @return how many events were recorded in the given category
+	 */
+	public int getCount(GenerationEventCategory category) {
+		return counters.getOrDefault(category, 0);
+	}
+
+	/**
+	 * @return the sampled messages of the given category - in recording order
+	 */
+	public List<String> getSamples(GenerationEventCategory category) {
+		List<String> categorySamples = samples.get(category);
+		return categorySamples == null ? Collections.emptyList() : new ArrayList<>(categorySamples);
+	}
+
+	public boolean isKeepAllDetails() {
+		return keepAllDetails;
+	}
+
+	/**
+	 * @return the summary of all recorded events - one line per category with the samples below
+	 */
+	public String getSummary() {
+		StringBuilder sb = new StringBuilder("generation events summary:");
+		if (counters.isEmpty()) {
+			sb.append(" no events recorded");
+		}
+		counters.forEach((category, count) -> {
+			sb.append("\n  ").append(category.getDescription()).append(": ").append(count);
+			for (String sample : samples.getOrDefault(category, Collections.emptyList())) {
+				sb.append("\n    - ").append(sample);
+			}
+			if (count > samplesPerCategory && samplesPerCategory > 0) {
+				sb.append("\n    - ... and ").append(count - samplesPerCategory).append(" more");
+			}
+		});
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the {@link #getSummary()} into the given logger in one go
+	 */
+	public void logSummary(Logger logger) {
+		logger.info(getSummary());
+	}
+
+	/**
+	 * Writes all recorded events into the given file - one event per line
+	 *
+	 * @throws IllegalStateException
+	 *             if this log was not created with keepAllDetails=true
+	 * @throws IOException
+	 *             if writing the file fails
+	 */
+	public void writeDetailsToFile(File file) throws IOException {
+		Preconditions.checkState(keepAllDetails,
+				"Oops! This event log was created without keeping details - there is nothing to write");
+		File parentDir = file.getAbsoluteFile().getParentFile();
+		if (parentDir != null) {
+			Files.createDirectories(parentDir.toPath());
+		}
+		Files.write(file.toPath(), details, StandardCharsets.UTF_8);
+	}
+}
@@ -2,6 +2,7 @@ package com.keytiles.swagger.codegen.helper.maven;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -23,10 +24,22 @@ import io.swagger.codegen.v3.CodegenModel;
  */
 public class MavenExecutionInfo {
 
-	private final static Map<String, MavenExecutionInfo> executions = new HashMap<>();
+	// note: Maven builds a module on one thread - all its executions are invoked one after the other from there.
+	// Being thread bound (like the ModelExtraInfo cache) the executions of modules built in parallel (mvn -T)
+	// or parallel generations (e.g. tests) do not see - and do not corrupt - each other. The builder threads of
+	// mvn -T are reused for the next module - MavenModuleScope cleans the registry when the module changes
+	private final static ThreadLocal<Map<String, MavenExecutionInfo>> executions = ThreadLocal
+			.withInitial(HashMap::new);
 
 	public static MavenExecutionInfo getExecutionInfo(String executionId) {
-		return executions.get(executionId);
+		return executions.get().get(executionId);
+	}
+
+	/**
+	 * For unit testing purposes - forgets the executions registered by the current thread
+	 */
+	public static void cleanStaticExecutionInfoRegistry() {
+		executions.remove();
 	}
 
 	/**
@@ -58,16 +71,20 @@ public class MavenExecutionInfo {
 	private final String modelPackage;
 	// the models which were put together eventually during the execution
 	private final Map<String, CodegenModel> models;
+	// models generated by a previous run - if this execution was skipped as up-to-date we only know their
+	// names (key - model name)
+	private final Map<String, String> previouslyGeneratedModels;
 	// the assembled importMappings which was used in this execution
 	private Map<String, String> importMappings;
 
 	private MavenExecutionInfo(String executionId, String modelPackage) {
 		this.executionId = executionId;
-		this.models = new HashMap<>();
+		this.models = new TreeMap<>();
+		this.previouslyGeneratedModels = new TreeMap<>();
 		this.modelPackage = modelPackage;
 
 		// let's register
-		executions.put(executionId, this);
+		executions.get().put(executionId, this);
 	}
 
 	public Map<String, String> getImportMappings() {
@@ -95,8 +112,17 @@ public class MavenExecutionInfo {
 		models.put(modelName, model);
 	}
 
+	/**
+	 * If the generation was skipped (see {@link UpToDateCheck}) we do not have the {@link CodegenModel}
+	 * objects but we still know which models were generated
+	 */
+	public void registerPreviouslyGeneratedModel(String modelKey, String modelName) {
+		previouslyGeneratedModels.put(modelKey, modelName);
+	}
+
 	public Map<String, String> getModelsForImportMapping(boolean addOwnImportMappingsToo) {
-		Map<String, String> mappings = new HashMap<>();
+		// note: sorted - so the importMappings built from this are always in the same order
+		Map<String, String> mappings = new TreeMap<>();
 
 		if (addOwnImportMappingsToo && importMappings != null) {
 			mappings.putAll(importMappings);
@@ -105,6 +131,9 @@ public class MavenExecutionInfo {
 		models.entrySet().forEach(modelEntry -> {
 			mappings.put(modelEntry.getKey(), modelPackage + "." + modelEntry.getValue().name);
 		});
+		previouslyGeneratedModels.entrySet().forEach(modelEntry -> {
+			mappings.put(modelEntry.getKey(), modelPackage + "." + modelEntry.getValue());
+		});
 
 		return mappings;
 	}
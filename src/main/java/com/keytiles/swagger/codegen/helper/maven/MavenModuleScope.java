@@ -0,0 +1,73 @@
+package com.keytiles.swagger.codegen.helper.maven;
+
+import java.io.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+
+/**
+ * The {@link MavenExecutionInfo} registry and the {@link ModelExtraInfo} cache are thread bound. Maven builds a
+ * module on one thread - but with a parallel build (mvn -T) the builder threads are reused: once a module is done
+ * the same thread picks up the next one. This class tracks which module the current thread generates for and
+ * forgets the registries of the previous module when it changes - so a later module can not see (and pick up
+ * import mappings from) the executions of an unrelated module.
+ * <p>
+ * The module is the nearest folder above the output folder which has a pom.xml. If there is no such folder (the
+ * output is outside of the Maven project) then the scope is left as it is.
+ *
+ * @author attilaw
+ *
+ */
+public class MavenModuleScope {
+
+	private final static Logger LOGGER = LoggerFactory.getLogger(MavenModuleScope.class);
+
+	private final static ThreadLocal<File> currentModuleFolder = new ThreadLocal<>();
+
+	private MavenModuleScope() {
+	}
+
+	/**
+	 * Invoked when a generation starts - before anything is registered. If the generation belongs to another
+	 * module than the previous one on this thread then the thread bound registries are cleaned
+	 *
+	 * @param outputFolder
+	 *            the output folder of the generation
+	 */
+	public static void enter(String outputFolder) {
+		File moduleFolder = findModuleFolder(outputFolder);
+		if (moduleFolder == null) {
+			return;
+		}
+		File previousModuleFolder = currentModuleFolder.get();
+		if (!moduleFolder.equals(previousModuleFolder)) {
+			if (previousModuleFolder != null) {
+				LOGGER.info("generating for module {} now (was {}) - forgetting the executions of the previous module",
+						moduleFolder, previousModuleFolder);
+			}
+			MavenExecutionInfo.cleanStaticExecutionInfoRegistry();
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			currentModuleFolder.set(moduleFolder);
+		}
+	}
+
+	/**
+	 * @return the nearest folder (the output folder itself or one of its parents) having a pom.xml - or NULL if
+	 *         there is no such folder
+	 */
+	static File findModuleFolder(String outputFolder) {
+		if (outputFolder == null) {
+			return null;
+		}
+		File folder = new File(outputFolder).getAbsoluteFile();
+		while (folder != null) {
+			if (new File(folder, "pom.xml").isFile()) {
+				return folder;
+			}
+			folder = folder.getParentFile();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,341 @@
+package com.keytiles.swagger.codegen.helper.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.helper.config.SchemaParam;
+
+/**
+ * This class implements the {@link IKeytilesCodegen#OPT_SKIP_GENERATION_IF_UP_TO_DATE} option.
+ * <p>
+ * It fingerprints everything the generated models depend on:
+ * <ul>
+ * <li>the input spec
+ * <li>all schemas referred through {@link IKeytilesCodegen#OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING}
+ * <li>the final importMappings - which also covers the models of upstream executions referred with
+ * {@link IKeytilesCodegen#OPT_ADD_SCHEMA_MODELS_TO_IMPORT_MAPPING_FROM_MAVENEXECUTIONS}
+ * <li>config options, type mappings
+ * <li>the codegen itself (its .jar or classes folder - so the embedded templates too) and the custom
+ * template folder if there is one
+ * </ul>
+ * After a successful generation - once all files are written - the fingerprint is saved together with a
+ * manifest (which models and files were generated, with the hash of each file content) into a state file
+ * under the output folder. Next time if the fingerprint is the same and all files in the manifest are
+ * still there with the same content the generation can be skipped. The manifest is also used to register
+ * the models into the {@link MavenExecutionInfo} - so downstream executions still get their importMappings
+ *
+ * @author attilaw
+ *
+ */
+public class UpToDateCheck {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UpToDateCheck.class);
+
+	public final static String STATE_FOLDER = ".keytiles-codegen";
+
+	private final static String KEY_FINGERPRINT = "fingerprint";
+	private final static String KEY_MODEL_PREFIX = "model.";
+	private final static String KEY_FILE_PREFIX = "file.";
+	private final static String KEY_FILE_HASH_PREFIX = "fileHash.";
+
+	// these are changing on every run so they can not be part of the fingerprint
+	private final static String[] VOLATILE_OPTIONS = { "generatedDate", "generatedYear" };
+
+	// computing the fingerprint of the codegen .jar is enough once per JVM
+	private final static Map<String, String> codeSourceFingerprints = new HashMap<>();
+
+	/**
+	 * Computes the fingerprint for the given codegen and compares with the state saved by the previous
+	 * run.
+	 * <p>
+	 * Must be invoked after the importMappings are finalized - see
+	 * {@link com.keytiles.swagger.codegen.helper.config.ConfigOptionHelper#preprocessOpenAPIHook(IKeytilesCodegen, io.swagger.v3.oas.models.OpenAPI)}
+	 */
+	public static UpToDateCheck check(IKeytilesCodegen codegen) {
+		Preconditions.checkArgument(codegen != null, "'codegen' param can not be NULL");
+		return new UpToDateCheck(codegen);
+	}
+
+	private final IKeytilesCodegen codegen;
+	private final File stateFile;
+	private final String fingerprint;
+	// the manifest of the previous run - if that was up-to-date
+	private Map<String, String> previousModels;
+	// what the current generation renders - see rememberGeneratedClasses()
+	private Map<String, String> generatedModels;
+	private Collection<String> generatedHelperClasses;
+
+	private UpToDateCheck(IKeytilesCodegen codegen) {
+		this.codegen = codegen;
+		this.stateFile = new File(new File(codegen.outputFolder(), STATE_FOLDER), getStateFileName(codegen));
+		this.fingerprint = computeFingerprint(codegen);
+		this.previousModels = loadPreviousModelsIfUpToDate();
+	}
+
+	/**
+	 * @return TRUE if the inputs did not change since the previous run and the outputs are intact
+	 */
+	public boolean isUpToDate() {
+		return previousModels != null;
+	}
+
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	public File getStateFile() {
+		return stateFile;
+	}
+
+	/**
+	 * @return modelKey - modelName pairs generated in the previous run or NULL if not up-to-date
+	 */
+	public Map<String, String> getPreviousModels() {
+		return previousModels == null ? null : new LinkedHashMap<>(previousModels);
+	}
+
+	/**
+	 * Remembers what the current generation is going to render - the manifest {@link #saveState()} writes
+	 *
+	 * @param generatedModels
+	 *            modelKey - modelName pairs which are going to be generated
+	 * @param generatedHelperClasses
+	 *            names of the helper classes rendered next to the models (e.g. the Jackson codecs module) - their
+	 *            files are checked too but they are not models so they are not registered anywhere
+	 */
+	public void rememberGeneratedClasses(Map<String, String> generatedModels,
+			Collection<String> generatedHelperClasses) {
+		this.generatedModels = new LinkedHashMap<>(generatedModels);
+		this.generatedHelperClasses = new ArrayList<>(generatedHelperClasses);
+	}
+
+	/**
+	 * Saves the fingerprint and the manifest of the current generation. Must be invoked once all files are
+	 * written - the hash of their content is saved too
+	 */
+	public void saveState() {
+		if (generatedModels == null) {
+			// models were not generated at all (e.g. switched off with the "models" system property)
+			LOGGER.info("no models were generated - up-to-date state is not saved");
+			return;
+		}
+		Properties state = new Properties();
+		state.setProperty(KEY_FINGERPRINT, fingerprint);
+		generatedModels.forEach((modelKey, modelName) -> {
+			state.setProperty(KEY_MODEL_PREFIX + modelKey, modelName);
+		});
+		List<String> generatedClasses = new ArrayList<>(generatedModels.values());
+		generatedClasses.addAll(generatedHelperClasses);
+		int idx = 0;
+		for (String className : generatedClasses) {
+			for (String suffix : codegen.modelTemplateFiles().values()) {
+				File file = getModelFile(className, suffix);
+				String fileHash = getFileHash(file);
+				if (fileHash == null) {
+					// was not written - so the next run could not be skipped anyway
+					LOGGER.warn("output file {} is not there - up-to-date state is not saved", file);
+					return;
+				}
+				state.setProperty(KEY_FILE_PREFIX + idx, file.getAbsolutePath());
+				state.setProperty(KEY_FILE_HASH_PREFIX + idx, fileHash);
+				idx++;
+			}
+		}
+
+		try {
+			Files.createDirectories(stateFile.getParentFile().toPath());
+			try (Writer writer = Files.newBufferedWriter(stateFile.toPath(), StandardCharsets.UTF_8)) {
+				state.store(writer, "Keytiles codegen up-to-date state - do not edit");
+			}
+		} catch (IOException e) {
+			// not a big deal - next time we will just generate again
+			LOGGER.warn("failed to save up-to-date state into {}: {}", stateFile, e.getMessage());
+		}
+	}
+
+	private File getModelFile(String modelName, String suffix) {
+		return new File(codegen.modelFileFolder(), codegen.toModelFilename(modelName) + suffix);
+	}
+
+	private Map<String, String> loadPreviousModelsIfUpToDate() {
+		if (!stateFile.isFile()) {
+			return null;
+		}
+		Properties state = new Properties();
+		try (Reader reader = Files.newBufferedReader(stateFile.toPath(), StandardCharsets.UTF_8)) {
+			state.load(reader);
+		} catch (IOException e) {
+			LOGGER.warn("failed to read up-to-date state from {}: {}", stateFile, e.getMessage());
+			return null;
+		}
+
+		if (!fingerprint.equals(state.getProperty(KEY_FINGERPRINT))) {
+			LOGGER.info("inputs changed since the previous run - generating");
+			return null;
+		}
+
+		Map<String, String> models = new TreeMap<>();
+		for (String key : state.stringPropertyNames()) {
+			if (key.startsWith(KEY_FILE_PREFIX)) {
+				File file = new File(state.getProperty(key));
+				String fileHash = getFileHash(file);
+				if (fileHash == null) {
+					LOGGER.info("inputs did not change but output file {} is missing - generating", file);
+					return null;
+				}
+				String savedFileHash = state.getProperty(KEY_FILE_HASH_PREFIX + key.substring(KEY_FILE_PREFIX.length()));
+				if (!fileHash.equals(savedFileHash)) {
+					LOGGER.info("inputs did not change but output file {} was modified - generating", file);
+					return null;
+				}
+			} else if (key.startsWith(KEY_MODEL_PREFIX)) {
+				models.put(key.substring(KEY_MODEL_PREFIX.length()), state.getProperty(key));
+			}
+		}
+		return models;
+	}
+
+	/**
+	 * @return the hash of the file content - or NULL if the file is not there
+	 */
+	private static String getFileHash(File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			return Hashing.sha256().hashBytes(Files.readAllBytes(file.toPath())).toString();
+		} catch (IOException e) {
+			LOGGER.warn("failed to read output file {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	private static String getStateFileName(IKeytilesCodegen codegen) {
+		if (codegen.getMavenExecutionId() != null) {
+			return codegen.getMavenExecutionId() + ".properties";
+		}
+		// no execution id - let's identify the generation by the spec location and package
+		// note: if the spec is given as content (not a path) then we can only go with the package
+		String specLocation = StringUtils.defaultString(codegen.getInputURL(), codegen.getInputSpec());
+		if (specLocation != null && (specLocation.length() >= 4096 || specLocation.contains("\n"))) {
+			specLocation = null;
+		}
+		String specId = StringUtils.defaultString(specLocation) + "|" + codegen.modelPackage();
+		return Hashing.sha256().hashString(specId, StandardCharsets.UTF_8).toString().substring(0, 16)
+				+ ".properties";
+	}
+
+	private static String computeFingerprint(IKeytilesCodegen codegen) {
+		Hasher hasher = Hashing.sha256().newHasher();
+
+		putEntry(hasher, "codegen", getCodeSourceFingerprint(codegen.getClass()));
+		if (codegen.customTemplateDir() != null) {
+			putEntry(hasher, "customTemplates", getPathFingerprint(new File(codegen.customTemplateDir())));
+		}
+
+		putEntry(hasher, "inputSpec", getSpecFingerprint(codegen.getInputSpec()));
+		if (codegen.getAddSchemaModelsToImportMappings() != null) {
+			for (SchemaParam schemaParam : codegen.getAddSchemaModelsToImportMappings()
+					.getSchemaParamsInAdditionOrder().values()) {
+				putEntry(hasher, "importedSchema", getSpecFingerprint(schemaParam.getSchemaFilePath()));
+				putEntry(hasher, "importedSchemaPackage", schemaParam.getModelPackage());
+			}
+		}
+
+		putEntry(hasher, "importMappings", new TreeMap<>(codegen.importMapping()).toString());
+		putEntry(hasher, "typeMappings", new TreeMap<>(codegen.typeMapping()).toString());
+		putEntry(hasher, "instantiationTypes", new TreeMap<>(codegen.instantiationTypes()).toString());
+		putEntry(hasher, "modelPackage", codegen.modelPackage());
+		putEntry(hasher, "outputFolder", codegen.outputFolder());
+
+		Map<String, String> options = new TreeMap<>();
+		codegen.additionalProperties().forEach((key, value) -> {
+			// we can just consider the "simple" values - the rest are helpers (e.g. lambdas) put there by
+			// Codegen itself
+			if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+				options.put(key, value.toString());
+			}
+		});
+		for (String volatileOption : VOLATILE_OPTIONS) {
+			options.remove(volatileOption);
+		}
+		putEntry(hasher, "options", options.toString());
+
+		return hasher.hash().toString();
+	}
+
+	private static void putEntry(Hasher hasher, String name, String value) {
+		hasher.putString(name, StandardCharsets.UTF_8).putChar('=')
+				.putString(StringUtils.defaultString(value), StandardCharsets.UTF_8).putChar('\n');
+	}
+
+	private static String getSpecFingerprint(String specContentOrPath) {
+		if (specContentOrPath == null) {
+			return null;
+		}
+		// it might be a path or the content itself
+		File specFile = new File(specContentOrPath);
+		if (specContentOrPath.length() < 4096 && specFile.isFile()) {
+			return getPathFingerprint(specFile);
+		}
+		return Hashing.sha256().hashString(specContentOrPath, StandardCharsets.UTF_8).toString();
+	}
+
+	private static synchronized String getCodeSourceFingerprint(Class<?> codegenClass) {
+		CodeSource codeSource = codegenClass.getProtectionDomain().getCodeSource();
+		URL location = codeSource == null ? null : codeSource.getLocation();
+		if (location == null) {
+			// we do not know where we are coming from... let's make sure we never match
+			return String.valueOf(System.nanoTime());
+		}
+		return codeSourceFingerprints.computeIfAbsent(location.toString(), key -> {
+			try {
+				return getPathFingerprint(new File(location.toURI()));
+			} catch (URISyntaxException e) {
+				return String.valueOf(System.nanoTime());
+			}
+		});
+	}
+
+	/**
+	 * @return a hash of the file content - or if this is a folder then all files in it
+	 */
+	private static String getPathFingerprint(File path) {
+		Hasher hasher = Hashing.sha256().newHasher();
+		try (Stream<java.nio.file.Path> files = Files.walk(path.toPath())) {
+			for (java.nio.file.Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+				putEntry(hasher, path.toPath().relativize(file).toString(), null);
+				hasher.putBytes(Files.readAllBytes(file));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Oops! Failed to fingerprint " + path + ": " + e.getMessage(), e);
+		}
+		return hasher.hash().toString();
+	}
+
+}
@@ -0,0 +1,747 @@
+package com.keytiles.swagger.codegen.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
+
+/**
+ * This helper class is calculating the template variables of the generated compact binary codec
+ * (encode(ByteBuffer) / decode(ByteBuffer) methods) of a {@link ModelStyle#simpleConsistent} model - see
+ * {@link IKeytilesCodegen#OPT_GENERATE_BINARY_CODECS}
+ * <p>
+ * The format is driven by the schema - there are no field names or tags on the wire. All properties
+ * (including the inherited ones) are written in a fixed order - constructor arguments first, in the order of
+ * the constructor - preceded by a presence bitmap which has a bit for every property which can be NULL. Nested
+ * models are written with the type id of their class (see {@link #getTypeId(String)}) so polymorphism works
+ * <p>
+ * Properties are checked recursively (List / Map items too). If we find a type we can not write then the
+ * model does not get a codec - see {@link #isSupported()}
+ *
+ * @author attilaw
+ *
+ */
+public class BinaryCodecInfo {
+
+	// type name - {write statement format, read expression, initial value, skip statement}
+	private final static Map<String, String[]> scalarTypes = new LinkedHashMap<>();
+
+	static {
+		String skipVarint = "BinaryCodecs.readUnsignedVarLong(in);";
+		scalarTypes.put("int", new String[] { "BinaryCodecs.writeVarInt(out, %s);", "BinaryCodecs.readVarInt(in)", "0",
+				skipVarint });
+		scalarTypes.put("long",
+				new String[] { "BinaryCodecs.writeVarLong(out, %s);", "BinaryCodecs.readVarLong(in)", "0L", skipVarint });
+		scalarTypes.put("short", new String[] { "BinaryCodecs.writeVarInt(out, %s);",
+				"(short) BinaryCodecs.readVarInt(in)", "(short) 0", skipVarint });
+		scalarTypes.put("byte", new String[] { "out.put(%s);", "in.get()", "(byte) 0", "BinaryCodecs.skipBytes(in, 1);" });
+		scalarTypes.put("float",
+				new String[] { "out.putFloat(%s);", "in.getFloat()", "0f", "BinaryCodecs.skipBytes(in, 4);" });
+		scalarTypes.put("double",
+				new String[] { "out.putDouble(%s);", "in.getDouble()", "0d", "BinaryCodecs.skipBytes(in, 8);" });
+		scalarTypes.put("boolean", new String[] { "out.put(%s ? (byte) 1 : (byte) 0);", "in.get() != 0", "false",
+				"BinaryCodecs.skipBytes(in, 1);" });
+
+		scalarTypes.put("Integer", new String[] { "BinaryCodecs.writeVarInt(out, %s);", "BinaryCodecs.readVarInt(in)",
+				"null", skipVarint });
+		scalarTypes.put("Long", new String[] { "BinaryCodecs.writeVarLong(out, %s);", "BinaryCodecs.readVarLong(in)",
+				"null", skipVarint });
+		scalarTypes.put("Short", new String[] { "BinaryCodecs.writeVarInt(out, %s);",
+				"(short) BinaryCodecs.readVarInt(in)", "null", skipVarint });
+		scalarTypes.put("Byte", new String[] { "out.put(%s);", "in.get()", "null", "BinaryCodecs.skipBytes(in, 1);" });
+		scalarTypes.put("Float",
+				new String[] { "out.putFloat(%s);", "in.getFloat()", "null", "BinaryCodecs.skipBytes(in, 4);" });
+		scalarTypes.put("Double",
+				new String[] { "out.putDouble(%s);", "in.getDouble()", "null", "BinaryCodecs.skipBytes(in, 8);" });
+		scalarTypes.put("Boolean", new String[] { "out.put(%s ? (byte) 1 : (byte) 0);", "in.get() != 0", "null",
+				"BinaryCodecs.skipBytes(in, 1);" });
+
+		scalarTypes.put("String", new String[] { "BinaryCodecs.writeString(out, %s);", "BinaryCodecs.readString(in)",
+				"null", "BinaryCodecs.skipBytes(in, BinaryCodecs.readSize(in));" });
+		scalarTypes.put("byte[]", new String[] { "BinaryCodecs.writeBytes(out, %s);", "BinaryCodecs.readBytes(in)",
+				"null", "BinaryCodecs.skipBytes(in, BinaryCodecs.readSize(in));" });
+	}
+
+	/**
+	 * One property the codec is dealing with - the getters are used by the templates
+	 */
+	public static class CodecProperty {
+		private final CodegenProperty property;
+		private final int index;
+		private final JacksonCodecInfo.Assignment assignment;
+		private final String readExpression;
+		private final String presenceExpression;
+		private final int presenceBit;
+		private final String initialValue;
+		private String writeCode;
+		private String readCode;
+		private String skipCode;
+		private String viewReadCode;
+		private String viewSkipCode;
+
+		private CodecProperty(CodegenProperty property, int index, JacksonCodecInfo.Assignment assignment,
+				String readExpression, int presenceBit) {
+			this.property = property;
+			this.index = index;
+			this.assignment = assignment;
+			this.readExpression = readExpression;
+			this.presenceBit = presenceBit;
+			if (property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null) {
+				presenceExpression = "value.has" + property.nameInCamelCase + "()";
+			} else {
+				presenceExpression = getVariable() + " != null";
+			}
+			String[] scalar = scalarTypes.get(property.datatypeWithEnum);
+			this.initialValue = scalar != null ? scalar[2] : "null";
+		}
+
+		public CodegenProperty getProperty() {
+			return property;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the name of the local variable holding the value in the generated methods
+		 */
+		public String getVariable() {
+			return "v" + index;
+		}
+
+		public boolean isConstructorArgument() {
+			return assignment == JacksonCodecInfo.Assignment.constructorArgument;
+		}
+
+		public boolean isAssignedToField() {
+			return assignment == JacksonCodecInfo.Assignment.field;
+		}
+
+		public boolean isAssignedWithSetter() {
+			return assignment == JacksonCodecInfo.Assignment.setter;
+		}
+
+		/**
+		 * @return the Java expression (using variable "value") which reads the property from the model
+		 */
+		public String getReadExpression() {
+			return readExpression;
+		}
+
+		/**
+		 * @return TRUE if the value can be NULL - so it has a bit in the presence bitmap
+		 */
+		public boolean isOptional() {
+			return presenceBit >= 0;
+		}
+
+		/**
+		 * @return TRUE if the presence of the value is tracked with a presence bit of the model (so the model has
+		 *         a "has..." method)
+		 */
+		public boolean isPresenceTracked() {
+			return property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null;
+		}
+
+		/**
+		 * @return the Java expression which tells if the value is not NULL - if {@link #isOptional()}
+		 */
+		public String getPresenceExpression() {
+			return presenceExpression;
+		}
+
+		/**
+		 * @return the name of the local variable holding the presence bitmap word of the property - if
+		 *         {@link #isOptional()}
+		 */
+		public String getPresenceWord() {
+			return getPresenceWordName(presenceBit / 64);
+		}
+
+		/**
+		 * @return the Java literal of the bit of the property in its presence bitmap word (e.g. "0x4L") - if
+		 *         {@link #isOptional()}
+		 */
+		public String getPresenceMask() {
+			return "0x" + Long.toHexString(1L << (presenceBit % 64)) + "L";
+		}
+
+		/**
+		 * @return the Java literal the variable is initialized with before the value is read
+		 */
+		public String getInitialValue() {
+			return initialValue;
+		}
+
+		/**
+		 * @return the Java statements writing the (non NULL) value of the variable into ByteBuffer "out"
+		 */
+		public String getWriteCode() {
+			return writeCode;
+		}
+
+		/**
+		 * @return the Java statements reading the value from ByteBuffer "in" into the variable
+		 */
+		public String getReadCode() {
+			return readCode;
+		}
+
+		/**
+		 * @return the Java expression the View returns if the value is not there - the decoded object keeps the
+		 *         default value of a presence tracked property
+		 */
+		public String getViewAbsentValue() {
+			if (isPresenceTracked() && property.defaultValue != null) {
+				return property.defaultValue;
+			}
+			return initialValue;
+		}
+
+		/**
+		 * @return the Java statements stepping over the (non NULL) value in ByteBuffer "in" without decoding
+		 *         it
+		 */
+		public String getSkipCode() {
+			return skipCode;
+		}
+
+		/**
+		 * @return same as {@link #getReadCode()} but indented for the methods of the nested View class
+		 */
+		public String getViewReadCode() {
+			return viewReadCode;
+		}
+
+		/**
+		 * @return same as {@link #getSkipCode()} but indented for the methods of the nested View class
+		 */
+		public String getViewSkipCode() {
+			return viewSkipCode;
+		}
+	}
+
+	/**
+	 * A static value - constant lookup of an enum in the model - the value written into the stream is mapped
+	 * back through it. The ordinal is not used: it changes if the values are reordered (or merged from an enum
+	 * composition in another order)
+	 */
+	public static class EnumTable {
+		private final String type;
+		private final String name;
+
+		private EnumTable(String type, String name) {
+			this.type = type;
+			this.name = name;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * @return TRUE if we can generate binary codec for this model. Composed models are interfaces (they are
+	 *         written by the codec of their implementing class) and models extending collections have no
+	 *         properties to write
+	 */
+	public static boolean isCodecSupported(CodegenModel theModel) {
+		if (theModel.getIsEnum()) {
+			return true;
+		}
+		// note: the templates are rendering an interface only if .isComposedModel is set
+		return !theModel.isComposedModel
+				&& !ExtensionHelper.getBooleanValue(theModel, CodegenConstants.IS_ARRAY_MODEL_EXT_NAME)
+				&& theModel.additionalPropertiesType == null;
+	}
+
+	/**
+	 * @param theModel
+	 *            which model? must be {@link #isCodecSupported(CodegenModel)} and not an enum
+	 * @param codeGenerator
+	 * @param knownModels
+	 *            all models we know about by their classname - this is how we recognize enums
+	 * @param encodableModels
+	 *            the classnames of the models which can be written with the registry - so they can be used as
+	 *            property types
+	 */
+	public static BinaryCodecInfo getCodecInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator,
+			Map<String, CodegenModel> knownModels, Set<String> encodableModels) {
+		Preconditions.checkArgument(isCodecSupported(theModel) && !theModel.getIsEnum(),
+				"model '%s' does not support binary codec", theModel.name);
+		return new BinaryCodecInfo(theModel, codeGenerator, knownModels, encodableModels);
+	}
+
+	/**
+	 * @return the type id of the class written in front of a model by the registry. It is derived from the
+	 *         class name only - so it remains the same if other models are added to / removed from the schema
+	 */
+	public static int getTypeId(String classname) {
+		return Hashing.sha256().hashString(classname, StandardCharsets.UTF_8).asInt();
+	}
+
+	/**
+	 * @return the Java statement writing the value of a primitive (or wrapper) type into ByteBuffer "out"
+	 */
+	public static String getScalarWriteStatement(String type, String value) {
+		Preconditions.checkArgument(scalarTypes.containsKey(type), "type '%s' is not a scalar type", type);
+		return String.format(scalarTypes.get(type)[0], value);
+	}
+
+	/**
+	 * @return the Java expression reading the value of a primitive (or wrapper) type from ByteBuffer "in"
+	 */
+	public static String getScalarReadExpression(String type) {
+		Preconditions.checkArgument(scalarTypes.containsKey(type), "type '%s' is not a scalar type", type);
+		return scalarTypes.get(type)[1];
+	}
+
+	private static String getPresenceWordName(int word) {
+		return "presence" + word;
+	}
+
+	private static class FieldRef {
+		private final CodegenProperty property;
+		private final boolean ownField;
+		private final String visibility;
+
+		private FieldRef(CodegenProperty property, boolean ownField, String visibility) {
+			this.property = property;
+			this.ownField = ownField;
+			this.visibility = visibility;
+		}
+	}
+
+	private final Map<String, CodegenModel> knownModels;
+	private final Set<String> encodableModels;
+
+	private final List<CodecProperty> properties = new ArrayList<>();
+	private final List<String> constructorArgs = new ArrayList<>();
+	private final Map<String, EnumTable> enumTables = new LinkedHashMap<>();
+	private final Set<String> imports = new TreeSet<>();
+	private int presenceBits = 0;
+	private String unsupportedReason;
+
+	private BinaryCodecInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator,
+			Map<String, CodegenModel> knownModels, Set<String> encodableModels) {
+		this.knownModels = knownModels;
+		this.encodableModels = encodableModels;
+		imports.add("java.nio.ByteBuffer");
+
+		ModelExtraInfo extraInfo = ModelExtraInfo.getExtraInfo(theModel, codeGenerator);
+
+		// let's collect all fields we have - going upwards in the hierarchy
+		// note: if a subclass is overriding a property then the subclass field wins
+		Map<String, FieldRef> fields = new LinkedHashMap<>();
+		boolean ownFields = true;
+		for (CodegenModel model = theModel; model != null; model = model.parentModel) {
+			ModelExtraInfo modelExtraInfo = ModelExtraInfo.getExtraInfo(model, codeGenerator);
+			for (CodegenProperty property : model.vars) {
+				fields.putIfAbsent(property.baseName, new FieldRef(property, ownFields,
+						modelExtraInfo.getVisibilityOfPropertyWithBaseName(property.baseName)));
+			}
+			ownFields = false;
+		}
+
+		// constructor arguments first - in the order of the constructor
+		for (CodegenProperty arg : extraInfo.getAllConstructorArgs()) {
+			FieldRef fieldRef = fields.remove(arg.baseName);
+			if (fieldRef == null) {
+				throw new IllegalStateException("Oops! Constructor argument '" + arg.baseName + "' of model '"
+						+ theModel.name + "' does not belong to any field");
+			}
+			CodecProperty codecProperty = createCodecProperty(fieldRef,
+					JacksonCodecInfo.Assignment.constructorArgument);
+			properties.add(codecProperty);
+			constructorArgs.add(codecProperty.getVariable());
+		}
+
+		// and then everything else
+		for (FieldRef fieldRef : fields.values()) {
+			if ("private final".equals(fieldRef.visibility)) {
+				throw new IllegalStateException("Oops! Field '" + fieldRef.property.baseName + "' of model '"
+						+ theModel.name + "' is private final but it is not taken by the constructor");
+			}
+			properties.add(createCodecProperty(fieldRef, "public".equals(fieldRef.visibility)
+					? JacksonCodecInfo.Assignment.field
+					: JacksonCodecInfo.Assignment.setter));
+		}
+
+		// and now the code - this is where we find out if we can deal with all the types
+		for (CodecProperty codecProperty : properties) {
+			String indent = codecProperty.isOptional() ? "      " : "    ";
+			StringBuilder writeCode = new StringBuilder();
+			StringBuilder readCode = new StringBuilder();
+			if (!appendWriteCode(writeCode, codecProperty.property, codecProperty.getVariable(), indent, 0)
+					|| !appendReadCode(readCode, codecProperty.property, codecProperty.getVariable(), indent, 0)) {
+				unsupportedReason = "property '" + codecProperty.property.baseName + "' has type '"
+						+ codecProperty.property.datatypeWithEnum + "' which can not be written by the binary codec";
+				return;
+			}
+			// note: the template puts the line break after the code
+			codecProperty.writeCode = writeCode.substring(0, writeCode.length() - 1);
+			codecProperty.readCode = readCode.substring(0, readCode.length() - 1);
+
+			// the View is a nested class - one more level of indentation, and the value is always conditional
+			String viewIndent = "        ";
+			StringBuilder skipCode = new StringBuilder();
+			StringBuilder viewReadCode = new StringBuilder();
+			StringBuilder viewSkipCode = new StringBuilder();
+			appendSkipCode(skipCode, codecProperty.property, codecProperty.getVariable(), indent, 0);
+			appendReadCode(viewReadCode, codecProperty.property, codecProperty.getVariable(), viewIndent, 0);
+			appendSkipCode(viewSkipCode, codecProperty.property, codecProperty.getVariable(),
+					codecProperty.isOptional() ? viewIndent : "      ", 0);
+			codecProperty.skipCode = skipCode.substring(0, skipCode.length() - 1);
+			codecProperty.viewReadCode = viewReadCode.substring(0, viewReadCode.length() - 1);
+			codecProperty.viewSkipCode = viewSkipCode.substring(0, viewSkipCode.length() - 1);
+		}
+	}
+
+	private CodecProperty createCodecProperty(FieldRef fieldRef, JacksonCodecInfo.Assignment assignment) {
+		CodegenProperty property = fieldRef.property;
+		// note: encode() is a method of the model so it sees our own private fields - but not the ones of the parent
+		// lazily decoded values might be still in raw form - only the getter gives the value
+		String readExpression = (fieldRef.ownField || "public".equals(fieldRef.visibility))
+				&& !ExtensionHelper.getBooleanValue(property, IKeytilesCodegen.X_COMPUTED_PROPERTY_LAZY_FLAG)
+						? "value." + property.name
+						: "value." + property.getter + "()";
+		boolean primitive = Character.isLowerCase(property.datatypeWithEnum.charAt(0))
+				&& scalarTypes.containsKey(property.datatypeWithEnum);
+		boolean presenceTracked = property.getVendorExtensions()
+				.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null;
+		int presenceBit = !primitive || presenceTracked ? presenceBits++ : -1;
+		return new CodecProperty(property, properties.size(), assignment, readExpression, presenceBit);
+	}
+
+	/**
+	 * @return TRUE if the type is an enum - inline one or an enum model
+	 */
+	private boolean isEnumType(CodegenProperty type) {
+		if (type.getIsEnum()) {
+			// inline enum
+			return true;
+		}
+		CodegenModel model = knownModels.get(type.datatypeWithEnum);
+		return model != null && model.getIsEnum();
+	}
+
+	private String getEnumTable(String enumType) {
+		imports.add("java.util.Map");
+		return enumTables.computeIfAbsent(enumType,
+				type -> new EnumTable(type, "BINARY_CODEC_ENUM_VALUES_" + enumTables.size())).getName();
+	}
+
+	private static boolean isPrimitiveArray(String type) {
+		if (!type.endsWith("[]")) {
+			return false;
+		}
+		String itemType = type.substring(0, type.length() - 2);
+		return Character.isLowerCase(itemType.charAt(0)) && scalarTypes.containsKey(itemType);
+	}
+
+	/**
+	 * Appends the statements writing the (non NULL) value of the given type
+	 *
+	 * @return FALSE if we can not write this type
+	 */
+	private boolean appendWriteCode(StringBuilder code, CodegenProperty type, String value, String indent,
+			int depth) {
+		String datatype = type.datatypeWithEnum;
+		String[] scalar = scalarTypes.get(datatype);
+		if (scalar != null) {
+			code.append(indent).append(String.format(scalar[0], value)).append('\n');
+			return true;
+		}
+		if (isPrimitiveArray(datatype)) {
+			String itemType = datatype.substring(0, datatype.length() - 2);
+			String item = value + "Item" + depth;
+			code.append(indent).append("BinaryCodecs.writeSize(out, ").append(value).append(".length);\n");
+			code.append(indent).append("for (").append(itemType).append(' ').append(item).append(" : ").append(value)
+					.append(") {\n");
+			code.append(indent).append("  ").append(String.format(scalarTypes.get(itemType)[0], item)).append('\n');
+			code.append(indent).append("}\n");
+			return true;
+		}
+		if (type.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE) != null) {
+			code.append(indent).append(value).append(".encode(out);\n");
+			return true;
+		}
+		if (isEnumType(type)) {
+			getEnumTable(datatype);
+			code.append(indent).append("BinaryCodecs.writeEnumValue(out, ").append(value).append(".getValue());\n");
+			return true;
+		}
+		if ((datatype.startsWith("List<") || datatype.startsWith("Set<")) && type.items != null) {
+			String item = value + "Item" + depth;
+			code.append(indent).append("BinaryCodecs.writeSize(out, ").append(value).append(".size());\n");
+			code.append(indent).append("for (").append(type.items.datatypeWithEnum).append(' ').append(item)
+					.append(" : ").append(value).append(") {\n");
+			if (!appendNullableWriteCode(code, type.items, item, indent + "  ", depth + 1)) {
+				return false;
+			}
+			code.append(indent).append("}\n");
+			return true;
+		}
+		if (datatype.startsWith("Map<String, ") && type.items != null) {
+			imports.add("java.util.Map");
+			String entry = value + "Entry" + depth;
+			String item = value + "Item" + depth;
+			code.append(indent).append("BinaryCodecs.writeSize(out, ").append(value).append(".size());\n");
+			code.append(indent).append("for (Map.Entry<String, ").append(type.items.datatypeWithEnum).append("> ")
+					.append(entry).append(" : ").append(value).append(".entrySet()) {\n");
+			code.append(indent).append("  BinaryCodecs.writeString(out, ").append(entry).append(".getKey());\n");
+			code.append(indent).append("  ").append(type.items.datatypeWithEnum).append(' ').append(item)
+					.append(" = ").append(entry).append(".getValue();\n");
+			if (!appendNullableWriteCode(code, type.items, item, indent + "  ", depth + 1)) {
+				return false;
+			}
+			code.append(indent).append("}\n");
+			return true;
+		}
+		if (encodableModels.contains(datatype)) {
+			// note: through the registry - the value might be a subclass or an implementation of an interface
+			code.append(indent).append("BinaryCodecs.encode(").append(value).append(", out);\n");
+			return true;
+		}
+		return false;
+	}
+
+	private boolean appendNullableWriteCode(StringBuilder code, CodegenProperty type, String value, String indent,
+			int depth) {
+		code.append(indent).append("if (").append(value).append(" == null) {\n");
+		code.append(indent).append("  out.put((byte) 0);\n");
+		code.append(indent).append("} else {\n");
+		code.append(indent).append("  out.put((byte) 1);\n");
+		if (!appendWriteCode(code, type, value, indent + "  ", depth)) {
+			return false;
+		}
+		code.append(indent).append("}\n");
+		return true;
+	}
+
+	/**
+	 * Appends the statements reading a (non NULL) value of the given type into the already declared target
+	 * variable
+	 *
+	 * @return FALSE if we can not read this type
+	 */
+	private boolean appendReadCode(StringBuilder code, CodegenProperty type, String target, String indent,
+			int depth) {
+		String datatype = type.datatypeWithEnum;
+		String[] scalar = scalarTypes.get(datatype);
+		if (scalar != null) {
+			code.append(indent).append(target).append(" = ").append(scalar[1]).append(";\n");
+			return true;
+		}
+		if (isPrimitiveArray(datatype)) {
+			String itemType = datatype.substring(0, datatype.length() - 2);
+			String array = target + "Array" + depth;
+			String i = target + "I" + depth;
+			code.append(indent).append(datatype).append(' ').append(array).append(" = new ").append(itemType)
+					.append("[BinaryCodecs.readSize(in)];\n");
+			code.append(indent).append("for (int ").append(i).append(" = 0; ").append(i).append(" < ").append(array)
+					.append(".length; ").append(i).append("++) {\n");
+			code.append(indent).append("  ").append(array).append('[').append(i).append("] = ")
+					.append(scalarTypes.get(itemType)[1]).append(";\n");
+			code.append(indent).append("}\n");
+			code.append(indent).append(target).append(" = ").append(array).append(";\n");
+			return true;
+		}
+		if (type.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE) != null) {
+			code.append(indent).append(target).append(" = ").append(datatype).append(".decode(in);\n");
+			return true;
+		}
+		if (isEnumType(type)) {
+			String table = getEnumTable(datatype);
+			code.append(indent).append(target).append(" = BinaryCodecs.readEnumValue(in, ").append(table)
+					.append(");\n");
+			return true;
+		}
+		boolean isList = datatype.startsWith("List<");
+		if ((isList || datatype.startsWith("Set<")) && type.items != null) {
+			String containerImpl = isList ? "ArrayList" : "LinkedHashSet";
+			imports.add("java.util." + containerImpl);
+			String size = target + "Size" + depth;
+			String container = target + "Container" + depth;
+			String i = target + "I" + depth;
+			String item = target + "Item" + depth;
+			code.append(indent).append("int ").append(size).append(" = BinaryCodecs.readSize(in);\n");
+			code.append(indent).append(datatype).append(' ').append(container).append(" = new ")
+					.append(containerImpl).append("<>(").append(size).append(");\n");
+			code.append(indent).append("for (int ").append(i).append(" = 0; ").append(i).append(" < ").append(size)
+					.append("; ").append(i).append("++) {\n");
+			if (!appendNullableReadCode(code, type.items, item, indent + "  ", depth + 1)) {
+				return false;
+			}
+			code.append(indent).append("  ").append(container).append(".add(").append(item).append(");\n");
+			code.append(indent).append("}\n");
+			code.append(indent).append(target).append(" = ").append(container).append(";\n");
+			return true;
+		}
+		if (datatype.startsWith("Map<String, ") && type.items != null) {
+			imports.add("java.util.HashMap");
+			String size = target + "Size" + depth;
+			String container = target + "Container" + depth;
+			String i = target + "I" + depth;
+			String key = target + "Key" + depth;
+			String item = target + "Item" + depth;
+			code.append(indent).append("int ").append(size).append(" = BinaryCodecs.readSize(in);\n");
+			// note: sized so it does not need to rehash while we fill it up
+			code.append(indent).append(datatype).append(' ').append(container).append(" = new HashMap<>(")
+					.append(size).append(" * 4 / 3 + 1);\n");
+			code.append(indent).append("for (int ").append(i).append(" = 0; ").append(i).append(" < ").append(size)
+					.append("; ").append(i).append("++) {\n");
+			code.append(indent).append("  String ").append(key).append(" = BinaryCodecs.readString(in);\n");
+			if (!appendNullableReadCode(code, type.items, item, indent + "  ", depth + 1)) {
+				return false;
+			}
+			code.append(indent).append("  ").append(container).append(".put(").append(key).append(", ").append(item)
+					.append(");\n");
+			code.append(indent).append("}\n");
+			code.append(indent).append(target).append(" = ").append(container).append(";\n");
+			return true;
+		}
+		if (encodableModels.contains(datatype)) {
+			code.append(indent).append(target).append(" = (").append(datatype).append(") BinaryCodecs.decode(in);\n");
+			return true;
+		}
+		return false;
+	}
+
+	private boolean appendNullableReadCode(StringBuilder code, CodegenProperty type, String target, String indent,
+			int depth) {
+		code.append(indent).append(type.datatypeWithEnum).append(' ').append(target).append(" = null;\n");
+		code.append(indent).append("if (in.get() != 0) {\n");
+		if (!appendReadCode(code, type, target, indent + "  ", depth)) {
+			return false;
+		}
+		code.append(indent).append("}\n");
+		return true;
+	}
+
+	/**
+	 * Appends the statements stepping over a (non NULL) value of the given type - without decoding it. Must
+	 * be called only for types {@link #appendReadCode(StringBuilder, CodegenProperty, String, String, int)}
+	 * could deal with
+	 *
+	 * @param prefix
+	 *            the local variables are named after it
+	 */
+	private void appendSkipCode(StringBuilder code, CodegenProperty type, String prefix, String indent, int depth) {
+		String datatype = type.datatypeWithEnum;
+		String[] scalar = scalarTypes.get(datatype);
+		if (scalar != null) {
+			code.append(indent).append(scalar[3]).append('\n');
+			return;
+		}
+		String size = prefix + "Size" + depth;
+		String i = prefix + "I" + depth;
+		String primitiveMapValueType = (String) type.getVendorExtensions()
+				.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRIMITIVE_MAP_VALUE_TYPE);
+		if (isPrimitiveArray(datatype) || primitiveMapValueType != null) {
+			String itemType = primitiveMapValueType != null ? primitiveMapValueType
+					: datatype.substring(0, datatype.length() - 2);
+			code.append(indent).append("int ").append(size).append(" = BinaryCodecs.readSize(in);\n");
+			code.append(indent).append("for (int ").append(i).append(" = 0; ").append(i).append(" < ").append(size)
+					.append("; ").append(i).append("++) {\n");
+			if (primitiveMapValueType != null) {
+				code.append(indent).append("  ").append(scalarTypes.get("String")[3]).append('\n');
+			}
+			code.append(indent).append("  ").append(scalarTypes.get(itemType)[3]).append('\n');
+			code.append(indent).append("}\n");
+			return;
+		}
+		if (isEnumType(type)) {
+			// the value is written as a String
+			code.append(indent).append(scalarTypes.get("String")[3]).append('\n');
+			return;
+		}
+		boolean isMap = datatype.startsWith("Map<String, ");
+		if (type.items != null && (isMap || datatype.startsWith("List<") || datatype.startsWith("Set<"))) {
+			code.append(indent).append("int ").append(size).append(" = BinaryCodecs.readSize(in);\n");
+			code.append(indent).append("for (int ").append(i).append(" = 0; ").append(i).append(" < ").append(size)
+					.append("; ").append(i).append("++) {\n");
+			if (isMap) {
+				code.append(indent).append("  ").append(scalarTypes.get("String")[3]).append('\n');
+			}
+			code.append(indent).append("  if (in.get() != 0) {\n");
+			appendSkipCode(code, type.items, prefix, indent + "    ", depth + 1);
+			code.append(indent).append("  }\n");
+			code.append(indent).append("}\n");
+			return;
+		}
+		// a model - through the registry as it was written
+		code.append(indent).append("BinaryCodecs.skip(in);\n");
+	}
+
+	/**
+	 * @return TRUE if all properties can be written - otherwise see {@link #getUnsupportedReason()}
+	 */
+	public boolean isSupported() {
+		return unsupportedReason == null;
+	}
+
+	/**
+	 * @return why the model can not have binary codec - or NULL if {@link #isSupported()}
+	 */
+	public String getUnsupportedReason() {
+		return unsupportedReason;
+	}
+
+	/**
+	 * @return all properties (including the inherited ones) - constructor arguments are coming first
+	 */
+	public List<CodecProperty> getProperties() {
+		return new ArrayList<>(properties);
+	}
+
+	/**
+	 * @return the names of the local variables holding the presence bitmap - one long for every 64 optional
+	 *         properties
+	 */
+	public List<String> getPresenceWords() {
+		List<String> words = new ArrayList<>();
+		for (int word = 0; word * 64 < presenceBits; word++) {
+			words.add(getPresenceWordName(word));
+		}
+		return words;
+	}
+
+	public List<EnumTable> getEnumTables() {
+		return new ArrayList<>(enumTables.values());
+	}
+
+	/**
+	 * @return the classes the generated code is using
+	 */
+	public Set<String> getImports() {
+		return new TreeSet<>(imports);
+	}
+
+	/**
+	 * Mustache template suxxx - so this gives back the joined variable names to pass into the
+	 * constructor
+	 */
+	public String getConstructorArgsAsString() {
+		return Joiner.on(", ").join(constructorArgs);
+	}
+
+}
@@ -0,0 +1,434 @@
+package com.keytiles.swagger.codegen.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.KeytilesJavaCodegen;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
+
+/**
+ * This helper class is calculating the template variables of the generated Jackson serializer and
+ * deserializer of a {@link ModelStyle#simpleConsistent} model - see
+ * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS}
+ * <p>
+ * It is built on top of the {@link ModelExtraInfo} of the model and its parent models: it decides
+ * for each property (including the inherited ones) how the codecs can read and write it - directly
+ * through the field, via the getter / setter or as a constructor argument
+ *
+ * @author attilaw
+ *
+ */
+public class JacksonCodecInfo {
+
+	/**
+	 * How the deserializer gets the value into the model
+	 */
+	public static enum Assignment {
+		// passed to the constructor
+		constructorArgument,
+		// assigned directly to the field
+		field,
+		// via the setter (it is null-checking the value)
+		setter
+	}
+
+	// type name - {write method, parse expression, initial value}
+	private final static Map<String, String[]> fastPathTypes = new LinkedHashMap<>();
+
+	static {
+		fastPathTypes.put("int", new String[] { "writeNumber", "_parseIntPrimitive(p, ctxt)", "0" });
+		fastPathTypes.put("long", new String[] { "writeNumber", "_parseLongPrimitive(p, ctxt)", "0L" });
+		fastPathTypes.put("short", new String[] { "writeNumber", "_parseShortPrimitive(p, ctxt)", "(short) 0" });
+		fastPathTypes.put("byte", new String[] { "writeNumber", "_parseBytePrimitive(p, ctxt)", "(byte) 0" });
+		fastPathTypes.put("float", new String[] { "writeNumber", "_parseFloatPrimitive(p, ctxt)", "0f" });
+		fastPathTypes.put("double", new String[] { "writeNumber", "_parseDoublePrimitive(p, ctxt)", "0d" });
+		fastPathTypes.put("boolean", new String[] { "writeBoolean", "_parseBooleanPrimitive(p, ctxt)", "false" });
+
+		fastPathTypes.put("Integer", new String[] { "writeNumber", "Integer.valueOf(_parseIntPrimitive(p, ctxt))", "0" });
+		fastPathTypes.put("Long", new String[] { "writeNumber", "Long.valueOf(_parseLongPrimitive(p, ctxt))", "0L" });
+		fastPathTypes.put("Short",
+				new String[] { "writeNumber", "Short.valueOf(_parseShortPrimitive(p, ctxt))", "(short) 0" });
+		fastPathTypes.put("Byte", new String[] { "writeNumber", "Byte.valueOf(_parseBytePrimitive(p, ctxt))", "(byte) 0" });
+		fastPathTypes.put("Float", new String[] { "writeNumber", "Float.valueOf(_parseFloatPrimitive(p, ctxt))", "0f" });
+		fastPathTypes.put("Double",
+				new String[] { "writeNumber", "Double.valueOf(_parseDoublePrimitive(p, ctxt))", "0d" });
+		fastPathTypes.put("Boolean",
+				new String[] { "writeBoolean", "Boolean.valueOf(_parseBooleanPrimitive(p, ctxt))", "false" });
+
+		fastPathTypes.put("String", new String[] { "writeString", "_parseString(p, ctxt)", "\"\"" });
+	}
+
+	// the date-time types the hand-written RFC 3339 parser / formatter can deal with
+	private final static Set<String> rfc3339Types = new HashSet<>(
+			Arrays.asList("OffsetDateTime", "Instant", "LocalDate"));
+
+	/**
+	 * One property the codecs are dealing with - the getters are used by the templates
+	 */
+	public static class CodecProperty {
+		private final CodegenProperty property;
+		private final int index;
+		private final Assignment assignment;
+		private final String readExpression;
+		private final boolean primitive;
+		private final String writeMethod;
+		private final String parseExpression;
+		private final String typeExpression;
+		private final String initialValue;
+		private final String presizedContainer;
+		private final String skipCondition;
+		private final String presenceExpression;
+		private final String rfc3339Type;
+		private final String writeValue;
+
+		private CodecProperty(CodegenProperty property, int index, Assignment assignment, String readExpression,
+				boolean serializeOnlyIfNonDefault, boolean suppressNulls, boolean rfc3339DateTimes) {
+			this.property = property;
+			this.index = index;
+			this.assignment = assignment;
+			this.readExpression = readExpression;
+			this.presenceExpression = property.getVendorExtensions()
+					.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null
+							? "value.has" + property.nameInCamelCase + "()"
+							: null;
+
+			String datatype = property.datatypeWithEnum;
+			String[] fastPath = fastPathTypes.get(datatype);
+			this.rfc3339Type = rfc3339DateTimes && rfc3339Types.contains(datatype) ? datatype : null;
+			this.primitive = Character.isLowerCase(datatype.charAt(0)) && fastPath != null;
+			this.writeMethod = fastPath != null ? fastPath[0] : null;
+			// the 'scaled-long' numbers are converted from / to their exact decimal text
+			Object scale = property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_SCALED_LONG_SCALE);
+			String parseFastPath = fastPath == null ? null
+					: scale != null ? KeytilesJavaCodegen.SCALED_LONGS_CLASS_NAME + ".parse(p, ctxt, " + scale + ")"
+							: fastPath[1];
+			if (fastPath == null) {
+				parseExpression = null;
+			} else if (primitive) {
+				parseExpression = parseFastPath;
+			} else {
+				parseExpression = "p.hasToken(JsonToken.VALUE_NULL) ? null : "
+						+ (scale != null ? "Long.valueOf(" + parseFastPath + ")" : parseFastPath);
+			}
+			this.writeValue = scale != null
+					? KeytilesJavaCodegen.SCALED_LONGS_CLASS_NAME + ".format(" + getVariable() + ", " + scale + ")"
+					: getVariable();
+			this.initialValue = primitive ? fastPath[2] : "null";
+
+			Object capacity = property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_CONTAINER_CAPACITY);
+			if (capacity == null) {
+				presizedContainer = null;
+			} else if (datatype.startsWith("List<")) {
+				presizedContainer = "new ArrayList<>(" + capacity + ")";
+			} else {
+				// note: this is what Jackson would create - it keeps the order of the JSON
+				presizedContainer = "new LinkedHashMap<>(" + capacity + ")";
+			}
+
+			if (fastPath != null) {
+				typeExpression = null;
+			} else if (datatype.contains("<")) {
+				// we need the generic type too
+				typeExpression = "new TypeReference<" + datatype + ">() {}.getType()";
+			} else {
+				typeExpression = datatype + ".class";
+			}
+
+			String var = getVariable();
+			if (presenceExpression != null) {
+				// a primitive which is NULL if its presence bit is not set
+				if (serializeOnlyIfNonDefault) {
+					skipCondition = "!" + presenceExpression + " || "
+							+ ("boolean".equals(datatype) ? "!" + var : var + " == " + fastPath[2]);
+				} else if (suppressNulls) {
+					skipCondition = "!" + presenceExpression;
+				} else {
+					skipCondition = null;
+				}
+			} else if (serializeOnlyIfNonDefault) {
+				// this is mimicking what Jackson does with a property annotated with @JsonInclude(NON_DEFAULT)
+				if (primitive) {
+					skipCondition = "boolean".equals(datatype) ? "!" + var : var + " == " + fastPath[2];
+				} else if (fastPath != null) {
+					skipCondition = var + " == null || "
+							+ ("Boolean".equals(datatype) ? "!" + var
+									: "String".equals(datatype) ? var + ".isEmpty()" : var + " == " + fastPath[2]);
+				} else if (property.getIsListContainer() || property.getIsMapContainer()) {
+					skipCondition = var + " == null || " + var + ".isEmpty()";
+				} else if (datatype.endsWith("[]")) {
+					skipCondition = var + " == null || " + var + ".length == 0";
+				} else {
+					skipCondition = var + " == null";
+				}
+			} else if (suppressNulls && !primitive) {
+				skipCondition = var + " == null";
+			} else {
+				skipCondition = null;
+			}
+		}
+
+		public CodegenProperty getProperty() {
+			return property;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the name of the local variable holding the value in the generated codecs
+		 */
+		public String getVariable() {
+			return "v" + index;
+		}
+
+		public boolean isConstructorArgument() {
+			return assignment == Assignment.constructorArgument;
+		}
+
+		public boolean isAssignedToField() {
+			return assignment == Assignment.field;
+		}
+
+		public boolean isAssignedWithSetter() {
+			return assignment == Assignment.setter;
+		}
+
+		/**
+		 * @return the Java expression (using variable "value") which reads the property from the model
+		 */
+		public String getReadExpression() {
+			return readExpression;
+		}
+
+		public boolean isPrimitive() {
+			return primitive;
+		}
+
+		/**
+		 * @return the JsonGenerator method writing this value directly or NULL if the value should be
+		 *         written with the serializer Jackson has for this type
+		 */
+		public String getWriteMethod() {
+			return writeMethod;
+		}
+
+		/**
+		 * @return the Java expression passed to {@link #getWriteMethod()} - the variable itself in most cases
+		 */
+		public String getWriteValue() {
+			return writeValue;
+		}
+
+		/**
+		 * @return the Java expression (using variables "p" and "ctxt") reading the value directly or NULL
+		 *         if the value should be read with the deserializer Jackson has for this type
+		 */
+		public String getParseExpression() {
+			return parseExpression;
+		}
+
+		/**
+		 * @return the Java expression giving the java.lang.reflect.Type of the value - if
+		 *         {@link #getParseExpression()} is NULL
+		 */
+		public String getTypeExpression() {
+			return typeExpression;
+		}
+
+		/**
+		 * @return TRUE if the type of the value is generic (e.g. List or Map) - then the serializer must
+		 *         be resolved from the declared type otherwise Jackson does not know the type of the items
+		 */
+		public boolean isGenericType() {
+			return property.datatypeWithEnum.contains("<");
+		}
+
+		public String getInitialValue() {
+			return initialValue;
+		}
+
+		/**
+		 * @return the Java expression creating the presized container the deserializer fills - or NULL if the
+		 *         deserializer should create it (see {@link IKeytilesCodegen#X_COMPUTED_PROPERTY_CONTAINER_CAPACITY})
+		 */
+		public String getPresizedContainer() {
+			return presizedContainer;
+		}
+
+		/**
+		 * @return the Java expression (using the {@link #getVariable()}) which tells that the value should
+		 *         not be written or NULL if it is always written
+		 */
+		public String getSkipCondition() {
+			return skipCondition;
+		}
+
+		/**
+		 * @return the date-time type (e.g. "OffsetDateTime") if String values are parsed / written by the
+		 *         generated RFC 3339 parser class - NULL if not a date-time or the parser does not know the
+		 *         date library
+		 */
+		public String getRfc3339Type() {
+			return rfc3339Type;
+		}
+
+		/**
+		 * @return TRUE if the value has an offset Jackson would adjust to the time zone of the context (if
+		 *         DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE is on)
+		 */
+		public boolean isRfc3339Adjustable() {
+			return "OffsetDateTime".equals(rfc3339Type);
+		}
+
+		/**
+		 * @return TRUE if the value is a primitive with a presence bit - see
+		 *         {@link IKeytilesCodegen#X_COMPUTED_PROPERTY_PRESENCE_MASK}
+		 */
+		public boolean isPresenceTracked() {
+			return presenceExpression != null;
+		}
+
+		/**
+		 * @return the Java expression (using variable "value") which tells if the value is not NULL - if
+		 *         {@link #isPresenceTracked()}
+		 */
+		public String getPresenceExpression() {
+			return presenceExpression;
+		}
+	}
+
+	/**
+	 * @return TRUE if we can generate codecs for this model. Enums, composed models (interfaces) and
+	 *         models extending collections are handled by Jackson out of the box
+	 */
+	public static boolean isCodecSupported(CodegenModel theModel) {
+		// note: the templates are rendering an interface only if .isComposedModel is set
+		return !theModel.getIsEnum() && !theModel.isComposedModel
+				&& !ExtensionHelper.getBooleanValue(theModel, CodegenConstants.IS_ARRAY_MODEL_EXT_NAME)
+				&& theModel.additionalPropertiesType == null;
+	}
+
+	/**
+	 * @return TRUE if we can generate the discriminator dispatching deserializer for this model - it must be a
+	 *         composed model (interface) with known subtypes
+	 */
+	public static boolean isPolymorphicDeserializerSupported(CodegenModel theModel) {
+		return theModel.isComposedModel && theModel.subTypes != null && !theModel.subTypes.isEmpty();
+	}
+
+	/**
+	 * @param theModel
+	 *            which model? must be {@link #isCodecSupported(CodegenModel)}
+	 * @param codeGenerator
+	 * @param suppressNulls
+	 *            if TRUE then NULL values are not written at all (class level
+	 *            {@code @JsonInclude(NON_NULL)} is in use)
+	 * @param rfc3339DateTimes
+	 *            if TRUE then the date-time values (OffsetDateTime, Instant, LocalDate) are parsed / written by the
+	 *            generated RFC 3339 parser class
+	 */
+	public static JacksonCodecInfo getCodecInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator,
+			boolean suppressNulls, boolean rfc3339DateTimes) {
+		Preconditions.checkArgument(isCodecSupported(theModel), "model '%s' does not support Jackson codecs",
+				theModel.name);
+		return new JacksonCodecInfo(theModel, codeGenerator, suppressNulls, rfc3339DateTimes);
+	}
+
+	private static class FieldRef {
+		private final CodegenProperty property;
+		private final boolean ownField;
+		private final String visibility;
+
+		private FieldRef(CodegenProperty property, boolean ownField, String visibility) {
+			this.property = property;
+			this.ownField = ownField;
+			this.visibility = visibility;
+		}
+	}
+
+	private final List<CodecProperty> properties = new ArrayList<>();
+	private final List<String> constructorArgs = new ArrayList<>();
+	private final boolean rfc3339DateTimes;
+
+	private JacksonCodecInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator, boolean suppressNulls,
+			boolean rfc3339DateTimes) {
+		this.rfc3339DateTimes = rfc3339DateTimes;
+		ModelExtraInfo extraInfo = ModelExtraInfo.getExtraInfo(theModel, codeGenerator);
+
+		// let's collect all fields we have - going upwards in the hierarchy
+		// note: if a subclass is overriding a property then the subclass field wins
+		Map<String, FieldRef> fields = new LinkedHashMap<>();
+		boolean ownFields = true;
+		for (CodegenModel model = theModel; model != null; model = model.parentModel) {
+			ModelExtraInfo modelExtraInfo = ModelExtraInfo.getExtraInfo(model, codeGenerator);
+			for (CodegenProperty property : model.vars) {
+				fields.putIfAbsent(property.baseName, new FieldRef(property, ownFields,
+						modelExtraInfo.getVisibilityOfPropertyWithBaseName(property.baseName)));
+			}
+			ownFields = false;
+		}
+
+		// constructor arguments first - in the order of the constructor
+		for (CodegenProperty arg : extraInfo.getAllConstructorArgs()) {
+			FieldRef fieldRef = fields.remove(arg.baseName);
+			if (fieldRef == null) {
+				throw new IllegalStateException("Oops! Constructor argument '" + arg.baseName + "' of model '"
+						+ theModel.name + "' does not belong to any field");
+			}
+			CodecProperty codecProperty = createCodecProperty(fieldRef, Assignment.constructorArgument,
+					suppressNulls);
+			properties.add(codecProperty);
+			constructorArgs.add(codecProperty.getVariable());
+		}
+
+		// and then everything else
+		for (FieldRef fieldRef : fields.values()) {
+			if ("private final".equals(fieldRef.visibility)) {
+				throw new IllegalStateException("Oops! Field '" + fieldRef.property.baseName + "' of model '"
+						+ theModel.name + "' is private final but it is not taken by the constructor");
+			}
+			properties.add(createCodecProperty(fieldRef,
+					"public".equals(fieldRef.visibility) ? Assignment.field : Assignment.setter, suppressNulls));
+		}
+	}
+
+	private CodecProperty createCodecProperty(FieldRef fieldRef, Assignment assignment, boolean suppressNulls) {
+		CodegenProperty property = fieldRef.property;
+		// the codecs are nested classes so they see our own private fields - but not the ones of the parent
+		String readExpression = fieldRef.ownField || "public".equals(fieldRef.visibility) ? "value." + property.name
+				: "value." + property.getter + "()";
+		boolean serializeOnlyIfNonDefault = ExtensionHelper.getBooleanValue(property,
+				IKeytilesCodegen.X_COMPUTED_PROPERTY_SERIALIZE_ONLY_IF_NON_DEFAULT_FLAG);
+		return new CodecProperty(property, properties.size(), assignment, readExpression, serializeOnlyIfNonDefault,
+				suppressNulls, rfc3339DateTimes);
+	}
+
+	/**
+	 * @return all properties (including the inherited ones) - constructor arguments are coming first
+	 */
+	public List<CodecProperty> getProperties() {
+		return new ArrayList<>(properties);
+	}
+
+	/**
+	 * Mustache template suxxx - so this gives back the joined variable names to pass into the
+	 * constructor
+	 */
+	public String getConstructorArgsAsString() {
+		return Joiner.on(", ").join(constructorArgs);
+	}
+
+}
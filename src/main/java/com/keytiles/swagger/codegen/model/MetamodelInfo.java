@@ -0,0 +1,219 @@
+package com.keytiles.swagger.codegen.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
+
+/**
+ * This helper class is calculating the template variables of the generated static metamodel of a
+ * {@link ModelStyle#simpleConsistent} model - see {@link IKeytilesCodegen#OPT_GENERATE_METAMODELS}
+ * <p>
+ * The metamodel is a nested class with one descriptor constant per property (including the inherited ones,
+ * superclass properties are coming first). The descriptors are reading / writing the property with lambdas -
+ * public fields directly, private fields through their getter / setter - so tools can access the properties
+ * without reflection. Properties taken only by the constructor (private final fields) are read only
+ *
+ * @author attilaw
+ *
+ */
+public class MetamodelInfo {
+
+	/**
+	 * The name of the constant holding the descriptor of the model itself in the generated metamodel class
+	 */
+	public final static String MODEL_DESCRIPTOR_CONSTANT = "MODEL";
+
+	// primitive type name - the wrapper used as the type parameter of the descriptor
+	private final static Map<String, String> wrapperTypes = new LinkedHashMap<>();
+
+	static {
+		wrapperTypes.put("int", "Integer");
+		wrapperTypes.put("long", "Long");
+		wrapperTypes.put("short", "Short");
+		wrapperTypes.put("byte", "Byte");
+		wrapperTypes.put("float", "Float");
+		wrapperTypes.put("double", "Double");
+		wrapperTypes.put("boolean", "Boolean");
+		wrapperTypes.put("char", "Character");
+	}
+
+	/**
+	 * One property of the metamodel - the getters are used by the templates
+	 */
+	public static class MetaProperty {
+		private final CodegenProperty property;
+		private final String visibility;
+		private final boolean constructorArgument;
+		private final String getterExpression;
+		private final String setterExpression;
+
+		private MetaProperty(CodegenProperty property, String visibility, boolean constructorArgument,
+				String getterExpression, String setterExpression) {
+			this.property = property;
+			this.visibility = visibility;
+			this.constructorArgument = constructorArgument;
+			this.getterExpression = getterExpression;
+			this.setterExpression = setterExpression;
+		}
+
+		public CodegenProperty getProperty() {
+			return property;
+		}
+
+		/**
+		 * @return the type parameter of the descriptor - the declared type of the property but primitives are
+		 *         boxed (e.g. "Long" for "long")
+		 */
+		public String getValueType() {
+			String datatype = property.datatypeWithEnum;
+			return wrapperTypes.getOrDefault(datatype, datatype);
+		}
+
+		/**
+		 * @return the class literal of the declared (raw) type of the property, e.g. "List.class" for
+		 *         "List&lt;String&gt;" or "long.class"
+		 */
+		public String getTypeLiteral() {
+			String datatype = property.datatypeWithEnum;
+			int genericsStart = datatype.indexOf('<');
+			return (genericsStart < 0 ? datatype : datatype.substring(0, genericsStart)) + ".class";
+		}
+
+		/**
+		 * @return the name of the Visibility enum constant of the generated metamodels class, e.g. "PRIVATE_FINAL"
+		 */
+		public String getVisibility() {
+			return visibility.toUpperCase().replace(' ', '_');
+		}
+
+		public boolean isConstructorArgument() {
+			return constructorArgument;
+		}
+
+		/**
+		 * @return the Java expression (a java.util.function.Function) reading the property from the model
+		 */
+		public String getGetterExpression() {
+			return getterExpression;
+		}
+
+		/**
+		 * @return the Java expression (a java.util.function.BiConsumer) writing the property of the model - or
+		 *         "null" if the property can be set only through the constructor
+		 */
+		public String getSetterExpression() {
+			return setterExpression;
+		}
+	}
+
+	/**
+	 * @return TRUE if we can generate metamodel for this model. Enums have no properties, composed models are
+	 *         interfaces and models extending collections have no properties to describe
+	 */
+	public static boolean isMetamodelSupported(CodegenModel theModel) {
+		// note: the templates are rendering an interface only if .isComposedModel is set
+		return !theModel.getIsEnum() && !theModel.isComposedModel
+				&& !ExtensionHelper.getBooleanValue(theModel, CodegenConstants.IS_ARRAY_MODEL_EXT_NAME)
+				&& theModel.additionalPropertiesType == null;
+	}
+
+	/**
+	 * @param theModel
+	 *            which model? must be {@link #isMetamodelSupported(CodegenModel)}
+	 * @param codeGenerator
+	 */
+	public static MetamodelInfo getMetamodelInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator) {
+		Preconditions.checkArgument(isMetamodelSupported(theModel), "model '%s' does not support metamodel",
+				theModel.name);
+		return new MetamodelInfo(theModel, codeGenerator);
+	}
+
+	private final List<MetaProperty> properties = new ArrayList<>();
+	private final boolean instantiable;
+
+	private MetamodelInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator) {
+		ModelExtraInfo extraInfo = ModelExtraInfo.getExtraInfo(theModel, codeGenerator);
+
+		Set<String> constructorArgs = new HashSet<>();
+		for (CodegenProperty arg : extraInfo.getAllConstructorArgs()) {
+			constructorArgs.add(arg.baseName);
+		}
+
+		// superclass properties first - so we walk the hierarchy from the top
+		LinkedList<CodegenModel> hierarchy = new LinkedList<>();
+		for (CodegenModel model = theModel; model != null; model = model.parentModel) {
+			hierarchy.addFirst(model);
+		}
+		// note: if a subclass is overriding a property then the subclass field wins - but the position stays
+		Map<String, MetaProperty> metaProperties = new LinkedHashMap<>();
+		for (CodegenModel model : hierarchy) {
+			ModelExtraInfo modelExtraInfo = ModelExtraInfo.getExtraInfo(model, codeGenerator);
+			for (CodegenProperty property : model.vars) {
+				String visibility = modelExtraInfo.getVisibilityOfPropertyWithBaseName(property.baseName);
+				metaProperties.put(property.baseName, createMetaProperty(theModel, property, visibility,
+						constructorArgs.contains(property.baseName)));
+			}
+		}
+
+		for (MetaProperty metaProperty : metaProperties.values()) {
+			if (MODEL_DESCRIPTOR_CONSTANT.equals(metaProperty.getProperty().name)) {
+				throw new SchemaValidationException("In model '" + theModel.name + "', field '"
+						+ metaProperty.getProperty().baseName + "': the name '"
+						+ MODEL_DESCRIPTOR_CONSTANT + "' is reserved in the generated metamodel if option '"
+						+ IKeytilesCodegen.OPT_GENERATE_METAMODELS + "' is on");
+			}
+			properties.add(metaProperty);
+		}
+		instantiable = extraInfo.getAllConstructorArgs().isEmpty();
+	}
+
+	private static MetaProperty createMetaProperty(CodegenModel theModel, CodegenProperty property,
+			String visibility, boolean constructorArgument) {
+		String getterExpression;
+		String setterExpression;
+		if (property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null) {
+			// NULL is mapped to the presence bit - the same way as towards Jackson
+			getterExpression = "m -> m.has" + property.nameInCamelCase + "() ? m." + property.getter + "() : null";
+			setterExpression = "(m, v) -> {\n        if (v == null) {\n          m.clear" + property.nameInCamelCase
+					+ "();\n        } else {\n          m." + property.setter + "(v);\n        }\n      }";
+		} else if ("public".equals(visibility)) {
+			getterExpression = "m -> m." + property.name;
+			setterExpression = "(m, v) -> m." + property.name + " = v";
+		} else {
+			// lazily decoded values might be still in raw form - only the getter gives the value
+			getterExpression = theModel.classname + "::" + property.getter;
+			setterExpression = "private final".equals(visibility) || property.getIsReadOnly() ? "null"
+					: theModel.classname + "::" + property.setter;
+		}
+		return new MetaProperty(property, visibility, constructorArgument, getterExpression, setterExpression);
+	}
+
+	/**
+	 * @return all properties (including the inherited ones) - superclass properties are coming first
+	 */
+	public List<MetaProperty> getProperties() {
+		return new ArrayList<>(properties);
+	}
+
+	/**
+	 * @return TRUE if the model (and all its superclasses) has a no-arg constructor - so the metamodel can
+	 *         create new instances
+	 */
+	public boolean isInstantiable() {
+		return instantiable;
+	}
+
+}
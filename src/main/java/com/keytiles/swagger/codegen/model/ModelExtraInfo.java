@@ -1,8 +1,10 @@
 package com.keytiles.swagger.codegen.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -10,8 +12,6 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
@@ -19,12 +19,15 @@ import com.keytiles.swagger.codegen.IKeytilesCodegen;
 import com.keytiles.swagger.codegen.IKeytilesCodegen.ModelState;
 import com.keytiles.swagger.codegen.error.SchemaValidationException;
 import com.keytiles.swagger.codegen.helper.CodegenUtil;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventCategory;
+import com.keytiles.swagger.codegen.helper.debug.GenerationEventLog;
 import com.keytiles.swagger.codegen.helper.debug.ModelInlineMessages;
 import com.keytiles.swagger.codegen.helper.debug.ModelMessageType;
 import com.keytiles.swagger.codegen.helper.debug.PropertyInlineMessages;
 
 import io.swagger.codegen.v3.CodegenModel;
 import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
 
 /**
  * This helper class is calculating a few more things about the Models (will be later added to the
@@ -35,9 +38,11 @@ import io.swagger.codegen.v3.CodegenProperty;
  */
 public class ModelExtraInfo {
 
-	private final static Logger LOGGER = LoggerFactory.getLogger(ModelExtraInfo.class);
-
-	private static Map<String, ModelExtraInfo> instances = new HashMap<>();
+	// note: a generation is running on one thread (Maven executions of a module are also invoked one after the
+	// other from the same thread) - being thread bound, modules built in parallel (mvn -T) do not mix up the
+	// models of each other. See MavenExecutionInfo too - and MavenModuleScope which cleans this cache when a
+	// reused builder thread moves on to another module
+	private static final ThreadLocal<Map<String, ModelExtraInfo>> instances = ThreadLocal.withInitial(HashMap::new);
 
 	/**
 	 * You can use this static method to query the extra info associated with a model.
@@ -51,10 +56,10 @@ public class ModelExtraInfo {
 	 */
 	public static ModelExtraInfo getExtraInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator) {
 		String fqClassName = codeGenerator.getModelFullyQualifiedName(theModel.name);
-		ModelExtraInfo instance = instances.get(fqClassName);
+		ModelExtraInfo instance = instances.get().get(fqClassName);
 		if (instance == null) {
 			instance = new ModelExtraInfo(theModel, codeGenerator);
-			instances.put(fqClassName, instance);
+			instances.get().put(fqClassName, instance);
 		}
 		return instance;
 	}
@@ -63,10 +68,21 @@ public class ModelExtraInfo {
 	 * For unit testing purposes - it is needed to be able to clean this "cache"
 	 */
 	public static void cleanStaticExtraInfoCache() {
-		instances = new HashMap<>();
+		instances.remove();
 	}
 
+	// datatypes which are immutable values - so a private final field holding them can not change
+	private static final Set<String> IMMUTABLE_VALUE_DATATYPES = new HashSet<>(Arrays.asList("byte", "short",
+			"int", "long", "float", "double", "boolean", "Byte", "Short", "Integer", "Long", "Float", "Double",
+			"Boolean", "String", "BigDecimal", "BigInteger", "UUID", "LocalDate", "LocalDateTime", "OffsetDateTime",
+			"Instant"));
+
 	private final CodegenModel model;
+	private final IKeytilesCodegen codeGenerator;
+
+	// lazy evaluated - see isImmutable()
+	private Boolean immutable;
+	private boolean immutableEvaluationInProgress = false;
 
 	// do we need a constructor?
 	private boolean needsConstructor = false;
@@ -97,6 +113,10 @@ public class ModelExtraInfo {
 		CodegenUtil.validateModelState(theModel, ModelState.fullyEnriched);
 
 		this.model = theModel;
+		this.codeGenerator = codeGenerator;
+		// note: in unit tests we might not have a generator - then we just throw the events away
+		GenerationEventLog eventLog = codeGenerator != null ? codeGenerator.getGenerationEventLog()
+				: new GenerationEventLog(false, 0);
 
 		// let's find all local, mandatory (or read only) fields first
 		for (CodegenProperty property : theModel.vars) {
@@ -107,8 +127,8 @@ public class ModelExtraInfo {
 			if (property.getIsReadOnly()) {
 				privateFinalFields.add(property);
 
-				LOGGER.info("model {}, field '{}': becomes private final - as mandatory AND readonly", theModel.name,
-						property.baseName);
+				eventLog.record(GenerationEventCategory.FIELD_PRIVATE_FINAL,
+						"model {}, field '{}': becomes private final - as readonly", theModel.name, property.baseName);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
 						"becomes private final - as readonly");
 
@@ -126,7 +146,7 @@ public class ModelExtraInfo {
 			} else if (!property.nullable) {
 				privateFields.add(property);
 
-				LOGGER.info(
+				eventLog.record(GenerationEventCategory.FIELD_PRIVATE,
 						"model {}, field '{}': becomes private - as non-nullable so we need to protect it with setter and null-check",
 						theModel.name, property.baseName);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
@@ -138,7 +158,8 @@ public class ModelExtraInfo {
 					ctorOtherOwnFieldArguments.add(property);
 					ctorValidateNonNullValueArguments.add(property);
 
-					LOGGER.info("model {}, field '{}': becomes constructor argument - as mandatory", theModel.name,
+					eventLog.record(GenerationEventCategory.CONSTRUCTOR_ARGUMENT,
+							"model {}, field '{}': becomes constructor argument - as mandatory", theModel.name,
 							property.baseName);
 					ModelInlineMessages.appendToConstructor(theModel, ModelMessageType.EXPLANATION,
 							"arg '" + property.name + "': mandatory field");
@@ -146,17 +167,42 @@ public class ModelExtraInfo {
 					ctorOtherOwnFieldArguments.add(property);
 					ctorValidateNonNullValueArguments.add(property);
 
-					LOGGER.info(
+					eventLog.record(GenerationEventCategory.CONSTRUCTOR_ARGUMENT,
 							"model {}, field '{}': becomes constructor argument - as non-nullable and does not have default value - we must enforce non-null initial value",
 							theModel.name, property.baseName);
 					ModelInlineMessages.appendToConstructor(theModel, ModelMessageType.EXPLANATION, "arg '"
 							+ property.name
 							+ "': non-nullable and does not have default value - we must enforce a non-null initial value");
 				}
+			} else if (ExtensionHelper.getBooleanValue(property, IKeytilesCodegen.X_COMPUTED_PROPERTY_LAZY_FLAG)) {
+				privateFields.add(property);
+
+				eventLog.record(GenerationEventCategory.FIELD_PRIVATE,
+						"model {}, field '{}': becomes private - as lazily decoded so getter has to decode the raw JSON first",
+						theModel.name, property.baseName);
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"becomes private - as lazily decoded so getter has to decode the raw JSON first");
+			} else if (property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_INTERNER) != null) {
+				privateFields.add(property);
+
+				eventLog.record(GenerationEventCategory.FIELD_PRIVATE,
+						"model {}, field '{}': becomes private - as interned so setter has to canonicalize the value",
+						theModel.name, property.baseName);
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"becomes private - as interned so setter has to canonicalize the value");
+			} else if (property.getVendorExtensions()
+					.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_WRAPPER_TYPE) != null) {
+				privateFields.add(property);
+
+				eventLog.record(GenerationEventCategory.FIELD_PRIVATE,
+						"model {}, field '{}': becomes private - as primitive with presence bit so setter has to maintain the bit",
+						theModel.name, property.baseName);
+				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
+						"becomes private - as primitive with presence bit so setter has to maintain the bit");
 			} else {
 				publicFields.add(property);
 
-				LOGGER.info(
+				eventLog.record(GenerationEventCategory.FIELD_PUBLIC,
 						"model {}, field '{}': becomes public - as nullable (no need to null-check) and not readonly",
 						theModel.name, property.baseName);
 				PropertyInlineMessages.appendToProperty(property, ModelMessageType.EXPLANATION,
@@ -165,7 +211,8 @@ public class ModelExtraInfo {
 				if (CodegenUtil.isPropertyMandatory(theModel, property)) {
 					ctorOtherOwnFieldArguments.add(property);
 
-					LOGGER.info("model {}, field '{}': becomes constructor argument - as mandatory", theModel.name,
+					eventLog.record(GenerationEventCategory.CONSTRUCTOR_ARGUMENT,
+							"model {}, field '{}': becomes constructor argument - as mandatory", theModel.name,
 							property.baseName);
 					ModelInlineMessages.appendToConstructor(theModel, ModelMessageType.EXPLANATION,
 							"arg '" + property.name + "': mandatory field (but NULL value is accepted too)");
@@ -177,10 +224,6 @@ public class ModelExtraInfo {
 		// now it's time to focus on our parent - if we have any
 		if (theModel.parentModel != null) {
 
-			if ("ContainerResponseClass".equals(theModel.name)) {
-				LOGGER.info("buu");
-			}
-
 			ModelExtraInfo parentInfo = getExtraInfo(theModel.parentModel, codeGenerator);
 			if (parentInfo.needsConstructor) {
 				// it looks we have work to do! our parent class has a constructor
@@ -206,7 +249,7 @@ public class ModelExtraInfo {
 					boolean isSuperAssignable = property
 							.getBooleanValue(IKeytilesCodegen.X_PROPERTY_SUPER_IS_ASSIGNABLE);
 
-					LOGGER.info(
+					eventLog.record(GenerationEventCategory.PROPERTY_OVERRIDE,
 							"model '{} extends {}' and property '{}' overlaps with property from this superclass. Is value in superclass compatible with this one: {}",
 							theModel.name, conflictingModel.name, property.baseName, isSuperAssignable);
 
@@ -232,8 +275,8 @@ public class ModelExtraInfo {
 
 							ctorPassToSuperArguments = CodegenUtil.replacePropertyByBaseName(ctorPassToSuperArguments,
 									property.baseName, property);
-							LOGGER.info(
-									"  - {}.{} property will be passed to superclass constructor arg for {}.{} as they are compatible",
+							eventLog.record(GenerationEventCategory.PROPERTY_OVERRIDE,
+									"{}.{} property will be passed to superclass constructor arg for {}.{} as they are compatible",
 									theModel.name, property.baseName, conflictingModel.name,
 									ctorReplaceCandidate.baseName);
 
@@ -330,6 +373,69 @@ public class ModelExtraInfo {
 		return new LinkedHashSet<>(ctorValidateNonNullValueArguments);
 	}
 
+	/**
+	 * A model is immutable if all of its fields (including the inherited ones) are private final and the
+	 * values they hold are immutable too - so value types (primitives, String, enums, BigDecimal etc) or
+	 * other immutable models. Containers (List, Map) are not as they can be modified via the getter.
+	 * <p>
+	 * note: evaluation is lazy as it needs the extra info of the referred models too
+	 *
+	 * @return TRUE if the generated class can not change after construction
+	 */
+	public boolean isImmutable() {
+		if (immutable == null) {
+			if (immutableEvaluationInProgress) {
+				// models are referring each other in a cycle - we say "no" as being conservative can not hurt
+				return false;
+			}
+			immutableEvaluationInProgress = true;
+			try {
+				immutable = evaluateImmutable();
+			} finally {
+				immutableEvaluationInProgress = false;
+			}
+		}
+		return immutable;
+	}
+
+	private boolean evaluateImmutable() {
+		if (!publicFields.isEmpty() || !privateFields.isEmpty()) {
+			return false;
+		}
+		// these are extending a Java collection - or interfaces anything can implement
+		if (model.additionalPropertiesType != null || model.getIsArrayModel() || model.isComposedModel) {
+			return false;
+		}
+		if (model.parentModel != null && !getExtraInfo(model.parentModel, codeGenerator).isImmutable()) {
+			return false;
+		}
+		for (CodegenProperty property : privateFinalFields) {
+			if (!isImmutableValue(property)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isImmutableValue(CodegenProperty property) {
+		if (property.getIsEnum() || IMMUTABLE_VALUE_DATATYPES.contains(property.datatype)) {
+			return true;
+		}
+		if (property.getIsContainer() || codeGenerator == null || codeGenerator.getAllModels() == null) {
+			return false;
+		}
+		for (CodegenModel referredModel : codeGenerator.getAllModels().values()) {
+			if (referredModel.classname != null && referredModel.classname.equals(property.datatype)) {
+				if (referredModel.getIsEnum() || CodegenUtil.isModelComposedEnumModel(referredModel)) {
+					return true;
+				}
+				return getExtraInfo(referredModel, codeGenerator).isImmutable();
+			}
+		}
+		// not a model we know about (e.g. imported from another package) - we can not tell
+		return false;
+	}
+
 	public List<CodegenProperty> getAllConstructorArgs() {
 		List<CodegenProperty> args = new LinkedList<>();
 		if (needsConstructor) {
@@ -0,0 +1,62 @@
+package com.keytiles.swagger.codegen.model;
+
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+
+/**
+ * How a 'type: number' property without format is represented in Java - see
+ * {@link IKeytilesCodegen#X_PROPERTY_NUMBER_REPRESENTATION} and
+ * {@link IKeytilesCodegen#OPT_NUMBER_REPRESENTATION}
+ */
+public enum NumberRepresentation {
+	/**
+	 * The default - this is what the underlying Java generator does
+	 */
+	BIG_DECIMAL("BigDecimal", "BigDecimal"),
+	DOUBLE("double", "Double"),
+	FLOAT("float", "Float"),
+	/**
+	 * Fixed-point value held in a long multiplied by 10^scale - the scale is given with
+	 * {@link IKeytilesCodegen#X_PROPERTY_NUMBER_SCALE}
+	 */
+	SCALED_LONG("scaled-long", "Long");
+
+	private final String value;
+	private final String wrapperType;
+
+	private NumberRepresentation(String value, String wrapperType) {
+		this.value = value;
+		this.wrapperType = wrapperType;
+	}
+
+	/**
+	 * @return how it is given in the schema / generator options (e.g. "scaled-long")
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the Java type of the property (before {@link IKeytilesCodegen#OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE}
+	 *         kicks in)
+	 */
+	public String getWrapperType() {
+		return wrapperType;
+	}
+
+	/**
+	 * @return the representation with the given {@link #getValue()} - NULL if there is no such
+	 */
+	public static NumberRepresentation fromValue(String value) {
+		for (NumberRepresentation representation : values()) {
+			if (representation.value.equals(value)) {
+				return representation;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return value;
+	}
+}
@@ -0,0 +1,271 @@
+package com.keytiles.swagger.codegen.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
+
+/**
+ * This helper class is calculating the template variables of the generated Java serialization proxy of a
+ * {@link ModelStyle#simpleConsistent} model - see {@link IKeytilesCodegen#OPT_GENERATE_SERIALIZATION_PROXIES}
+ * <p>
+ * The proxy is an Externalizable nested class which is written into the stream instead of the model. It writes
+ * all properties (including the inherited ones) in a fixed order - constructor arguments first, in the order
+ * of the constructor (so the super constructor arguments are coming first) - and rebuilds the model the same
+ * way the generated Jackson deserializer does: constructor, fields, setters
+ *
+ * @author attilaw
+ *
+ */
+public class SerializationProxyInfo {
+
+	// primitive or wrapper type name - the name of the type in the DataOutput / DataInput methods
+	private final static Map<String, String> streamTypes = new LinkedHashMap<>();
+
+	static {
+		streamTypes.put("int", "Int");
+		streamTypes.put("long", "Long");
+		streamTypes.put("short", "Short");
+		streamTypes.put("byte", "Byte");
+		streamTypes.put("float", "Float");
+		streamTypes.put("double", "Double");
+		streamTypes.put("boolean", "Boolean");
+		streamTypes.put("Integer", "Int");
+		streamTypes.put("Long", "Long");
+		streamTypes.put("Short", "Short");
+		streamTypes.put("Byte", "Byte");
+		streamTypes.put("Float", "Float");
+		streamTypes.put("Double", "Double");
+		streamTypes.put("Boolean", "Boolean");
+	}
+
+	/**
+	 * One property the proxy is dealing with - the getters are used by the templates
+	 */
+	public static class ProxyProperty {
+		private final CodegenProperty property;
+		private final int index;
+		private final JacksonCodecInfo.Assignment assignment;
+		private final String readExpression;
+		private final String streamType;
+		private final boolean primitive;
+		private final String presenceExpression;
+
+		private ProxyProperty(CodegenProperty property, int index, JacksonCodecInfo.Assignment assignment,
+				String readExpression) {
+			this.property = property;
+			this.index = index;
+			this.assignment = assignment;
+			this.readExpression = readExpression;
+			this.presenceExpression = property.getVendorExtensions()
+					.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null
+							? "value.has" + property.nameInCamelCase + "()"
+							: null;
+
+			String datatype = property.datatypeWithEnum;
+			this.streamType = streamTypes.get(datatype);
+			this.primitive = streamType != null && Character.isLowerCase(datatype.charAt(0));
+		}
+
+		public CodegenProperty getProperty() {
+			return property;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the name of the local variable holding the value in the generated proxy
+		 */
+		public String getVariable() {
+			return "v" + index;
+		}
+
+		public boolean isConstructorArgument() {
+			return assignment == JacksonCodecInfo.Assignment.constructorArgument;
+		}
+
+		public boolean isAssignedToField() {
+			return assignment == JacksonCodecInfo.Assignment.field;
+		}
+
+		public boolean isAssignedWithSetter() {
+			return assignment == JacksonCodecInfo.Assignment.setter;
+		}
+
+		/**
+		 * @return the Java expression (using variable "value") which reads the property from the model
+		 */
+		public String getReadExpression() {
+			return readExpression;
+		}
+
+		/**
+		 * @return the type name used in the ObjectOutput.writeXxx() / ObjectInput.readXxx() methods (e.g. "Long")
+		 *         or NULL if the value is written with writeObject()
+		 */
+		public String getStreamType() {
+			return streamType;
+		}
+
+		/**
+		 * @return TRUE if the value is a Java primitive - FALSE if it is a wrapper (can be NULL) or an object
+		 */
+		public boolean isPrimitive() {
+			return primitive;
+		}
+
+		/**
+		 * @return TRUE if the value is a primitive with a presence bit - see
+		 *         {@link IKeytilesCodegen#X_COMPUTED_PROPERTY_PRESENCE_MASK}
+		 */
+		public boolean isPresenceTracked() {
+			return presenceExpression != null;
+		}
+
+		/**
+		 * @return the Java expression (using variable "value") which tells if the value is not NULL - if
+		 *         {@link #isPresenceTracked()}
+		 */
+		public String getPresenceExpression() {
+			return presenceExpression;
+		}
+	}
+
+	/**
+	 * @return TRUE if we can generate serialization proxy for this model. Enums are serialized by Java in a
+	 *         special way anyways, composed models are interfaces and models extending collections have no
+	 *         properties to write
+	 */
+	public static boolean isProxySupported(CodegenModel theModel) {
+		// note: the templates are rendering an interface only if .isComposedModel is set
+		return !theModel.getIsEnum() && !theModel.isComposedModel
+				&& !ExtensionHelper.getBooleanValue(theModel, CodegenConstants.IS_ARRAY_MODEL_EXT_NAME)
+				&& theModel.additionalPropertiesType == null;
+	}
+
+	/**
+	 * @param theModel
+	 *            which model? must be {@link #isProxySupported(CodegenModel)}
+	 * @param codeGenerator
+	 */
+	public static SerializationProxyInfo getProxyInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator) {
+		Preconditions.checkArgument(isProxySupported(theModel), "model '%s' does not support serialization proxy",
+				theModel.name);
+		return new SerializationProxyInfo(theModel, codeGenerator);
+	}
+
+	private static class FieldRef {
+		private final CodegenProperty property;
+		private final boolean ownField;
+		private final String visibility;
+
+		private FieldRef(CodegenProperty property, boolean ownField, String visibility) {
+			this.property = property;
+			this.ownField = ownField;
+			this.visibility = visibility;
+		}
+	}
+
+	private final List<ProxyProperty> properties = new ArrayList<>();
+	private final List<String> constructorArgs = new ArrayList<>();
+	private final long schemaHash;
+
+	private SerializationProxyInfo(CodegenModel theModel, IKeytilesCodegen codeGenerator) {
+		ModelExtraInfo extraInfo = ModelExtraInfo.getExtraInfo(theModel, codeGenerator);
+
+		// let's collect all fields we have - going upwards in the hierarchy
+		// note: if a subclass is overriding a property then the subclass field wins
+		Map<String, FieldRef> fields = new LinkedHashMap<>();
+		boolean ownFields = true;
+		for (CodegenModel model = theModel; model != null; model = model.parentModel) {
+			ModelExtraInfo modelExtraInfo = ModelExtraInfo.getExtraInfo(model, codeGenerator);
+			for (CodegenProperty property : model.vars) {
+				fields.putIfAbsent(property.baseName, new FieldRef(property, ownFields,
+						modelExtraInfo.getVisibilityOfPropertyWithBaseName(property.baseName)));
+			}
+			ownFields = false;
+		}
+
+		// constructor arguments first - in the order of the constructor
+		for (CodegenProperty arg : extraInfo.getAllConstructorArgs()) {
+			FieldRef fieldRef = fields.remove(arg.baseName);
+			if (fieldRef == null) {
+				throw new IllegalStateException("Oops! Constructor argument '" + arg.baseName + "' of model '"
+						+ theModel.name + "' does not belong to any field");
+			}
+			ProxyProperty proxyProperty = createProxyProperty(fieldRef,
+					JacksonCodecInfo.Assignment.constructorArgument);
+			properties.add(proxyProperty);
+			constructorArgs.add(proxyProperty.getVariable());
+		}
+
+		// and then everything else
+		for (FieldRef fieldRef : fields.values()) {
+			if ("private final".equals(fieldRef.visibility)) {
+				throw new IllegalStateException("Oops! Field '" + fieldRef.property.baseName + "' of model '"
+						+ theModel.name + "' is private final but it is not taken by the constructor");
+			}
+			properties.add(createProxyProperty(fieldRef, "public".equals(fieldRef.visibility)
+					? JacksonCodecInfo.Assignment.field
+					: JacksonCodecInfo.Assignment.setter));
+		}
+
+		// the version tag of the stream format - it changes if anything changes in what / how we write
+		Hasher hasher = Hashing.sha256().newHasher();
+		hasher.putString(theModel.classname, StandardCharsets.UTF_8);
+		for (ProxyProperty property : properties) {
+			hasher.putString("|" + property.getProperty().baseName + ":" + property.getProperty().datatypeWithEnum
+					+ ":" + property.isPresenceTracked(), StandardCharsets.UTF_8);
+		}
+		schemaHash = hasher.hash().asLong();
+	}
+
+	private ProxyProperty createProxyProperty(FieldRef fieldRef, JacksonCodecInfo.Assignment assignment) {
+		CodegenProperty property = fieldRef.property;
+		// the proxy is a nested class so it sees our own private fields - but not the ones of the parent
+		// lazily decoded values might be still in raw form - only the getter gives the value
+		String readExpression = (fieldRef.ownField || "public".equals(fieldRef.visibility))
+				&& !ExtensionHelper.getBooleanValue(property, IKeytilesCodegen.X_COMPUTED_PROPERTY_LAZY_FLAG)
+						? "value." + property.name
+						: "value." + property.getter + "()";
+		return new ProxyProperty(property, properties.size(), assignment, readExpression);
+	}
+
+	/**
+	 * @return all properties (including the inherited ones) - constructor arguments are coming first
+	 */
+	public List<ProxyProperty> getProperties() {
+		return new ArrayList<>(properties);
+	}
+
+	/**
+	 * Mustache template suxxx - so this gives back the joined variable names to pass into the
+	 * constructor
+	 */
+	public String getConstructorArgsAsString() {
+		return Joiner.on(", ").join(constructorArgs);
+	}
+
+	/**
+	 * @return the Java literal of the hash of the stream format (class name, property names and types in
+	 *         the written order) - the proxy writes it first and refuses to read a stream with a different one
+	 */
+	public String getSchemaHashLiteral() {
+		return String.format("0x%016xL", schemaHash);
+	}
+
+}
@@ -0,0 +1,362 @@
+package com.keytiles.swagger.codegen.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Preconditions;
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.generators.handlebars.ExtensionHelper;
+
+/**
+ * This helper class is calculating the template variables of the generated validate() methods of a
+ * {@link ModelStyle#simpleConsistent} model - see {@link IKeytilesCodegen#OPT_GENERATE_VALIDATORS}
+ * <p>
+ * The constraints of the schema (non-nullable or required, minimum / maximum, minLength / maxLength, pattern, minItems /
+ * maxItems) are compiled into plain Java checks - no reflection, no annotation processing at runtime. The
+ * messages are the same as the default messages of the Bean Validation reference implementation, so the
+ * violations look the same as the ones collected by the reflective validator engine
+ * <p>
+ * Only the own properties of the model are checked here - the generated method is calling the one of the
+ * superclass first. Nested models (also in List / Map values) are validated recursively if they have a
+ * validate() method too
+ *
+ * @author attilaw
+ *
+ */
+public class ValidatorInfo {
+
+	// the types we can compare with the minimum / maximum directly - BigDecimal is compared with compareTo()
+	private final static Set<String> numberTypes = new HashSet<>(Arrays.asList("int", "long", "short", "byte",
+			"float", "double", "Integer", "Long", "Short", "Byte", "Float", "Double"));
+
+	/**
+	 * One property the validator is checking - the getters are used by the templates
+	 */
+	public static class ValidatedProperty {
+		private final CodegenProperty property;
+		private final String code;
+
+		private ValidatedProperty(CodegenProperty property, String code) {
+			this.property = property;
+			this.code = code;
+		}
+
+		public CodegenProperty getProperty() {
+			return property;
+		}
+
+		/**
+		 * @return the Java statements (using variables "path" and "violations") checking the property
+		 */
+		public String getCode() {
+			return code;
+		}
+	}
+
+	/**
+	 * @return TRUE if we can generate a validator for this model. Enums, composed models (interfaces) and
+	 *         models extending collections are left out
+	 */
+	public static boolean isValidatorSupported(CodegenModel theModel) {
+		// note: the templates are rendering an interface only if .isComposedModel is set
+		return !theModel.getIsEnum() && !theModel.isComposedModel
+				&& !ExtensionHelper.getBooleanValue(theModel, CodegenConstants.IS_ARRAY_MODEL_EXT_NAME)
+				&& theModel.additionalPropertiesType == null;
+	}
+
+	/**
+	 * @param theModel
+	 *            which model? must be {@link #isValidatorSupported(CodegenModel)}
+	 * @param validatedModels
+	 *            the class names of the models getting a validator - nested models are validated only if they
+	 *            are listed here (and so the superclass)
+	 */
+	public static ValidatorInfo getValidatorInfo(CodegenModel theModel, Set<String> validatedModels) {
+		Preconditions.checkArgument(isValidatorSupported(theModel), "model '%s' does not support validators",
+				theModel.name);
+		return new ValidatorInfo(theModel, validatedModels);
+	}
+
+	private final String modelName;
+	private final Set<String> validatedModels;
+	private final List<ValidatedProperty> properties = new ArrayList<>();
+	// constant name - declaration
+	private final Map<String, String> constants = new LinkedHashMap<>();
+	private final boolean callsSuper;
+	private int checkCount = 0;
+
+	private ValidatorInfo(CodegenModel theModel, Set<String> validatedModels) {
+		this.modelName = theModel.name;
+		this.validatedModels = validatedModels;
+		this.callsSuper = theModel.parentModel != null && validatedModels.contains(theModel.parentModel.classname);
+
+		for (CodegenProperty property : theModel.vars) {
+			StringBuilder code = new StringBuilder();
+			appendPropertyCode(code, property, "v" + properties.size());
+			if (code.length() > 0) {
+				properties.add(new ValidatedProperty(property, code.substring(0, code.length() - 1)));
+			}
+		}
+	}
+
+	private void appendPropertyCode(StringBuilder code, CodegenProperty property, String var) {
+		String datatype = property.datatypeWithEnum;
+		boolean primitive = Character.isLowerCase(datatype.charAt(0)) && numberTypes.contains(datatype)
+				|| "boolean".equals(datatype);
+		boolean presenceTracked = property.getVendorExtensions()
+				.get(IKeytilesCodegen.X_COMPUTED_PROPERTY_PRESENCE_MASK) != null;
+		// lazily decoded values might be still in raw form - only the getter gives the value
+		String readExpression = ExtensionHelper.getBooleanValue(property,
+				IKeytilesCodegen.X_COMPUTED_PROPERTY_LAZY_FLAG) ? property.getter + "()" : "this." + property.name;
+		String nullCondition = presenceTracked ? "!has" + property.nameInCamelCase + "()"
+				: primitive ? null : var + " == null";
+		String propertyPath = "path + \"" + property.baseName + "\"";
+
+		List<String> checks = new ArrayList<>();
+		appendValueChecks(checks, property, var, propertyPath);
+		// note: a required property gets @NotNull from Bean Validation even if it is nullable - we do the same
+		boolean notNull = (!property.nullable || property.required) && nullCondition != null;
+		if (checks.isEmpty() && !notNull) {
+			return;
+		}
+
+		String indent = "    ";
+		code.append(indent).append(datatype).append(' ').append(var).append(" = ").append(readExpression)
+				.append(";\n");
+		if (nullCondition == null) {
+			for (String check : checks) {
+				code.append(check.replaceAll("(?m)^", indent)).append('\n');
+			}
+			return;
+		}
+		if (checks.isEmpty()) {
+			code.append(indent).append("if (").append(nullCondition).append(") {\n");
+			appendViolation(code, indent + "  ", propertyPath, "\"must not be null\"", "null");
+			code.append(indent).append("}\n");
+			return;
+		}
+		if (notNull) {
+			code.append(indent).append("if (").append(nullCondition).append(") {\n");
+			appendViolation(code, indent + "  ", propertyPath, "\"must not be null\"", "null");
+			code.append(indent).append("} else {\n");
+		} else {
+			code.append(indent).append("if (").append(presenceTracked ? nullCondition.substring(1) : var + " != null")
+					.append(") {\n");
+		}
+		for (String check : checks) {
+			code.append(check.replaceAll("(?m)^", indent + "  ")).append('\n');
+		}
+		code.append(indent).append("}\n");
+	}
+
+	/**
+	 * Collects the checks of a not NULL value - each one is a complete statement without indentation
+	 */
+	private void appendValueChecks(List<String> checks, CodegenProperty property, String var, String propertyPath) {
+		String datatype = property.datatypeWithEnum;
+
+		if (numberTypes.contains(datatype) || "BigDecimal".equals(datatype)) {
+			if (property.minimum != null) {
+				appendBoundCheck(checks, property, var, propertyPath, property.minimum, property.exclusiveMinimum,
+						true);
+			}
+			if (property.maximum != null) {
+				appendBoundCheck(checks, property, var, propertyPath, property.maximum, property.exclusiveMaximum,
+						false);
+			}
+		}
+
+		if ("String".equals(datatype)) {
+			if (property.minLength != null || property.maxLength != null) {
+				appendSizeCheck(checks, var, var + ".length()", propertyPath, property.minLength, property.maxLength);
+			}
+			if (property.pattern != null) {
+				String constant = getConstantName(property, "PATTERN");
+				// note: the pattern is already escaped as a Java String literal
+				constants.put(constant, "private static final Pattern " + constant + " = Pattern.compile(\""
+						+ property.pattern + "\");");
+				checks.add("if (!" + constant + ".matcher(" + var + ").matches()) {\n"
+						+ violation("  ", propertyPath, "\"must match \\\"" + property.pattern + "\\\"\"", var)
+						+ "}");
+			}
+		}
+
+		boolean primitiveArray = ExtensionHelper.getBooleanValue(property,
+				IKeytilesCodegen.X_COMPUTED_PROPERTY_PRIMITIVE_ARRAY_FLAG);
+		if ((property.getIsListContainer() || primitiveArray)
+				&& (property.minItems != null || property.maxItems != null)) {
+			appendSizeCheck(checks, var, var + (primitiveArray ? ".length" : ".size()"), propertyPath,
+					property.minItems, property.maxItems);
+		}
+
+		// nested models
+		if (!property.getIsContainer() && isValidated(property.complexType, datatype)) {
+			checks.add(var + ".validate(path + \"" + property.baseName + ".\", violations);");
+		} else if (property.getIsListContainer() && property.items != null && !primitiveArray
+				&& datatype.startsWith("List<")
+				&& isValidated(property.items.complexType, property.items.datatypeWithEnum)) {
+			String itemType = property.items.datatypeWithEnum;
+			checks.add("int " + var + "I = 0;\n" //
+					+ "for (" + itemType + " " + var + "Item : " + var + ") {\n" //
+					+ "  if (" + var + "Item != null) {\n" //
+					+ "    " + var + "Item.validate(path + \"" + property.baseName + "[\" + " + var
+					+ "I + \"].\", violations);\n" //
+					+ "  }\n" //
+					+ "  " + var + "I++;\n" //
+					+ "}");
+		} else if (property.getIsMapContainer() && property.items != null && datatype.startsWith("Map<")
+				&& isValidated(property.items.complexType, property.items.datatypeWithEnum)) {
+			String itemType = property.items.datatypeWithEnum;
+			checks.add("for (Map.Entry<String, " + itemType + "> " + var + "Entry : " + var + ".entrySet()) {\n" //
+					+ "  if (" + var + "Entry.getValue() != null) {\n" //
+					+ "    " + var + "Entry.getValue().validate(path + \"" + property.baseName + "[\" + " + var
+					+ "Entry.getKey() + \"].\", violations);\n" //
+					+ "  }\n" //
+					+ "}");
+		}
+	}
+
+	private boolean isValidated(String complexType, String datatype) {
+		// note: the datatype of an inline enum is the name of the nested enum - so it is never a model name here
+		return complexType != null && complexType.equals(datatype) && validatedModels.contains(complexType);
+	}
+
+	private void appendBoundCheck(List<String> checks, CodegenProperty property, String var, String propertyPath,
+			String bound, boolean exclusive, boolean minimum) {
+		String operator = minimum ? (exclusive ? "<=" : "<") : (exclusive ? ">=" : ">");
+		String message = "must be " + (minimum ? "greater" : "less") + " than" + (exclusive ? "" : " or equal to")
+				+ " " + bound;
+		String condition;
+		Object scale = property.getVendorExtensions().get(IKeytilesCodegen.X_COMPUTED_PROPERTY_SCALED_LONG_SCALE);
+		if (scale != null) {
+			// a 'scaled-long' holds the value multiplied by 10^scale - so we scale the bound too, rounding it
+			// towards the valid range
+			BigDecimal scaledBound = new BigDecimal(bound).movePointRight(Integer.parseInt(scale.toString()));
+			boolean roundUp = minimum != exclusive;
+			if (scaledBound.stripTrailingZeros().scale() > 0) {
+				// the bound falls between two representable values - the check is inclusive on the rounded one
+				operator = minimum ? "<" : ">";
+				roundUp = minimum;
+			}
+			long longBound;
+			try {
+				longBound = scaledBound.setScale(0, roundUp ? RoundingMode.CEILING : RoundingMode.FLOOR)
+						.longValueExact();
+			} catch (ArithmeticException e) {
+				throw new SchemaValidationException("In model '" + modelName + "', field '" + property.baseName
+						+ "' the " + (minimum ? "minimum" : "maximum") + " " + bound
+						+ " does not fit into the scaled long of the property");
+			}
+			condition = var + " " + operator + " " + longBound + "L";
+		} else if ("BigDecimal".equals(property.datatypeWithEnum)) {
+			String constant = getConstantName(property, minimum ? "MINIMUM" : "MAXIMUM");
+			constants.put(constant,
+					"private static final BigDecimal " + constant + " = new BigDecimal(\"" + bound + "\");");
+			condition = var + ".compareTo(" + constant + ") " + operator + " 0";
+		} else {
+			// note: an integral bound can be bigger than an int
+			boolean longLiteral = bound.matches("-?\\d+") && !property.datatypeWithEnum.equalsIgnoreCase("float")
+					&& !property.datatypeWithEnum.equalsIgnoreCase("double");
+			condition = var + " " + operator + " " + bound + (longLiteral ? "L" : "");
+		}
+		checks.add("if (" + condition + ") {\n" + violation("  ", propertyPath, "\"" + message + "\"", var) + "}");
+	}
+
+	private void appendSizeCheck(List<String> checks, String var, String sizeExpression, String propertyPath,
+			Integer min, Integer max) {
+		// note: this is what @Size is saying
+		String message = "\"size must be between " + (min != null ? min : 0) + " and "
+				+ (max != null ? max : Integer.MAX_VALUE) + "\"";
+		String condition;
+		if (min != null && max != null) {
+			condition = sizeExpression + " < " + min + " || " + sizeExpression + " > " + max;
+		} else if (min != null) {
+			condition = sizeExpression + " < " + min;
+		} else {
+			condition = sizeExpression + " > " + max;
+		}
+		// note: the invalid value is the whole value - not the size of it
+		checks.add("if (" + condition + ") {\n" + violation("  ", propertyPath, message, var) + "}");
+	}
+
+	private String violation(String indent, String propertyPath, String message, String invalidValue) {
+		StringBuilder code = new StringBuilder();
+		appendViolation(code, indent, propertyPath, message, invalidValue);
+		return code.toString();
+	}
+
+	private void appendViolation(StringBuilder code, String indent, String propertyPath, String message,
+			String invalidValue) {
+		checkCount++;
+		code.append(indent).append("violations.add(new ModelValidationException.Violation(").append(propertyPath)
+				.append(", ").append(message).append(", ").append(invalidValue).append("));\n");
+	}
+
+	private String getConstantName(CodegenProperty property, String suffix) {
+		return "VALIDATOR_" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, property.name) + "_" + suffix;
+	}
+
+	/**
+	 * @return the own properties of the model which have anything to check
+	 */
+	public List<ValidatedProperty> getProperties() {
+		return new ArrayList<>(properties);
+	}
+
+	/**
+	 * @return the declarations of the static constants the checks are using (precompiled patterns, BigDecimal
+	 *         bounds)
+	 */
+	public List<String> getConstants() {
+		return new ArrayList<>(constants.values());
+	}
+
+	/**
+	 * @return TRUE if the superclass has a validator too - so it should be invoked first
+	 */
+	public boolean isCallsSuper() {
+		return callsSuper;
+	}
+
+	/**
+	 * @return the number of constraints checked (without the inherited ones)
+	 */
+	public int getCheckCount() {
+		return checkCount;
+	}
+
+	/**
+	 * @return the classes the generated code needs to import
+	 */
+	public List<String> getImports() {
+		List<String> imports = new ArrayList<>();
+		imports.add("java.util.ArrayList");
+		imports.add("java.util.List");
+		for (String constant : constants.values()) {
+			if (constant.startsWith("private static final Pattern ")) {
+				imports.add("java.util.regex.Pattern");
+				break;
+			}
+		}
+		for (ValidatedProperty property : properties) {
+			if (property.code.contains("Map.Entry<")) {
+				imports.add("java.util.Map");
+				break;
+			}
+		}
+		return imports;
+	}
+}
@@ -0,0 +1,197 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.BinaryCodecs;
+import com.keytiles.api.model.test.alloptions.ErrorResponseClass;
+import com.keytiles.api.model.test.alloptions.ExtendedErrorCodesAnyOf;
+import com.keytiles.api.model.test.alloptions.JsonSerializationTestSubclassClass;
+import com.keytiles.api.model.test.alloptions.NonNullableFieldsClass;
+import com.keytiles.api.model.test.alloptions.PresenceBitsSubclass;
+import com.keytiles.api.model.test.alloptions.PrimitiveArraysClass;
+import com.keytiles.api.model.test.alloptions.PrimitiveMapsClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClass;
+import com.keytiles.api.model.test.simpleconsistent.imported.PrimeEnum;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_BINARY_CODECS} - see pom.xml
+ */
+public class BinaryCodecTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.binarycodec";
+
+	private final static String SCHEMA = loadTestSchema(BinaryCodecTest.class, "schema.yaml");
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+
+	private GeneratorForTests createGenerator(String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_GENERATE_BINARY_CODECS, "true");
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		return createGeneratorFromSchemaContent(SCHEMA, outputFolder, options);
+	}
+
+	@Test
+	public void roundtripAgainstJsonTest() throws IOException {
+		// ---- GIVEN
+		Map<Class<?>, String> jsons = new LinkedHashMap<>();
+		// constructor arguments, fields, setters - inherited ones too, nested objects, inline and imported enums
+		jsons.put(SimpleFieldsClass.class,
+				"{\"primeEnumField\":7,\"unconventional_name_Field1\":-1,\"longField\":1000000000000,\"doubleField\":-2.5,"
+						+ "\"inlineEnumField\":\"warning\",\"fruitEnumField\":\"apple\",\"arrayField\":[\"x\",\"\",\"y\"],"
+						+ "\"inlineLangObjectField\":{\"id\":1,\"langcode\":\"en\",\"label\":\"árvíztűrő\"}}");
+		jsons.put(JsonSerializationTestSubclassClass.class,
+				"{\"required_unconventional_name_baseField\":10,\"nonNullNoDefaultBaseInteger\":20,"
+						+ "\"requiredNullableFruitEnumField\":\"apple\",\"requiredBooleanField\":true,"
+						+ "\"nonNullNoDefaultDouble\":12.8,\"nonNullBaseInteger\":30,\"longField\":-5}");
+		jsons.put(NonNullableFieldsClass.class,
+				"{\"longField\":1,\"doubleField\":2.0,\"inlineEnumField\":\"failed\",\"primeEnumField\":3,"
+						+ "\"inlineLangObjectField\":{\"id\":2,\"langcode\":\"hu\",\"label\":\"magyar\"}}");
+		// merged enums of enum compositions - in a List and a Map too
+		jsons.put(ErrorResponseClass.class,
+				"{\"extendedErrorCodesOneOfField\":\"common_error_2\",\"extendedErrorCodesAnyOfField\":\"error_code_1\","
+						+ "\"extendedErrorCodesOneOfArrayField\":[\"containerId_missing\",\"common_error_1\"],"
+						+ "\"extendedErrorCodesAnyOfMapField\":{\"a\":\"error_code_2\"}}");
+		// presence bits, primitive arrays, primitive maps
+		jsons.put(PresenceBitsSubclass.class, "{\"extra\":7,\"count\":0,\"enabled\":false}");
+		jsons.put(PrimitiveArraysClass.class,
+				"{\"flags\":[true,false],\"counters\":[-1,9223372036854775807],\"ratios\":[],\"ids\":[1,null,3]}");
+		jsons.put(PrimitiveMapsClass.class, "{\"hits\":{\"a\":1,\"b\":-2},\"ratios\":{\"x\":0.5}}");
+
+		for (Map.Entry<Class<?>, String> json : jsons.entrySet()) {
+			Object obj = mapper.readValue(json.getValue(), json.getKey());
+
+			// ---- WHEN
+			byte[] bytes = BinaryCodecs.toByteArray(obj);
+			Object decoded = BinaryCodecs.fromByteArray(bytes);
+
+			// ---- THEN
+			Assert.assertEquals(json.getKey(), decoded.getClass());
+			Assert.assertEquals(obj, decoded);
+			Assert.assertEquals(mapper.readTree(mapper.writeValueAsString(obj)),
+					mapper.readTree(mapper.writeValueAsString(decoded)));
+			// this is why we are doing this
+			Assert.assertTrue(json.getKey().getSimpleName(),
+					bytes.length < mapper.writeValueAsBytes(obj).length);
+		}
+	}
+
+	@Test
+	public void nullsAndDefaultsTest() throws IOException {
+		// ---- GIVEN
+		// fields with default values are NULL - they must remain NULL
+		SimpleFieldsClass obj = new SimpleFieldsClass(PrimeEnum.NUMBER_2);
+		obj.longFieldWithDefault = null;
+		obj.inlineEnumFieldWithDefault = null;
+		obj.arrayFieldWithDefault = null;
+
+		// ---- WHEN
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		obj.encode(buffer);
+		buffer.flip();
+		SimpleFieldsClass decoded = SimpleFieldsClass.decode(buffer);
+
+		// ---- THEN
+		Assert.assertFalse(buffer.hasRemaining());
+		Assert.assertEquals(obj, decoded);
+		Assert.assertNull(decoded.longFieldWithDefault);
+		Assert.assertNull(decoded.arrayFieldWithDefault);
+
+		// presence bit cleared is still cleared
+		PresenceBitsSubclass presenceBitsObj = new PresenceBitsSubclass();
+		presenceBitsObj.setTotal(0l);
+		PresenceBitsSubclass decodedPresenceBits = (PresenceBitsSubclass) BinaryCodecs
+				.fromByteArray(BinaryCodecs.toByteArray(presenceBitsObj));
+		Assert.assertTrue(decodedPresenceBits.hasTotal());
+		Assert.assertFalse(decodedPresenceBits.hasCount());
+	}
+
+	@Test
+	public void enumsAndRegistryTest() {
+		// ---- GIVEN
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+
+		// ---- WHEN
+		ExtendedErrorCodesAnyOf.COMMON_ERROR_2.encode(buffer);
+		buffer.flip();
+
+		// ---- THEN
+		// just the value - not the ordinal, which would change if the merged values were ordered differently
+		Assert.assertEquals(1 + String.valueOf(ExtendedErrorCodesAnyOf.COMMON_ERROR_2.getValue()).length(),
+				buffer.remaining());
+		Assert.assertEquals(ExtendedErrorCodesAnyOf.COMMON_ERROR_2, ExtendedErrorCodesAnyOf.decode(buffer));
+		Assert.assertEquals(ExtendedErrorCodesAnyOf.ERROR_CODE_1,
+				BinaryCodecs.fromByteArray(BinaryCodecs.toByteArray(ExtendedErrorCodesAnyOf.ERROR_CODE_1)));
+		// whoever wrote the value - it is read back by the value
+		buffer.clear();
+		BinaryCodecs.writeString(buffer, String.valueOf(ExtendedErrorCodesAnyOf.ERROR_CODE_1.getValue()));
+		buffer.flip();
+		Assert.assertEquals(ExtendedErrorCodesAnyOf.ERROR_CODE_1, ExtendedErrorCodesAnyOf.decode(buffer));
+
+		// corrupted data is refused
+		byte[] bytes = BinaryCodecs.toByteArray(ExtendedErrorCodesAnyOf.ERROR_CODE_1);
+		bytes[bytes.length - 1] = '#';
+		try {
+			BinaryCodecs.fromByteArray(bytes);
+			Assert.fail("unknown enum value should be refused");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			BinaryCodecs.fromByteArray(new byte[] { 0, 0, 0, 0 });
+			Assert.fail("unknown type id should be refused");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			BinaryCodecs.toByteArray("not a model");
+			Assert.fail("class without codec should be refused");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void unsupportedTypesTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator("binarycodec-simpleconsistent", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "CodecClass",
+				"public void encode(ByteBuffer out) {", "public static CodecClass decode(ByteBuffer in) {");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "BinaryCodecs",
+				"TYPE_IDS.put(CodecClass.class, ");
+		// date-time is not supported - and so the model holding it either
+		for (String modelName : Arrays.asList("TimestampedClass", "HolderClass")) {
+			generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, modelName, "no binary codec is generated");
+			generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, modelName, "ByteBuffer");
+			generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "BinaryCodecs", modelName);
+		}
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator("binarycodec-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "CodecClass", "ByteBuffer");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "BinaryCodecs");
+	}
+}
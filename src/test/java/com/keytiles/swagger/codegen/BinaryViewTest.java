@@ -0,0 +1,188 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.BinaryCodecs;
+import com.keytiles.api.model.test.alloptions.PresenceBitsSubclass;
+import com.keytiles.api.model.test.alloptions.PrimitiveMapsClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClass;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_BINARY_VIEWS} - see pom.xml
+ */
+public class BinaryViewTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.binaryview";
+
+	private final static String SCHEMA = loadTestSchema(BinaryViewTest.class, "schema.yaml");
+
+	private final static String JSON = "{\"primeEnumField\":7,\"unconventional_name_Field1\":-1,"
+			+ "\"longField\":1000000000000,\"doubleField\":-2.5,\"inlineEnumField\":\"warning\","
+			+ "\"arrayField\":[\"x\",\"\",\"y\"],\"inlineLangObjectField\":{\"id\":1,\"langcode\":\"en\",\"label\":\"a\"}}";
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, boolean generateBinaryCodecs) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_GENERATE_BINARY_CODECS, Boolean.toString(generateBinaryCodecs));
+		options.put(IKeytilesCodegen.OPT_GENERATE_BINARY_VIEWS, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void gettersReadTheSameAsDecodeTest() throws IOException {
+		// ---- GIVEN
+		SimpleFieldsClass obj = mapper.readValue(JSON, SimpleFieldsClass.class);
+		obj.longFieldWithDefault = null;
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		// something before the object
+		buffer.put((byte) 42);
+		obj.encode(buffer);
+		buffer.flip();
+
+		// ---- WHEN
+		SimpleFieldsClass.BinaryView view = new SimpleFieldsClass.BinaryView().wrap(buffer, 1);
+
+		// ---- THEN
+		Assert.assertEquals(obj.getPrimeEnumField(), view.getPrimeEnumField());
+		Assert.assertEquals(obj.unconventionalNameField1, view.getUnconventionalNameField1());
+		Assert.assertEquals(obj.longField, view.getLongField());
+		Assert.assertNull(view.getLongFieldWithDefault());
+		Assert.assertEquals(obj.doubleField, view.getDoubleField());
+		Assert.assertEquals(obj.inlineEnumField, view.getInlineEnumField());
+		Assert.assertEquals(obj.arrayField, view.getArrayField());
+		Assert.assertEquals(obj.inlineLangObjectField, view.getInlineLangObjectField());
+		// the getters can be invoked in any order, again and again
+		Assert.assertEquals(obj.getPrimeEnumField(), view.getPrimeEnumField());
+		Assert.assertEquals(buffer.limit() - 1, view.encodedLength());
+		Assert.assertEquals(obj, view.decode());
+		// the wrapped buffer is untouched
+		Assert.assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void reusedViewOverManyObjectsTest() throws IOException {
+		// ---- GIVEN
+		String[] jsons = { "{\"extra\":7,\"count\":3,\"enabled\":true}", "{\"total\":5}", "{\"ratio\":0.5}" };
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		for (String json : jsons) {
+			mapper.readValue(json, PresenceBitsSubclass.class).encode(buffer);
+		}
+		buffer.flip();
+		PresenceBitsSubclass.BinaryView view = new PresenceBitsSubclass.BinaryView();
+
+		// ---- WHEN
+		int offset = 0;
+		for (String json : jsons) {
+			view.wrap(buffer, offset);
+			offset += view.encodedLength();
+
+			// ---- THEN
+			PresenceBitsSubclass expected = mapper.readValue(json, PresenceBitsSubclass.class);
+			Assert.assertEquals(expected.hasExtra(), view.hasExtra());
+			Assert.assertEquals(expected.getExtra(), view.getExtra());
+			Assert.assertEquals(expected.hasCount(), view.hasCount());
+			Assert.assertEquals(expected.getCount(), view.getCount());
+			Assert.assertEquals(expected.hasTotal(), view.hasTotal());
+			Assert.assertEquals(expected.getTotal(), view.getTotal());
+			Assert.assertEquals(expected.getRatio(), view.getRatio(), 0d);
+			Assert.assertEquals(expected.isEnabled(), view.isEnabled());
+			Assert.assertEquals(expected, view.decode());
+		}
+		Assert.assertEquals(buffer.limit(), offset);
+
+		// primitive maps
+		PrimitiveMapsClass mapsObj = mapper.readValue("{\"hits\":{\"a\":1,\"b\":-2},\"ratios\":{\"x\":0.5}}",
+				PrimitiveMapsClass.class);
+		ByteBuffer mapsBuffer = ByteBuffer.wrap(BinaryCodecs.toByteArray(mapsObj));
+		// the type id
+		mapsBuffer.getInt();
+		PrimitiveMapsClass.BinaryView mapsView = new PrimitiveMapsClass.BinaryView(mapsBuffer);
+		Assert.assertEquals(mapsObj.getRatios(), mapsView.getRatios());
+		Assert.assertEquals(mapsObj.hits, mapsView.getHits());
+		Assert.assertNull(mapsView.getLabels());
+	}
+
+	@Test
+	public void skipTest() throws IOException {
+		// ---- GIVEN
+		ByteBuffer buffer = ByteBuffer.wrap(BinaryCodecs.toByteArray(mapper.readValue(JSON, SimpleFieldsClass.class)));
+
+		// ---- WHEN
+		BinaryCodecs.skip(buffer);
+
+		// ---- THEN
+		Assert.assertFalse(buffer.hasRemaining());
+
+		// a corrupted size is refused - not read beyond the end
+		byte[] bytes = BinaryCodecs.toByteArray(mapper.readValue(JSON, SimpleFieldsClass.class));
+		try {
+			new SimpleFieldsClass.BinaryView(ByteBuffer.wrap(bytes, 4, bytes.length - 8)).encodedLength();
+			Assert.fail("truncated object should be refused");
+		} catch (RuntimeException expected) {
+		}
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "binaryview-simpleconsistent", true);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ViewedClass",
+				"public static final class BinaryView {", "public Integer getId() {", "public static void skip(ByteBuffer in) {");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "BinaryCodecs",
+				"public static void skip(ByteBuffer in) {");
+		// enums are just a value
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ColorEnum", "BinaryView");
+	}
+
+	@Test
+	public void ignoredWithoutBinaryCodecsTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "binaryview-nocodecs", false);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ViewedClass", "BinaryView");
+	}
+
+	@Test
+	public void reservedNameTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA.replace("ViewedClass", "BinaryView"),
+				"binaryview-reserved", true);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing the models
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("reserved"));
+	}
+}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -16,9 +17,11 @@ import com.keytiles.api.model.test.simpleconsistent.CatAndDogResponseClass;
 import com.keytiles.api.model.test.simpleconsistent.ErrorResponseClass;
 import com.keytiles.api.model.test.simpleconsistent.ExtendedErrorCodesAnyOf;
 import com.keytiles.api.model.test.simpleconsistent.ExtendedErrorCodesOneOf;
+import com.keytiles.api.model.test.simpleconsistent.ImmutableKeyClass;
 import com.keytiles.api.model.test.simpleconsistent.NonNullableFieldsClass;
 import com.keytiles.api.model.test.simpleconsistent.NonNullableFieldsClass.InlineEnumFieldEnum;
 import com.keytiles.api.model.test.simpleconsistent.NonNullableFieldsClassInlineLangObjectField;
+import com.keytiles.api.model.test.simpleconsistent.ReadOnlyListClass;
 import com.keytiles.api.model.test.simpleconsistent.SimpleFieldsClass;
 import com.keytiles.api.model.test.simpleconsistent.imported.ContainerClass;
 import com.keytiles.api.model.test.simpleconsistent.imported.NonNullablePrimeEnum;
@@ -127,9 +130,68 @@ public class CheckGeneratedSourcesTest {
 
 	}
 
+	@Test
+	public void enumFromValueTest() {
+		// ---- WHEN - THEN
+
+		// int valued enum - switch based lookup
+		Assert.assertEquals(PrimeEnum.NUMBER_11, PrimeEnum.fromValue(11));
+		Assert.assertEquals(PrimeEnum.NUMBER_13, PrimeEnum.fromValue(Integer.valueOf(13)));
+		Assert.assertNull(PrimeEnum.fromValue(4));
+		Assert.assertNull(PrimeEnum.fromValue((Integer) null));
+
+		// string valued enums - map based lookup
+		Assert.assertEquals(InlineEnumFieldEnum.OK, InlineEnumFieldEnum.fromValue("ok"));
+		Assert.assertEquals(ExtendedErrorCodesOneOf.ERROR_CODE_1, ExtendedErrorCodesOneOf.fromValue("error_code_1"));
+		Assert.assertNull(InlineEnumFieldEnum.fromValue("OK"));
+		Assert.assertNull(InlineEnumFieldEnum.fromValue(null));
+	}
+
 	/**
 	 * Testing classes generated from /src/test/openapi/ref-attribute-inheritance.yaml
 	 */
+	@Test
+	public void cachedHashCodeOfImmutableModelTest() {
+		Map<String, Field> fields;
+
+		// ---- GIVEN
+		ImmutableKeyClass key1 = new ImmutableKeyClass(5l, "name", 1.5d, ImmutableKeyClass.KindEnum.USER);
+		ImmutableKeyClass key2 = new ImmutableKeyClass(5l, "name", 1.5d, ImmutableKeyClass.KindEnum.USER);
+
+		// ---- WHEN - THEN
+		// immutable - so the hash is cached
+		fields = getDeclaredFields(ImmutableKeyClass.class);
+		Assert.assertTrue(fields.containsKey("cachedHashCode"));
+		Assert.assertTrue(Modifier.isTransient(fields.get("cachedHashCode").getModifiers()));
+		// and the value is the same as it was with Objects.hash()
+		Assert.assertEquals(Objects.hash(5l, "name", 1.5d, ImmutableKeyClass.KindEnum.USER), key1.hashCode());
+		Assert.assertEquals(key1.hashCode(), key1.hashCode());
+		Assert.assertEquals(key1, key2);
+		Assert.assertEquals(key1.hashCode(), key2.hashCode());
+		Assert.assertNotEquals(key1.hashCode(),
+				new ImmutableKeyClass(5l, "name", 1.5d, ImmutableKeyClass.KindEnum.GROUP).hashCode());
+
+		// the list can be modified via the getter - so this one is not cached
+		fields = getDeclaredFields(ReadOnlyListClass.class);
+		Assert.assertFalse(fields.containsKey("cachedHashCode"));
+	}
+
+	@Test
+	public void primitiveFieldsEqualsAndHashCodeTest() {
+		// ---- GIVEN
+		ImmutableKeyClass nan1 = new ImmutableKeyClass(5l, "name", Double.NaN, ImmutableKeyClass.KindEnum.USER);
+		ImmutableKeyClass nan2 = new ImmutableKeyClass(5l, "name", Double.NaN, ImmutableKeyClass.KindEnum.USER);
+		ImmutableKeyClass zero = new ImmutableKeyClass(5l, "name", 0.0d, ImmutableKeyClass.KindEnum.USER);
+		ImmutableKeyClass negativeZero = new ImmutableKeyClass(5l, "name", -0.0d, ImmutableKeyClass.KindEnum.USER);
+
+		// ---- WHEN - THEN
+		// primitives are compared without boxing - but the result must be the same as Objects.equals() gave
+		Assert.assertEquals(Objects.equals(Double.NaN, Double.NaN), nan1.equals(nan2));
+		Assert.assertEquals(Objects.equals(0.0d, -0.0d), zero.equals(negativeZero));
+		Assert.assertNotEquals(zero, new ImmutableKeyClass(6l, "name", 0.0d, ImmutableKeyClass.KindEnum.USER));
+		Assert.assertEquals(Objects.hash(5l, "name", -0.0d, ImmutableKeyClass.KindEnum.USER), negativeZero.hashCode());
+	}
+
 	@Test
 	public void refAttributeInheritanceGeneratedSourcesTest() {
 
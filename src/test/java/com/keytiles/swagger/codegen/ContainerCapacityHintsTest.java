@@ -0,0 +1,141 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.CapacityHintsClass;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The containers of {@link CapacityHintsClass} are presized with {@link IKeytilesCodegen#X_PROPERTY_EXPECTED_SIZE}
+ * and the minItems / maxItems of the schema - see test-types.yaml
+ */
+public class ContainerCapacityHintsTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.capacityhints";
+
+	private final static String SCHEMA = loadTestSchema(ContainerCapacityHintsTest.class, "schema.yaml");
+
+	private final static String JSON = "{\"samples\":[\"a\",\"b\"],\"coordinates\":[1.5,-2.0],\"tags\":[\"x\"],"
+			+ "\"labels\":{\"z\":\"1\",\"a\":\"2\",\"m\":\"3\"}}";
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		options.put(IKeytilesCodegen.OPT_GENERATE_JACKSON_CODECS, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void presizedContainersAreFilledTest() throws IOException {
+		// ---- GIVEN
+		CapacityHintsClass expected = mapper.readValue(JSON, CapacityHintsClass.class);
+
+		// ---- WHEN
+		CapacityHintsClass obj = codecsMapper.readValue(JSON, CapacityHintsClass.class);
+		CapacityHintsClass built = new CapacityHintsClass().addSamplesItem("a").addSamplesItem("b")
+				.addCoordinatesItem(1.5).addCoordinatesItem(-2.0).addTagsItem("x").putLabelsItem("z", "1")
+				.putLabelsItem("a", "2").putLabelsItem("m", "3");
+
+		// ---- THEN
+		Assert.assertEquals(expected, obj);
+		Assert.assertEquals(expected, built);
+		Assert.assertEquals(Arrays.asList("a", "b"), obj.getSamples());
+		// the order of the JSON is kept
+		Assert.assertEquals(Arrays.asList("z", "a", "m"), new LinkedList<>(obj.getLabels().keySet()));
+		Assert.assertEquals(mapper.readTree(JSON), mapper.readTree(codecsMapper.writeValueAsString(obj)));
+		// explicit NULL is still NULL
+		Assert.assertNull(codecsMapper.readValue("{\"tags\":null}", CapacityHintsClass.class).tags);
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "capacityhints-simpleconsistent",
+				ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "MeasurementClass",
+				"private List<Integer> samples = new ArrayList<Integer>(50);", "this.samples = new ArrayList<>(50);",
+				"this.points = new ArrayList<>(4);", "this.attributes = new HashMap<>(9);",
+				"deserializer0.deserialize(p, ctxt, new ArrayList<>(50))",
+				"deserializer2.deserialize(p, ctxt, new LinkedHashMap<>(9))");
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "MeasurementClass",
+				"deserializer3.deserialize(p, ctxt, new");
+	}
+
+	@Test
+	public void bigMaxItemsIsIgnoredTest() {
+		// ---- GIVEN
+		String schema = SCHEMA.replace("          maxItems: 4\n", "          maxItems: 100000\n");
+		GeneratorForTests generator = createGenerator(schema, "capacityhints-bigmaxitems", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "MeasurementClass",
+				"this.points = new ArrayList<>();");
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "capacityhints-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "MeasurementClass", "<>(50)");
+	}
+
+	@Test
+	public void invalidHintTest() {
+		for (String schema : new String[] {
+				SCHEMA.replace("x-keytiles-expected-size: 50", "x-keytiles-expected-size: -1"),
+				// bigger than the maxItems
+				SCHEMA.replace("          maxItems: 4\n", "          maxItems: 4\n          x-keytiles-expected-size: 5\n"),
+				// not a container
+				SCHEMA.replace("        name:\n          type: string\n",
+						"        name:\n          type: string\n          x-keytiles-expected-size: 3\n") }) {
+			// ---- GIVEN
+			GeneratorForTests generator = createGenerator(schema, "capacityhints-failure",
+					ModelStyle.simpleConsistent);
+
+			// ---- WHEN
+			Exception exceptionThrown = null;
+			try {
+				generator.generate();
+			} catch (Exception e) {
+				exceptionThrown = e;
+			}
+
+			// ---- THEN
+			// note: Codegen wraps exceptions thrown while processing a model
+			while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+				exceptionThrown = (Exception) exceptionThrown.getCause();
+			}
+			Assert.assertNotNull(schema, exceptionThrown);
+			Assert.assertTrue(exceptionThrown.getMessage().contains("MeasurementClass"));
+		}
+	}
+}
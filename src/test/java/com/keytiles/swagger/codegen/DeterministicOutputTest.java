@@ -0,0 +1,69 @@
+package com.keytiles.swagger.codegen;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+public class DeterministicOutputTest {
+
+	private List<GeneratorForTests> generators = new LinkedList<>();
+
+	@After
+	public void cleanupAfterTestCase() {
+		for (GeneratorForTests generator : generators) {
+			generator.deleteOutputFolder();
+		}
+		generators.clear();
+		TestHelper.cleanStaticState();
+	}
+
+	/**
+	 * @return relative path - content of all files generated into the given folder
+	 */
+	private Map<String, String> generate(String outputTempFolder) {
+		ModelExtraInfo.cleanStaticExtraInfoCache();
+
+		Map<String, Object> options = new HashMap<>();
+		options.put("modelPackage", "com.keytiles.test.deterministic");
+		options.put(IKeytilesCodegen.OPT_MODEL_STYLE, ModelStyle.simpleConsistent.name());
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		options.put(IKeytilesCodegen.OPT_DETERMINISTIC_OUTPUT, "true");
+		// note: this schema is referring to other schema files
+		GeneratorForTests generator = TestHelper.createCodegenGeneratorFromSchemaFile(DeterministicOutputTest.class,
+				"test/openapi/test-types.yaml", KeytilesJavaCodegen.class, outputTempFolder, options);
+		generators.add(generator);
+		generator.generate();
+
+		return generator.getFileStore().getFiles();
+	}
+
+	@Test
+	public void repeatedRunsGenerateByteIdenticalOutputTest() {
+		// ---- GIVEN
+
+		Map<String, String> firstRun = generate("deterministic-first");
+
+		// ---- WHEN
+
+		Map<String, String> secondRun = generate("deterministic-second");
+
+		// ---- THEN
+
+		Assert.assertFalse(firstRun.isEmpty());
+		Assert.assertEquals(firstRun.keySet(), secondRun.keySet());
+		firstRun.forEach((file, content) -> {
+			Assert.assertEquals("file " + file + " differs between runs", content, secondRun.get(file));
+			Assert.assertFalse("file " + file + " contains the generation date", content.contains("date = \""));
+		});
+	}
+}
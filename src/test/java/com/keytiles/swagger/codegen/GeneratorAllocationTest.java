@@ -0,0 +1,111 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.AllocationProfile;
+import com.keytiles.swagger.codegen.testing.AllocationProfilingCodegen;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+import com.keytiles.swagger.codegen.testing.ResourceUtil;
+import com.keytiles.swagger.codegen.testing.SyntheticSchemaBuilder;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+/**
+ * Runs the generator on a big synthetic schema, reports the bytes allocated per phase and per model
+ * and fails if allocation per model goes over the tracked baseline in
+ * src/test/resources/profiling/allocation-baseline.properties
+ *
+ * @author attilaw
+ *
+ */
+public class GeneratorAllocationTest extends GeneratorTestBase {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorAllocationTest.class);
+
+	private final static String BASELINE_RESOURCE = "test-resources/profiling/allocation-baseline.properties";
+	private final static String PHASE_TOTAL = "total";
+	private final static String PHASE_OTHER = "otherGeneratorInternals";
+
+	private final static int MODEL_COUNT = 200;
+
+	private GeneratorForTests createGenerator(SyntheticSchemaBuilder schemaBuilder,
+			Class<? extends IKeytilesCodegen> codegenClass, String outputTempFolder) {
+		Map<String, Object> options = createOptions("com.keytiles.test.synthetic", ModelStyle.simpleConsistent);
+		return createGeneratorFromSchemaContent(schemaBuilder.build(), codegenClass, outputTempFolder, options);
+	}
+
+	private Properties loadBaseline() throws IOException {
+		Properties baseline = new Properties();
+		baseline.load(new StringReader(ResourceUtil.loadResourceTextFileContent(BASELINE_RESOURCE)));
+		return baseline;
+	}
+
+	@Test
+	public void allocationPerModelIsWithinBaselineTest() throws IOException {
+		Assume.assumeTrue("this JVM can not measure allocated bytes per thread", AllocationProfile.isSupported());
+
+		// ---- GIVEN
+
+		// a warmup round - so class loading and static initializations are not counted
+		createGenerator(new SyntheticSchemaBuilder().withModelCount(10), KeytilesJavaCodegen.class,
+				"allocation-warmup").generate();
+		TestHelper.cleanStaticState();
+
+		SyntheticSchemaBuilder schemaBuilder = new SyntheticSchemaBuilder().withModelCount(MODEL_COUNT);
+		GeneratorForTests generator = createGenerator(schemaBuilder, AllocationProfilingCodegen.class,
+				"allocation-profile");
+		AllocationProfile profile = ((AllocationProfilingCodegen) generator.getCodegen()).getAllocationProfile();
+
+		// ---- WHEN
+
+		long before = AllocationProfile.currentThreadAllocatedBytes();
+		generator.generate();
+		long totalBytes = AllocationProfile.currentThreadAllocatedBytes() - before;
+
+		// ---- THEN
+
+		int modelCount = schemaBuilder.getModelCount();
+		Assert.assertEquals(modelCount, generator.getCodegen().getAllModels().size());
+
+		// whatever is not in our hooks is the DefaultGenerator itself - e.g. template rendering, file writing
+		long hookBytes = profile.getBytes(AllocationProfilingCodegen.PHASE_PREPROCESS_OPENAPI)
+				+ profile.getBytes(AllocationProfilingCodegen.PHASE_FROM_MODEL)
+				+ profile.getBytes(AllocationProfilingCodegen.PHASE_POST_PROCESS_ALL_MODELS);
+		profile.add(PHASE_OTHER, null, totalBytes - hookBytes);
+		profile.add(PHASE_TOTAL, null, totalBytes);
+		String report = profile.getReport(modelCount, 10);
+		LOGGER.info("allocation profile of {} models:\n{}", modelCount, report);
+
+		Properties baseline = loadBaseline();
+		double tolerance = 1 + Double.parseDouble(baseline.getProperty("tolerancePercent")) / 100;
+		List<String> violations = new LinkedList<>();
+		for (String key : baseline.stringPropertyNames()) {
+			if (!key.startsWith("bytesPerModel.")) {
+				continue;
+			}
+			String phase = key.substring("bytesPerModel.".length());
+			long baselineBytesPerModel = Long.parseLong(baseline.getProperty(key));
+			long actualBytesPerModel = profile.getBytes(phase) / modelCount;
+			if (actualBytesPerModel > baselineBytesPerModel * tolerance) {
+				violations.add(phase + ": " + actualBytesPerModel + " bytes/model but baseline is "
+						+ baselineBytesPerModel);
+			}
+		}
+
+		Assert.assertTrue("allocation per model went over the baseline in " + BASELINE_RESOURCE + ": " + violations
+				+ "\n" + report, violations.isEmpty());
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.BinaryCodecs;
+import com.keytiles.api.model.test.alloptions.InternedFieldsClass;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.StringInterner;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The properties of {@link InternedFieldsClass} are interned with {@link IKeytilesCodegen#X_OBJECT_INTERN} - see
+ * test-types.yaml
+ */
+public class InternedStringsTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.internedstrings";
+
+	private final static String SCHEMA = loadTestSchema(InternedStringsTest.class, "schema.yaml");
+
+	private final static String JSON = "{\"tenantId\":\"tenant-1\",\"country\":\"hu\",\"sessionId\":\"s\",\"hits\":3}";
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void deserializedValuesAreSharedTest() throws IOException {
+		// ---- GIVEN
+		InternedFieldsClass first = mapper.readValue(JSON, InternedFieldsClass.class);
+		StringInterner countryInterner = StringInterner.getInterners().get("InternedFieldsClass.country");
+		long hitsBefore = countryInterner.getHits();
+
+		// ---- WHEN
+		List<InternedFieldsClass> others = new LinkedList<>();
+		others.add(mapper.readValue(JSON, InternedFieldsClass.class));
+		others.add(codecsMapper.readValue(JSON, InternedFieldsClass.class));
+		others.add((InternedFieldsClass) BinaryCodecs.fromByteArray(BinaryCodecs.toByteArray(first)));
+		others.add(new InternedFieldsClass(new String("tenant-1".toCharArray())));
+
+		// ---- THEN
+		for (InternedFieldsClass other : others) {
+			Assert.assertSame(first.getTenantId(), other.getTenantId());
+		}
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(first, others.get(i));
+			Assert.assertSame(first.getCountry(), others.get(i).getCountry());
+			// switched off on property level
+			Assert.assertNotSame(first.sessionId, others.get(i).sessionId);
+		}
+		Assert.assertEquals(hitsBefore + 3, countryInterner.getHits());
+		Assert.assertNotNull(StringInterner.getInterners().get("InternedFieldsClass.tenantId"));
+		Assert.assertNull(StringInterner.getInterners().get("InternedFieldsClass.sessionId"));
+
+		// NULL remains NULL
+		first.setCountry(null);
+		Assert.assertNull(first.getCountry());
+	}
+
+	@Test
+	public void boundedTableTest() {
+		// ---- GIVEN
+		StringInterner interner = new StringInterner("InternedStringsTest.bounded");
+		interner.setMaxSize(2);
+		String a = "a";
+		String b = "b";
+
+		// ---- WHEN
+		interner.intern(a);
+		interner.intern(b);
+		String c = new String("c".toCharArray());
+		String internedC = interner.intern(c);
+		String internedA = interner.intern(new String("a".toCharArray()));
+
+		// ---- THEN
+		// the table is full - the value is returned as it is
+		Assert.assertSame(c, internedC);
+		Assert.assertEquals(2, interner.size());
+		Assert.assertSame(a, internedA);
+		Assert.assertEquals(1, interner.getHits());
+		Assert.assertEquals(3, interner.getMisses());
+
+		interner.clear();
+		Assert.assertEquals(0, interner.size());
+		Assert.assertEquals(0, interner.getMisses());
+		Assert.assertSame(c, interner.intern(c));
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "internedstrings-simpleconsistent",
+				ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceExists(MODEL_PACKAGE, "StringInterner");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "EventClass",
+				"private static final StringInterner DEVICE_TYPE_INTERNER = new StringInterner(\"EventClass.deviceType\");",
+				"private String deviceType = null;", "this.deviceType = DEVICE_TYPE_INTERNER.intern(deviceType);",
+				"public String message");
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "internedstrings-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "EventClass", "StringInterner");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "StringInterner");
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		String schema = SCHEMA.replace("        deviceType:\n          type: string\n",
+				"        deviceType:\n          type: integer\n");
+		GeneratorForTests generator = createGenerator(schema, "internedstrings-failure", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("EventClass"));
+		Assert.assertTrue(exceptionThrown.getMessage().contains("it is not a String"));
+	}
+}
@@ -0,0 +1,192 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.JsonSerializationTestSubclassClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClassInlineLangObjectField;
+import com.keytiles.api.model.test.simpleconsistent.imported.PrimeEnum;
+import com.keytiles.api.model.test.simpleconsistent.imported_2ndlevel.FruitEnum;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.InMemoryFileStore;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS} - see pom.xml. Here we check that the
+ * generated codecs are producing / accepting the same json as Jackson does reflection based
+ */
+public class JacksonCodecsTest {
+
+	private final static ObjectMapper reflectionMapper = new ObjectMapper()
+			.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+
+	private final static ObjectMapper codecsMapper = new ObjectMapper()
+			.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN).registerModule(new JacksonCodecsModule());
+
+	private final static ObjectMapper codecsMapperAllowsExtraElements = new ObjectMapper()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).registerModule(new JacksonCodecsModule());
+
+	private List<GeneratorForTests> generators = new LinkedList<>();
+
+	@After
+	public void cleanupAfterTestCase() {
+		for (GeneratorForTests generator : generators) {
+			generator.deleteOutputFolder();
+		}
+		generators.clear();
+		TestHelper.cleanStaticState();
+	}
+
+	private JsonSerializationTestSubclassClass createSubclassObject(String requiredOutputIfNonDefaultBaseString) {
+		JsonSerializationTestSubclassClass testObj = new JsonSerializationTestSubclassClass(10, 20,
+				requiredOutputIfNonDefaultBaseString, FruitEnum.APPLE, true, 12.8d);
+		testObj.setNonNullBaseInteger(30);
+		testObj.setNonNullInteger(40);
+		testObj.baseStringField = "baseString";
+		testObj.longField = 1000000l;
+		testObj.unconventionalNameField = 50;
+		return testObj;
+	}
+
+	@Test
+	public void codecsAreRegisteredByModuleTest() throws JsonMappingException {
+		Object serializer = codecsMapper.getSerializerProviderInstance()
+				.findValueSerializer(JsonSerializationTestSubclassClass.class);
+		Assert.assertTrue(serializer instanceof JsonSerializationTestSubclassClass.JacksonSerializer);
+	}
+
+	@Test
+	public void subclassSerializesToSameJsonAsReflectionTest() throws IOException {
+		for (String requiredOutputIfNonDefaultBaseString : Arrays.asList(null, "", "buuu")) {
+			// ---- GIVEN
+			JsonSerializationTestSubclassClass testObj = createSubclassObject(requiredOutputIfNonDefaultBaseString);
+
+			// ---- WHEN
+			String codecsJson = codecsMapper.writeValueAsString(testObj);
+			String reflectionJson = reflectionMapper.writeValueAsString(testObj);
+
+			// ---- THEN
+			// note: order of the properties might differ
+			Assert.assertEquals(reflectionMapper.readTree(reflectionJson), codecsMapper.readTree(codecsJson));
+			// note: NON_DEFAULT values (e.g. "") are not written so roundtrip is not always lossless - but it must be
+			// the same as with reflection
+			Assert.assertEquals(reflectionMapper.readValue(reflectionJson, JsonSerializationTestSubclassClass.class),
+					codecsMapper.readValue(codecsJson, JsonSerializationTestSubclassClass.class));
+		}
+	}
+
+	@Test
+	public void containersNestedObjectsAndEnumsRoundtripTest() throws IOException {
+		// ---- GIVEN
+		SimpleFieldsClass testObj = new SimpleFieldsClass(PrimeEnum.NUMBER_7);
+		testObj.arrayField = Arrays.asList("x", "y");
+		testObj.inlineEnumField = SimpleFieldsClass.InlineEnumFieldEnum.WARNING;
+		testObj.fruitEnumField = FruitEnum.MANGO;
+		testObj.longField = 5l;
+		testObj.inlineLangObjectField = new SimpleFieldsClassInlineLangObjectField(1, "en", "label");
+
+		// ---- WHEN
+		String codecsJson = codecsMapper.writeValueAsString(testObj);
+		SimpleFieldsClass deserializedObj = codecsMapper.readValue(codecsJson, SimpleFieldsClass.class);
+
+		// ---- THEN
+		Assert.assertEquals(reflectionMapper.readTree(reflectionMapper.writeValueAsString(testObj)),
+				codecsMapper.readTree(codecsJson));
+		Assert.assertEquals(testObj, deserializedObj);
+		// fields not in the json are keeping their default values
+		Assert.assertEquals(Long.valueOf(10l), deserializedObj.longFieldWithDefault);
+	}
+
+	@Test
+	public void unknownPropertiesHandlingTest() throws IOException {
+		// ---- GIVEN
+		String json = codecsMapper.writeValueAsString(createSubclassObject("buuu"));
+		String jsonWithExtra = json.substring(0, json.length() - 1) + ",\"extra\":{\"a\":[1,2]}}";
+
+		// ---- WHEN
+		JsonSerializationTestSubclassClass deserializedObj = codecsMapperAllowsExtraElements.readValue(jsonWithExtra,
+				JsonSerializationTestSubclassClass.class);
+
+		// ---- THEN
+		Assert.assertEquals(createSubclassObject("buuu"), deserializedObj);
+		try {
+			codecsMapper.readValue(jsonWithExtra, JsonSerializationTestSubclassClass.class);
+			Assert.fail("strict mapper should fail on the unknown property");
+		} catch (UnrecognizedPropertyException expected) {
+			Assert.assertEquals("extra", expected.getPropertyName());
+		}
+	}
+
+	@Test
+	public void nullForNonNullableFieldIsRejectedTest() throws IOException {
+		// ---- GIVEN
+		// nonNullNoDefaultBaseInteger is missing
+		String json = "{\"required_unconventional_name_baseField\":10,\"requiredBooleanField\":true,\"nonNullNoDefaultDouble\":1.5}";
+
+		// ---- WHEN + THEN
+		try {
+			codecsMapper.readValue(json, JsonSerializationTestSubclassClass.class);
+			Assert.fail("missing non-nullable constructor argument should fail");
+		} catch (JsonMappingException expected) {
+			Assert.assertTrue(expected.getMessage(), expected.getMessage().contains("nonNullNoDefaultBaseInteger"));
+		}
+	}
+
+	@Test
+	public void codecsAreGeneratedOnlyIfOptionIsOnTest() {
+		String modelPackage = "com.keytiles.test.jacksoncodecs";
+		for (boolean optionOn : Arrays.asList(true, false)) {
+			// ---- GIVEN
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			Map<String, Object> options = new HashMap<>();
+			options.put("modelPackage", modelPackage);
+			options.put(IKeytilesCodegen.OPT_MODEL_STYLE, ModelStyle.simpleConsistent.name());
+			options.put(IKeytilesCodegen.OPT_GENERATE_JACKSON_CODECS, Boolean.toString(optionOn));
+			GeneratorForTests generator = TestHelper.createCodegenGeneratorFromSchemaFile(JacksonCodecsTest.class,
+					"test/openapi/test-types.yaml", KeytilesJavaCodegen.class, "jacksoncodecs-" + optionOn, options);
+			generators.add(generator);
+
+			// ---- WHEN
+			generator.generate();
+
+			// ---- THEN
+			InMemoryFileStore fileStore = generator.getFileStore();
+			if (optionOn) {
+				fileStore.assertModelSourceContains(modelPackage, KeytilesJavaCodegen.JACKSON_CODECS_MODULE_NAME,
+						"new SimpleFieldsClass.JacksonSerializer()", "new SimpleFieldsClass.JacksonDeserializer()");
+				fileStore.assertModelSourceContains(modelPackage, "SimpleFieldsClass",
+						"public static class JacksonSerializer", "public static class JacksonDeserializer");
+				// enums are left for Jackson
+				fileStore.assertModelSourceNotContains(modelPackage, "LocalErrorCodes", "JacksonSerializer");
+				// interfaces are written by the serializers of their subtypes - only a deserializer is generated
+				fileStore.assertModelSourceContains(modelPackage, KeytilesJavaCodegen.JACKSON_CODECS_MODULE_NAME,
+						"new OneOfEventEnvelopeClassEvent.JacksonDeserializer()");
+				fileStore.assertModelSourceContains(modelPackage, "OneOfEventEnvelopeClassEvent",
+						"public static class JacksonDeserializer", "case \"ClickEventClass\":\n        return 0;",
+						"case \"ViewEventClass\":\n        return 1;");
+			} else {
+				fileStore.assertModelSourceNotExists(modelPackage, KeytilesJavaCodegen.JACKSON_CODECS_MODULE_NAME);
+				fileStore.assertModelSourceNotContains(modelPackage, "SimpleFieldsClass", "JacksonSerializer");
+				fileStore.assertModelSourceNotContains(modelPackage, "OneOfEventEnvelopeClassEvent", "JacksonDeserializer");
+			}
+		}
+	}
+}
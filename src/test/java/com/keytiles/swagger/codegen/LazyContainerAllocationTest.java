@@ -0,0 +1,114 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.CapacityHintsClass;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_LAZY_CONTAINER_ALLOCATION} - see pom.xml, e.g. {@link CapacityHintsClass}
+ */
+public class LazyContainerAllocationTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.lazycontainers";
+
+	private final static String SCHEMA = loadTestSchema(LazyContainerAllocationTest.class, "schema.yaml");
+
+	private GeneratorForTests createGenerator(String outputFolder, ModelStyle modelStyle, boolean optionOn) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_LAZY_CONTAINER_ALLOCATION, Boolean.toString(optionOn));
+		return createGeneratorFromSchemaContent(SCHEMA, outputFolder, options);
+	}
+
+	@Test
+	public void optionTest() {
+		for (boolean optionOn : Arrays.asList(true, false)) {
+			// ---- GIVEN
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			GeneratorForTests generator = createGenerator("lazycontainers-" + optionOn, ModelStyle.simpleConsistent,
+					optionOn);
+
+			// ---- WHEN
+			generator.generate();
+
+			// ---- THEN
+			if (optionOn) {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ContainersClass",
+						"import java.util.Collections;", "tags = Collections.emptyList();",
+						"labels = Collections.emptyMap();",
+						"if (this.tags == null || this.tags == Collections.EMPTY_LIST) {",
+						"if (this.labels == null || this.labels == Collections.EMPTY_MAP) {",
+						// the getter gives a modifiable container - Jackson reads the field
+						"@JsonIgnore\n  public List<String> getTags() {\n    if (this.tags == Collections.EMPTY_LIST) {",
+						"this.tags = new ArrayList<>();", "this.labels = new HashMap<>();",
+						"@JsonProperty(\"tags\")\n  private List<String> tags = Collections.emptyList();",
+						// these are left as they were
+						"withDefault = new ArrayList<Integer>();", "nullableTags = null;");
+			} else {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ContainersClass",
+						"tags = new ArrayList<String>();", "labels = new HashMap<String, String>();");
+				generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ContainersClass",
+						"Collections");
+			}
+		}
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator("lazycontainers-inherited", ModelStyle.inherited, true);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ContainersClass", "Collections");
+	}
+
+	private java.lang.Object getFieldValue(java.lang.Object obj, String fieldName) throws ReflectiveOperationException {
+		Field field = obj.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		return field.get(obj);
+	}
+
+	@Test
+	public void getterReturnsModifiableContainerTest() throws IOException, ReflectiveOperationException {
+		// ---- GIVEN
+		CapacityHintsClass obj = new CapacityHintsClass();
+		Assert.assertSame(Collections.EMPTY_LIST, getFieldValue(obj, "samples"));
+		// serializing reads the field - so it does not allocate the real container
+		ObjectMapper mapper = new ObjectMapper();
+		String emptyJson = mapper.writeValueAsString(obj);
+		Assert.assertEquals(mapper.readTree(emptyJson), mapper.readTree(
+				new ObjectMapper().registerModule(new JacksonCodecsModule()).writeValueAsString(obj)));
+		Assert.assertTrue(emptyJson, emptyJson.contains("\"samples\":[]"));
+		Assert.assertSame(Collections.EMPTY_LIST, getFieldValue(obj, "samples"));
+		Assert.assertSame(Collections.EMPTY_MAP, getFieldValue(obj, "labels"));
+
+		// ---- WHEN
+		obj.getSamples().add("a");
+		obj.getLabels().put("key", "value");
+
+		// ---- THEN
+		Assert.assertEquals(Arrays.asList("a"), obj.getSamples());
+		Assert.assertEquals(Collections.singletonMap("key", "value"), obj.getLabels());
+		Assert.assertEquals(new CapacityHintsClass().addSamplesItem("a").putLabelsItem("key", "value"), obj);
+		String json = mapper.writeValueAsString(obj);
+		Assert.assertEquals(obj, mapper.readValue(json, CapacityHintsClass.class));
+	}
+}
@@ -0,0 +1,195 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.BinaryCodecs;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.LazyFieldsClass;
+import com.keytiles.api.model.test.alloptions.ReferredObject;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The properties of {@link LazyFieldsClass} are marked with {@link IKeytilesCodegen#X_PROPERTY_LAZY} - see
+ * test-types.yaml
+ */
+public class LazyPropertiesTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.lazyproperties";
+
+	private final static String SCHEMA = loadTestSchema(LazyPropertiesTest.class, "schema.yaml");
+
+	// note: the prop2 of ReferredObject has a default - so a decoded and written back element gets it
+	private final static String JSON = "{\"id\":1,\"items\":[{\"prop1\":\"a\"},null],\"attributes\":{\"k\":\"v\"}}";
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void untouchedValueIsWrittenAsItIsTest() throws IOException {
+		// ---- GIVEN
+		// the Jackson codecs are not generated for the class - so the module must not change anything either
+		for (ObjectMapper theMapper : new ObjectMapper[] { mapper,
+				new ObjectMapper().registerModule(new JacksonCodecsModule()) }) {
+			LazyFieldsClass obj = theMapper.readValue(JSON, LazyFieldsClass.class);
+
+			// ---- WHEN
+			String untouchedJson = theMapper.writeValueAsString(obj);
+			List<ReferredObject> items = obj.getItems();
+			String decodedJson = theMapper.writeValueAsString(obj);
+
+			// ---- THEN
+			Assert.assertEquals(mapper.readTree(JSON), mapper.readTree(untouchedJson));
+			Assert.assertEquals(2, items.size());
+			Assert.assertEquals("a", items.get(0).prop1);
+			Assert.assertNull(items.get(1));
+			// decoded once - and then the same value is returned
+			Assert.assertSame(items, obj.getItems());
+			// now the value is written - with the default value of the element
+			Assert.assertTrue(decodedJson, decodedJson.contains("\"prop2\":5"));
+		}
+	}
+
+	@Test
+	public void accessorsEqualsAndHashCodeTest() throws IOException {
+		// ---- GIVEN
+		LazyFieldsClass lazyObj = mapper.readValue(JSON, LazyFieldsClass.class);
+		LazyFieldsClass otherLazyObj = mapper.readValue(JSON, LazyFieldsClass.class);
+		LazyFieldsClass obj = new LazyFieldsClass();
+		obj.id = 1;
+		obj.addItemsItem(mapper.readValue("{\"prop1\":\"a\"}", ReferredObject.class)).addItemsItem(null);
+		obj.putAttributesItem("k", "v");
+
+		// ---- WHEN - THEN
+		Assert.assertEquals(obj, lazyObj);
+		Assert.assertEquals(obj.hashCode(), otherLazyObj.hashCode());
+		Assert.assertEquals(obj.toString(), otherLazyObj.toString());
+
+		// the helper methods work on the decoded value
+		otherLazyObj.putAttributesItem("k2", "v2");
+		Assert.assertEquals(2, otherLazyObj.getAttributes().size());
+
+		// the setter replaces the raw JSON
+		lazyObj.setAttributes(null);
+		Assert.assertNull(lazyObj.getAttributes());
+		Assert.assertFalse(mapper.writeValueAsString(lazyObj).contains("attributes\":{"));
+
+		// explicit NULL in the JSON is NULL
+		Assert.assertNull(mapper.readValue("{\"items\":null}", LazyFieldsClass.class).getItems());
+	}
+
+	@Test
+	public void invalidRawJsonFailsOnAccessTest() throws IOException {
+		// ---- GIVEN
+		// reading does not look into the value
+		LazyFieldsClass obj = mapper.readValue("{\"items\":[1,2]}", LazyFieldsClass.class);
+
+		// ---- WHEN - THEN
+		try {
+			obj.getItems();
+			Assert.fail("invalid content should be refused on access");
+		} catch (UncheckedIOException expected) {
+		}
+	}
+
+	@Test
+	public void otherSerializationFormatsTest() throws IOException, ClassNotFoundException {
+		// ---- GIVEN
+		LazyFieldsClass obj = mapper.readValue(JSON, LazyFieldsClass.class);
+		LazyFieldsClass expected = mapper.readValue(JSON, LazyFieldsClass.class);
+		expected.getItems();
+		expected.getAttributes();
+
+		// ---- WHEN
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		Object javaDecoded;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			javaDecoded = in.readObject();
+		}
+		Object binaryDecoded = BinaryCodecs.fromByteArray(BinaryCodecs.toByteArray(mapper.readValue(JSON,
+				LazyFieldsClass.class)));
+
+		// ---- THEN
+		// the raw JSON is decoded before writing
+		Assert.assertEquals(expected, javaDecoded);
+		Assert.assertEquals(expected, binaryDecoded);
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "lazyproperties-simpleconsistent",
+				ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "DocumentClass",
+				"private List<String> sections = null;", "private transient TokenBuffer sectionsRaw;",
+				"public List<String> getSections() {", "private void setSectionsForJson(TokenBuffer sectionsRaw)");
+		// the raw buffer is read only once - a concurrent getter call can not make it null in between
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "DocumentClass",
+				"TokenBuffer raw = sectionsRaw;", "try (JsonParser p = raw.asParser()) {");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "DocumentClass", "public String name");
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "lazyproperties-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "DocumentClass", "TokenBuffer");
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		// a non-nullable property has a null-checking setter
+		String schema = SCHEMA.replace("        sections:\n          type: array\n          nullable: true\n",
+				"        sections:\n          type: array\n          nullable: false\n");
+		GeneratorForTests generator = createGenerator(schema, "lazyproperties-failure", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("DocumentClass"));
+		Assert.assertTrue(exceptionThrown.getMessage().contains("it is not nullable"));
+	}
+}
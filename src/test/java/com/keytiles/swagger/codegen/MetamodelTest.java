@@ -0,0 +1,248 @@
+package com.keytiles.swagger.codegen;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.keytiles.api.model.test.alloptions.ClickEventClass;
+import com.keytiles.api.model.test.alloptions.ImmutableKeyClass;
+import com.keytiles.api.model.test.alloptions.JsonSerializationTestSubclassClass;
+import com.keytiles.api.model.test.alloptions.Metamodels;
+import com.keytiles.api.model.test.alloptions.Metamodels.ModelDescriptor;
+import com.keytiles.api.model.test.alloptions.Metamodels.PropertyDescriptor;
+import com.keytiles.api.model.test.alloptions.PresenceBitsClass;
+import com.keytiles.api.model.test.simpleconsistent.imported_2ndlevel.FruitEnum;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.InMemoryFileStore;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_METAMODELS} - see pom.xml. Here we check that the generated metamodels
+ * describe the models as they are and read / write the properties correctly
+ */
+public class MetamodelTest {
+
+	private List<GeneratorForTests> generators = new LinkedList<>();
+
+	@After
+	public void cleanupAfterTestCase() {
+		for (GeneratorForTests generator : generators) {
+			generator.deleteOutputFolder();
+		}
+		generators.clear();
+		TestHelper.cleanStaticState();
+	}
+
+	private Field findField(Class<?> theClass, String name) {
+		for (Class<?> c = theClass; c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (field.getName().equals(name)) {
+					return field;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void registryTest() {
+		// ---- WHEN
+		ModelDescriptor<ClickEventClass> metamodel = Metamodels.of(ClickEventClass.class);
+
+		// ---- THEN
+		Assert.assertSame(ClickEventClass.Metamodel.MODEL, metamodel);
+		Assert.assertEquals(ClickEventClass.class, metamodel.getModelClass());
+		Assert.assertEquals("ClickEventClass", metamodel.getName());
+		Assert.assertTrue(Metamodels.all().contains(metamodel));
+		Assert.assertTrue(Metamodels.all().contains(JsonSerializationTestSubclassClass.Metamodel.MODEL));
+		// enums and not-model classes are not there
+		Assert.assertNull(Metamodels.of(FruitEnum.class));
+		Assert.assertNull(Metamodels.of(String.class));
+	}
+
+	@Test
+	public void descriptorsMatchDeclaredFieldsTest() {
+		for (ModelDescriptor<?> metamodel : Metamodels.all()) {
+			for (PropertyDescriptor<?, ?> property : metamodel.getProperties()) {
+				// ---- GIVEN
+				String where = metamodel.getName() + "." + property.getName();
+				Field field = findField(metamodel.getModelClass(), property.getName());
+				Assert.assertNotNull(where, field);
+
+				// ---- THEN
+				// note: the superclass might come from another package, generated with other options
+				if (field.getDeclaringClass().getPackage().equals(metamodel.getModelClass().getPackage())) {
+					Assert.assertEquals(where, field.getType(), property.getType());
+				}
+				int modifiers = field.getModifiers();
+				switch (property.getVisibility()) {
+				case PUBLIC:
+					Assert.assertTrue(where, Modifier.isPublic(modifiers));
+					Assert.assertTrue(where, property.isWritable());
+					break;
+				case PRIVATE:
+					Assert.assertTrue(where, Modifier.isPrivate(modifiers) && !Modifier.isFinal(modifiers));
+					break;
+				case PRIVATE_FINAL:
+					Assert.assertTrue(where, Modifier.isPrivate(modifiers) && Modifier.isFinal(modifiers));
+					Assert.assertTrue(where, property.isConstructorArgument());
+					Assert.assertFalse(where, property.isWritable());
+					break;
+				}
+			}
+		}
+	}
+
+	@Test
+	public void inheritedPropertiesTest() {
+		// ---- GIVEN
+		// note: the superclass is in a package generated without metamodels - but its properties are still listed
+		JsonSerializationTestSubclassClass testObj = new JsonSerializationTestSubclassClass(10, 20, null,
+				FruitEnum.APPLE, true, 12.8d);
+		testObj.setNonNullBaseInteger(30);
+		testObj.baseStringField = "baseString";
+
+		// ---- WHEN
+		List<String> properties = JsonSerializationTestSubclassClass.Metamodel.MODEL.getProperties().stream()
+				.map(PropertyDescriptor::getName).collect(Collectors.toList());
+
+		// ---- THEN
+		// superclass properties are coming first
+		Assert.assertEquals(Arrays.asList("requiredUnconventionalNameBaseField", "nonNullBaseInteger",
+				"nonNullNoDefaultBaseInteger", "baseStringField"), properties.subList(0, 4));
+		Assert.assertTrue(properties.contains("longField"));
+		Assert.assertEquals(Integer.valueOf(30), JsonSerializationTestSubclassClass.Metamodel.nonNullBaseInteger.get(testObj));
+		Assert.assertEquals("baseString", JsonSerializationTestSubclassClass.Metamodel.baseStringField.get(testObj));
+	}
+
+	@Test
+	public void readWriteTest() {
+		// ---- GIVEN
+		ModelDescriptor<ClickEventClass> metamodel = ClickEventClass.Metamodel.MODEL;
+		Assert.assertTrue(metamodel.isInstantiable());
+		ClickEventClass click = metamodel.newInstance();
+		Map<String, java.lang.Object> values = new HashMap<>();
+		values.put("target", "button");
+		values.put("x", 12);
+
+		// ---- WHEN
+		for (Map.Entry<String, java.lang.Object> entry : values.entrySet()) {
+			@SuppressWarnings("unchecked")
+			PropertyDescriptor<ClickEventClass, java.lang.Object> property = (PropertyDescriptor<ClickEventClass, java.lang.Object>) metamodel
+					.getPropertyByJsonName(entry.getKey());
+			property.set(click, entry.getValue());
+		}
+
+		// ---- THEN
+		Assert.assertEquals("button", click.target);
+		Assert.assertEquals(Integer.valueOf(12), click.x);
+		Assert.assertEquals("button", ClickEventClass.Metamodel.target.get(click));
+		Assert.assertEquals(Integer.valueOf(12), ClickEventClass.Metamodel.x.get(click));
+		Assert.assertNull(metamodel.getProperty("noSuchProperty"));
+	}
+
+	@Test
+	public void presenceBitsTest() {
+		// ---- GIVEN
+		PresenceBitsClass model = PresenceBitsClass.Metamodel.MODEL.newInstance();
+		PropertyDescriptor<PresenceBitsClass, Long> total = PresenceBitsClass.Metamodel.total;
+		Assert.assertEquals(long.class, total.getType());
+
+		// ---- WHEN / THEN
+		// NULL is mapped to the presence bit - the same way as in JSON
+		Assert.assertNull(total.get(model));
+		total.set(model, 0l);
+		Assert.assertTrue(model.hasTotal());
+		Assert.assertEquals(Long.valueOf(0l), total.get(model));
+		total.set(model, null);
+		Assert.assertFalse(model.hasTotal());
+		Assert.assertNull(total.get(model));
+	}
+
+	@Test
+	public void readOnlyAndNonNullablePropertiesTest() {
+		// ---- GIVEN
+		ModelDescriptor<ImmutableKeyClass> metamodel = ImmutableKeyClass.Metamodel.MODEL;
+		Assert.assertFalse(metamodel.isInstantiable());
+		ImmutableKeyClass key = new ImmutableKeyClass(1l, "key", 1.5d, ImmutableKeyClass.KindEnum.USER);
+		PropertyDescriptor<ImmutableKeyClass, String> name = ImmutableKeyClass.Metamodel.name;
+
+		// ---- WHEN / THEN
+		Assert.assertEquals("key", name.get(key));
+		Assert.assertEquals(Long.valueOf(1l), ImmutableKeyClass.Metamodel.tenantId.get(key));
+		try {
+			name.set(key, "other");
+			Assert.fail("UnsupportedOperationException was expected");
+		} catch (UnsupportedOperationException e) {
+			// ok
+		}
+		try {
+			metamodel.newInstance();
+			Assert.fail("UnsupportedOperationException was expected");
+		} catch (UnsupportedOperationException e) {
+			// ok
+		}
+
+		// ---- GIVEN
+		JsonSerializationTestSubclassClass subclassObj = new JsonSerializationTestSubclassClass(10, 20, null,
+				FruitEnum.APPLE, true, 12.8d);
+		PropertyDescriptor<JsonSerializationTestSubclassClass, ?> nonNullInteger = JsonSerializationTestSubclassClass.Metamodel.MODEL
+				.getProperty("nonNullInteger");
+		Assert.assertFalse(nonNullInteger.isNullable());
+
+		// ---- WHEN / THEN
+		// the setter is used - so it is null-checked
+		try {
+			JsonSerializationTestSubclassClass.Metamodel.nonNullInteger.set(subclassObj, null);
+			Assert.fail("IllegalArgumentException was expected");
+		} catch (IllegalArgumentException e) {
+			// ok
+		}
+	}
+
+	@Test
+	public void metamodelsAreGeneratedOnlyIfOptionIsOnTest() {
+		for (boolean generateMetamodels : new boolean[] { false, true }) {
+			// ---- GIVEN
+			String outputFolder = "metamodels-" + generateMetamodels;
+			Map<String, java.lang.Object> options = new HashMap<>();
+			options.put(IKeytilesCodegen.OPT_MODEL_STYLE, ModelStyle.simpleConsistent.name());
+			options.put(IKeytilesCodegen.OPT_GENERATE_METAMODELS, generateMetamodels);
+			String modelPackage = "com.keytiles.test";
+			options.put("modelPackage", modelPackage);
+
+			// ---- WHEN
+			GeneratorForTests generator = TestHelper.createCodegenGeneratorFromSchemaFile(MetamodelTest.class,
+					"test/openapi/test-types.yaml", KeytilesJavaCodegen.class, outputFolder, options);
+			generators.add(generator);
+			generator.generate();
+
+			// ---- THEN
+			InMemoryFileStore fileStore = generator.getFileStore();
+			if (generateMetamodels) {
+				fileStore.assertModelSourceExists(modelPackage, KeytilesJavaCodegen.METAMODELS_CLASS_NAME);
+				fileStore.assertModelSourceContains(modelPackage, KeytilesJavaCodegen.METAMODELS_CLASS_NAME,
+						"models.put(ClickEventClass.class, ClickEventClass.Metamodel.MODEL);");
+				fileStore.assertModelSourceContains(modelPackage, "ClickEventClass",
+						"public static final class Metamodel", "m -> m.target", "ClickEventClass::new");
+				fileStore.assertModelSourceContains(modelPackage, "ImmutableKeyClass", "ImmutableKeyClass::getName,\n      null);");
+				// enums and interfaces have no metamodel
+				fileStore.assertModelSourceNotContains(modelPackage, "OneOfEventEnvelopeClassEvent", "Metamodel");
+			} else {
+				fileStore.assertModelSourceNotExists(modelPackage, KeytilesJavaCodegen.METAMODELS_CLASS_NAME);
+				fileStore.assertModelSourceNotContains(modelPackage, "ClickEventClass", "Metamodel");
+			}
+		}
+	}
+}
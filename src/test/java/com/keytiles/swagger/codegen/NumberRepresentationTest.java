@@ -0,0 +1,292 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.ModelValidationException;
+import com.keytiles.api.model.test.alloptions.PriceClass;
+import com.keytiles.api.model.test.alloptions.ScaledLongs;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The number properties of {@link PriceClass} are using {@link IKeytilesCodegen#X_PROPERTY_NUMBER_REPRESENTATION} -
+ * see test-types.yaml
+ */
+public class NumberRepresentationTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.numberrepresentation";
+
+	private final static String SCHEMA = loadTestSchema(NumberRepresentationTest.class, "schema.yaml");
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		options.put(IKeytilesCodegen.OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE, "true");
+		options.put(IKeytilesCodegen.OPT_NUMBER_REPRESENTATION, "double");
+		options.put(IKeytilesCodegen.OPT_GENERATE_JACKSON_CODECS, "true");
+		options.put(IKeytilesCodegen.OPT_GENERATE_VALIDATORS, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	private static Exception findSchemaValidationException(Exception exceptionThrown) {
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		return exceptionThrown;
+	}
+
+	@Test
+	public void parseAndFormatTest() {
+		// ---- GIVEN
+		String[][] cases = { //
+				// text, scale, unscaled value, formatted
+				{ "12.34", "2", "1234", "12.34" }, //
+				{ "-0.5", "2", "-50", "-0.50" }, //
+				{ "0.005", "3", "5", "0.005" }, //
+				{ "-0.005", "3", "-5", "-0.005" }, //
+				{ "1e3", "0", "1000", "1000" }, //
+				{ "1.5E-1", "2", "15", "0.15" }, //
+				{ "12.300000", "2", "1230", "12.30" }, //
+				{ "0.000", "18", "0", "0.000000000000000000" }, //
+				{ "92233720368547758.07", "2", Long.toString(Long.MAX_VALUE), "92233720368547758.07" }, //
+				{ "-92233720368547758.08", "2", Long.toString(Long.MIN_VALUE), "-92233720368547758.08" } //
+		};
+
+		for (String[] testCase : cases) {
+			// ---- WHEN
+			int scale = Integer.parseInt(testCase[1]);
+			long value = ScaledLongs.parse(testCase[0], scale);
+
+			// ---- THEN
+			Assert.assertEquals(testCase[0], Long.parseLong(testCase[2]), value);
+			Assert.assertEquals(testCase[3], ScaledLongs.format(value, scale));
+		}
+	}
+
+	@Test
+	public void parseRefusesTest() {
+		// ---- GIVEN
+		String[] notNumbers = { "", "-", ".", "abc", "1.2.3", "1e", "1e+", "12a", "1 " };
+		String[] notRepresentable = { "1.234", "92233720368547758.08", "1e30", "0.1e-2" };
+
+		// ---- WHEN + THEN
+		for (String text : notNumbers) {
+			try {
+				ScaledLongs.parse(text, 2);
+				Assert.fail("'" + text + "' should be refused");
+			} catch (NumberFormatException expected) {
+			}
+		}
+		for (String text : notRepresentable) {
+			try {
+				ScaledLongs.parse(text, 2);
+				Assert.fail("'" + text + "' should be refused");
+			} catch (ArithmeticException expected) {
+			}
+		}
+	}
+
+	@Test
+	public void jsonRoundTripTest() throws IOException {
+		// ---- GIVEN
+		PriceClass price = new PriceClass(123456L);
+		price.discount = 25L;
+		price.weight = 0.5d;
+		price.ratio = 0.25f;
+
+		// ---- WHEN
+		String json = mapper.writeValueAsString(price);
+		String codecsJson = codecsMapper.writeValueAsString(price);
+		PriceClass reflectiveRead = mapper.readValue(json, PriceClass.class);
+		PriceClass codecsRead = codecsMapper.readValue(json, PriceClass.class);
+
+		// ---- THEN
+		Assert.assertEquals(json, codecsJson);
+		Assert.assertTrue(json, json.contains("\"amount\":1234.56"));
+		Assert.assertTrue(json, json.contains("\"discount\":0.0025"));
+		// the default value of the schema
+		Assert.assertTrue(json, json.contains("\"unitPrice\":1.250"));
+		Assert.assertEquals(price, reflectiveRead);
+		Assert.assertEquals(price, codecsRead);
+		Assert.assertEquals(Long.valueOf(1250L), new PriceClass(0L).unitPrice);
+
+		// numbers in String are accepted too - and NULL is NULL
+		for (ObjectMapper anyMapper : new ObjectMapper[] { mapper, codecsMapper }) {
+			PriceClass read = anyMapper.readValue("{\"amount\":\"1.5\",\"discount\":null}", PriceClass.class);
+			Assert.assertEquals(Long.valueOf(150L), read.getAmount());
+			Assert.assertNull(read.discount);
+		}
+	}
+
+	@Test
+	public void jsonRefusesRoundingTest() throws IOException {
+		for (ObjectMapper anyMapper : new ObjectMapper[] { mapper, codecsMapper }) {
+			// ---- WHEN
+			Exception exceptionThrown = null;
+			try {
+				anyMapper.readValue("{\"amount\":1.234}", PriceClass.class);
+			} catch (JsonMappingException e) {
+				exceptionThrown = e;
+			}
+
+			// ---- THEN
+			Assert.assertNotNull(exceptionThrown);
+			Assert.assertTrue(exceptionThrown.getMessage(), exceptionThrown.getMessage().contains("rounding"));
+		}
+	}
+
+	@Test
+	public void javaSerializationTest() throws IOException, ClassNotFoundException {
+		// ---- GIVEN
+		PriceClass price = new PriceClass(Long.MIN_VALUE);
+		price.discount = 1L;
+
+		// ---- WHEN
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(price);
+		}
+		PriceClass read;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			read = (PriceClass) in.readObject();
+		}
+
+		// ---- THEN
+		Assert.assertEquals(price, read);
+	}
+
+	@Test
+	public void validatorTest() {
+		// ---- GIVEN
+		PriceClass price = new PriceClass(100000000L);
+		price.discount = 999999L;
+
+		// ---- WHEN + THEN
+		Assert.assertTrue(price.validate().isEmpty());
+
+		price.setAmount(100000001L);
+		price.discount = 1000000L;
+		List<ModelValidationException.Violation> violations = price.validate();
+		Assert.assertEquals(2, violations.size());
+		Assert.assertEquals("amount", violations.get(0).getPropertyPath());
+		Assert.assertEquals("must be less than or equal to 1000000", violations.get(0).getMessage());
+		Assert.assertEquals("discount", violations.get(1).getPropertyPath());
+
+		price.setAmount(-1L);
+		Assert.assertEquals("must be greater than or equal to 0", price.validate().get(0).getMessage());
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "numberrepresentation-simpleconsistent",
+				ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceExists(MODEL_PACKAGE, KeytilesJavaCodegen.SCALED_LONGS_CLASS_NAME);
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "OrderClass",
+				"public static final int TOTAL_SCALE = 2;", "public long total = 0;", "@ScaledLongs.Scale(2)",
+				"gen.writeNumber(ScaledLongs.format(v0, 2));", "v0 = ScaledLongs.parse(p, ctxt, 2);",
+				// option 'numberRepresentation' is 'double'
+				"public double weight = 0d;",
+				// the property level wins
+				"public BigDecimal exact = null;",
+				// the bounds are scaled
+				"if (v0 < 100L) {", "if (v0 >= 10000L) {", "must be less than 100");
+	}
+
+	@Test
+	public void scaledLongIgnoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "numberrepresentation-inherited",
+				ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "OrderClass", "ScaledLongs");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "OrderClass", "BigDecimal total",
+				"double weight");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE,
+				KeytilesJavaCodegen.SCALED_LONGS_CLASS_NAME);
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		String[][] cases = { //
+				// what to change, error message
+				{ "        total:\n          type: number\n", "        total:\n          type: string\n",
+						"it is not a 'type: number' property without format" },
+				{ "          x-keytiles-number-scale: 2\n", "", "requires 'x-keytiles-number-scale'" },
+				{ "          x-keytiles-number-scale: 2\n", "          x-keytiles-number-scale: 19\n",
+						"must be an integer between 0 and 18" },
+				{ "          default: 1.5\n", "          default: 1.505\n", "without rounding" },
+				{ "          x-keytiles-number-representation: BigDecimal\n",
+						"          x-keytiles-number-representation: BigDecimal\n          x-keytiles-number-scale: 2\n",
+						"can be used only together with" },
+				{ "components:\n  schemas:\n",
+						"components:\n  schemas:\n    ScaledLongs:\n      type: object\n      properties:\n        a:\n          type: string\n",
+						"reserved" } //
+		};
+
+		for (String[] testCase : cases) {
+			GeneratorForTests generator = createGenerator(SCHEMA.replace(testCase[0], testCase[1]),
+					"numberrepresentation-failure", ModelStyle.simpleConsistent);
+
+			// ---- WHEN
+			Exception exceptionThrown = null;
+			try {
+				generator.generate();
+			} catch (Exception e) {
+				exceptionThrown = e;
+			}
+
+			// ---- THEN
+			exceptionThrown = findSchemaValidationException(exceptionThrown);
+			Assert.assertNotNull(testCase[2], exceptionThrown);
+			Assert.assertTrue(exceptionThrown.getMessage(), exceptionThrown.getMessage().contains(testCase[2]));
+		}
+	}
+
+	@Test
+	public void invalidOptionTest() {
+		// ---- GIVEN
+		KeytilesJavaCodegen codegen = new KeytilesJavaCodegen();
+		codegen.additionalProperties().put(IKeytilesCodegen.OPT_NUMBER_REPRESENTATION, "scaled-long");
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			codegen.processOpts();
+		} catch (IllegalArgumentException e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains(IKeytilesCodegen.OPT_NUMBER_REPRESENTATION));
+	}
+}
@@ -0,0 +1,139 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.keytiles.api.model.test.alloptions.ClickEventClass;
+import com.keytiles.api.model.test.alloptions.EventEnvelopeClass;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.OneOfEventEnvelopeClassEvent;
+import com.keytiles.api.model.test.alloptions.ViewEventClass;
+
+/**
+ * The interfaces generated for the oneOf / anyOf properties of package
+ * com.keytiles.api.model.test.alloptions get a discriminator dispatching deserializer with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS} - see pom.xml. Here we check that it reads the same
+ * objects as Jackson does reflection based
+ */
+public class PolymorphicDeserializerTest {
+
+	private final static ObjectMapper reflectionMapper = new ObjectMapper();
+
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private EventEnvelopeClass createEnvelope() {
+		ClickEventClass click = new ClickEventClass();
+		click.target = "button";
+		click.x = 12;
+		ViewEventClass view = new ViewEventClass();
+		view.page = "home";
+		view.durationMs = 1500l;
+
+		EventEnvelopeClass envelope = new EventEnvelopeClass();
+		envelope.event = click;
+		envelope.addEventsItem(view);
+		envelope.addEventsItem(click);
+		return envelope;
+	}
+
+	@Test
+	public void deserializerIsRegisteredByModuleTest() throws JsonMappingException {
+		DeserializationContext ctxt = ((DefaultDeserializationContext) codecsMapper.getDeserializationContext())
+				.createInstance(codecsMapper.getDeserializationConfig(), null, null);
+		Object deserializer = ctxt.findContextualValueDeserializer(
+				codecsMapper.constructType(OneOfEventEnvelopeClassEvent.class), null);
+		Assert.assertTrue(deserializer instanceof OneOfEventEnvelopeClassEvent.JacksonDeserializer);
+	}
+
+	@Test
+	public void readsSameObjectAsReflectionTest() throws IOException {
+		// ---- GIVEN
+		EventEnvelopeClass envelope = createEnvelope();
+		String json = codecsMapper.writeValueAsString(envelope);
+		// the discriminator is written as the first field
+		Assert.assertTrue(json, json.contains("{\"type\":\"ClickEventClass\","));
+
+		// ---- WHEN
+		EventEnvelopeClass reflectionRead = reflectionMapper.readValue(json, EventEnvelopeClass.class);
+		EventEnvelopeClass codecsRead = codecsMapper.readValue(json, EventEnvelopeClass.class);
+
+		// ---- THEN
+		Assert.assertEquals(envelope, reflectionRead);
+		Assert.assertEquals(envelope, codecsRead);
+		Assert.assertEquals(ViewEventClass.class, codecsRead.events.get(0).getClass());
+	}
+
+	@Test
+	public void discriminatorNotFirstTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"event\":{\"target\":\"button\",\"x\":12,\"type\":\"ClickEventClass\"},"
+				+ "\"events\":[{\"page\":\"home\",\"type\":\"ViewEventClass\",\"durationMs\":1500},"
+				+ "{\"type\":\"ClickEventClass\"}]}";
+
+		// ---- WHEN
+		EventEnvelopeClass reflectionRead = reflectionMapper.readValue(json, EventEnvelopeClass.class);
+		EventEnvelopeClass codecsRead = codecsMapper.readValue(json, EventEnvelopeClass.class);
+
+		// ---- THEN
+		Assert.assertEquals(reflectionRead, codecsRead);
+		ClickEventClass click = (ClickEventClass) codecsRead.event;
+		Assert.assertEquals("button", click.target);
+		Assert.assertEquals(Integer.valueOf(12), click.x);
+		ViewEventClass view = (ViewEventClass) codecsRead.events.get(0);
+		Assert.assertEquals("home", view.page);
+		Assert.assertEquals(Long.valueOf(1500l), view.durationMs);
+		Assert.assertEquals(new ClickEventClass(), codecsRead.events.get(1));
+	}
+
+	@Test
+	public void rootValueTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"type\":\"ViewEventClass\",\"page\":\"home\"}";
+
+		// ---- WHEN
+		OneOfEventEnvelopeClassEvent event = codecsMapper.readValue(json, OneOfEventEnvelopeClassEvent.class);
+
+		// ---- THEN
+		Assert.assertEquals(reflectionMapper.readValue(json, OneOfEventEnvelopeClassEvent.class), event);
+		Assert.assertEquals("home", ((ViewEventClass) event).page);
+	}
+
+	@Test
+	public void unknownTypeIdTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"event\":{\"target\":\"button\",\"type\":\"ScrollEventClass\"}}";
+
+		// ---- WHEN
+		try {
+			codecsMapper.readValue(json, EventEnvelopeClass.class);
+			Assert.fail("InvalidTypeIdException was expected");
+		} catch (InvalidTypeIdException e) {
+			// ---- THEN
+			Assert.assertEquals("ScrollEventClass", e.getTypeId());
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("known type ids = [ClickEventClass, ViewEventClass]"));
+		}
+	}
+
+	@Test
+	public void missingDiscriminatorTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"event\":{\"target\":\"button\",\"x\":12}}";
+
+		// ---- WHEN
+		try {
+			codecsMapper.readValue(json, EventEnvelopeClass.class);
+			Assert.fail("InvalidTypeIdException was expected");
+		} catch (InvalidTypeIdException e) {
+			// ---- THEN
+			Assert.assertNull(e.getTypeId());
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("missing discriminator property 'type'"));
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.PresenceBitsClass;
+import com.keytiles.api.model.test.alloptions.PresenceBitsSubclass;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+public class PresenceBitsTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.presencebits";
+
+	private final static String SCHEMA = loadTestSchema(PresenceBitsTest.class, "schema.yaml");
+
+	private final static ObjectMapper reflectionMapper = new ObjectMapper();
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle,
+			boolean optionOn) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put(IKeytilesCodegen.OPT_USE_PRIMITIVE_TYPES_IF_POSSIBLE, "true");
+		options.put(IKeytilesCodegen.OPT_USE_PRESENCE_BITS_FOR_PRIMITIVES, Boolean.toString(optionOn));
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void accessorsEqualsAndHashCodeTest() {
+		// ---- GIVEN
+		PresenceBitsSubclass obj = new PresenceBitsSubclass();
+		PresenceBitsSubclass other = new PresenceBitsSubclass();
+
+		// ---- WHEN - THEN
+		// everything is NULL initially
+		Assert.assertFalse(obj.hasCount());
+		Assert.assertFalse(obj.hasExtra());
+		Assert.assertEquals(0, obj.getCount());
+
+		// a set 0 is not the same as NULL
+		obj.setCount(0);
+		Assert.assertTrue(obj.hasCount());
+		Assert.assertNotEquals(obj, other);
+		other.setCount(0);
+		Assert.assertEquals(obj, other);
+
+		// the presence bits of the subclass and the superclass are independent
+		obj.setExtra(5);
+		Assert.assertTrue(obj.hasExtra());
+		Assert.assertFalse(obj.hasTotal());
+		obj.clearCount();
+		Assert.assertFalse(obj.hasCount());
+		Assert.assertTrue(obj.hasExtra());
+		Assert.assertTrue(obj.toString(), obj.toString().contains("count: null"));
+		Assert.assertTrue(obj.toString(), obj.toString().contains("extra: 5"));
+
+		// hashCode of a NULL field is the same as with a NULL wrapper
+		PresenceBitsClass base = new PresenceBitsClass();
+		base.setEnabled(true);
+		base.setTotal(12l);
+		// note: fields are count, total, ratio, enabled, plain
+		Assert.assertEquals(Objects.hash(null, 12l, null, true, 0), base.hashCode());
+	}
+
+	@Test
+	public void jacksonTest() throws IOException {
+		// ---- GIVEN
+		PresenceBitsSubclass obj = new PresenceBitsSubclass();
+		obj.setCount(0);
+		obj.setTotal(123l);
+		obj.setEnabled(false);
+		obj.setExtra(7);
+
+		for (ObjectMapper mapper : Arrays.asList(reflectionMapper, codecsMapper)) {
+			// ---- WHEN
+			String json = mapper.writeValueAsString(obj);
+			PresenceBitsSubclass deserialized = mapper.readValue(json, PresenceBitsSubclass.class);
+
+			// ---- THEN
+			Assert.assertEquals(reflectionMapper.readTree(
+					"{\"extra\":7,\"count\":0,\"total\":123,\"enabled\":false,\"plain\":0}"), mapper.readTree(json));
+			Assert.assertEquals(obj, deserialized);
+
+			// explicit NULL clears the value - missing field leaves it untouched
+			deserialized = mapper.readValue("{\"count\":null,\"ratio\":1.5}", PresenceBitsSubclass.class);
+			Assert.assertFalse(deserialized.hasCount());
+			Assert.assertTrue(deserialized.hasRatio());
+			Assert.assertEquals(1.5d, deserialized.getRatio(), 0d);
+			Assert.assertFalse(deserialized.hasExtra());
+		}
+	}
+
+	@Test
+	public void optionTest() {
+		for (boolean optionOn : Arrays.asList(true, false)) {
+			// ---- GIVEN
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			GeneratorForTests generator = createGenerator(SCHEMA, "presencebits-" + optionOn,
+					ModelStyle.simpleConsistent, optionOn);
+
+			// ---- WHEN
+			generator.generate();
+
+			// ---- THEN
+			if (optionOn) {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "EventClass",
+						"private long value = 0;", "public boolean hasValue()", "public void clearValue()",
+						"private long presenceBits;", "public int refused = 0;", "public String name = null;");
+				// required property is a constructor argument - nothing to track
+				generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "EventClass", "hasId()");
+			} else {
+				generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "EventClass", "presenceBits");
+			}
+		}
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "presencebits-inherited", ModelStyle.inherited, true);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "EventClass", "presenceBits");
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		String schema = SCHEMA + "          x-keytiles-use-presence-bit: true\n";
+		GeneratorForTests generator = createGenerator(schema, "presencebits-failure", ModelStyle.simpleConsistent,
+				false);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("EventClass"));
+		Assert.assertTrue(exceptionThrown.getMessage().contains("did not become a primitive type"));
+	}
+}
@@ -0,0 +1,111 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.PrimitiveArraysClass;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+public class PrimitiveArraysTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.primitivearrays";
+
+	private final static String SCHEMA = loadTestSchema(PrimitiveArraysTest.class, "schema.yaml");
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, boolean optionOn) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_USE_PRIMITIVE_ARRAYS_IF_POSSIBLE, Boolean.toString(optionOn));
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void generatedPrimitiveArraysTest() throws IOException {
+		// ---- GIVEN
+		PrimitiveArraysClass obj = new PrimitiveArraysClass();
+
+		// ---- WHEN - THEN
+		// defaults
+		Assert.assertNull(obj.counters);
+		Assert.assertArrayEquals(new double[] { 0.5, 1, 2.5 }, obj.ratios, 0d);
+		Assert.assertArrayEquals(new boolean[0], obj.getFlags());
+
+		// equals / hashCode are comparing the content
+		obj.counters = new long[] { 1, 2, 3 };
+		PrimitiveArraysClass other = new PrimitiveArraysClass();
+		other.counters = new long[] { 1, 2, 3 };
+		Assert.assertEquals(obj, other);
+		Assert.assertEquals(obj.hashCode(), other.hashCode());
+		other.counters[2] = 4;
+		Assert.assertNotEquals(obj, other);
+		Assert.assertTrue(obj.toString().contains("[1, 2, 3]"));
+
+		// Jackson - with and without the generated codecs
+		obj.ids = Arrays.asList(5, 6);
+		obj.setFlags(new boolean[] { true, false });
+		ObjectMapper reflectionMapper = new ObjectMapper();
+		ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+		String json = reflectionMapper.writeValueAsString(obj);
+		Assert.assertTrue(json, json.contains("\"counters\":[1,2,3]"));
+		Assert.assertEquals(reflectionMapper.readTree(json),
+				codecsMapper.readTree(codecsMapper.writeValueAsString(obj)));
+		Assert.assertEquals(obj, reflectionMapper.readValue(json, PrimitiveArraysClass.class));
+		Assert.assertEquals(obj, codecsMapper.readValue(json, PrimitiveArraysClass.class));
+	}
+
+	@Test
+	public void optionTest() {
+		for (boolean optionOn : Arrays.asList(true, false)) {
+			// ---- GIVEN
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			GeneratorForTests generator = createGenerator(SCHEMA, "primitivearrays-" + optionOn, optionOn);
+
+			// ---- WHEN
+			generator.generate();
+
+			// ---- THEN
+			if (optionOn) {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ArraysClass",
+						"public long[] longs = null;", "public float[] floats = new float[] {1.5f, 2f};",
+						"public List<Integer> refusedInts = null;", "public List<String> strings = null;");
+			} else {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ArraysClass",
+						"public List<Long> longs = null;", "public List<Integer> refusedInts = null;");
+			}
+		}
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		String schema = SCHEMA + "          x-keytiles-use-primitive-array: true\n";
+		GeneratorForTests generator = createGenerator(schema, "primitivearrays-failure", false);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("ArraysClass"));
+		Assert.assertTrue(exceptionThrown.getMessage().contains("no primitive type alternative"));
+	}
+}
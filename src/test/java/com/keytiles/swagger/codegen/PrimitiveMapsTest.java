@@ -0,0 +1,162 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.PrimitiveMapsClass;
+import com.keytiles.api.model.test.alloptions.StringToLongMap;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+public class PrimitiveMapsTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.primitivemaps";
+
+	private final static String SCHEMA = loadTestSchema(PrimitiveMapsTest.class, "schema.yaml");
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, boolean optionOn) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_USE_PRIMITIVE_MAPS_IF_POSSIBLE, Boolean.toString(optionOn));
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void mapBehavesLikeHashMapTest() {
+		// ---- GIVEN
+		StringToLongMap map = new StringToLongMap();
+		Map<String, Long> reference = new HashMap<>();
+		Random random = new Random(42);
+
+		// ---- WHEN
+		// random puts and removes on a small key space - so we have plenty of collisions, rehashes and removals
+		// from the middle of probe sequences
+		for (int i = 0; i < 20000; i++) {
+			String key = "key" + random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(reference.remove(key) != null, map.remove(key));
+			} else {
+				map.put(key, i);
+				reference.put(key, (long) i);
+			}
+		}
+
+		// ---- THEN
+		Assert.assertEquals(reference.size(), map.size());
+		for (int i = 0; i < 500; i++) {
+			String key = "key" + i;
+			Assert.assertEquals(reference.containsKey(key), map.containsKey(key));
+			Assert.assertEquals(reference.getOrDefault(key, -1l).longValue(), map.getOrDefault(key, -1));
+		}
+		Map<String, Long> iterated = new HashMap<>();
+		map.forEach((key, value) -> iterated.put(key, value));
+		Assert.assertEquals(reference, iterated);
+		Assert.assertEquals(reference.hashCode(), map.hashCode());
+
+		Assert.assertEquals(5, map.addTo("new", 5));
+		Assert.assertEquals(8, map.addTo("new", 3));
+		Assert.assertFalse(map.containsKey(null));
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertEquals(0, map.get("new"));
+	}
+
+	@Test
+	public void generatedPrimitiveMapsTest() throws IOException {
+		// ---- GIVEN
+		PrimitiveMapsClass obj = new PrimitiveMapsClass();
+
+		// ---- WHEN - THEN
+		// defaults
+		Assert.assertNull(obj.hits);
+		Assert.assertTrue(obj.getRatios().isEmpty());
+
+		// put / remove helpers
+		obj.putHitsItem("a", 1l).putHitsItem("b", 2l).putHitsItem("c", 3l).removeHitsItem("c");
+		obj.putRatiosItem("x", 0.5d).putCountsItem("n", 7);
+		Assert.assertEquals(2, obj.hits.size());
+		Assert.assertEquals(2l, obj.hits.get("b"));
+
+		// equals / hashCode are comparing the content
+		PrimitiveMapsClass other = new PrimitiveMapsClass();
+		other.putHitsItem("b", 2l).putHitsItem("a", 1l).putRatiosItem("x", 0.5d).putCountsItem("n", 7);
+		Assert.assertEquals(obj, other);
+		Assert.assertEquals(obj.hashCode(), other.hashCode());
+		other.putHitsItem("b", 3l);
+		Assert.assertNotEquals(obj, other);
+		Assert.assertTrue(obj.toString().contains("x=0.5"));
+
+		// Jackson - with and without the generated codecs
+		obj.putLabelsItem("l", 9);
+		ObjectMapper reflectionMapper = new ObjectMapper();
+		ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+		String json = reflectionMapper.writeValueAsString(obj);
+		Assert.assertTrue(json, json.contains("\"ratios\":{\"x\":0.5}"));
+		Assert.assertEquals(reflectionMapper.readTree(json),
+				codecsMapper.readTree(codecsMapper.writeValueAsString(obj)));
+		Assert.assertEquals(obj, reflectionMapper.readValue(json, PrimitiveMapsClass.class));
+		Assert.assertEquals(obj, codecsMapper.readValue(json, PrimitiveMapsClass.class));
+	}
+
+	@Test
+	public void optionTest() {
+		for (boolean optionOn : Arrays.asList(true, false)) {
+			// ---- GIVEN
+			ModelExtraInfo.cleanStaticExtraInfoCache();
+			GeneratorForTests generator = createGenerator(SCHEMA, "primitivemaps-" + optionOn, optionOn);
+
+			// ---- WHEN
+			generator.generate();
+
+			// ---- THEN
+			if (optionOn) {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "MapsClass",
+						"public StringToLongMap longs = null;", "public Map<String, Integer> refusedInts = null;",
+						"public Map<String, Float> floats = null;",
+						"public MapsClass putLongsItem(String key, long longsItem)");
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "StringToLongMap",
+						"public class StringToLongMap", "public void put(String key, long value)");
+				// only the used map classes are generated
+				generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "StringToIntMap");
+			} else {
+				generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "MapsClass",
+						"public Map<String, Long> longs = null;");
+				generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "StringToLongMap");
+			}
+		}
+	}
+
+	@Test
+	public void unsatisfiableWishTest() {
+		// ---- GIVEN
+		String schema = SCHEMA + "          x-keytiles-use-primitive-map: true\n";
+		GeneratorForTests generator = createGenerator(schema, "primitivemaps-failure", false);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing a model
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("MapsClass"));
+		Assert.assertTrue(exceptionThrown.getMessage().contains("no primitive map alternative"));
+	}
+}
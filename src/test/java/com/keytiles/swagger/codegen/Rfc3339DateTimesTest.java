@@ -0,0 +1,322 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.Rfc3339DateTimes;
+import com.keytiles.api.model.test.alloptions.TimestampedClass;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+import io.swagger.codegen.v3.CodegenConstants;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_JACKSON_CODECS} and dateLibrary java8 - so {@link Rfc3339DateTimes} is
+ * generated too, see {@link TimestampedClass} in test-types.yaml
+ */
+public class Rfc3339DateTimesTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.rfc3339";
+	private final static String INVOKER_PACKAGE = "com.keytiles.test.rfc3339.invoker";
+
+	private final static String SCHEMA = loadTestSchema(Rfc3339DateTimesTest.class, "schema.yaml");
+
+	private final static ObjectMapper reflectionMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+			.registerModule(new JacksonCodecsModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, String dateLibrary) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, ModelStyle.simpleConsistent);
+		options.put("invokerPackage", INVOKER_PACKAGE);
+		options.put("dateLibrary", dateLibrary);
+		options.put(IKeytilesCodegen.OPT_GENERATE_JACKSON_CODECS, "true");
+		GeneratorForTests generator = createGeneratorFromSchemaContent(schema, outputFolder, options);
+		// note: the generator takes a file list only from the system property - the default is a simple switch
+		generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "true");
+		return generator;
+	}
+
+	private String getInvokerSource(GeneratorForTests generator, String className) {
+		return generator.getFileStore()
+				.getContent("src/main/java/" + INVOKER_PACKAGE.replace('.', '/') + "/" + className + ".java");
+	}
+
+	@Test
+	public void sameAsDateTimeFormatterTest() {
+		// ---- GIVEN
+		Random random = new Random(3339);
+		int[] nanos = { 0, 100000000, 120000000, 123000000, 123400000, 123456000, 123456700, 123456789, 1 };
+
+		for (int i = 0; i < 2000; i++) {
+			long epochSecond = random.nextLong() % 253402300799L;
+			int nano = nanos[i % nanos.length];
+			ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(35) - 17) * 3600 + (i % 4) * 15 * 60);
+			Instant instant = Instant.ofEpochSecond(Math.abs(epochSecond), nano);
+			OffsetDateTime offsetDateTime = OffsetDateTime.ofInstant(instant, offset);
+			if (offsetDateTime.getYear() > 9999) {
+				continue;
+			}
+
+			// ---- WHEN
+			String formattedOffsetDateTime = Rfc3339DateTimes.format(offsetDateTime);
+			String formattedInstant = Rfc3339DateTimes.format(instant);
+			String formattedDate = Rfc3339DateTimes.format(offsetDateTime.toLocalDate());
+
+			// ---- THEN
+			Assert.assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime), formattedOffsetDateTime);
+			Assert.assertEquals(DateTimeFormatter.ISO_INSTANT.format(instant), formattedInstant);
+			Assert.assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.format(offsetDateTime), formattedDate);
+			Assert.assertEquals(offsetDateTime, Rfc3339DateTimes.parseOffsetDateTime(formattedOffsetDateTime));
+			Assert.assertEquals(instant, Rfc3339DateTimes.parseInstant(formattedOffsetDateTime));
+			Assert.assertEquals(instant, Rfc3339DateTimes.parseInstant(formattedInstant));
+			Assert.assertEquals(offsetDateTime.toLocalDate(), Rfc3339DateTimes.parseLocalDate(formattedDate));
+		}
+		// outside of the RFC 3339 years it is the same too
+		Instant farFuture = Instant.parse("+12345-01-02T03:04:05Z");
+		Assert.assertEquals(DateTimeFormatter.ISO_INSTANT.format(farFuture), Rfc3339DateTimes.format(farFuture));
+	}
+
+	@Test
+	public void lenientFormsTest() {
+		// ---- GIVEN
+		OffsetDateTime expected = OffsetDateTime.of(2023, 4, 5, 10, 15, 0, 0, ZoneOffset.ofHours(2));
+
+		// ---- WHEN - THEN
+		Assert.assertEquals(expected, Rfc3339DateTimes.parseOffsetDateTime("2023-04-05T10:15:00+02:00"));
+		Assert.assertEquals(expected, Rfc3339DateTimes.parseOffsetDateTime("2023-04-05t10:15+0200"));
+		Assert.assertEquals(expected, Rfc3339DateTimes.parseOffsetDateTime(" 2023-04-05 10:15:00+02 "));
+		Assert.assertEquals(expected.withOffsetSameInstant(ZoneOffset.UTC),
+				Rfc3339DateTimes.parseOffsetDateTime("2023-04-05T08:15:00z"));
+		// more than 9 digits are truncated
+		Assert.assertEquals(123456789,
+				Rfc3339DateTimes.parseOffsetDateTime("2023-04-05T08:15:00.1234567891Z").getNano());
+		// only the given part of the array is parsed
+		char[] chars = "[\"2023-04-05\"]".toCharArray();
+		Assert.assertEquals(LocalDate.of(2023, 4, 5), Rfc3339DateTimes.parseLocalDate(chars, 2, 10));
+		Assert.assertEquals(Instant.parse("2000-02-29T23:59:59Z"),
+				Rfc3339DateTimes.parseInstant("2000-03-01T01:59:59+02:00"));
+		Assert.assertNull(Rfc3339DateTimes.parseInstant(" "));
+		Assert.assertNull(Rfc3339DateTimes.parseOffsetDateTime((String) null));
+	}
+
+	@Test
+	public void invalidTextsTest() {
+		// ---- GIVEN
+		String[] invalids = { "2023-04-05T10:15:00", "2023-04-05", "2023-02-29T10:15:00Z", "1900-02-29T10:15:00Z",
+				"2023-13-05T10:15:00Z", "2023-04-05T24:00:00Z", "2023-04-05T10:60:00Z", "2023-04-05T10:15:60Z",
+				"2023-04-05T10:15:00+19:00", "2023-04-05T10:15:00.Z", "2023-04-05T10:15:00Zx", "23-04-05T10:15:00Z",
+				"2023/04/05T10:15:00Z", "2023-04-05X10:15:00Z", "2023-04-05T10:15:00+02:0" };
+
+		for (String invalid : invalids) {
+			// ---- WHEN
+			try {
+				Rfc3339DateTimes.parseOffsetDateTime(invalid);
+				Assert.fail("'" + invalid + "' should be refused");
+			} catch (DateTimeParseException e) {
+				// ---- THEN
+				Assert.assertEquals(invalid, e.getParsedString());
+			}
+			try {
+				Rfc3339DateTimes.parseInstant(invalid);
+				Assert.fail("'" + invalid + "' should be refused");
+			} catch (DateTimeParseException expected) {
+			}
+		}
+		try {
+			Rfc3339DateTimes.parseLocalDate("2023-04-31");
+			Assert.fail("invalid date should be refused");
+		} catch (DateTimeParseException expected) {
+		}
+	}
+
+	@Test
+	public void jacksonCodecsTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"createdAt\":\"2023-04-05T10:15:30.5+02:00\",\"updatedAt\":\"2023-04-05T10:15:31Z\","
+				+ "\"day\":\"2023-04-05\"}";
+
+		// ---- WHEN
+		TimestampedClass viaReflection = reflectionMapper.readValue(json, TimestampedClass.class);
+		TimestampedClass viaCodecs = codecsMapper.readValue(json, TimestampedClass.class);
+
+		// ---- THEN
+		// note: Jackson adjusts to the time zone of the context (UTC) by default
+		Assert.assertEquals(viaReflection, viaCodecs);
+		Assert.assertEquals(ZoneOffset.UTC, viaCodecs.getCreatedAt().getOffset());
+		Assert.assertEquals(reflectionMapper.writeValueAsString(viaReflection),
+				codecsMapper.writeValueAsString(viaCodecs));
+		// and the offset is kept if it is told so
+		TimestampedClass keptOffset = codecsMapper.readerFor(TimestampedClass.class)
+				.without(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE).readValue(json);
+		Assert.assertEquals(ZoneOffset.ofHours(2), keptOffset.getCreatedAt().getOffset());
+		Assert.assertEquals(viaCodecs.getCreatedAt().toInstant(), keptOffset.getCreatedAt().toInstant());
+
+		// numeric timestamps are handled by the deserializer of Jackson
+		TimestampedClass numeric = codecsMapper.readValue("{\"createdAt\":1680682530.5}", TimestampedClass.class);
+		Assert.assertEquals(viaCodecs.getCreatedAt(), numeric.getCreatedAt());
+		Assert.assertEquals(
+				reflectionMapper.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+						.writeValueAsString(viaReflection),
+				codecsMapper.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(viaCodecs));
+
+		try {
+			codecsMapper.readValue("{\"createdAt\":\"yesterday\"}", TimestampedClass.class);
+			Assert.fail("invalid date-time should be refused");
+		} catch (InvalidFormatException expected) {
+		}
+	}
+
+	@Test
+	public void leapSecondTest() {
+		// ---- WHEN - THEN
+		// into an Instant it is read the same way as ISO_INSTANT does
+		Assert.assertEquals(Instant.parse("2016-12-31T23:59:59Z"), Rfc3339DateTimes.parseInstant("2016-12-31T23:59:60Z"));
+		Assert.assertEquals(DateTimeFormatter.ISO_INSTANT.parse("2016-12-31T23:59:60Z", Instant::from),
+				Rfc3339DateTimes.parseInstant("2016-12-31T23:59:60Z"));
+		// but only at the end of the day
+		try {
+			Rfc3339DateTimes.parseInstant("2016-12-31T22:59:60Z");
+			Assert.fail("leap second is possible only at 23:59");
+		} catch (DateTimeParseException expected) {
+		}
+	}
+
+	@Test
+	public void notStrictStringsFallBackToJacksonTest() throws IOException {
+		// ---- GIVEN
+		String[] jsons = { "{\"createdAt\":\"1577836800\"}", "{\"createdAt\":\"2016-12-31T23:59:60Z\"}",
+				"{\"createdAt\":\"1577836800.5\"}" };
+
+		for (String json : jsons) {
+			// ---- WHEN
+			TimestampedClass viaReflection;
+			try {
+				viaReflection = reflectionMapper.readValue(json, TimestampedClass.class);
+			} catch (InvalidFormatException e) {
+				viaReflection = null;
+			}
+			TimestampedClass viaCodecs;
+			try {
+				viaCodecs = codecsMapper.readValue(json, TimestampedClass.class);
+			} catch (InvalidFormatException e) {
+				viaCodecs = null;
+			}
+
+			// ---- THEN
+			// whatever the fast parser refuses is decided by the deserializer of jsr310
+			Assert.assertEquals(json, viaReflection, viaCodecs);
+		}
+		TimestampedClass numeric = codecsMapper.readValue(jsons[0], TimestampedClass.class);
+		Assert.assertEquals(OffsetDateTime.parse("2020-01-01T00:00:00Z"), numeric.getCreatedAt());
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "rfc3339-java8", "java8");
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "EventClass",
+				"Rfc3339DateTimes.parseOffsetDateTime(p.getTextCharacters(), p.getTextOffset(), p.getTextLength())",
+				"gen.writeString(Rfc3339DateTimes.format(v0));");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "Rfc3339DateTimes",
+				"import java.time.OffsetDateTime;");
+		String apiClientSource = getInvokerSource(generator, "ApiClient");
+		Assert.assertNotNull(generator.getFileStore().getFiles().keySet().toString(), apiClientSource);
+		Assert.assertTrue(apiClientSource, apiClientSource
+				.contains("module.addDeserializer(OffsetDateTime.class, Rfc3339JavaTimeDeserializer.OFFSET_DATE_TIME);"));
+		String invokerDateTimesSource = getInvokerSource(generator, "Rfc3339DateTimes");
+		Assert.assertTrue(invokerDateTimesSource, invokerDateTimesSource.contains("import java.time.Instant;"));
+		// the supporting file has no model - the class name must still be there
+		Assert.assertTrue(invokerDateTimesSource, invokerDateTimesSource.contains("public final class Rfc3339DateTimes {"));
+		Assert.assertTrue(invokerDateTimesSource, invokerDateTimesSource.contains("private Rfc3339DateTimes() {"));
+		String deserializerSource = getInvokerSource(generator, "Rfc3339JavaTimeDeserializer");
+		Assert.assertNotNull(deserializerSource);
+		// what the fast parser refuses goes to jsr310
+		Assert.assertTrue(deserializerSource, deserializerSource
+				.contains("} catch (DateTimeException e) {\n      // not a strict RFC 3339 date-time (e.g. a numeric string) - jsr310 decides, the parser is still on the token\n      return fallback.deserialize(parser, context);"));
+	}
+
+	@Test
+	public void threetenbpTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "rfc3339-threetenbp", "threetenbp");
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "Rfc3339DateTimes",
+				"import org.threeten.bp.OffsetDateTime;");
+		String deserializerSource = getInvokerSource(generator, "CustomInstantDeserializer");
+		Assert.assertNotNull(generator.getFileStore().getFiles().keySet().toString(), deserializerSource);
+		Assert.assertTrue(deserializerSource, deserializerSource.contains("Rfc3339DateTimes.parseOffsetDateTime("));
+		// what the fast parser refuses goes to the formatter
+		Assert.assertTrue(deserializerSource, deserializerSource
+				.contains("} catch (DateTimeException e) {\n            // not a strict RFC 3339 date-time - the formatter below decides\n          }"));
+		Assert.assertTrue(getInvokerSource(generator, "Rfc3339DateTimes").contains("import org.threeten.bp.Instant;"));
+		Assert.assertNull(getInvokerSource(generator, "Rfc3339JavaTimeDeserializer"));
+	}
+
+	@Test
+	public void ignoredWithLegacyDatesTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "rfc3339-legacy", "legacy");
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "EventClass", "Rfc3339DateTimes");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "Rfc3339DateTimes");
+		Assert.assertNull(getInvokerSource(generator, "Rfc3339DateTimes"));
+	}
+
+	@Test
+	public void reservedNameTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(
+				SCHEMA + "    Rfc3339DateTimes:\n      type: object\n      properties:\n"
+						+ "        id:\n          type: integer\n          nullable: true\n",
+				"rfc3339-reserved", "java8");
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing the models
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("reserved"));
+	}
+}
@@ -0,0 +1,161 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.keytiles.api.model.test.alloptions.JsonSerializationTestSubclassClass;
+import com.keytiles.api.model.test.alloptions.PresenceBitsSubclass;
+import com.keytiles.api.model.test.alloptions.PrimitiveMapsClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClassInlineLangObjectField;
+import com.keytiles.api.model.test.simpleconsistent.imported.PrimeEnum;
+import com.keytiles.api.model.test.simpleconsistent.imported_2ndlevel.FruitEnum;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_SERIALIZATION_PROXIES} - see pom.xml
+ */
+public class SerializationProxyTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.serializationproxy";
+
+	private final static String SCHEMA = loadTestSchema(SerializationProxyTest.class, "schema.yaml");
+
+	private static byte[] serialize(Object obj) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, boolean serializableModel) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_GENERATE_SERIALIZATION_PROXIES, "true");
+		options.put("serializableModel", Boolean.toString(serializableModel));
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void roundtripTest() throws IOException, ClassNotFoundException {
+		// ---- GIVEN
+		// constructor arguments, fields and setters - also inherited from a (not Serializable) superclass
+		JsonSerializationTestSubclassClass subclassObj = new JsonSerializationTestSubclassClass(10, 20, null,
+				FruitEnum.APPLE, true, 12.8d);
+		subclassObj.setNonNullBaseInteger(30);
+		subclassObj.baseStringField = "baseString";
+		subclassObj.longField = 1000000l;
+		// containers, enums, nested objects
+		SimpleFieldsClass simpleFieldsObj = new SimpleFieldsClass(PrimeEnum.NUMBER_7);
+		simpleFieldsObj.arrayField = Arrays.asList("x", "y");
+		simpleFieldsObj.inlineEnumField = SimpleFieldsClass.InlineEnumFieldEnum.WARNING;
+		simpleFieldsObj.inlineLangObjectField = new SimpleFieldsClassInlineLangObjectField(1, "en", "label");
+		// presence bits
+		PresenceBitsSubclass presenceBitsObj = new PresenceBitsSubclass();
+		presenceBitsObj.setCount(0);
+		presenceBitsObj.setExtra(5);
+		// primitive maps
+		PrimitiveMapsClass primitiveMapsObj = new PrimitiveMapsClass();
+		primitiveMapsObj.putHitsItem("a", 1l).putRatiosItem("x", 0.5d);
+
+		for (Object obj : Arrays.asList(subclassObj, simpleFieldsObj, presenceBitsObj, primitiveMapsObj)) {
+			// ---- WHEN
+			Object deserialized = deserialize(serialize(obj));
+
+			// ---- THEN
+			Assert.assertEquals(obj, deserialized);
+		}
+		// NULL is still NULL after the roundtrip
+		PresenceBitsSubclass deserialized = (PresenceBitsSubclass) deserialize(serialize(presenceBitsObj));
+		Assert.assertTrue(deserialized.hasCount());
+		Assert.assertFalse(deserialized.hasTotal());
+	}
+
+	@Test
+	public void schemaHashMismatchIsRejectedTest() throws Exception {
+		// ---- GIVEN
+		PresenceBitsSubclass obj = new PresenceBitsSubclass();
+		byte[] bytes = serialize(obj);
+		Field schemaHashField = Class.forName(PresenceBitsSubclass.class.getName() + "$SerializationProxy")
+				.getDeclaredField("SCHEMA_HASH");
+		schemaHashField.setAccessible(true);
+		byte[] schemaHash = ByteBuffer.allocate(8).putLong(schemaHashField.getLong(null)).array();
+
+		// ---- WHEN
+		// the stream written by a different version of the class has a different hash
+		int hashPosition = -1;
+		for (int i = 0; i + schemaHash.length <= bytes.length && hashPosition < 0; i++) {
+			if (Arrays.equals(schemaHash, Arrays.copyOfRange(bytes, i, i + schemaHash.length))) {
+				hashPosition = i;
+			}
+		}
+		Assert.assertTrue(hashPosition >= 0);
+		bytes[hashPosition] ^= 1;
+
+		// ---- THEN
+		try {
+			deserialize(bytes);
+			Assert.fail("stream with different schema hash should be rejected");
+		} catch (InvalidClassException expected) {
+			Assert.assertEquals(PresenceBitsSubclass.class.getName(), expected.classname);
+		}
+	}
+
+	@Test
+	public void schemaHashFollowsTheSchemaTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "serializationproxy-1", true);
+		GeneratorForTests changedGenerator = createGenerator(SCHEMA.replace("type: integer", "type: number"),
+				"serializationproxy-2", true);
+
+		// ---- WHEN
+		generator.generate();
+		ModelExtraInfo.cleanStaticExtraInfoCache();
+		changedGenerator.generate();
+
+		// ---- THEN
+		Pattern schemaHashPattern = Pattern.compile("SCHEMA_HASH = (0x[0-9a-f]+L);");
+		Matcher matcher = schemaHashPattern
+				.matcher(generator.getFileStore().getModelSource(MODEL_PACKAGE, "ProxyClass"));
+		Matcher changedMatcher = schemaHashPattern
+				.matcher(changedGenerator.getFileStore().getModelSource(MODEL_PACKAGE, "ProxyClass"));
+		Assert.assertTrue(matcher.find());
+		Assert.assertTrue(changedMatcher.find());
+		Assert.assertNotEquals(matcher.group(1), changedMatcher.group(1));
+	}
+
+	@Test
+	public void ignoredIfModelIsNotSerializableTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "serializationproxy-notserializable", false);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ProxyClass", "SerializationProxy");
+	}
+}
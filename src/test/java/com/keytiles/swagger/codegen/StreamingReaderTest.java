@@ -0,0 +1,218 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.JacksonCodecsModule;
+import com.keytiles.api.model.test.alloptions.JsonArrayReader;
+import com.keytiles.api.model.test.alloptions.PresenceBitsSubclass;
+import com.keytiles.api.model.test.alloptions.PrimitiveArraysClass;
+import com.keytiles.api.model.test.alloptions.SimpleFieldsClass;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+import io.swagger.codegen.v3.CodegenConstants;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_STREAMING_READERS} - see pom.xml
+ */
+public class StreamingReaderTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.streamingreader";
+	private final static String API_PACKAGE = "com.keytiles.test.streamingreader.api";
+
+	private final static String SCHEMA = loadTestSchema(StreamingReaderTest.class, "schema.yaml");
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+	private final static ObjectMapper codecsMapper = new ObjectMapper().registerModule(new JacksonCodecsModule());
+
+	private GeneratorForTests createGenerator(String outputFolder, ModelStyle modelStyle) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.put("apiPackage", API_PACKAGE);
+		options.put(IKeytilesCodegen.OPT_GENERATE_STREAMING_READERS, "true");
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, "true");
+		GeneratorForTests generator = createGeneratorFromSchemaContent(SCHEMA, outputFolder, options);
+		generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+		// note: the generator takes a file list only from the system property - the default is a simple switch
+		generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "true");
+		return generator;
+	}
+
+	private static <T> List<T> readAll(JsonArrayReaderFactory<T> factory, String json) throws IOException {
+		List<T> result = new ArrayList<>();
+		try (JsonArrayReader<T> reader = factory.create(mapper.getFactory().createParser(json))) {
+			reader.forEachRemaining(result::add);
+		}
+		return result;
+	}
+
+	private static interface JsonArrayReaderFactory<T> {
+		JsonArrayReader<T> create(JsonParser parser) throws IOException;
+	}
+
+	@Test
+	public void readsTheSameAsReadingTheWholeListTest() throws IOException {
+		// ---- GIVEN
+		String json = "[{\"primeEnumField\":7,\"longField\":1},null,{\"primeEnumField\":3,\"arrayField\":[\"x\"]}]";
+		List<SimpleFieldsClass> expected = mapper.readValue(json, new TypeReference<List<SimpleFieldsClass>>() {
+		});
+
+		for (ObjectMapper theMapper : new ObjectMapper[] { mapper, codecsMapper }) {
+			// ---- WHEN
+			List<SimpleFieldsClass> items = readAll(parser -> new SimpleFieldsClass.ArrayReader(theMapper, parser),
+					json);
+
+			// ---- THEN
+			Assert.assertEquals(expected, items);
+			Assert.assertNull(items.get(1));
+		}
+
+		// empty array
+		Assert.assertTrue(readAll(parser -> new SimpleFieldsClass.ArrayReader(mapper, parser), "[]").isEmpty());
+	}
+
+	@Test
+	public void reusedInstanceTest() throws IOException {
+		// ---- GIVEN
+		// note: the 2nd element has no value for the (presence bit tracked) fields - they must be reset
+		String json = "[{\"extra\":7,\"count\":3,\"enabled\":true},{\"total\":5},{\"extra\":1}]";
+		List<PresenceBitsSubclass> expected = mapper.readValue(json,
+				new TypeReference<List<PresenceBitsSubclass>>() {
+				});
+
+		for (ObjectMapper theMapper : new ObjectMapper[] { mapper, codecsMapper }) {
+			PresenceBitsSubclass reusedInstance = new PresenceBitsSubclass();
+
+			// ---- WHEN
+			List<String> itemsAsJson = new ArrayList<>();
+			try (PresenceBitsSubclass.ArrayReader reader = new PresenceBitsSubclass.ArrayReader(theMapper,
+					theMapper.getFactory().createParser(json), reusedInstance)) {
+				while (reader.hasNext()) {
+					PresenceBitsSubclass item = reader.next();
+					Assert.assertSame(reusedInstance, item);
+					itemsAsJson.add(mapper.writeValueAsString(item));
+				}
+			}
+
+			// ---- THEN
+			Assert.assertEquals(expected.size(), itemsAsJson.size());
+			for (int i = 0; i < expected.size(); i++) {
+				Assert.assertEquals(expected.get(i), mapper.readValue(itemsAsJson.get(i), PresenceBitsSubclass.class));
+			}
+		}
+
+		// default values are restored too
+		PrimitiveArraysClass reusedInstance = new PrimitiveArraysClass();
+		List<PrimitiveArraysClass> items = new ArrayList<>();
+		List<String> itemsAsJson = new ArrayList<>();
+		try (PrimitiveArraysClass.ArrayReader reader = new PrimitiveArraysClass.ArrayReader(codecsMapper,
+				mapper.getFactory().createParser("[{\"ratios\":[1.5]},{}]"), reusedInstance)) {
+			reader.forEachRemaining(item -> {
+				items.add(item);
+				itemsAsJson.add(item.toString());
+			});
+		}
+		Assert.assertEquals(2, items.size());
+		Assert.assertEquals(new PrimitiveArraysClass().toString(), itemsAsJson.get(1));
+	}
+
+	@Test
+	public void streamAndErrorsTest() throws IOException {
+		// ---- GIVEN
+		String json = "[{\"primeEnumField\":2},{\"primeEnumField\":3},{\"primeEnumField\":5}]";
+		JsonParser parser = mapper.getFactory().createParser(json);
+
+		// ---- WHEN
+		List<SimpleFieldsClass> firstTwo;
+		try (Stream<SimpleFieldsClass> stream = new SimpleFieldsClass.ArrayReader(mapper, parser).stream()) {
+			firstTwo = stream.limit(2).collect(Collectors.toList());
+		}
+
+		// ---- THEN
+		Assert.assertEquals(2, firstTwo.size());
+		// closing the stream closed the parser
+		Assert.assertTrue(parser.isClosed());
+
+		// not an array
+		try {
+			new SimpleFieldsClass.ArrayReader(mapper, mapper.getFactory().createParser("{}"));
+			Assert.fail("not an array should be refused");
+		} catch (JsonParseException expected) {
+		}
+		// truncated input
+		try {
+			readAll(p -> new SimpleFieldsClass.ArrayReader(mapper, p), "[{\"primeEnumField\":2}");
+			Assert.fail("truncated array should be refused");
+		} catch (UncheckedIOException expected) {
+		}
+	}
+
+	@Test
+	public void generatedReadersAndApiVariantTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator("streamingreader-simpleconsistent", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceExists(MODEL_PACKAGE, "JsonArrayReader");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ItemClass",
+				"public static class ArrayReader extends JsonArrayReader<ItemClass>", "public void resetForReuse()",
+				"ItemClass reusedInstance");
+		// constructor arguments - there is no way to reuse the instance
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "KeyedItemClass",
+				"public static class ArrayReader extends JsonArrayReader<KeyedItemClass>",
+				"the ArrayReader can not reuse instances");
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "KeyedItemClass", "resetForReuse");
+
+		// only the operation returning an array gets a streaming variant
+		String apiSource = generator.getFileStore()
+				.getContent("src/main/java/" + API_PACKAGE.replace('.', '/') + "/ItemsApi.java");
+		Assert.assertNotNull(generator.getFileStore().getFiles().keySet().toString(), apiSource);
+		Assert.assertTrue(apiSource, apiSource.contains("public void listItemsForEach(Consumer<? super ItemClass> action)"));
+		Assert.assertFalse(apiSource, apiSource.contains("getItemForEach"));
+		Assert.assertTrue(apiSource, apiSource.contains("apiClient.invokeAPIForEach("));
+
+		// the streaming RestTemplate is a copy of the buffering one - without the buffering - made for every call
+		String apiClientSource = generator.getFileStore().getFiles().entrySet().stream()
+				.filter(entry -> entry.getKey().endsWith("/ApiClient.java")).map(Map.Entry::getValue).findFirst()
+				.orElse(null);
+		Assert.assertNotNull(generator.getFileStore().getFiles().keySet().toString(), apiClientSource);
+		Assert.assertTrue(apiClientSource, apiClientSource.contains(
+				"RestTemplate template = debugging || unbufferedRequestFactory == null ? restTemplate : buildStreamingRestTemplate(restTemplate);"));
+		Assert.assertFalse(apiClientSource, apiClientSource.contains("private RestTemplate streamingRestTemplate"));
+		Assert.assertTrue(apiClientSource, apiClientSource.contains("unbufferedRequestFactory = restTemplate.getRequestFactory();"));
+		Assert.assertTrue(apiClientSource, apiClientSource.contains(
+				"streamingRestTemplate.setInterceptors(new ArrayList<ClientHttpRequestInterceptor>(restTemplate.getInterceptors()));"));
+		Assert.assertTrue(apiClientSource,
+				apiClientSource.contains("streamingRestTemplate.setErrorHandler(restTemplate.getErrorHandler());"));
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator("streamingreader-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "ItemClass", "ArrayReader");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "JsonArrayReader");
+	}
+}
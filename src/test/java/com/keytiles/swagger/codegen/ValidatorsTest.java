@@ -0,0 +1,172 @@
+package com.keytiles.swagger.codegen;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keytiles.api.model.test.alloptions.ModelValidationException;
+import com.keytiles.api.model.test.alloptions.ValidatedClass;
+import com.keytiles.swagger.codegen.error.SchemaValidationException;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+
+/**
+ * The models of package com.keytiles.api.model.test.alloptions are generated with option
+ * {@link IKeytilesCodegen#OPT_GENERATE_VALIDATORS} - see pom.xml and {@link ValidatedClass} in test-types.yaml
+ */
+public class ValidatorsTest extends GeneratorTestBase {
+
+	private final static String MODEL_PACKAGE = "com.keytiles.test.validators";
+
+	private final static String SCHEMA = loadTestSchema(ValidatorsTest.class, "schema.yaml");
+
+	private final static String VALID_JSON = "{\"name\":\"abc\",\"age\":30,\"score\":0.5,\"ratio\":1.0,\"tags\":[\"x\"],"
+			+ "\"children\":[{\"code\":\"a\",\"weight\":10000000000}],\"childrenByName\":{\"k\":{\"code\":\"abc\"}}}";
+
+	private final static ObjectMapper mapper = new ObjectMapper();
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle) {
+		return createGenerator(schema, outputFolder, modelStyle, new HashMap<>());
+	}
+
+	private GeneratorForTests createGenerator(String schema, String outputFolder, ModelStyle modelStyle,
+			Map<String, Object> extraOptions) {
+		Map<String, Object> options = createOptions(MODEL_PACKAGE, modelStyle);
+		options.putAll(extraOptions);
+		options.put(IKeytilesCodegen.OPT_GENERATE_VALIDATORS, "true");
+		return createGeneratorFromSchemaContent(schema, outputFolder, options);
+	}
+
+	@Test
+	public void validObjectTest() throws IOException {
+		// ---- GIVEN
+		ValidatedClass obj = mapper.readValue(VALID_JSON, ValidatedClass.class);
+
+		// ---- WHEN - THEN
+		Assert.assertTrue(obj.validate().toString(), obj.validate().isEmpty());
+		Assert.assertSame(obj, obj.validateOrThrow());
+		// nullable properties can be missing
+		Assert.assertTrue(new ValidatedClass("ab").validate().isEmpty());
+	}
+
+	@Test
+	public void violationsAreCollectedTest() throws IOException {
+		// ---- GIVEN
+		String json = "{\"name\":\"A\",\"age\":151,\"score\":0,\"ratio\":1.5,\"tags\":[],"
+				+ "\"children\":[{\"code\":\"a\"},{\"code\":\"b\",\"weight\":10000000001}],\"childrenByName\":{\"k\":{\"code\":\"abcd\"}}}";
+		ValidatedClass obj = mapper.readValue(json, ValidatedClass.class);
+
+		// ---- WHEN
+		List<ModelValidationException.Violation> violations = obj.validate();
+
+		// ---- THEN
+		Map<String, String> messages = new TreeMap<>();
+		for (ModelValidationException.Violation violation : violations) {
+			messages.merge(violation.getPropertyPath(), violation.getMessage(), (m1, m2) -> m1 + " | " + m2);
+		}
+		Assert.assertEquals("size must be between 2 and 10 | must match \"^[a-z]+$\"", messages.get("name"));
+		Assert.assertEquals("must be less than or equal to 150", messages.get("age"));
+		Assert.assertEquals("must be greater than 0", messages.get("score"));
+		Assert.assertEquals("must be less than or equal to 1", messages.get("ratio"));
+		Assert.assertEquals("size must be between 1 and 3", messages.get("tags"));
+		// note: non nullable properties can not be NULL already - the constructor refuses it
+		Assert.assertNull(messages.get("children[1].code"));
+		Assert.assertEquals("must be less than or equal to 10000000000", messages.get("children[1].weight"));
+		Assert.assertEquals("size must be between 0 and 3", messages.get("childrenByName[k].code"));
+		Assert.assertEquals(messages.toString(), 7, messages.size());
+		Assert.assertEquals(151, violations.get(2).getInvalidValue());
+
+		try {
+			obj.validateOrThrow();
+			Assert.fail("invalid object should be refused");
+		} catch (ModelValidationException e) {
+			Assert.assertEquals(violations.size(), e.getViolations().size());
+			Assert.assertTrue(e.getMessage().contains("children[1].weight: must be less than or equal to 10000000000"));
+		}
+	}
+
+	@Test
+	public void generatedSourceTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "validators-simpleconsistent",
+				ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "OrderClass",
+				"public List<ModelValidationException.Violation> validate() {",
+				"private static final Pattern VALIDATOR_COMMENT_PATTERN = Pattern.compile(\"^\\\\w*$\");",
+				"if (v0 < 1L) {",
+				// required is checked even if nullable - the same way as @NotNull of Bean Validation
+				"if (v1 == null) {\n      violations.add(new ModelValidationException.Violation(path + \"comment\", \"must not be null\", null));");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ModelValidationException",
+				"public class ModelValidationException extends IllegalArgumentException {");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ExpressOrderClass",
+				"super.validate(path, violations);", "if (v0 > 3L) {");
+		generator.getFileStore().assertModelSourceExists(MODEL_PACKAGE, "ModelValidationException");
+	}
+
+	@Test
+	public void beanValidationTest() {
+		// ---- GIVEN
+		Map<String, Object> options = new HashMap<>();
+		options.put("useBeanValidation", "true");
+		GeneratorForTests generator = createGenerator(SCHEMA, "validators-beanvalidation", ModelStyle.simpleConsistent,
+				options);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		// the exception is the one of Bean Validation - so its handlers catch it too
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "OrderClass",
+				"\"comment\", \"must not be null\"");
+		generator.getFileStore().assertModelSourceContains(MODEL_PACKAGE, "ModelValidationException",
+				"public class ModelValidationException extends javax.validation.ValidationException {");
+	}
+
+	@Test
+	public void ignoredInInheritedModelStyleTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA, "validators-inherited", ModelStyle.inherited);
+
+		// ---- WHEN
+		generator.generate();
+
+		// ---- THEN
+		generator.getFileStore().assertModelSourceNotContains(MODEL_PACKAGE, "OrderClass", "validate(");
+		generator.getFileStore().assertModelSourceNotExists(MODEL_PACKAGE, "ModelValidationException");
+	}
+
+	@Test
+	public void reservedNameTest() {
+		// ---- GIVEN
+		GeneratorForTests generator = createGenerator(SCHEMA.replace("ExpressOrderClass", "ModelValidationException"),
+				"validators-reserved", ModelStyle.simpleConsistent);
+
+		// ---- WHEN
+		Exception exceptionThrown = null;
+		try {
+			generator.generate();
+		} catch (Exception e) {
+			exceptionThrown = e;
+		}
+
+		// ---- THEN
+		// note: Codegen wraps exceptions thrown while processing the models
+		while (exceptionThrown != null && !(exceptionThrown instanceof SchemaValidationException)) {
+			exceptionThrown = (Exception) exceptionThrown.getCause();
+		}
+		Assert.assertNotNull(exceptionThrown);
+		Assert.assertTrue(exceptionThrown.getMessage().contains("reserved"));
+	}
+}
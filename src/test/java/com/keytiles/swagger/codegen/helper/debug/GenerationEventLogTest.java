@@ -0,0 +1,69 @@
+package com.keytiles.swagger.codegen.helper.debug;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationEventLogTest {
+
+	@Test
+	public void countersAndSamplesTest() {
+		// ---- GIVEN
+
+		GenerationEventLog eventLog = new GenerationEventLog(false, 2);
+
+		// ---- WHEN
+
+		for (int i = 0; i < 5; i++) {
+			eventLog.record(GenerationEventCategory.FIELD_PUBLIC, "model {}, field '{}'", "Model" + i, "field");
+		}
+		eventLog.record(GenerationEventCategory.IMPORT_INJECTED, "model {}: injecting import {}", "Model", "a.B");
+
+		// ---- THEN
+
+		Assert.assertEquals(5, eventLog.getCount(GenerationEventCategory.FIELD_PUBLIC));
+		Assert.assertEquals(1, eventLog.getCount(GenerationEventCategory.IMPORT_INJECTED));
+		Assert.assertEquals(0, eventLog.getCount(GenerationEventCategory.FIELD_PRIVATE));
+		// only the first 2 are kept - formatted
+		Assert.assertEquals(Arrays.asList("model Model0, field 'field'", "model Model1, field 'field'"),
+				eventLog.getSamples(GenerationEventCategory.FIELD_PUBLIC));
+
+		String summary = eventLog.getSummary();
+		Assert.assertTrue(summary.contains(GenerationEventCategory.FIELD_PUBLIC.getDescription() + ": 5"));
+		Assert.assertTrue(summary.contains("... and 3 more"));
+		Assert.assertTrue(summary.contains("model Model: injecting import a.B"));
+		Assert.assertFalse(summary.contains("Model4"));
+	}
+
+	@Test
+	public void writeDetailsToFileTest() throws IOException {
+		// ---- GIVEN
+
+		GenerationEventLog eventLog = new GenerationEventLog(true, 1);
+		File detailFile = File.createTempFile("generation-events", ".log");
+		detailFile.deleteOnExit();
+
+		// ---- WHEN
+
+		eventLog.record(GenerationEventCategory.FIELD_PRIVATE, "model {}, field '{}'", "A", "x");
+		eventLog.record(GenerationEventCategory.FIELD_PRIVATE, "model {}, field '{}'", "B", "y");
+		eventLog.writeDetailsToFile(detailFile);
+
+		// ---- THEN
+
+		List<String> lines = Files.readAllLines(detailFile.toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(Arrays.asList("FIELD_PRIVATE: model A, field 'x'", "FIELD_PRIVATE: model B, field 'y'"),
+				lines);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeDetailsWithoutKeepingThemFailsTest() throws IOException {
+		new GenerationEventLog(false).writeDetailsToFile(new File("does-not-matter.log"));
+	}
+}
@@ -0,0 +1,110 @@
+package com.keytiles.swagger.codegen.helper.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.GeneratorTestBase;
+import com.keytiles.swagger.codegen.testing.SyntheticSchemaBuilder;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+public class MavenExecutionInfoTest extends GeneratorTestBase {
+
+	private final static String EXECUTION_ID = "same-execution-id";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Generates on the calling thread
+	 *
+	 * @return the model package the execution registered on this thread has
+	 */
+	private String generateAndGetRegisteredModelPackage(String folder, int modelCount) {
+		Map<String, Object> options = createOptions("com.keytiles.test.executions." + folder,
+				ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_MAVEN_EXECUTION_ID, EXECUTION_ID);
+		GeneratorForTests generator = createGeneratorFromSchemaContent(
+				new SyntheticSchemaBuilder().withModelCount(modelCount).build(), "maven-execution-info-" + folder,
+				options);
+		generator.generate();
+
+		MavenExecutionInfo executionInfo = MavenExecutionInfo.getExecutionInfo(EXECUTION_ID);
+		// note: the synthetic schema has a shared enum too
+		Assert.assertEquals(modelCount + 1, executionInfo.getModels().size());
+		String modelPackage = executionInfo.getModelPackage();
+		TestHelper.cleanStaticState();
+		return modelPackage;
+	}
+
+	@Test
+	public void parallelBuildsDoNotSeeEachOtherTest() throws InterruptedException, ExecutionException {
+		// ---- GIVEN
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			// ---- WHEN
+			// like two modules built in parallel - with the same execution id
+			Future<String> first = executor.submit(() -> generateAndGetRegisteredModelPackage("first", 3));
+			Future<String> second = executor.submit(() -> generateAndGetRegisteredModelPackage("second", 5));
+
+			// ---- THEN
+			Assert.assertEquals("com.keytiles.test.executions.first", first.get());
+			Assert.assertEquals("com.keytiles.test.executions.second", second.get());
+			// and nothing was registered on this thread
+			Assert.assertNull(MavenExecutionInfo.getExecutionInfo(EXECUTION_ID));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void reusedThreadForgetsPreviousModuleTest() throws IOException {
+		// ---- GIVEN
+		// the generation below runs in this project - like a builder thread of mvn -T building a module
+		Map<String, Object> options = createOptions("com.keytiles.test.executions.modules",
+				ModelStyle.simpleConsistent);
+		options.put(IKeytilesCodegen.OPT_MAVEN_EXECUTION_ID, EXECUTION_ID);
+		GeneratorForTests generator = createGeneratorFromSchemaContent(
+				new SyntheticSchemaBuilder().withModelCount(2).build(), "maven-execution-info-modules", options);
+		generator.generate();
+		Assert.assertNotNull(MavenExecutionInfo.getExecutionInfo(EXECUTION_ID));
+		// and the thread picks up another module then
+		File otherModule = temporaryFolder.newFolder("other-module");
+		new File(otherModule, "pom.xml").createNewFile();
+
+		// ---- WHEN
+		// another generation of the same module
+		MavenModuleScope.enter(new File(generator.getCodegen().outputFolder(), "../other-generated-sources").getPath());
+		// ---- THEN
+		Assert.assertNotNull(MavenExecutionInfo.getExecutionInfo(EXECUTION_ID));
+
+		// ---- WHEN
+		// the thread moves on to the other module
+		MavenModuleScope.enter(new File(otherModule, "target/generated-sources").getPath());
+		// ---- THEN
+		Assert.assertNull(MavenExecutionInfo.getExecutionInfo(EXECUTION_ID));
+	}
+
+	@Test
+	public void cleanStaticExecutionInfoRegistryTest() {
+		// ---- GIVEN
+		generateAndGetRegisteredModelPackage("cleaned", 2);
+
+		// ---- WHEN - THEN
+		// the helper above cleaned up after itself already
+		Assert.assertNull(MavenExecutionInfo.getExecutionInfo(EXECUTION_ID));
+	}
+}
@@ -0,0 +1,198 @@
+package com.keytiles.swagger.codegen.helper.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.KeytilesJavaCodegen;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+import com.keytiles.swagger.codegen.testing.GeneratorForTests;
+import com.keytiles.swagger.codegen.testing.SyntheticSchemaBuilder;
+import com.keytiles.swagger.codegen.testing.TestHelper;
+
+public class UpToDateCheckTest {
+
+	private List<GeneratorForTests> generators = new LinkedList<>();
+
+	@After
+	public void cleanupAfterTestCase() {
+		for (GeneratorForTests generator : generators) {
+			generator.deleteOutputFolder();
+		}
+		generators.clear();
+		TestHelper.cleanStaticState();
+	}
+
+	/**
+	 * note: every test case should use its own folder - they might run in parallel
+	 *
+	 * @return the generated model source files - docs and supporting files are filtered out
+	 */
+	private List<File> generate(String folder, String schema, boolean addExplanationsToModel) {
+		return generate(folder, schema, addExplanationsToModel, new HashMap<>());
+	}
+
+	private List<File> generate(String folder, String schema, boolean addExplanationsToModel,
+			Map<String, Object> extraOptions) {
+		ModelExtraInfo.cleanStaticExtraInfoCache();
+
+		Map<String, Object> options = new HashMap<>(extraOptions);
+		options.put("modelPackage", "com.keytiles.test.uptodate." + folder);
+		options.put(IKeytilesCodegen.OPT_MODEL_STYLE, ModelStyle.simpleConsistent.name());
+		options.put(IKeytilesCodegen.OPT_SKIP_GENERATION_IF_UP_TO_DATE, "true");
+		options.put(IKeytilesCodegen.OPT_ADD_EXPLANATIONS_TO_MODEL, Boolean.toString(addExplanationsToModel));
+		GeneratorForTests generator = TestHelper.createCodegenGeneratorFromSchemaContent(UpToDateCheckTest.class,
+				schema, KeytilesJavaCodegen.class, "up-to-date-check-" + folder, options);
+		// the check is looking at the generated files - so we need them on the disk
+		generator.setWriteToFileSystem(true);
+		generators.add(generator);
+		String modelFolder = File.separator + "uptodate" + File.separator + folder + File.separator;
+		return generator.generate().stream()
+				.filter(file -> file.getPath().contains(modelFolder) && file.getName().endsWith(".java"))
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void generationIsSkippedIfNothingChangedTest() {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		List<File> firstRunFiles = generate("unchanged", schema, false);
+		Assert.assertEquals(6, firstRunFiles.size());
+
+		// ---- WHEN
+
+		List<File> secondRunFiles = generate("unchanged", schema, false);
+
+		// ---- THEN
+
+		Assert.assertTrue("nothing should be generated but got " + secondRunFiles, secondRunFiles.isEmpty());
+		for (File file : firstRunFiles) {
+			Assert.assertTrue(file + " should still be there", file.isFile());
+		}
+	}
+
+	@Test
+	public void generationRunsIfInputsChangedTest() {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		generate("changed", schema, false);
+
+		// ---- WHEN - THEN
+
+		// the schema changes
+		String changedSchema = new SyntheticSchemaBuilder().withModelCount(6).build();
+		Assert.assertEquals(7, generate("changed", changedSchema, false).size());
+		// an option changes
+		Assert.assertEquals(7, generate("changed", changedSchema, true).size());
+		// and now nothing changes
+		Assert.assertEquals(0, generate("changed", changedSchema, true).size());
+	}
+
+	@Test
+	public void generationRunsIfOutputIsNotIntactTest() {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		List<File> firstRunFiles = generate("notintact", schema, false);
+
+		// ---- WHEN
+
+		firstRunFiles.get(0).delete();
+		List<File> secondRunFiles = generate("notintact", schema, false);
+
+		// ---- THEN
+
+		Assert.assertEquals(6, secondRunFiles.size());
+		Assert.assertTrue(firstRunFiles.get(0).isFile());
+	}
+
+	@Test
+	public void generationRunsIfOutputWasModifiedTest() throws IOException {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		List<File> firstRunFiles = generate("modified", schema, false);
+		File editedFile = firstRunFiles.get(0);
+		String originalContent = FileUtils.readFileToString(editedFile, StandardCharsets.UTF_8);
+
+		// ---- WHEN
+
+		// somebody edited the generated file by hand - the file is still there and it is not empty
+		FileUtils.writeStringToFile(editedFile, originalContent + "\n// hand edited\n", StandardCharsets.UTF_8);
+		List<File> secondRunFiles = generate("modified", schema, false);
+
+		// ---- THEN
+
+		Assert.assertEquals(6, secondRunFiles.size());
+		Assert.assertEquals(originalContent, FileUtils.readFileToString(editedFile, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void stateIsNotSavedIfWritingFailsTest() throws IOException {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		List<File> firstRunFiles = generate("writefails", schema, false);
+		File stateFolder = new File(generators.get(0).getCodegen().outputFolder(), UpToDateCheck.STATE_FOLDER);
+		File[] stateFiles = stateFolder.listFiles();
+		Assert.assertEquals(1, stateFiles.length);
+		String firstRunState = FileUtils.readFileToString(stateFiles[0], StandardCharsets.UTF_8);
+
+		// ---- WHEN
+
+		// a folder is in the way of a model file - so writing it fails
+		File blockedFile = firstRunFiles.get(0);
+		blockedFile.delete();
+		Assert.assertTrue(new File(blockedFile, "blocker").mkdirs());
+		try {
+			generate("writefails", schema, true);
+			Assert.fail("generation should have failed");
+		} catch (RuntimeException expected) {
+		}
+
+		// ---- THEN
+
+		// the state of the failed generation was not saved
+		Assert.assertEquals(firstRunState, FileUtils.readFileToString(stateFiles[0], StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void generationRunsIfHelperClassIsMissingTest() {
+		// ---- GIVEN
+
+		String schema = new SyntheticSchemaBuilder().withModelCount(5).build();
+		Map<String, Object> options = new HashMap<>();
+		options.put(IKeytilesCodegen.OPT_GENERATE_JACKSON_CODECS, "true");
+		List<File> firstRunFiles = generate("helperclass", schema, false, options);
+		File moduleFile = firstRunFiles.stream()
+				.filter(file -> file.getName().equals(KeytilesJavaCodegen.JACKSON_CODECS_MODULE_NAME + ".java"))
+				.findFirst().orElse(null);
+		Assert.assertNotNull(firstRunFiles.toString(), moduleFile);
+		Assert.assertEquals(0, generate("helperclass", schema, false, options).size());
+
+		// ---- WHEN
+
+		// the helper class is not a model - but it is generated too so it is part of the manifest
+		moduleFile.delete();
+		List<File> secondRunFiles = generate("helperclass", schema, false, options);
+
+		// ---- THEN
+
+		Assert.assertEquals(firstRunFiles.size(), secondRunFiles.size());
+		Assert.assertTrue(moduleFile.isFile());
+	}
+}
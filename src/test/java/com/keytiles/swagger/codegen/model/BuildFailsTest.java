@@ -30,7 +30,7 @@ public class BuildFailsTest {
 			generator = null;
 		}
 
-		ModelExtraInfo.cleanStaticExtraInfoCache();
+		TestHelper.cleanStaticState();
 	}
 
 	private void generateModel(String schemaFileResourcePath, String outputTempFolder,
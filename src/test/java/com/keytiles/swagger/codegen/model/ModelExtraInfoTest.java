@@ -343,4 +343,38 @@ public class ModelExtraInfoTest {
 
 	}
 
+	@Test
+	public void immutableTest() throws JsonProcessingException {
+		IKeytilesCodegen codeGenerator = null; // we can leave this on null
+
+		// ---- GIVEN
+		// readonly String
+		CodegenModel model = getModelWithProperty(false, false, false, true);
+		model.vars.get(0).datatype = "String";
+		// ---- WHEN - THEN
+		Assert.assertTrue(new ModelExtraInfo(model, codeGenerator).isImmutable());
+
+		// ---- GIVEN
+		// not readonly String
+		model = getModelWithProperty(true, false, false, false);
+		model.vars.get(0).datatype = "String";
+		// ---- WHEN - THEN
+		Assert.assertFalse(new ModelExtraInfo(model, codeGenerator).isImmutable());
+
+		// ---- GIVEN
+		// readonly but the value is a container which can be modified
+		model = getModelWithProperty(false, false, false, true);
+		model.vars.get(0).datatype = "List<String>";
+		model.vars.get(0).vendorExtensions.put(CodegenConstants.IS_CONTAINER_EXT_NAME, true);
+		// ---- WHEN - THEN
+		Assert.assertFalse(new ModelExtraInfo(model, codeGenerator).isImmutable());
+
+		// ---- GIVEN
+		// readonly but refers a model we do not know (no generator)
+		model = getModelWithProperty(false, false, false, true);
+		model.vars.get(0).datatype = "SomeOtherModel";
+		// ---- WHEN - THEN
+		Assert.assertFalse(new ModelExtraInfo(model, codeGenerator).isImmutable());
+	}
+
 }
@@ -0,0 +1,111 @@
+package com.keytiles.swagger.codegen.testing;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the bytes allocated by the current thread per generation phase and per model. It is
+ * using the HotSpot specific {@link com.sun.management.ThreadMXBean} so check {@link #isSupported()}
+ * before relying on the numbers!
+ * <p>
+ * Phases can be nested (e.g. postProcessModelProperty is invoked from fromModel) - every phase
+ * contains everything allocated while it was running, including the nested ones
+ *
+ * @author attilaw
+ *
+ */
+public class AllocationProfile {
+
+	private final static com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported()) {
+				sunBean.setThreadAllocatedMemoryEnabled(true);
+				return sunBean;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return TRUE if the JVM is able to measure allocated bytes per thread
+	 */
+	public static boolean isSupported() {
+		return THREAD_MX_BEAN != null;
+	}
+
+	/**
+	 * @return the bytes allocated so far by the current thread
+	 */
+	public static long currentThreadAllocatedBytes() {
+		return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	// note: LinkedHashMap so the report follows the order phases were seen first
+	private final Map<String, Long> bytesPerPhase = new LinkedHashMap<>();
+	private final Map<String, Integer> invocationsPerPhase = new LinkedHashMap<>();
+	private final Map<String, Long> bytesPerModel = new LinkedHashMap<>();
+
+	/**
+	 * Runs the given code and accounts the allocated bytes to the phase and - if given - to the model
+	 */
+	public <T> T measure(String phase, String modelName, Supplier<T> code) {
+		long before = currentThreadAllocatedBytes();
+		try {
+			return code.get();
+		} finally {
+			add(phase, modelName, currentThreadAllocatedBytes() - before);
+		}
+	}
+
+	public void measure(String phase, String modelName, Runnable code) {
+		measure(phase, modelName, () -> {
+			code.run();
+			return null;
+		});
+	}
+
+	public void add(String phase, String modelName, long bytes) {
+		bytesPerPhase.merge(phase, bytes, Long::sum);
+		invocationsPerPhase.merge(phase, 1, Integer::sum);
+		if (modelName != null) {
+			bytesPerModel.merge(modelName, bytes, Long::sum);
+		}
+	}
+
+	public long getBytes(String phase) {
+		return bytesPerPhase.getOrDefault(phase, 0L);
+	}
+
+	public Map<String, Long> getBytesPerModel() {
+		return new LinkedHashMap<>(bytesPerModel);
+	}
+
+	/**
+	 * @param modelCount
+	 *            number of models in the schema - for the per model averages
+	 * @param topModels
+	 *            how many of the most allocating models to list
+	 * @return human readable report
+	 */
+	public String getReport(int modelCount, int topModels) {
+		StringBuilder sb = new StringBuilder("allocation profile (").append(modelCount)
+				.append(" models, nested phases are included in their callers):");
+		bytesPerPhase.forEach((phase, bytes) -> {
+			sb.append(String.format("%n  %-45s %,15d bytes  %,10d bytes/model  %,8d calls", phase, bytes,
+					bytes / modelCount, invocationsPerPhase.get(phase)));
+		});
+		sb.append(String.format("%n  top %d models (bytes, inclusive of their properties):", topModels));
+		bytesPerModel.entrySet().stream().sorted(Map.Entry.<String, Long> comparingByValue(Comparator.reverseOrder()))
+				.limit(topModels).forEach(entry -> {
+					sb.append(String.format("%n    %-43s %,15d bytes", entry.getKey(), entry.getValue()));
+				});
+		return sb.toString();
+	}
+}
@@ -0,0 +1,109 @@
+package com.keytiles.swagger.codegen.testing;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.keytiles.swagger.codegen.KeytilesJavaCodegen;
+
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * This is a {@link KeytilesJavaCodegen} which measures the allocated bytes of all the hooks and
+ * support_xxx steps into an {@link AllocationProfile} - see {@link #getAllocationProfile()}
+ *
+ * @author attilaw
+ *
+ */
+public class AllocationProfilingCodegen extends KeytilesJavaCodegen {
+
+	public final static String PHASE_PREPROCESS_OPENAPI = "preprocessOpenAPI";
+	public final static String PHASE_FROM_MODEL = "fromModel";
+	public final static String PHASE_POST_PROCESS_MODEL_PROPERTY = "postProcessModelProperty";
+	public final static String PHASE_POST_PROCESS_ALL_CODEGEN_MODELS = "postProcessAllCodegenModels";
+	public final static String PHASE_POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+	public final static String PHASE_SUPPORTED_VENDOR_FIELD_NAMES = "getAllSupported*VendorFieldNames";
+
+	private final AllocationProfile allocationProfile = new AllocationProfile();
+
+	public AllocationProfile getAllocationProfile() {
+		return allocationProfile;
+	}
+
+	@Override
+	public void preprocessOpenAPI(OpenAPI openAPI) {
+		allocationProfile.measure(PHASE_PREPROCESS_OPENAPI, null, () -> super.preprocessOpenAPI(openAPI));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public CodegenModel fromModel(String name, Schema schema, Map<String, Schema> allSchemas) {
+		return allocationProfile.measure(PHASE_FROM_MODEL, name, () -> super.fromModel(name, schema, allSchemas));
+	}
+
+	@Override
+	public void postProcessModelProperty(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure(PHASE_POST_PROCESS_MODEL_PROPERTY, null,
+				() -> super.postProcessModelProperty(model, property));
+	}
+
+	@Override
+	protected void support_outputOnlyIfNonDefault(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure("support_outputOnlyIfNonDefault", null,
+				() -> super.support_outputOnlyIfNonDefault(model, property));
+	}
+
+	@Override
+	protected void support_keepPropertyNames(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure("support_keepPropertyNames", null,
+				() -> super.support_keepPropertyNames(model, property));
+	}
+
+	@Override
+	protected void support_usePrimitiveTypesIfPossible(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure("support_usePrimitiveTypesIfPossible", null,
+				() -> super.support_usePrimitiveTypesIfPossible(model, property));
+	}
+
+	@Override
+	protected void support_arrayDefaultValue(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure("support_arrayDefaultValue", null,
+				() -> super.support_arrayDefaultValue(model, property));
+	}
+
+	@Override
+	protected void support_mapDefaultValue(CodegenModel model, CodegenProperty property) {
+		allocationProfile.measure("support_mapDefaultValue", null,
+				() -> super.support_mapDefaultValue(model, property));
+	}
+
+	@Override
+	protected void postProcessAllCodegenModels(Map<String, CodegenModel> allModels) {
+		allocationProfile.measure(PHASE_POST_PROCESS_ALL_CODEGEN_MODELS, null,
+				() -> super.postProcessAllCodegenModels(allModels));
+	}
+
+	@Override
+	public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
+		return allocationProfile.measure(PHASE_POST_PROCESS_ALL_MODELS, null, () -> super.postProcessAllModels(objs));
+	}
+
+	@Override
+	protected Map<String, Object> support_enumCompositions(Map<String, Object> objs) {
+		return allocationProfile.measure("support_enumCompositions", null, () -> super.support_enumCompositions(objs));
+	}
+
+	@Override
+	public Set<String> getAllSupportedObjectLevelVendorFieldNames() {
+		return allocationProfile.measure(PHASE_SUPPORTED_VENDOR_FIELD_NAMES, null,
+				() -> super.getAllSupportedObjectLevelVendorFieldNames());
+	}
+
+	@Override
+	public Set<String> getAllSupportedPropertyLevelVendorFieldNames() {
+		return allocationProfile.measure(PHASE_SUPPORTED_VENDOR_FIELD_NAMES, null,
+				() -> super.getAllSupportedPropertyLevelVendorFieldNames());
+	}
+}
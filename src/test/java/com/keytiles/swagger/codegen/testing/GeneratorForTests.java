@@ -10,9 +10,18 @@ import com.keytiles.swagger.codegen.IKeytilesCodegen;
 
 import io.swagger.codegen.v3.DefaultGenerator;
 
+/**
+ * A {@link DefaultGenerator} for test cases.
+ * <p>
+ * By default rendered files are not written to the disk but into an {@link InMemoryFileStore} - see
+ * {@link #getFileStore()}. If your test needs real files call {@link #setWriteToFileSystem(boolean)}
+ * before generating
+ */
 public class GeneratorForTests extends DefaultGenerator {
 
 	private final Class<?> testClass;
+	private final InMemoryFileStore fileStore = new InMemoryFileStore();
+	private boolean writeToFileSystem = false;
 	private List<File> files;
 
 	public GeneratorForTests(Class<?> testClass) {
@@ -20,13 +29,35 @@ public class GeneratorForTests extends DefaultGenerator {
 		this.testClass = testClass;
 	}
 
+	public GeneratorForTests setWriteToFileSystem(boolean writeToFileSystem) {
+		this.writeToFileSystem = writeToFileSystem;
+		return this;
+	}
+
+	public InMemoryFileStore getFileStore() {
+		return fileStore;
+	}
+
 	@Override
 	public List<File> generate() {
 		files = super.generate();
 		return files;
 	}
 
+	@Override
+	public File writeToFile(String filename, String contents) throws IOException {
+		if (writeToFileSystem) {
+			return super.writeToFile(filename, contents);
+		}
+		File file = new File(filename);
+		File outputFolder = new File(opts.getConfig().outputFolder());
+		fileStore.put(outputFolder.getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString(),
+				contents);
+		return file;
+	}
+
 	public void deleteAllGeneratedFiles() {
+		fileStore.clear();
 		if (files == null) {
 			return;
 		}
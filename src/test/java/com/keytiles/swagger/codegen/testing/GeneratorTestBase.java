@@ -0,0 +1,87 @@
+package com.keytiles.swagger.codegen.testing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+
+import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.KeytilesJavaCodegen;
+import com.keytiles.swagger.codegen.model.ModelStyle;
+
+/**
+ * Common fixture of the test classes running the generator on their own small schemas. The generators
+ * created here are cleaned up after each test case - together with the static state of the codegen (see
+ * {@link TestHelper#cleanStaticState()})
+ * <p>
+ * The schemas are under src/test/openapi/&lt;test class name&gt;/ - see {@link #loadTestSchema(Class, String)}
+ *
+ * @author attilaw
+ *
+ */
+public abstract class GeneratorTestBase {
+
+	// note: a test case might generate from more threads
+	private final List<GeneratorForTests> generators = Collections.synchronizedList(new LinkedList<>());
+
+	@After
+	public void cleanupAfterTestCase() {
+		List<GeneratorForTests> createdGenerators;
+		synchronized (generators) {
+			createdGenerators = new ArrayList<>(generators);
+			generators.clear();
+		}
+		for (GeneratorForTests generator : createdGenerators) {
+			generator.deleteAllGeneratedFiles();
+			generator.deleteOutputFolder();
+		}
+		TestHelper.cleanStaticState();
+	}
+
+	/**
+	 * @param schemaFileName
+	 *            the file name under src/test/openapi/&lt;test class name&gt;/
+	 * @return the content of the schema file of the test class
+	 */
+	protected static String loadTestSchema(Class<?> testClass, String schemaFileName) {
+		return ResourceUtil
+				.loadResourceTextFileContent("test/openapi/" + testClass.getSimpleName() + "/" + schemaFileName);
+	}
+
+	/**
+	 * @return a new (modifiable) options map with the model package and the model style set - add the options
+	 *         the test case is about
+	 */
+	protected Map<String, Object> createOptions(String modelPackage, ModelStyle modelStyle) {
+		Map<String, Object> options = new HashMap<>();
+		options.put("modelPackage", modelPackage);
+		options.put(IKeytilesCodegen.OPT_MODEL_STYLE, modelStyle.name());
+		return options;
+	}
+
+	/**
+	 * Same as {@link #createGeneratorFromSchemaContent(String, Class, String, Map)} with
+	 * {@link KeytilesJavaCodegen}
+	 */
+	protected GeneratorForTests createGeneratorFromSchemaContent(String schema, String outputFolder,
+			Map<String, Object> options) {
+		return createGeneratorFromSchemaContent(schema, KeytilesJavaCodegen.class, outputFolder, options);
+	}
+
+	/**
+	 * Creates the generator with {@link TestHelper#createCodegenGeneratorFromSchemaContent(Class, String, Class,
+	 * String, Map)} and registers it - so it is cleaned up after the test case
+	 */
+	protected GeneratorForTests createGeneratorFromSchemaContent(String schema,
+			Class<? extends IKeytilesCodegen> codegenClass, String outputFolder, Map<String, Object> options) {
+		GeneratorForTests generator = TestHelper.createCodegenGeneratorFromSchemaContent(getClass(), schema,
+				codegenClass, outputFolder, options);
+		generators.add(generator);
+		return generator;
+	}
+
+}
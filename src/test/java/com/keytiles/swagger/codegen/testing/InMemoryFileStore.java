@@ -0,0 +1,101 @@
+package com.keytiles.swagger.codegen.testing;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+
+/**
+ * The {@link GeneratorForTests} renders into this store (instead of the filesystem) by default. Files
+ * are stored with their path relative to the output folder of the generator - always using '/' as
+ * separator
+ * <p>
+ * The assertXxx methods are helpers for test cases to check the rendered sources
+ *
+ * @author attilaw
+ *
+ */
+public class InMemoryFileStore {
+
+	// note: sorted so iterating over the files is stable
+	private final Map<String, String> files = new TreeMap<>();
+
+	public synchronized void put(String relativePath, String content) {
+		files.put(relativePath.replace(File.separatorChar, '/'), content);
+	}
+
+	public synchronized void clear() {
+		files.clear();
+	}
+
+	/**
+	 * @return relative path - content pairs of all rendered files
+	 */
+	public synchronized Map<String, String> getFiles() {
+		return new TreeMap<>(files);
+	}
+
+	/**
+	 * @return the content of the file or NULL if it was not rendered
+	 */
+	public synchronized String getContent(String relativePath) {
+		return files.get(relativePath);
+	}
+
+	/**
+	 * @return the relative path of the given model class in the store
+	 */
+	public static String getModelSourcePath(String modelPackage, String className) {
+		return "src/main/java/" + modelPackage.replace('.', '/') + "/" + className + ".java";
+	}
+
+	/**
+	 * @return the rendered source of the model class or NULL if it was not rendered
+	 */
+	public String getModelSource(String modelPackage, String className) {
+		return getContent(getModelSourcePath(modelPackage, className));
+	}
+
+	/**
+	 * @return the (simple) names of all model classes rendered into the given package
+	 */
+	public synchronized List<String> getModelClassNames(String modelPackage) {
+		String folder = "src/main/java/" + modelPackage.replace('.', '/') + "/";
+		return files.keySet().stream()
+				.filter(path -> path.startsWith(folder) && path.endsWith(".java")
+						&& path.indexOf('/', folder.length()) < 0)
+				.map(path -> path.substring(folder.length(), path.length() - ".java".length()))
+				.collect(Collectors.toList());
+	}
+
+	public String assertModelSourceExists(String modelPackage, String className) {
+		String source = getModelSource(modelPackage, className);
+		Assert.assertNotNull("model class " + modelPackage + "." + className + " was not rendered - rendered files: "
+				+ getFiles().keySet(), source);
+		return source;
+	}
+
+	public void assertModelSourceNotExists(String modelPackage, String className) {
+		Assert.assertNull("model class " + modelPackage + "." + className + " should not be rendered",
+				getModelSource(modelPackage, className));
+	}
+
+	public void assertModelSourceContains(String modelPackage, String className, String... snippets) {
+		String source = assertModelSourceExists(modelPackage, className);
+		for (String snippet : snippets) {
+			Assert.assertTrue("model class " + className + " does not contain '" + snippet + "'\n" + source,
+					source.contains(snippet));
+		}
+	}
+
+	public void assertModelSourceNotContains(String modelPackage, String className, String... snippets) {
+		String source = assertModelSourceExists(modelPackage, className);
+		for (String snippet : snippets) {
+			Assert.assertFalse("model class " + className + " should not contain '" + snippet + "'\n" + source,
+					source.contains(snippet));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.keytiles.swagger.codegen.testing;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Builds a synthetic OpenApi schema with as many models as you want. Every model is using the same
+ * mix of property setups (mandatory, readOnly, nullable, defaults, arrays, maps, enum and object
+ * references) and every {@link #extendEveryNth}th model extends the previous one - so all the
+ * decision paths of the generator are exercised at scale
+ *
+ * @author attilaw
+ *
+ */
+public class SyntheticSchemaBuilder {
+
+	public final static String MODEL_NAME_PREFIX = "SyntheticModel";
+	public final static String ENUM_NAME = "SyntheticStatusEnum";
+
+	private int modelCount = 100;
+	private int extendEveryNth = 5;
+
+	public SyntheticSchemaBuilder withModelCount(int modelCount) {
+		Preconditions.checkArgument(modelCount > 0, "modelCount must be positive but it is %s", modelCount);
+		this.modelCount = modelCount;
+		return this;
+	}
+
+	/**
+	 * @param extendEveryNth
+	 *            every Nth model extends the previous one, use 0 to turn inheritance off
+	 */
+	public SyntheticSchemaBuilder withExtendEveryNth(int extendEveryNth) {
+		Preconditions.checkArgument(extendEveryNth >= 0, "extendEveryNth can not be negative but it is %s",
+				extendEveryNth);
+		this.extendEveryNth = extendEveryNth;
+		return this;
+	}
+
+	public int getModelCount() {
+		// +1 because of the enum
+		return modelCount + 1;
+	}
+
+	public static String getModelName(int idx) {
+		return MODEL_NAME_PREFIX + idx;
+	}
+
+	public String build() {
+		StringBuilder sb = new StringBuilder(modelCount * 1024);
+		sb.append("openapi: 3.0.1\n\n");
+		sb.append("info:\n  version: '1.0'\n  title: Synthetic test schema\n\n");
+		sb.append("paths: {}\n\n");
+		sb.append("components:\n  schemas:\n\n");
+
+		sb.append("    ").append(ENUM_NAME).append(":\n");
+		sb.append("      type: string\n");
+		sb.append("      enum:\n      - active\n      - inactive\n      - deleted\n\n");
+
+		for (int i = 0; i < modelCount; i++) {
+			appendModel(sb, i);
+		}
+		return sb.toString();
+	}
+
+	private void appendModel(StringBuilder sb, int idx) {
+		String name = getModelName(idx);
+		boolean isSubclass = extendEveryNth > 0 && idx > 0 && idx % extendEveryNth == 0;
+		// we use different property names in subclasses to avoid overrides
+		String p = isSubclass ? "sub" : "";
+
+		sb.append("    ").append(name).append(":\n");
+		if (isSubclass) {
+			sb.append("      allOf:\n");
+			sb.append("      - $ref: '#/components/schemas/").append(getModelName(idx - 1)).append("'\n");
+		}
+		sb.append("      type: object\n");
+		sb.append("      required:\n      - ").append(p).append("id\n");
+		sb.append("      x-keytiles-serialize-only-if-non-default-properties:\n      - ").append(p)
+				.append("counter\n");
+		sb.append("      properties:\n");
+		sb.append("        ").append(p).append("id:\n          type: string\n");
+		sb.append("        ").append(p).append("name:\n          type: string\n          nullable: true\n");
+		sb.append("        ").append(p)
+				.append("counter:\n          type: integer\n          format: int32\n          default: 0\n");
+		sb.append("        ").append(p).append(
+				"score:\n          type: number\n          format: double\n          nullable: true\n");
+		sb.append("        ").append(p).append(
+				"createdAt:\n          type: string\n          format: date-time\n          readOnly: true\n");
+		sb.append("        ").append(p).append("snake_case_field:\n          type: string\n          nullable: true\n");
+		sb.append("        ").append(p).append(
+				"tags:\n          type: array\n          default: ['a', 'b']\n          items:\n            type: string\n");
+		sb.append("        ").append(p).append(
+				"attributes:\n          type: object\n          nullable: true\n          additionalProperties:\n            type: integer\n            format: int64\n");
+		sb.append("        ").append(p).append("status:\n          $ref: '#/components/schemas/").append(ENUM_NAME)
+				.append("'\n");
+		if (idx > 0 && !isSubclass) {
+			sb.append("        ").append(p).append("previous:\n          nullable: true\n");
+			sb.append("          $ref: '#/components/schemas/").append(getModelName(idx - 1)).append("'\n");
+		}
+		sb.append("\n");
+	}
+
+}
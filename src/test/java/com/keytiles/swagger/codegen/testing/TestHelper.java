@@ -7,8 +7,11 @@ import java.util.Map;
 import javax.annotation.Nullable;
 
 import com.keytiles.swagger.codegen.IKeytilesCodegen;
+import com.keytiles.swagger.codegen.helper.maven.MavenExecutionInfo;
+import com.keytiles.swagger.codegen.model.ModelExtraInfo;
 
 import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.CodegenConstants;
 import io.swagger.codegen.v3.Generator;
 import io.swagger.codegen.v3.config.CodegenConfigurator;
 
@@ -17,6 +20,16 @@ public class TestHelper {
 	private TestHelper() {
 	}
 
+	/**
+	 * The static state of the codegen (see {@link ModelExtraInfo} and {@link MavenExecutionInfo}) is bound to
+	 * the thread - and the test runner is reusing its threads. Invoke this after each test case, so the next one
+	 * running on the same thread starts clean
+	 */
+	public static void cleanStaticState() {
+		ModelExtraInfo.cleanStaticExtraInfoCache();
+		MavenExecutionInfo.cleanStaticExecutionInfoRegistry();
+	}
+
 	/**
 	 * Method prepares a {@link Generator} for you which will use the given {@link IKeytilesCodegen}
 	 * under the hood generating from the given OpenApi schema file
@@ -42,8 +55,42 @@ public class TestHelper {
 		// let's read up the schema
 		String openApiFileContent = ResourceUtil.loadResourceTextFileContent(schemaFileResourcePath);
 
+		return createCodegenGeneratorFromSchemaContent(forTestClass, openApiFileContent, codegenClass,
+				outputTempFolder, generatorOptions);
+	}
+
+	/**
+	 * Same as
+	 * {@link #createCodegenGenerator(Class, String, Class, String, Map)} but takes the OpenApi schema
+	 * content directly - useful if the test is building the schema on the fly
+	 */
+	public static GeneratorForTests createCodegenGeneratorFromSchemaContent(Class<?> forTestClass,
+			String openApiFileContent, Class<? extends IKeytilesCodegen> codegenClass, String outputTempFolder,
+			@Nullable Map<String, Object> generatorOptions) {
+
 		CodegenConfigurator configurator = new CodegenConfigurator();
 		configurator.setInputSpec(openApiFileContent);
+		return createCodegenGenerator(forTestClass, configurator, codegenClass, outputTempFolder, generatorOptions);
+	}
+
+	/**
+	 * Same as {@link #createCodegenGenerator(Class, String, Class, String, Map)} but the generator
+	 * reads the schema file itself (from the filesystem) - so relative $refs to other schema files are
+	 * resolved too
+	 */
+	public static GeneratorForTests createCodegenGeneratorFromSchemaFile(Class<?> forTestClass,
+			String schemaFileResourcePath, Class<? extends IKeytilesCodegen> codegenClass, String outputTempFolder,
+			@Nullable Map<String, Object> generatorOptions) {
+
+		CodegenConfigurator configurator = new CodegenConfigurator();
+		configurator.setInputSpecURL(ResourceUtil.getRealFilesystemPathForResource(schemaFileResourcePath));
+		return createCodegenGenerator(forTestClass, configurator, codegenClass, outputTempFolder, generatorOptions);
+	}
+
+	private static GeneratorForTests createCodegenGenerator(Class<?> forTestClass, CodegenConfigurator configurator,
+			Class<? extends IKeytilesCodegen> codegenClass, String outputTempFolder,
+			@Nullable Map<String, Object> generatorOptions) {
+
 		configurator.setLang(codegenClass.getName());
 		Map<String, Object> defaultOptions = new HashMap<>();
 		defaultOptions.put("generateApiTests", "false");
@@ -68,6 +115,12 @@ public class TestHelper {
 		configurator.setOutputDir(tempFolder.getAbsolutePath());
 		ClientOptInput optInput = configurator.toClientOptInput();
 		GeneratorForTests generator = (GeneratorForTests) new GeneratorForTests(forTestClass).opts(optInput);
+		// the "generateXxx" options above are not picked up by the DefaultGenerator (it is looking for
+		// System properties) - but these are and they do not leak into parallel running tests
+		generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "true");
+		generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, "false");
+		generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_DOCS, "false");
+		generator.setGenerateSwaggerMetadata(false);
 
 		return generator;
 	}